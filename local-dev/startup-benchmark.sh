@@ -0,0 +1,104 @@
+#!/bin/bash
+#
+# Measures time-to-first-successful POST /api/orders for a fresh JVM,
+# with and without the AOT + AppCDS build produced by the 'cds' Maven profile.
+#
+# Prerequisites:
+#   docker-compose up -d                      (PostgreSQL + Kafka)
+#   ./mvnw -Pcds package -DskipTests          (builds target/cds/)
+#
+# Usage: ./startup-benchmark.sh [runs]        (default: 5 runs per variant)
+
+set -u
+
+RUNS=${1:-5}
+PORT=${BENCHMARK_PORT:-8091}
+TIMEOUT_S=${BENCHMARK_TIMEOUT:-120}   # per run: give up if no order is created by then
+BASE_URL="http://localhost:${PORT}"
+PROJECT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+CDS_DIR="$PROJECT_DIR/target/cds"
+JAR_NAME="order-service-0.0.1-SNAPSHOT.jar"
+
+if [ ! -f "$CDS_DIR/$JAR_NAME" ] || [ ! -f "$CDS_DIR/application.jsa" ]; then
+    echo "Missing $CDS_DIR. Build it first: ./mvnw -Pcds package -DskipTests"
+    exit 1
+fi
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# Stops the app and fails the run
+give_up() {
+    echo "No order created within ${TIMEOUT_S}s ($1); stopping the app" >&2
+    kill "$2" 2>/dev/null
+    wait "$2" 2>/dev/null
+    return 1
+}
+
+# Starts the app, then polls until an order is created; prints elapsed ms.
+# Fails if that takes longer than BENCHMARK_TIMEOUT seconds.
+measure_once() {
+    local start deadline token status
+    start=$(now_ms)
+    deadline=$(( start + TIMEOUT_S * 1000 ))
+
+    (cd "$CDS_DIR" && exec java "$@" -jar "$JAR_NAME" --server.port="$PORT" \
+        --spring.jpa.show-sql=false --logging.level.root=WARN > /dev/null 2>&1) &
+    local pid=$!
+
+    token=""
+    while [ -z "$token" ]; do
+        token=$(curl -s -X POST "$BASE_URL/api/auth/login" \
+            -H 'Content-Type: application/json' \
+            -d '{"username":"mscott","password":"worldsbestboss"}' \
+            | grep -o '"token":"[^"]*"' | cut -d'"' -f4)
+        if [ -z "$token" ]; then
+            [ "$(now_ms)" -ge "$deadline" ] && { give_up "login never succeeded" "$pid"; return 1; }
+            sleep 0.05
+        fi
+    done
+
+    status=""
+    while [ "$status" != "201" ]; do
+        status=$(curl -s -o /dev/null -w '%{http_code}' -X POST "$BASE_URL/api/orders" \
+            -H 'Content-Type: application/json' \
+            -H "Authorization: Bearer $token" \
+            -d @"$PROJECT_DIR/local-dev/sample-order.json")
+        if [ "$status" != "201" ]; then
+            [ "$(now_ms)" -ge "$deadline" ] && { give_up "last status $status" "$pid"; return 1; }
+            sleep 0.05
+        fi
+    done
+
+    echo $(( $(now_ms) - start ))
+
+    kill "$pid" 2>/dev/null
+    wait "$pid" 2>/dev/null
+}
+
+run_variant() {
+    local label=$1
+    shift
+    local results=()
+    echo "=== $label ==="
+    for i in $(seq 1 "$RUNS"); do
+        local elapsed
+        if ! elapsed=$(measure_once "$@"); then
+            echo "  run $i failed" >&2
+            exit 1
+        fi
+        results+=("$elapsed")
+        echo "  run $i: ${elapsed} ms"
+    done
+    local sorted median
+    sorted=($(printf '%s\n' "${results[@]}" | sort -n))
+    median=${sorted[$(( RUNS / 2 ))]}
+    echo "  median: ${median} ms"
+    echo ""
+}
+
+echo "Time to first successful POST /api/orders ($RUNS runs per variant)"
+echo ""
+run_variant "Baseline (no AOT, no CDS)" -Xshare:auto
+run_variant "AOT + AppCDS" -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true
@@ -0,0 +1,85 @@
+package com.streamcart.order.archive;
+
+import com.streamcart.order.entity.OrderLine;
+import com.streamcart.order.entity.OrderStatus;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Layout of an archive segment file:
+ *
+ * <pre>
+ * header   magic (int), version (int)
+ * blocks   zlib-compressed runs of orders, sorted by order id across the file
+ * footer   order count, first and last order id,
+ *          sparse index: per block its first order id, offset, compressed and raw length,
+ *          user index: per user id the blocks holding their orders
+ * trailer  footer offset (long), magic (int)
+ * </pre>
+ *
+ * A block holds: order count, then each order (see {@link #writeOrder}).
+ */
+final class ArchiveFormat {
+
+    static final int MAGIC = 0x4F415243;  // "OARC"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 8;
+    static final int TRAILER_BYTES = 12;
+    static final String EXTENSION = ".seg";
+
+    private ArchiveFormat() {
+    }
+
+    static void writeOrder(DataOutput out, ArchivedOrder order) throws IOException {
+        out.writeUTF(order.orderId());
+        out.writeLong(order.userId());
+        out.writeUTF(order.username());
+        out.writeUTF(order.totalAmount().toPlainString());
+        out.writeUTF(order.status().name());
+        writeTime(out, order.createdAt());
+        out.writeBoolean(order.updatedAt() != null);
+        if (order.updatedAt() != null) {
+            writeTime(out, order.updatedAt());
+        }
+        out.writeInt(order.lines().size());
+        for (OrderLine line : order.lines()) {
+            out.writeUTF(line.productId());
+            out.writeUTF(line.productName());
+            out.writeInt(line.quantity());
+            out.writeUTF(line.price().toPlainString());
+        }
+    }
+
+    static ArchivedOrder readOrder(DataInput in) throws IOException {
+        String orderId = in.readUTF();
+        long userId = in.readLong();
+        String username = in.readUTF();
+        BigDecimal totalAmount = new BigDecimal(in.readUTF());
+        OrderStatus status = OrderStatus.valueOf(in.readUTF());
+        LocalDateTime createdAt = readTime(in);
+        LocalDateTime updatedAt = in.readBoolean() ? readTime(in) : null;
+        int lineCount = in.readInt();
+        List<OrderLine> lines = new ArrayList<>(lineCount);
+        for (int i = 0; i < lineCount; i++) {
+            lines.add(new OrderLine(in.readUTF(), in.readUTF(), in.readInt(), new BigDecimal(in.readUTF())));
+        }
+        return new ArchivedOrder(orderId, userId, username, totalAmount, status, createdAt, updatedAt, lines);
+    }
+
+    // Zone-less like the columns they come from; UTC only does the arithmetic
+    private static void writeTime(DataOutput out, LocalDateTime time) throws IOException {
+        out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(time.getNano());
+    }
+
+    private static LocalDateTime readTime(DataInput in) throws IOException {
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+}
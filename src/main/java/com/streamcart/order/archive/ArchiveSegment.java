@@ -0,0 +1,178 @@
+package com.streamcart.order.archive;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * A read-only view of one archive segment (layout in {@link ArchiveFormat}).
+ *
+ * The file is memory-mapped; only the footer (sparse index and user index) is copied
+ * onto the heap. A lookup by id binary-searches the sparse index and inflates the one
+ * block that can hold the order, straight from the mapping. Thread-safe.
+ */
+public final class ArchiveSegment {
+
+    private final Path file;
+    private final MappedByteBuffer data;
+    private final int orderCount;
+    private final String firstOrderId;
+    private final String lastOrderId;
+    private final String[] blockFirstIds;
+    private final int[] blockOffsets;
+    private final int[] blockLengths;
+    private final int[] blockRawLengths;
+    private final Map<Long, int[]> blocksByUser;
+
+    private ArchiveSegment(Path file, MappedByteBuffer data, DataInputStream footer) throws IOException {
+        this.file = file;
+        this.data = data;
+        orderCount = footer.readInt();
+        firstOrderId = footer.readUTF();
+        lastOrderId = footer.readUTF();
+        int blocks = footer.readInt();
+        blockFirstIds = new String[blocks];
+        blockOffsets = new int[blocks];
+        blockLengths = new int[blocks];
+        blockRawLengths = new int[blocks];
+        for (int i = 0; i < blocks; i++) {
+            blockFirstIds[i] = footer.readUTF();
+            blockOffsets[i] = Math.toIntExact(footer.readLong());
+            blockLengths[i] = footer.readInt();
+            blockRawLengths[i] = footer.readInt();
+        }
+        int users = footer.readInt();
+        blocksByUser = new HashMap<>(users * 2);
+        for (int i = 0; i < users; i++) {
+            long userId = footer.readLong();
+            int[] userBlocks = new int[footer.readInt()];
+            for (int j = 0; j < userBlocks.length; j++) {
+                userBlocks[j] = footer.readInt();
+            }
+            blocksByUser.put(userId, userBlocks);
+        }
+    }
+
+    public static ArchiveSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE || size < ArchiveFormat.HEADER_BYTES + ArchiveFormat.TRAILER_BYTES) {
+                throw new IOException("Not an archive segment (size " + size + "): " + file);
+            }
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int end = (int) size;
+            if (data.getInt(0) != ArchiveFormat.MAGIC || data.getInt(end - 4) != ArchiveFormat.MAGIC) {
+                throw new IOException("Not an archive segment: " + file);
+            }
+            if (data.getInt(4) != ArchiveFormat.VERSION) {
+                throw new IOException("Unsupported archive segment version " + data.getInt(4) + ": " + file);
+            }
+            int footerOffset = Math.toIntExact(data.getLong(end - ArchiveFormat.TRAILER_BYTES));
+            byte[] footer = new byte[end - ArchiveFormat.TRAILER_BYTES - footerOffset];
+            data.get(footerOffset, footer);
+            return new ArchiveSegment(file, data, new DataInputStream(new ByteArrayInputStream(footer)));
+        }
+    }
+
+    public Optional<ArchivedOrder> find(String orderId) {
+        if (orderId.compareTo(firstOrderId) < 0 || orderId.compareTo(lastOrderId) > 0) {
+            return Optional.empty();
+        }
+        int search = Arrays.binarySearch(blockFirstIds, orderId);
+        // Not a block's first id: the block before the insertion point is the only candidate
+        int block = search >= 0 ? search : -search - 2;
+        try {
+            DataInputStream in = inflate(block);
+            for (int i = in.readInt(); i > 0; i--) {
+                ArchivedOrder order = ArchiveFormat.readOrder(in);
+                // Sorted within the block too: stop at the first larger id
+                int compare = order.orderId().compareTo(orderId);
+                if (compare >= 0) {
+                    return compare == 0 ? Optional.of(order) : Optional.empty();
+                }
+            }
+            return Optional.empty();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public List<ArchivedOrder> findByUser(long userId) {
+        int[] userBlocks = blocksByUser.get(userId);
+        if (userBlocks == null) {
+            return List.of();
+        }
+        List<ArchivedOrder> orders = new ArrayList<>();
+        for (int block : userBlocks) {
+            for (ArchivedOrder order : readBlock(block)) {
+                if (order.userId() == userId) {
+                    orders.add(order);
+                }
+            }
+        }
+        return orders;
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    public int orderCount() {
+        return orderCount;
+    }
+
+    private List<ArchivedOrder> readBlock(int block) {
+        try {
+            DataInputStream in = inflate(block);
+            int count = in.readInt();
+            List<ArchivedOrder> orders = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                orders.add(ArchiveFormat.readOrder(in));
+            }
+            return orders;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private DataInputStream inflate(int block) throws IOException {
+        byte[] raw = new byte[blockRawLengths[block]];
+        Inflater inflater = new Inflater();
+        try {
+            // Inflates from the mapped pages; a slice keeps this independent of other readers
+            ByteBuffer compressed = data.slice(blockOffsets[block], blockLengths[block]);
+            inflater.setInput(compressed);
+            int inflated = 0;
+            while (inflated < raw.length && !inflater.finished()) {
+                int n = inflater.inflate(raw, inflated, raw.length - inflated);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                inflated += n;
+            }
+            if (inflated != raw.length) {
+                throw new IOException("Truncated block " + block + " in " + file);
+            }
+            return new DataInputStream(new ByteArrayInputStream(raw));
+        } catch (DataFormatException ex) {
+            throw new IOException("Corrupt block " + block + " in " + file, ex);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.streamcart.order.archive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes an immutable archive segment (layout in {@link ArchiveFormat}).
+ *
+ * The file is written under a temporary name, forced to disk and then renamed, so a
+ * segment either exists complete or not at all.
+ */
+public final class ArchiveSegmentWriter {
+
+    private ArchiveSegmentWriter() {
+    }
+
+    private record BlockEntry(String firstOrderId, long offset, int length, int rawLength) {
+    }
+
+    public static void write(Path file, List<ArchivedOrder> orders, int ordersPerBlock) throws IOException {
+        if (orders.isEmpty()) {
+            throw new IllegalArgumentException("A segment needs at least one order");
+        }
+        List<ArchivedOrder> sorted = orders.stream().sorted(Comparator.comparing(ArchivedOrder::orderId)).toList();
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeFully(channel, ByteBuffer.allocate(ArchiveFormat.HEADER_BYTES)
+                    .putInt(ArchiveFormat.MAGIC)
+                    .putInt(ArchiveFormat.VERSION)
+                    .flip());
+
+            long offset = ArchiveFormat.HEADER_BYTES;
+            List<BlockEntry> blocks = new ArrayList<>();
+            Map<Long, List<Integer>> blocksByUser = new TreeMap<>();
+            for (int from = 0; from < sorted.size(); from += ordersPerBlock) {
+                List<ArchivedOrder> block = sorted.subList(from, Math.min(from + ordersPerBlock, sorted.size()));
+                int blockIndex = blocks.size();
+                byte[] raw = serialize(block);
+                byte[] compressed = compress(raw);
+                writeFully(channel, ByteBuffer.wrap(compressed));
+                blocks.add(new BlockEntry(block.get(0).orderId(), offset, compressed.length, raw.length));
+                offset += compressed.length;
+                for (ArchivedOrder order : block) {
+                    List<Integer> userBlocks = blocksByUser.computeIfAbsent(order.userId(), id -> new ArrayList<>());
+                    if (userBlocks.isEmpty() || userBlocks.get(userBlocks.size() - 1) != blockIndex) {
+                        userBlocks.add(blockIndex);
+                    }
+                }
+            }
+
+            writeFully(channel, ByteBuffer.wrap(footer(sorted, blocks, blocksByUser)));
+            writeFully(channel, ByteBuffer.allocate(ArchiveFormat.TRAILER_BYTES)
+                    .putLong(offset)
+                    .putInt(ArchiveFormat.MAGIC)
+                    .flip());
+            channel.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static byte[] serialize(List<ArchivedOrder> block) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(block.size());
+            for (ArchivedOrder order : block) {
+                ArchiveFormat.writeOrder(out, order);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] compress(byte[] raw) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(raw.length / 2);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(bytes)) {
+            out.write(raw);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] footer(List<ArchivedOrder> sorted, List<BlockEntry> blocks,
+                                 Map<Long, List<Integer>> blocksByUser) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(sorted.size());
+            out.writeUTF(sorted.get(0).orderId());
+            out.writeUTF(sorted.get(sorted.size() - 1).orderId());
+            out.writeInt(blocks.size());
+            for (BlockEntry block : blocks) {
+                out.writeUTF(block.firstOrderId());
+                out.writeLong(block.offset());
+                out.writeInt(block.length());
+                out.writeInt(block.rawLength());
+            }
+            out.writeInt(blocksByUser.size());
+            for (Map.Entry<Long, List<Integer>> user : blocksByUser.entrySet()) {
+                out.writeLong(user.getKey());
+                out.writeInt(user.getValue().size());
+                for (int block : user.getValue()) {
+                    out.writeInt(block);
+                }
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.streamcart.order.archive;
+
+import com.streamcart.order.entity.OrderLine;
+import com.streamcart.order.entity.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * An order and its lines as stored in an archive segment, whichever item storage
+ * mode it was written with.
+ */
+public record ArchivedOrder(
+    String orderId,
+    long userId,
+    String username,
+    BigDecimal totalAmount,
+    OrderStatus status,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt,
+    List<OrderLine> lines
+) {
+}
@@ -0,0 +1,207 @@
+package com.streamcart.order.archive;
+
+import com.streamcart.order.entity.OrderStatus;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Cold storage for orders moved out of the hot tables by {@link OrderArchiver}: the
+ * segment files in order.archive.directory, memory-mapped as they are found.
+ *
+ * The directory is shared by all nodes and any of them may write a segment, so a lookup
+ * that misses and every user listing first rescan it. A rescan costs one stat of the
+ * directory unless its modification time changed (or changed so recently that a coarse
+ * timestamp could hide a second change); only then is it listed and the new files opened.
+ * Segments are renamed into place once complete, so a rescan never sees a partial one.
+ *
+ * Segments are searched newest first (by name, which starts with the time it was written),
+ * so if an order was archived twice (a run that failed after writing its segment) the
+ * latest copy wins.
+ */
+@Component
+@Slf4j
+public class OrderArchive {
+
+    private static final long TIMESTAMP_SLACK_MILLIS = 2000;
+
+    private static final Comparator<ArchiveSegment> NEWEST_FIRST =
+            Comparator.comparing((ArchiveSegment segment) -> segment.file().getFileName().toString()).reversed();
+
+    @Value("${order.archive.directory:data/order-archive}")
+    private String directory;
+
+    @Value("${order.archive.after:365d}")
+    private Duration after;
+
+    // Newest first; replaced as a whole when segments are added
+    private volatile List<ArchiveSegment> segments = List.of();
+
+    // Guarded by this: every segment file seen, including unreadable ones
+    private final Set<Path> known = new HashSet<>();
+
+    private volatile FileTime scannedModified;
+
+    @PostConstruct
+    void openSegments() {
+        refresh();
+        log.info("Opened {} archive segments ({} orders) in {}",
+                segments.size(), segments.stream().mapToLong(ArchiveSegment::orderCount).sum(), directory());
+    }
+
+    public Optional<ArchivedOrder> find(String orderId) {
+        Optional<ArchivedOrder> order = search(orderId);
+        if (order.isEmpty() && refresh()) {
+            order = search(orderId);
+        }
+        return order;
+    }
+
+    /**
+     * The user's archived orders, one copy of each (the newest).
+     */
+    public List<ArchivedOrder> findByUser(long userId) {
+        refresh();
+        List<ArchivedOrder> orders = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (ArchiveSegment segment : segments) {
+            for (ArchivedOrder order : segment.findByUser(userId)) {
+                if (seen.add(order.orderId())) {
+                    orders.add(order);
+                }
+            }
+        }
+        return orders;
+    }
+
+    /**
+     * Writes a new segment and makes it searchable. The name is unique across nodes.
+     */
+    public void append(List<ArchivedOrder> orders, int ordersPerBlock) {
+        try {
+            Files.createDirectories(directory());
+            Path file = directory().resolve(String.format("orders-%013d-%s%s",
+                    System.currentTimeMillis(), UUID.randomUUID(), ArchiveFormat.EXTENSION));
+            ArchiveSegmentWriter.write(file, orders, ordersPerBlock);
+            synchronized (this) {
+                // A rescan may have found it already
+                if (known.add(file)) {
+                    add(List.of(ArchiveSegment.open(file)));
+                }
+            }
+            log.info("Archived {} orders to {}", orders.size(), file);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Orders created before this may be in the archive rather than the hot tables: now
+     * minus order.archive.after. Empty while nothing has been archived.
+     */
+    public Optional<LocalDateTime> horizon() {
+        refresh();
+        return segments.isEmpty() ? Optional.empty() : Optional.of(LocalDateTime.now().minus(after));
+    }
+
+    /**
+     * The horizon, if archived orders could match a hot-table query for status (null for any)
+     * and created at or after createdFrom (null for no lower bound). Only final orders are
+     * archived, so a query for any other status never misses one.
+     */
+    public Optional<LocalDateTime> horizonFor(OrderStatus status, LocalDateTime createdFrom) {
+        if (status != null && !status.isFinal()) {
+            return Optional.empty();
+        }
+        return horizon().filter(horizon -> createdFrom == null || createdFrom.isBefore(horizon));
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Opens segments written since the last scan, by any node.
+     *
+     * @return whether any were opened
+     */
+    boolean refresh() {
+        Path dir = directory();
+        try {
+            if (!Files.isDirectory(dir) || !changedSinceScan(Files.getLastModifiedTime(dir))) {
+                return false;
+            }
+            synchronized (this) {
+                FileTime modified = Files.getLastModifiedTime(dir);
+                List<Path> files;
+                try (Stream<Path> listing = Files.list(dir)) {
+                    files = listing.filter(file -> file.getFileName().toString().endsWith(ArchiveFormat.EXTENSION))
+                            .filter(file -> !known.contains(file))
+                            .toList();
+                }
+                scannedModified = modified;
+                List<ArchiveSegment> opened = new ArrayList<>();
+                for (Path file : files) {
+                    known.add(file);
+                    try {
+                        opened.add(ArchiveSegment.open(file));
+                    } catch (IOException ex) {
+                        log.error("Skipping unreadable archive segment {}", file, ex);
+                    }
+                }
+                add(opened);
+                return !opened.isEmpty();
+            }
+        } catch (IOException ex) {
+            log.warn("Could not scan archive directory {}", dir, ex);
+            return false;
+        }
+    }
+
+    private boolean changedSinceScan(FileTime modified) {
+        return !modified.equals(scannedModified)
+                || System.currentTimeMillis() - modified.toMillis() < TIMESTAMP_SLACK_MILLIS;
+    }
+
+    private Optional<ArchivedOrder> search(String orderId) {
+        for (ArchiveSegment segment : segments) {
+            Optional<ArchivedOrder> order = segment.find(orderId);
+            if (order.isPresent()) {
+                return order;
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Caller holds the lock
+    private void add(List<ArchiveSegment> opened) {
+        if (opened.isEmpty()) {
+            return;
+        }
+        List<ArchiveSegment> all = new ArrayList<>(segments);
+        all.addAll(opened);
+        all.sort(NEWEST_FIRST);
+        segments = List.copyOf(all);
+    }
+
+    private Path directory() {
+        return Path.of(directory);
+    }
+}
@@ -0,0 +1,239 @@
+package com.streamcart.order.archive;
+
+import com.streamcart.order.entity.OrderLine;
+import com.streamcart.order.entity.OrderLinesConverter;
+import com.streamcart.order.entity.OrderStatus;
+import com.streamcart.order.projection.OrderItemProjection;
+import com.streamcart.order.projection.UserOrderSummaryProjection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves orders older than order.archive.after out of orders/order_items into archive
+ * segments ({@link OrderArchive}), order.archive.segment-size orders per segment.
+ *
+ * Only orders in a final status are archived, so an archived order never changes.
+ * Each segment is on disk before its orders are deleted from the hot tables; if the
+ * delete fails the orders stay in both, the hot copy is served, and the next run
+ * archives them again. Embedded orders' order_item_projection rows and any parked status
+ * changes go with the delete.
+ *
+ * Every node may run the cron, but a run first takes a PostgreSQL advisory lock
+ * (pg_try_advisory_lock) and is skipped if another node holds it, so two nodes never
+ * archive the same orders. Databases without advisory locks (H2) only get the
+ * in-process lock.
+ *
+ * Archived orders keep counting in user_order_summary: their totals go to
+ * user_removed_order_totals with the delete, and a summary rebuild adds them back.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderArchiver {
+
+    private static final List<String> FINAL_STATUSES = List.of(
+            OrderStatus.DELIVERED.name(), OrderStatus.CANCELLED.name(), OrderStatus.FAILED.name());
+
+    private static final int ID_CHUNK = 500;
+
+    // Advisory lock key for archive runs, shared by all nodes
+    private static final long LOCK_KEY = 0x6f72646572617263L;
+
+    private static final OrderLinesConverter LINES = new OrderLinesConverter();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final OrderArchive orderArchive;
+    private final OrderItemProjection itemProjection;
+    private final UserOrderSummaryProjection summaryProjection;
+
+    @Value("${order.archive.after:365d}")
+    private Duration after;
+
+    @Value("${order.archive.segment-size:100000}")
+    private int segmentSize;
+
+    @Value("${order.archive.orders-per-block:16}")
+    private int ordersPerBlock;
+
+    private record HotOrder(String orderId, long userId, String username, BigDecimal totalAmount,
+                            OrderStatus status, LocalDateTime createdAt, LocalDateTime updatedAt,
+                            String itemsPayload) {
+    }
+
+    @Scheduled(cron = "${order.archive.cron:-}")
+    public void scheduledArchive() {
+        archive();
+    }
+
+    /**
+     * Archives every eligible order, unless another node is archiving.
+     *
+     * @return the number of orders archived
+     */
+    public synchronized long archive() {
+        Long archived = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                return archiveBatches();
+            }
+            // Session lock, held by this otherwise idle connection until the run ends
+            if (!advisoryLock(connection, "pg_try_advisory_lock")) {
+                log.info("Another node is archiving orders; skipping this run");
+                return 0L;
+            }
+            try {
+                return archiveBatches();
+            } finally {
+                advisoryLock(connection, "pg_advisory_unlock");
+            }
+        });
+        return archived != null ? archived : 0;
+    }
+
+    private long archiveBatches() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(after);
+        long archived = 0;
+        while (true) {
+            List<HotOrder> batch = loadBatch(cutoff);
+            if (batch.isEmpty()) {
+                break;
+            }
+            List<ArchivedOrder> orders = withLines(batch, cutoff);
+            orderArchive.append(orders, ordersPerBlock);
+            int deleted = deleteFromHotTables(batch);
+            archived += batch.size();
+            if (deleted < batch.size()) {
+                // The next batch would be the same orders again
+                log.warn("Archived {} orders but deleted only {} from the hot tables; stopping", batch.size(), deleted);
+                break;
+            }
+            if (batch.size() < segmentSize) {
+                break;
+            }
+        }
+        if (archived > 0) {
+            log.info("Archived {} orders created before {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    private static boolean advisoryLock(Connection connection, String function) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT " + function + "(?)")) {
+            ps.setLong(1, LOCK_KEY);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private List<HotOrder> loadBatch(LocalDateTime cutoff) {
+        return jdbcTemplate.query(
+                "SELECT o.order_id, o.user_id, u.username, o.total_amount, o.status, o.created_at, o.updated_at, "
+                        + "o.items_payload FROM orders o JOIN users u ON u.id = o.user_id "
+                        + "WHERE o.status IN (?, ?, ?) AND o.created_at < ? ORDER BY o.created_at LIMIT ?",
+                (rs, rowNum) -> {
+                    Timestamp updatedAt = rs.getTimestamp("updated_at");
+                    return new HotOrder(
+                            rs.getString("order_id"),
+                            rs.getLong("user_id"),
+                            rs.getString("username"),
+                            rs.getBigDecimal("total_amount"),
+                            OrderStatus.valueOf(rs.getString("status")),
+                            rs.getTimestamp("created_at").toLocalDateTime(),
+                            updatedAt != null ? updatedAt.toLocalDateTime() : null,
+                            rs.getString("items_payload"));
+                },
+                FINAL_STATUSES.get(0), FINAL_STATUSES.get(1), FINAL_STATUSES.get(2),
+                Timestamp.valueOf(cutoff), segmentSize);
+    }
+
+    // Embedded orders carry their lines; normalized ones are read from order_items in chunks
+    private List<ArchivedOrder> withLines(List<HotOrder> batch, LocalDateTime cutoff) {
+        Map<String, List<OrderLine>> items = new HashMap<>();
+        List<String> normalized = batch.stream()
+                .filter(order -> order.itemsPayload() == null)
+                .map(HotOrder::orderId)
+                .toList();
+        for (int from = 0; from < normalized.size(); from += ID_CHUNK) {
+            List<String> ids = normalized.subList(from, Math.min(from + ID_CHUNK, normalized.size()));
+            List<Object> params = new ArrayList<>(ids);
+            // created_at bound: PostgreSQL only reads the old partitions
+            params.add(Timestamp.valueOf(cutoff));
+            jdbcTemplate.query(
+                    "SELECT order_id, product_id, product_name, quantity, price FROM order_items "
+                            + "WHERE order_id IN (" + String.join(",", Collections.nCopies(ids.size(), "?")) + ") "
+                            + "AND created_at < ? ORDER BY order_id, id",
+                    rs -> {
+                        items.computeIfAbsent(rs.getString("order_id"), id -> new ArrayList<>()).add(new OrderLine(
+                                rs.getString("product_id"),
+                                rs.getString("product_name"),
+                                rs.getInt("quantity"),
+                                rs.getBigDecimal("price")));
+                    },
+                    params.toArray());
+        }
+        return batch.stream()
+                .map(order -> new ArchivedOrder(
+                        order.orderId(),
+                        order.userId(),
+                        order.username(),
+                        order.totalAmount(),
+                        order.status(),
+                        order.createdAt(),
+                        order.updatedAt(),
+                        order.itemsPayload() != null
+                                ? LINES.convertToEntityAttribute(order.itemsPayload())
+                                : items.getOrDefault(order.orderId(), List.of())))
+                .toList();
+    }
+
+    private int deleteFromHotTables(List<HotOrder> batch) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            summaryProjection.recordRemoved(batch.stream().map(HotOrder::orderId).toList());
+            // created_at in the key lets PostgreSQL go straight to each order's partition
+            jdbcTemplate.batchUpdate("DELETE FROM order_items WHERE order_id = ? AND created_at = ?",
+                    batch, 1000, (ps, order) -> {
+                        ps.setString(1, order.orderId());
+                        ps.setTimestamp(2, Timestamp.valueOf(order.createdAt()));
+                    });
+            int[][] deleted = jdbcTemplate.batchUpdate("DELETE FROM orders WHERE order_id = ? AND created_at = ?",
+                    batch, 1000, (ps, order) -> {
+                        ps.setString(1, order.orderId());
+                        ps.setTimestamp(2, Timestamp.valueOf(order.createdAt()));
+                    });
+            jdbcTemplate.batchUpdate("DELETE FROM order_parked_transitions WHERE order_id = ?",
+                    batch, 1000, (ps, order) -> ps.setString(1, order.orderId()));
+            itemProjection.delete(batch.stream()
+                    .filter(order -> order.itemsPayload() != null)
+                    .map(HotOrder::orderId)
+                    .toList());
+            return Arrays.stream(deleted)
+                    .flatMapToInt(Arrays::stream)
+                    .map(count -> count == Statement.SUCCESS_NO_INFO ? 1 : count)
+                    .sum();
+        });
+    }
+}
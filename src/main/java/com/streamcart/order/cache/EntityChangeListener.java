@@ -0,0 +1,59 @@
+package com.streamcart.order.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts second-level cache entries changed on other nodes.
+ *
+ * Every node consumes entity.changes in its own consumer group (a broadcast), starting
+ * from the latest offset: a freshly started node has an empty cache and nothing to evict.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class EntityChangeListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final EntityChangePublisher publisher;
+
+    @KafkaListener(
+            topics = EntityChangePublisher.TOPIC,
+            groupId = "order-service-cache-#{@entityChangePublisher.nodeId}",
+            properties = {
+                    "auto.offset.reset=latest",
+                    "spring.json.value.default.type=com.streamcart.order.cache.EntityChangeNotice"
+            })
+    public void onEntityChange(EntityChangeNotice notice) {
+        if (publisher.getNodeId().equals(notice.origin())) {
+            return;  // Hibernate already updated the local cache on commit
+        }
+
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        EntityPersister persister = sessionFactory.getMappingMetamodel().findEntityDescriptor(notice.entity());
+        if (persister == null || !persister.canWriteToCache()) {
+            log.warn("Ignoring cache invalidation for unknown or uncached entity {}", notice.entity());
+            return;
+        }
+
+        Cache cache = sessionFactory.getCache();
+        Object id = persister.getIdentifierType().getReturnedClass() == Long.class
+                ? Long.valueOf(notice.id())
+                : notice.id();
+        cache.evictEntityData(notice.entity(), id);
+        if (notice.deleted() && persister.hasNaturalIdCache()) {
+            // Natural ids are immutable, so only a delete makes a natural-id entry stale.
+            // Entries can't be evicted by id, drop the region.
+            cache.evictNaturalIdData(notice.entity());
+        }
+        log.debug("Evicted {}#{} (changed on node {})", notice.entity(), notice.id(), notice.origin());
+    }
+}
@@ -0,0 +1,20 @@
+package com.streamcart.order.cache;
+
+import java.time.Instant;
+
+/**
+ * Broadcast on the entity.changes topic after a cached entity is updated or deleted.
+ *
+ * @param entity  Hibernate entity name (fully qualified class name)
+ * @param id      entity id as a string
+ * @param deleted true for a delete, false for an update
+ * @param origin  node that made the change; it skips its own notices
+ */
+public record EntityChangeNotice(
+    String entity,
+    String id,
+    boolean deleted,
+    String origin,
+    Instant changedAt
+) {
+}
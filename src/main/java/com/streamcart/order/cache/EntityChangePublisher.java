@@ -0,0 +1,112 @@
+package com.streamcart.order.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Publishes an {@link EntityChangeNotice} after every committed update or delete of a
+ * second-level-cached entity (User, Product), so other nodes can evict their copy.
+ *
+ * Hooked into Hibernate's post-commit events: rolled-back changes are never broadcast.
+ * Inserts aren't broadcast, other nodes can't have cached an entity that didn't exist.
+ * Neither are updates that only touch optimistic-lock-excluded properties (User.lastLoginAt,
+ * written on every login): other nodes keep serving the old value of such a property until
+ * the entry's TTL expires or a real change evicts it.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class EntityChangePublisher implements PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    static final String TOPIC = "entity.changes";
+
+    private final KafkaTemplate<String, EntityChangeNotice> kafkaTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Getter
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (onlyUnversionedChanges(event)) {
+            return;
+        }
+        publish(event.getPersister(), event.getId(), false);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(event.getPersister(), event.getId(), true);
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Nothing was committed, nothing to invalidate
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Nothing was committed, nothing to invalidate
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.canWriteToCache();
+    }
+
+    private static boolean onlyUnversionedChanges(PostUpdateEvent event) {
+        int[] dirty = event.getDirtyProperties();
+        if (dirty == null || dirty.length == 0) {
+            return false;  // Dirtiness unknown, broadcast to be safe
+        }
+        boolean[] versionability = event.getPersister().getPropertyVersionability();
+        for (int property : dirty) {
+            if (versionability[property]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void publish(EntityPersister persister, Object id, boolean deleted) {
+        if (!persister.canWriteToCache()) {
+            return;
+        }
+        EntityChangeNotice notice = new EntityChangeNotice(
+                persister.getEntityName(), String.valueOf(id), deleted, nodeId, Instant.now());
+
+        kafkaTemplate.send(TOPIC, notice.entity(), notice).whenComplete((result, ex) -> {
+            if (ex != null) {
+                // Other nodes keep the stale entry until its TTL expires
+                log.error("Failed to broadcast cache invalidation for {}#{}", notice.entity(), notice.id(), ex);
+            }
+        });
+    }
+}
@@ -0,0 +1,15 @@
+package com.streamcart.order.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Enables @Async methods.
+ *
+ * Async work runs on Spring Boot's auto-configured applicationTaskExecutor
+ * (tunable via spring.task.execution.* in application.yml).
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
@@ -0,0 +1,94 @@
+package com.streamcart.order.config;
+
+import com.streamcart.order.datasource.ReadReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * DataSource Configuration
+ *
+ * The application's DataSource routes read-only transactions to a read replica
+ * (see {@link ReadReplicaRoutingDataSource}); the primary pool is still configured
+ * through spring.datasource.*.
+ *
+ * The replica is optional and decided at runtime: with replica.url empty every
+ * connection comes from the primary. (A @Conditional bean would be fixed by the AOT build.)
+ */
+@Configuration
+@Slf4j
+public class DataSourceConfig {
+
+    @Value("${replica.url:}")
+    private String replicaUrl;
+
+    @Value("${replica.username:}")
+    private String replicaUsername;
+
+    @Value("${replica.password:}")
+    private String replicaPassword;
+
+    @Value("${replica.pool-size:10}")
+    private int replicaPoolSize;
+
+    @Value("${replica.max-lag:1s}")
+    private Duration maxLag;
+
+    @Value("${replica.read-your-writes-window:5s}")
+    private Duration readYourWritesWindow;
+
+    @Value("${replica.lag-query}")
+    private String lagQuery;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReadReplicaRoutingDataSource routingDataSource(HikariDataSource primaryDataSource,
+                                                          MeterRegistry meterRegistry) {
+        if (!StringUtils.hasText(replicaUrl)) {
+            return new ReadReplicaRoutingDataSource(primaryDataSource, meterRegistry);
+        }
+        log.info("Routing read-only transactions to replica {} (max lag {}, read-your-writes window {})",
+                replicaUrl, maxLag, readYourWritesWindow);
+        return new ReadReplicaRoutingDataSource(primaryDataSource, replicaDataSource(meterRegistry),
+                lagQuery, maxLag, readYourWritesWindow, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    private HikariDataSource replicaDataSource(MeterRegistry meterRegistry) {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName("replica");
+        replica.setJdbcUrl(replicaUrl);
+        replica.setUsername(replicaUsername);
+        replica.setPassword(replicaPassword);
+        replica.setMaximumPoolSize(replicaPoolSize);
+        replica.setReadOnly(true);
+        // Fail over to the primary quickly instead of waiting the default 30s
+        replica.setConnectionTimeout(Math.max(250, maxLag.toMillis()));
+        // Don't fail startup if the replica is down; the health check keeps trying
+        replica.setInitializationFailTimeout(-1);
+        replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return replica;
+    }
+}
@@ -0,0 +1,28 @@
+package com.streamcart.order.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Flyway Configuration
+ * 
+ * Migrations run on startup unless flyway.skip-migrate=true.
+ * The CDS training run (pom.xml 'cds' profile) has no database and sets this flag.
+ * spring.flyway.enabled can't be used there: AOT fixes the bean graph at build time,
+ * while this @Value is still resolved at runtime.
+ */
+@Configuration
+public class FlywayConfig {
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(
+            @Value("${flyway.skip-migrate:false}") boolean skipMigrate) {
+        return flyway -> {
+            if (!skipMigrate) {
+                flyway.migrate();
+            }
+        };
+    }
+}
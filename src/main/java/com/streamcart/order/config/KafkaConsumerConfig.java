@@ -0,0 +1,85 @@
+package com.streamcart.order.config;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.RangeAssignor;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Kafka Consumer Configuration
+ *
+ * statusEventListenerFactory: batch listener for payment/inventory results (OrderStatusEventListener)
+ * - Values are read as raw JSON strings; the listener picks the event type by topic
+ * - Offsets are committed manually, only after the batch's database transaction commits
+ * - One consumer thread per 'order.status-consumer.concurrency'; records are keyed by
+ *   orderId, so all events of an order stay on one partition and are applied in order
+ * - RangeAssignor gives partition N of both topics to the same thread, so an order's
+ *   payment and inventory events are never applied concurrently
+ * - A failed batch is retried with exponential backoff (order.status-consumer.retry.*);
+ *   once max-elapsed has passed its records go to <topic>.DLT, keyed by orderId as before,
+ *   and the partition moves on. Replaying a dead letter is safe: applying a change twice is a no-op
+ */
+@Configuration
+public class KafkaConsumerConfig {
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> statusEventListenerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<?, ?> consumerFactory,
+            ProducerFactory<?, ?> producerFactory,
+            @Value("${order.status-consumer.concurrency:3}") int concurrency,
+            @Value("${order.status-consumer.retry.max-interval:30s}") Duration maxInterval,
+            @Value("${order.status-consumer.retry.max-elapsed:15m}") Duration maxElapsed) {
+        Map<String, Object> props = new HashMap<>(consumerFactory.getConfigurationProperties());
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG, RangeAssignor.class.getName());
+
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        // Applies spring.kafka.listener.* (e.g. auto-startup) like the default factory
+        configurer.configure(factory, stringConsumerFactory(props));
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+        factory.setCommonErrorHandler(deadLetterErrorHandler(producerFactory, maxInterval, maxElapsed));
+        return factory;
+    }
+
+    private static DefaultErrorHandler deadLetterErrorHandler(
+            ProducerFactory<?, ?> producerFactory, Duration maxInterval, Duration maxElapsed) {
+        // Records are consumed as raw strings, so dead letters are written back the same way
+        KafkaTemplate<String, String> deadLetterTemplate = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(
+                producerFactory.getConfigurationProperties(), new StringSerializer(), new StringSerializer()));
+        // Partition -1: the key picks it, so the DLT needn't match the source topic's partition count
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(deadLetterTemplate,
+                (record, ex) -> new TopicPartition(record.topic() + ".DLT", -1));
+
+        ExponentialBackOff backOff = new ExponentialBackOff(1_000, 2.0);
+        backOff.setMaxInterval(maxInterval.toMillis());
+        backOff.setMaxElapsedTime(maxElapsed.toMillis());
+        return new DefaultErrorHandler(recoverer, backOff);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ConsumerFactory<Object, Object> stringConsumerFactory(Map<String, Object> props) {
+        return new DefaultKafkaConsumerFactory(props, new StringDeserializer(), new StringDeserializer());
+    }
+}
@@ -0,0 +1,89 @@
+package com.streamcart.order.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.streamcart.order.loadshedding.AdaptiveConcurrencyLimiter;
+import com.streamcart.order.loadshedding.LoadSheddingFilter;
+import com.streamcart.order.loadshedding.RequestPriority;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Adaptive load shedding for the order and auth endpoints (order.load-shedding.*).
+ * The filter runs before the Spring Security filter chain.
+ */
+@Configuration
+@ConditionalOnProperty(name = "order.load-shedding.enabled", havingValue = "true", matchIfMissing = true)
+public class LoadSheddingConfig {
+
+    @Value("${order.load-shedding.initial-limit:50}")
+    private int initialLimit;
+
+    @Value("${order.load-shedding.min-limit:10}")
+    private int minLimit;
+
+    @Value("${order.load-shedding.max-limit:400}")
+    private int maxLimit;
+
+    @Value("${order.load-shedding.tolerance:1.5}")
+    private double tolerance;
+
+    @Value("${order.load-shedding.smoothing:0.2}")
+    private double smoothing;
+
+    @Value("${order.load-shedding.window:100ms}")
+    private Duration window;
+
+    @Value("${order.load-shedding.min-window-samples:10}")
+    private int minWindowSamples;
+
+    @Value("${order.load-shedding.probe-interval:30s}")
+    private Duration probeInterval;
+
+    @Value("${order.load-shedding.probe-samples:50}")
+    private int probeSamples;
+
+    @Value("${order.load-shedding.share.order-writes:1.0}")
+    private double orderWritesShare;
+
+    @Value("${order.load-shedding.share.order-reads:0.9}")
+    private double orderReadsShare;
+
+    @Value("${order.load-shedding.share.auth:0.75}")
+    private double authShare;
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(MeterRegistry meterRegistry) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                initialLimit, minLimit, maxLimit, tolerance, smoothing, window.toNanos(), minWindowSamples,
+                probeInterval.toNanos(), probeSamples, Map.of(
+                        RequestPriority.ORDER_WRITE, orderWritesShare,
+                        RequestPriority.ORDER_READ, orderReadsShare,
+                        RequestPriority.AUTH, authShare));
+        Gauge.builder("order.load-shedding.limit", limiter, AdaptiveConcurrencyLimiter::limit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("order.load-shedding.in-flight", limiter, AdaptiveConcurrencyLimiter::inFlight)
+                .description("Requests in flight under the adaptive concurrency limit")
+                .register(meterRegistry);
+        return limiter;
+    }
+
+    @Bean
+    public FilterRegistrationBean<LoadSheddingFilter> loadSheddingFilter(
+            AdaptiveConcurrencyLimiter limiter, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        FilterRegistrationBean<LoadSheddingFilter> registration =
+                new FilterRegistrationBean<>(new LoadSheddingFilter(limiter, objectMapper, meterRegistry));
+        registration.addUrlPatterns("/api/orders", "/api/orders/*", "/api/auth/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
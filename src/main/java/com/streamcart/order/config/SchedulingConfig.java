@@ -0,0 +1,15 @@
+package com.streamcart.order.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled methods.
+ *
+ * Scheduled work runs on Spring Boot's auto-configured taskScheduler
+ * (tunable via spring.task.scheduling.* in application.yml).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,6 +1,7 @@
 package com.streamcart.order.config;
 
 import com.streamcart.order.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -43,12 +44,19 @@ public class SecurityConfig {
             
             // Configure which endpoints require authentication
             .authorizeHttpRequests(auth -> auth
+                // Async dispatches finish a request that was already authorized
+                // (SSE streams, streamed search results); the JWT filter doesn't run again
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                
                 // Public endpoints - anyone can access
                 .requestMatchers("/api/auth/**").permitAll()
                 
                 // Swagger UI and OpenAPI docs - public access
                 .requestMatchers("/swagger-ui/**", "/swagger-ui.html", "/api-docs/**", "/v3/api-docs/**").permitAll()
                 
+                // Health probes - polled by the orchestrator without credentials
+                .requestMatchers("/actuator/health/**").permitAll()
+                
                 // All other endpoints require authentication
                 .anyRequest().authenticated()
             )
@@ -0,0 +1,30 @@
+package com.streamcart.order.config;
+
+import com.streamcart.order.dto.OrderResponse;
+import com.streamcart.order.service.Versioned;
+import com.streamcart.order.singleflight.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Optional;
+
+/**
+ * Request coalescing for hot reads: one {@link SingleFlight} per kind of load.
+ */
+@Configuration
+public class SingleFlightConfig {
+
+    // OrderService.getOrder, keyed by order id
+    @Bean
+    public SingleFlight<String, Optional<Versioned<OrderResponse>>> orderLoads(MeterRegistry meterRegistry) {
+        return new SingleFlight<>("order", meterRegistry);
+    }
+
+    // CustomUserDetailsService (every authenticated request), keyed by username
+    @Bean
+    public SingleFlight<String, Optional<UserDetails>> userDetailsLoads(MeterRegistry meterRegistry) {
+        return new SingleFlight<>("user-details", meterRegistry);
+    }
+}
@@ -0,0 +1,22 @@
+package com.streamcart.order.config;
+
+import com.streamcart.order.ratelimit.UserRateLimitInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Spring MVC setup: per-user rate limits on the order endpoints.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final UserRateLimitInterceptor userRateLimitInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(userRateLimitInterceptor).addPathPatterns("/api/orders", "/api/orders/**");
+    }
+}
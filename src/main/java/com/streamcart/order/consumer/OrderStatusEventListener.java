@@ -0,0 +1,127 @@
+package com.streamcart.order.consumer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.streamcart.order.dto.InventoryUpdatedEvent;
+import com.streamcart.order.dto.PaymentProcessedEvent;
+import com.streamcart.order.entity.OrderStatus;
+import com.streamcart.order.service.OrderStatusUpdater;
+import com.streamcart.order.service.OrderStatusUpdater.StatusChange;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * Moves orders through their lifecycle from payment-service and inventory-service results.
+ *
+ * payment.processed: successful → PAID, failed → FAILED
+ * inventory.updated: reserved → INVENTORY_RESERVED, not reserved → FAILED
+ * A reservation that arrives before the payment is parked and applied once the order is PAID.
+ *
+ * Each poll is applied as one batch by {@link OrderStatusUpdater} and acknowledged only after
+ * its transaction commits. If the batch fails, nothing is acknowledged: the container's error
+ * handler (KafkaConsumerConfig) retries it with backoff and finally dead-letters its records.
+ * Retried events are harmless because the state machine skips transitions already made.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderStatusEventListener {
+
+    static final String PAYMENT_TOPIC = "payment.processed";
+    static final String INVENTORY_TOPIC = "inventory.updated";
+
+    private final OrderStatusUpdater statusUpdater;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(
+            topics = {PAYMENT_TOPIC, INVENTORY_TOPIC},
+            groupId = "order-service-status",
+            containerFactory = "statusEventListenerFactory")
+    public void onStatusEvents(List<ConsumerRecord<String, String>> records, Acknowledgment acknowledgment) {
+        List<ConsumerRecord<String, String>> ordered = inEventOrder(records);
+
+        List<StatusChange> changes = new ArrayList<>(ordered.size());
+        for (ConsumerRecord<String, String> record : ordered) {
+            toStatusChange(record).ifPresent(changes::add);
+        }
+
+        OrderStatusUpdater.BatchResult result = statusUpdater.applyAll(changes);
+        acknowledgment.acknowledge();
+
+        log.info("Applied {} status events: {} orders updated, {} parked, {} rejected, {} unknown",
+                records.size(), result.updated(), result.parked(), result.rejected(), result.unknown());
+    }
+
+    /**
+     * A poll groups records by partition; restores event order across the two topics by
+     * merging the partitions on timestamp. Within a partition the offset order is kept even
+     * where timestamps go backwards (producer clock skew), so one order's events are never
+     * swapped. On equal timestamps the partition seen first in the poll goes first.
+     */
+    static <K, V> List<ConsumerRecord<K, V>> inEventOrder(List<ConsumerRecord<K, V>> records) {
+        Map<TopicPartition, List<ConsumerRecord<K, V>>> byPartition = new LinkedHashMap<>();
+        for (ConsumerRecord<K, V> record : records) {
+            byPartition.computeIfAbsent(new TopicPartition(record.topic(), record.partition()),
+                    partition -> new ArrayList<>()).add(record);
+        }
+        if (byPartition.size() == 1) {
+            return records;
+        }
+
+        // Heap of partition heads: {partition index, position in that partition}
+        List<List<ConsumerRecord<K, V>>> partitions = new ArrayList<>(byPartition.values());
+        PriorityQueue<int[]> heads = new PriorityQueue<>(partitions.size(), Comparator
+                .<int[]>comparingLong(head -> partitions.get(head[0]).get(head[1]).timestamp())
+                .thenComparingInt(head -> head[0]));
+        for (int i = 0; i < partitions.size(); i++) {
+            heads.add(new int[]{i, 0});
+        }
+
+        List<ConsumerRecord<K, V>> ordered = new ArrayList<>(records.size());
+        while (!heads.isEmpty()) {
+            int[] head = heads.poll();
+            List<ConsumerRecord<K, V>> partition = partitions.get(head[0]);
+            ordered.add(partition.get(head[1]));
+            if (++head[1] < partition.size()) {
+                heads.add(head);
+            }
+        }
+        return ordered;
+    }
+
+    Optional<StatusChange> toStatusChange(ConsumerRecord<String, String> record) {
+        try {
+            return switch (record.topic()) {
+                case PAYMENT_TOPIC -> {
+                    PaymentProcessedEvent event = objectMapper.readValue(record.value(), PaymentProcessedEvent.class);
+                    yield Optional.of(new StatusChange(event.orderId(),
+                            event.successful() ? OrderStatus.PAID : OrderStatus.FAILED));
+                }
+                case INVENTORY_TOPIC -> {
+                    InventoryUpdatedEvent event = objectMapper.readValue(record.value(), InventoryUpdatedEvent.class);
+                    yield Optional.of(new StatusChange(event.orderId(),
+                            event.reserved() ? OrderStatus.INVENTORY_RESERVED : OrderStatus.FAILED));
+                }
+                default -> Optional.empty();
+            };
+        } catch (JsonProcessingException ex) {
+            // Poison pill: skip it rather than block the partition
+            log.error("Skipping malformed {} record at partition {} offset {}",
+                    record.topic(), record.partition(), record.offset(), ex);
+            return Optional.empty();
+        }
+    }
+}
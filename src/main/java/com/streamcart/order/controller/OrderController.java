@@ -1,8 +1,21 @@
 package com.streamcart.order.controller;
 
 import com.streamcart.order.dto.CreateOrderRequest;
+import com.streamcart.order.dto.OrderExportRequest;
+import com.streamcart.order.dto.OrderLookupRequest;
+import com.streamcart.order.dto.OrderLookupResponse;
 import com.streamcart.order.dto.OrderResponse;
+import com.streamcart.order.dto.OrderSearchPage;
+import com.streamcart.order.dto.OrderSearchRequest;
+import com.streamcart.order.dto.OrderSummaryResponse;
+import com.streamcart.order.dto.OrderView;
+import com.streamcart.order.dto.ProductHourlySales;
+import com.streamcart.order.dto.ProductSalesRequest;
+import com.streamcart.order.service.OrderExportService;
+import com.streamcart.order.service.OrderSearchService;
 import com.streamcart.order.service.OrderService;
+import com.streamcart.order.service.ProductSalesService;
+import com.streamcart.order.service.Versioned;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,9 +27,18 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -28,7 +50,16 @@ import java.util.List;
 @SecurityRequirement(name = "bearerAuth")
 public class OrderController {
     
+    // Clients may keep a copy but must revalidate it (If-None-Match) before each use
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+    
+    // Set when archived orders, which search and export don't read, could have matched
+    static final String ARCHIVED_BEFORE = "X-Archived-Before";
+    
     private final OrderService orderService;
+    private final OrderSearchService orderSearchService;
+    private final OrderExportService orderExportService;
+    private final ProductSalesService productSalesService;
     
     @Operation(
             summary = "Create a new order",
@@ -48,6 +79,10 @@ public class OrderController {
             @ApiResponse(
                     responseCode = "401",
                     description = "Unauthorized: missing or invalid JWT token"
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Too many requests from this user (applies to every order endpoint); see Retry-After"
             )
     })
     @PostMapping
@@ -60,7 +95,9 @@ public class OrderController {
     @Operation(
             summary = "Get a specific order by ID",
             description = "Retrieves order details by order ID. Users can only access their own orders. " +
-                    "Returns 403 Forbidden if trying to access another user's order."
+                    "Returns 403 Forbidden if trying to access another user's order. " +
+                    "Send the ETag back in If-None-Match to get 304 while the order is unchanged. " +
+                    "fields= returns only the listed fields; expand=items adds the line items."
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -68,6 +105,14 @@ public class OrderController {
                     description = "Order found and returned successfully",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = OrderResponse.class))
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Not modified: the order still matches If-None-Match"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Unknown field or expansion"
+            ),
             @ApiResponse(
                     responseCode = "401",
                     description = "Unauthorized: missing or invalid JWT token"
@@ -82,17 +127,265 @@ public class OrderController {
             )
     })
     @GetMapping("/{orderId}")
-    public ResponseEntity<OrderResponse> getOrder(
+    public ResponseEntity<MappingJacksonValue> getOrder(
+            @Parameter(description = "Unique order identifier", example = "550e8400-e29b-41d4-a716-446655440000")
+            @PathVariable String orderId,
+            @Parameter(description = "Fields to return, comma-separated (default all): orderId, username, totalAmount, " +
+                    "status, createdAt, items", example = "orderId,status")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "items: include each order's line items", example = "items")
+            @RequestParam(required = false) String expand,
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        OrderView view = OrderView.of(fields, expand);
+        // A poll that already holds the current version is answered without loading the order
+        if (ifNoneMatch != null) {
+            String etag = etag(orderService.getOrderETag(orderId), view, accept);
+            if (matches(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+        }
+        Versioned<OrderResponse> order = orderService.getVersionedOrder(orderId, view.expandItems());
+        return ResponseEntity.ok()
+                .eTag(etag(order.etag(), view, accept))
+                .cacheControl(REVALIDATE)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(render(order.body(), view));
+    }
+    
+    @Operation(
+            summary = "Get many orders by ID",
+            description = "Fetches up to 100 orders in one call (comma-separated or repeated ids). Ids that don't exist " +
+                    "or belong to another user are reported in errors with the status GET /api/orders/{orderId} " +
+                    "would have returned; the call itself still succeeds. Use POST /api/orders/lookup for long lists. " +
+                    "fields= and expand=items shape each order as in GET /api/orders/{orderId}."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "The orders found, and an error per id that could not be returned",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = OrderLookupResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "No ids, more than 100, or an unknown field or expansion"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized: missing or invalid JWT token"
+            )
+    })
+    @GetMapping(params = "ids")
+    public ResponseEntity<MappingJacksonValue> getOrders(
+            @Parameter(description = "Order ids", example = "550e8400-e29b-41d4-a716-446655440000,6ba7b810-9dad-11d1-80b4-00c04fd430c8")
+            @RequestParam List<String> ids,
+            @Parameter(description = "Fields to return, comma-separated (default all): orderId, username, totalAmount, " +
+                    "status, createdAt, items", example = "orderId,status")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "items: include each order's line items", example = "items")
+            @RequestParam(required = false) String expand) {
+        OrderView view = OrderView.of(fields, expand);
+        return ResponseEntity.ok(render(orderService.getOrders(ids, view.expandItems()), view));
+    }
+    
+    @Operation(
+            summary = "Get many orders by ID (request body)",
+            description = "Same as GET /api/orders?ids=..., for id lists too long for a URL."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "The orders found, and an error per id that could not be returned",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = OrderLookupResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "No ids, blank ids, more than 100, or an unknown field or expansion"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized: missing or invalid JWT token"
+            )
+    })
+    @PostMapping("/lookup")
+    public ResponseEntity<MappingJacksonValue> lookupOrders(
+            @Valid @RequestBody OrderLookupRequest request,
+            @Parameter(description = "Fields to return, comma-separated (default all): orderId, username, totalAmount, " +
+                    "status, createdAt, items", example = "orderId,status")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "items: include each order's line items", example = "items")
+            @RequestParam(required = false) String expand) {
+        OrderView view = OrderView.of(fields, expand);
+        return ResponseEntity.ok(render(orderService.getOrders(request.ids(), view.expandItems()), view));
+    }
+    
+    @Operation(
+            summary = "Stream status changes for an order",
+            description = "Server-Sent Events stream of the order's status. The first `status` event is the current " +
+                    "status; each later one is a transition. Event ids are the order version. The stream ends after " +
+                    "a final status (DELIVERED, CANCELLED, FAILED) or when idle; clients simply reconnect."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Event stream opened",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized: missing or invalid JWT token"
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden: order does not belong to current user"
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Order not found"
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Too many open streams on this instance"
+            )
+    })
+    @GetMapping(value = "/{orderId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrderEvents(
+            @Parameter(description = "Unique order identifier", example = "550e8400-e29b-41d4-a716-446655440000")
+            @PathVariable String orderId) {
+        return orderService.streamStatus(orderId);
+    }
+    
+    @Operation(
+            summary = "Cancel an order",
+            description = "Cancels one of the authenticated user's orders. Only orders that haven't shipped " +
+                    "(PENDING, PAYMENT_PROCESSING, PAID, INVENTORY_RESERVED) can be cancelled."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Order cancelled",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = OrderResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized: missing or invalid JWT token"
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden: order does not belong to current user"
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Order not found"
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Conflict: order can no longer be cancelled"
+            )
+    })
+    @PostMapping("/{orderId}/cancel")
+    public ResponseEntity<OrderResponse> cancelOrder(
             @Parameter(description = "Unique order identifier", example = "550e8400-e29b-41d4-a716-446655440000")
             @PathVariable String orderId) {
-        OrderResponse response = orderService.getOrder(orderId);
+        OrderResponse response = orderService.cancelOrder(orderId);
         return ResponseEntity.ok(response);
     }
     
+    @Operation(
+            summary = "Search orders",
+            description = "Filters orders by status, creation time and total, newest first. Customers search their own " +
+                    "orders; support staff can search any user's orders (status or username required). " +
+                    "Pages hold at most 100 orders; pass nextCursor as cursor for the next page. " +
+                    "fields= and expand=items shape each order as in GET /api/orders/{orderId}."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "One page of matching orders. X-Archived-Before is set when archived orders, " +
+                            "which search doesn't read, could have matched",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = OrderSearchPage.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid filters or cursor, or an unknown field or expansion"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized: missing or invalid JWT token"
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden: customers can only search their own orders"
+            )
+    })
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> searchOrders(
+            @Valid @ParameterObject OrderSearchRequest request,
+            @Parameter(description = "Fields to return, comma-separated (default all): orderId, username, totalAmount, " +
+                    "status, createdAt, items", example = "orderId,status")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "items: include each order's line items", example = "items")
+            @RequestParam(required = false) String expand) {
+        StreamingResponseBody body = orderSearchService.search(request, OrderView.of(fields, expand));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        orderSearchService.archivedBefore(request)
+                .ifPresent(horizon -> response.header(ARCHIVED_BEFORE, horizon.toString()));
+        return response.body(body);
+    }
+    
+    @Operation(
+            summary = "Export orders as NDJSON",
+            description = "Streams every matching order (with its items) as one JSON object per line. Finance only. " +
+                    "Gzipped when the request sends Accept-Encoding: gzip."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Export stream. X-Archived-Before is set when archived orders, " +
+                            "which exports don't include, could have matched",
+                    content = @Content(mediaType = "application/x-ndjson")
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid filters"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized: missing or invalid JWT token"
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden: exports are limited to finance"
+            )
+    })
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @ParameterObject OrderExportRequest request,
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        StreamingResponseBody body = orderExportService.export(request, gzip);
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders.ndjson\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        orderExportService.archivedBefore(request)
+                .ifPresent(horizon -> response.header(ARCHIVED_BEFORE, horizon.toString()));
+        return response.body(body);
+    }
+    
     @Operation(
             summary = "Get all orders for authenticated user",
             description = "Retrieves all orders belonging to the currently authenticated user. " +
-                    "User is identified from JWT token. Returns empty list if no orders found."
+                    "User is identified from JWT token. Returns empty list if no orders found. " +
+                    "Send the ETag back in If-None-Match to get 304 while none of the orders changed. " +
+                    "fields= and expand=items shape each order as in GET /api/orders/{orderId}."
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -100,14 +393,151 @@ public class OrderController {
                     description = "Orders retrieved successfully (may be empty list)",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = OrderResponse.class))
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Not modified: no order was created, changed or removed since the ETag"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Unknown field or expansion"
+            ),
             @ApiResponse(
                     responseCode = "401",
                     description = "Unauthorized: missing or invalid JWT token"
             )
     })
     @GetMapping("/my-orders")
-    public ResponseEntity<List<OrderResponse>> getMyOrders() {
-        List<OrderResponse> orders = orderService.getMyOrders();
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<MappingJacksonValue> getMyOrders(
+            @Parameter(description = "Fields to return, comma-separated (default all): orderId, username, totalAmount, " +
+                    "status, createdAt, items", example = "orderId,status")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "items: include each order's line items", example = "items")
+            @RequestParam(required = false) String expand,
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        OrderView view = OrderView.of(fields, expand);
+        if (ifNoneMatch != null) {
+            String etag = etag(orderService.getMyOrdersETag(), view, accept);
+            if (matches(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+        }
+        Versioned<List<OrderResponse>> orders = orderService.getVersionedMyOrders(view.expandItems());
+        return ResponseEntity.ok()
+                .eTag(etag(orders.etag(), view, accept))
+                .cacheControl(REVALIDATE)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(render(orders.body(), view));
+    }
+    
+    @Operation(
+            summary = "Get order summary for authenticated user",
+            description = "Returns the current user's order count, lifetime spend and last order date. " +
+                    "Served from a per-user summary that is updated with every order write, " +
+                    "so the cost doesn't grow with the number of orders."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Summary retrieved successfully (zeros if the user has no orders)",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = OrderSummaryResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized: missing or invalid JWT token"
+            )
+    })
+    @GetMapping("/summary")
+    public ResponseEntity<OrderSummaryResponse> getMySummary() {
+        return ResponseEntity.ok(orderService.getMySummary());
+    }
+    
+    @Operation(
+            summary = "Hourly sales per product",
+            description = "Returns orders, units and revenue per product per hour for from <= hour < to " +
+                    "(at most 93 days), optionally for one product. Finance only. " +
+                    "Served from hourly rollups maintained from the order stream; the current hour is included."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Hourly sales, by hour then product (may be empty list)",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductHourlySales.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid range"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized: missing or invalid JWT token"
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden: sales reports are limited to finance"
+            )
+    })
+    @GetMapping("/sales/hourly")
+    public ResponseEntity<List<ProductHourlySales>> getHourlySales(@Valid @ParameterObject ProductSalesRequest request) {
+        return ResponseEntity.ok(productSalesService.hourlySales(request));
+    }
+    
+    // Unselected fields are skipped by the serializer (OrderView's property filter)
+    private static MappingJacksonValue render(Object body, OrderView view) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(view.filters());
+        return value;
+    }
+    
+    // JSON and CBOR bodies of the same view are different representations too
+    private static String etag(String etag, OrderView view, String accept) {
+        return view.etag(etag) + (prefersCbor(accept) ? ";format=cbor" : "");
+    }
+    
+    // Mirrors the converters' negotiation: the most specific acceptable type picks the format, JSON first
+    private static boolean prefersCbor(String accept) {
+        if (accept == null) {
+            return false;
+        }
+        try {
+            List<MediaType> acceptable = MediaType.parseMediaTypes(accept);
+            MimeTypeUtils.sortBySpecificity(acceptable);
+            for (MediaType type : acceptable) {
+                if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                    return false;
+                }
+                if (type.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                    return true;
+                }
+            }
+        } catch (InvalidMediaTypeException ex) {
+            // Rejected (406) before a body is written
+        }
+        return false;
+    }
+    
+    // If-None-Match compares weakly: W/"x" matches "x"
+    private static boolean matches(String ifNoneMatch, String etag) {
+        String quoted = "\"" + etag + "\"";
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(quoted)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(REVALIDATE)
+                .varyBy(HttpHeaders.ACCEPT)
+                .build();
     }
 }
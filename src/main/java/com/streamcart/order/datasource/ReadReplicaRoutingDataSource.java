@@ -0,0 +1,179 @@
+package com.streamcart.order.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the read replica and everything else to the primary.
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy: the route is chosen when the first
+ * statement needs a connection, after the transaction (and its read-only flag) has started.
+ *
+ * A read-only transaction still uses the primary when:
+ * - no replica is configured
+ * - the replica is unusable: lagging more than replica.max-lag, failing its health check,
+ *   or refusing a connection
+ * - the current user committed a write less than replica.read-your-writes-window ago.
+ *   After every read-write transaction an authenticated user commits, the commit time is
+ *   recorded on this node and sent to the client as a cookie ({@link WriteMarkerCookie}),
+ *   which keeps the user on the primary when the next request lands on another node
+ *
+ * Metrics: datasource.reads{target=primary|replica, reason} counts read-only routing decisions.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    enum Target { PRIMARY, REPLICA }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaHealth health;
+    private final ReadYourWritesTracker recentWriters;
+    private final Duration readYourWritesWindow;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Without a replica: every connection comes from the primary.
+     */
+    public ReadReplicaRoutingDataSource(DataSource primary, MeterRegistry meterRegistry) {
+        this(primary, null, (ReplicaHealth) null, null, null, meterRegistry);
+    }
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, String lagQuery,
+                                        Duration maxLag, Duration readYourWritesWindow, MeterRegistry meterRegistry) {
+        this(primary, replica,
+                new ReplicaHealth(replica, lagQuery, maxLag, meterRegistry),
+                new ReadYourWritesTracker(readYourWritesWindow),
+                readYourWritesWindow,
+                meterRegistry);
+    }
+
+    private ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaHealth health,
+                                         ReadYourWritesTracker recentWriters, Duration readYourWritesWindow,
+                                         MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.health = health;
+        this.recentWriters = recentWriters;
+        this.readYourWritesWindow = readYourWritesWindow;
+        this.meterRegistry = meterRegistry;
+        setTargetDataSources(replica != null
+                ? Map.of(Target.PRIMARY, primary, Target.REPLICA, replica)
+                : Map.of(Target.PRIMARY, primary));
+        setDefaultTargetDataSource(primary);
+        initialize();
+    }
+
+    @Scheduled(fixedDelayString = "${replica.health-check-interval:1s}")
+    public void checkReplica() {
+        if (health != null) {
+            health.check();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            recordWriteOnCommit();
+            return Target.PRIMARY;
+        }
+        if (replica == null) {
+            return Target.PRIMARY;
+        }
+        if (!health.isUsable()) {
+            countRead(Target.PRIMARY, "replica-unusable");
+            return Target.PRIMARY;
+        }
+        if (readsOwnWrites()) {
+            countRead(Target.PRIMARY, "recent-write");
+            return Target.PRIMARY;
+        }
+        countRead(Target.REPLICA, "read-only");
+        return Target.REPLICA;
+    }
+
+    /**
+     * Whether the current caller's read-only transactions stay on the primary to see the
+     * caller's own recent writes. Callers sharing a load ({@link com.streamcart.order.singleflight.SingleFlight})
+     * must not mix this route with the replica's.
+     */
+    public boolean readsOwnWrites() {
+        if (replica == null) {
+            return false;
+        }
+        String username = currentUsername();
+        return username != null && recentWriters.wroteRecently(username)
+                || WriteMarkerCookie.wroteRecently(readYourWritesWindow);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        if (target != replica) {
+            return target.getConnection();
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLException ex) {
+            health.markUnusable(ex);
+            countRead(Target.PRIMARY, "connection-failed");
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (replica instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private void recordWriteOnCommit() {
+        if (recentWriters == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        String username = currentUsername();
+        if (username != null) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recentWriters.recordWrite(username);
+                    WriteMarkerCookie.write(System.currentTimeMillis(), readYourWritesWindow);
+                }
+            });
+        }
+    }
+
+    private String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private void countRead(Target target, String reason) {
+        Counter.builder("datasource.reads")
+                .description("Read-only transactions by the database they were routed to")
+                .tag("target", target.name().toLowerCase())
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,35 @@
+package com.streamcart.order.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * Remembers which users committed a write recently, so their reads stay on the primary
+ * until the replica has had time to catch up.
+ *
+ * Entries expire read-your-writes-window after the last write. They only cover this node;
+ * {@link WriteMarkerCookie} carries the same information to the others.
+ */
+class ReadYourWritesTracker {
+
+    private static final long MAX_TRACKED_USERS = 100_000;
+
+    private final Cache<String, Boolean> recentWriters;
+
+    ReadYourWritesTracker(Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(MAX_TRACKED_USERS)
+                .build();
+    }
+
+    void recordWrite(String username) {
+        recentWriters.put(username, Boolean.TRUE);
+    }
+
+    boolean wroteRecently(String username) {
+        return recentWriters.getIfPresent(username) != null;
+    }
+}
@@ -0,0 +1,79 @@
+package com.streamcart.order.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Tracks whether the read replica may serve reads: it must answer the lag query,
+ * and report a lag of at most replica.max-lag.
+ *
+ * The lag query returns seconds behind the primary; NULL (e.g. the database isn't a
+ * standby) counts as no lag. Between checks a failed connection attempt also marks
+ * the replica unusable, until the next successful check.
+ *
+ * Checked by {@link ReadReplicaRoutingDataSource#checkReplica()}.
+ *
+ * Metrics: datasource.replica.lag (seconds, NaN when unknown), datasource.replica.usable (1/0)
+ */
+@Slf4j
+class ReplicaHealth {
+
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+
+    private volatile boolean usable;
+    private volatile double lagSeconds = Double.NaN;
+
+    ReplicaHealth(DataSource replica, String lagQuery, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replica = new JdbcTemplate(replica);
+        this.replica.setQueryTimeout(Math.max(1, (int) maxLag.toSeconds()));
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+
+        Gauge.builder("datasource.replica.lag", this, health -> health.lagSeconds)
+                .description("Replica replay lag behind the primary")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.usable", this, health -> health.usable ? 1 : 0)
+                .description("Whether read-only transactions are routed to the replica")
+                .register(meterRegistry);
+    }
+
+    void check() {
+        boolean wasUsable = usable;
+        try {
+            Double lag = replica.queryForObject(lagQuery, Double.class);
+            lagSeconds = lag != null ? lag : 0;
+            usable = lagSeconds <= maxLagSeconds;
+            if (wasUsable && !usable) {
+                log.warn("Replica lag {}s exceeds {}s; reading from the primary", lagSeconds, maxLagSeconds);
+            }
+        } catch (RuntimeException ex) {
+            lagSeconds = Double.NaN;
+            usable = false;
+            if (wasUsable) {
+                log.warn("Replica health check failed; reading from the primary: {}", ex.getMessage());
+            }
+        }
+        if (!wasUsable && usable) {
+            log.info("Replica usable again (lag {}s)", lagSeconds);
+        }
+    }
+
+    boolean isUsable() {
+        return usable;
+    }
+
+    void markUnusable(Exception cause) {
+        if (usable) {
+            usable = false;
+            log.warn("Replica connection failed; reading from the primary: {}", cause.getMessage());
+        }
+    }
+}
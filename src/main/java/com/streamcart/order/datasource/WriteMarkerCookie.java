@@ -0,0 +1,75 @@
+package com.streamcart.order.datasource;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+/**
+ * Carries the time of a user's last committed write with the client, so read-your-writes
+ * holds on whichever node serves the next request.
+ *
+ * The cookie lives for read-your-writes-window and holds the commit time (epoch millis).
+ * A forged value can only send the client's own reads to the primary; values from the
+ * future are capped at the window.
+ */
+final class WriteMarkerCookie {
+
+    static final String NAME = "last_write_at";
+
+    private WriteMarkerCookie() {
+    }
+
+    /**
+     * @return whether the current request carries a write committed less than window ago
+     */
+    static boolean wroteRecently(Duration window) {
+        HttpServletRequest request = currentRequest();
+        Cookie[] cookies = request != null ? request.getCookies() : null;
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (NAME.equals(cookie.getName())) {
+                try {
+                    long age = System.currentTimeMillis() - Long.parseLong(cookie.getValue());
+                    return age < window.toMillis() && age > -window.toMillis();
+                } catch (NumberFormatException ex) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sets the cookie on the current response, if there is one and it isn't committed yet.
+     */
+    static void write(long committedAtMillis, Duration window) {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return;
+        }
+        HttpServletResponse response = attributes.getResponse();
+        if (response == null || response.isCommitted()) {
+            return;
+        }
+        response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(NAME, Long.toString(committedAtMillis))
+                .path("/")
+                .maxAge(Duration.ofSeconds(Math.max(1, window.toSeconds())))
+                .httpOnly(true)
+                .sameSite("Lax")
+                .build()
+                .toString());
+    }
+
+    private static HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servlet ? servlet.getRequest() : null;
+    }
+}
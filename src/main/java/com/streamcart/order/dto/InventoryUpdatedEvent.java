@@ -0,0 +1,15 @@
+package com.streamcart.order.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by inventory-service on inventory.updated (key: orderId),
+ * after it tried to reserve stock for a paid order.
+ */
+public record InventoryUpdatedEvent(
+    String orderId,
+    boolean reserved,
+    String failureReason,
+    LocalDateTime timestamp
+) {
+}
@@ -0,0 +1,14 @@
+package com.streamcart.order.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published on order.cancelled (key: orderId) after a cancellation commits, whether
+ * the user cancelled or PendingOrderSweeper expired the order. inventory-service
+ * releases any stock it reserved for the order.
+ */
+public record OrderCancelledEvent(
+    String orderId,
+    LocalDateTime timestamp
+) {
+}
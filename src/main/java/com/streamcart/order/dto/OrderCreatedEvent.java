@@ -4,11 +4,16 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
+/**
+ * Published after an order is created. createdAt is the order's orders.created_at, which
+ * read models key on; timestamp is when the event was produced.
+ */
 public record OrderCreatedEvent(
     String orderId,
     String username,
     BigDecimal totalAmount,
     List<OrderItemDto> items,
+    LocalDateTime createdAt,
     LocalDateTime timestamp
 ) {
     public record OrderItemDto(
@@ -0,0 +1,22 @@
+package com.streamcart.order.dto;
+
+import com.streamcart.order.entity.OrderStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Order export filters (query parameters); all optional")
+public record OrderExportRequest(
+    @Schema(description = "Only orders in this status", example = "DELIVERED")
+    OrderStatus status,
+    
+    @Schema(description = "Only orders created at or after this time", example = "2025-10-01T00:00:00")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    LocalDateTime createdFrom,
+    
+    @Schema(description = "Only orders created before this time", example = "2025-11-01T00:00:00")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    LocalDateTime createdTo
+) {
+}
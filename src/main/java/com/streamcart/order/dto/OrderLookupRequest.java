@@ -0,0 +1,18 @@
+package com.streamcart.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Order ids to fetch in one call")
+public record OrderLookupRequest(
+    @Schema(description = "Up to 100 order ids; duplicates are returned once",
+            example = "[\"550e8400-e29b-41d4-a716-446655440000\", \"6ba7b810-9dad-11d1-80b4-00c04fd430c8\"]")
+    @NotEmpty(message = "At least one order id is required")
+    @Size(max = 100, message = "Cannot fetch more than 100 orders at once")
+    List<@NotBlank(message = "Order ids cannot be blank") String> ids
+) {
+}
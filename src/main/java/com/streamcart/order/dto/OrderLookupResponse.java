@@ -0,0 +1,29 @@
+package com.streamcart.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Orders fetched by id. Ids that could not be returned are listed in errors instead of " +
+        "failing the whole call")
+public record OrderLookupResponse(
+    @Schema(description = "The current user's orders among the requested ids, in request order")
+    List<OrderResponse> orders,
+    
+    @Schema(description = "One entry per requested id that is missing or belongs to another user")
+    List<Failure> errors
+) {
+    
+    @Schema(description = "Why one order id was not returned")
+    public record Failure(
+        @Schema(description = "The requested order id", example = "550e8400-e29b-41d4-a716-446655440000")
+        String orderId,
+        
+        @Schema(description = "HTTP status a single-order request would have returned", example = "404")
+        int status,
+        
+        @Schema(description = "Error message", example = "Order not found: 550e8400-e29b-41d4-a716-446655440000")
+        String message
+    ) {
+    }
+}
@@ -2,11 +2,16 @@ package com.streamcart.order.dto;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.streamcart.order.entity.OrderLine;
 import com.streamcart.order.entity.OrderStatus;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 @Schema(description = "Response payload containing order information")
+@JsonFilter(OrderView.FILTER_ID)
 public record OrderResponse(
     @Schema(description = "Unique identifier for the order",
             example = "550e8400-e29b-41d4-a716-446655440000")
@@ -27,6 +32,43 @@ public record OrderResponse(
     
     @Schema(description = "Timestamp when the order was created",
             example = "2025-10-20T14:30:00")
-    LocalDateTime createdAt
+    LocalDateTime createdAt,
+    
+    @Schema(description = "Line items; only present with expand=items")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    List<Item> items
 ) {
+    
+    public OrderResponse(String orderId, String username, BigDecimal totalAmount, OrderStatus status,
+                         LocalDateTime createdAt) {
+        this(orderId, username, totalAmount, status, createdAt, null);
+    }
+    
+    public OrderResponse withItems(List<OrderLine> lines) {
+        return new OrderResponse(orderId, username, totalAmount, status, createdAt,
+            lines.stream().map(Item::of).toList());
+    }
+    
+    @Schema(description = "One line item of an order")
+    public record Item(
+        @Schema(description = "Unique product identifier from the catalog",
+                example = "DM-PAPER-001")
+        String productId,
+        
+        @Schema(description = "Name of the product",
+                example = "Dunder Mifflin Paper - Premium White")
+        String productName,
+        
+        @Schema(description = "Quantity ordered",
+                example = "100")
+        Integer quantity,
+        
+        @Schema(description = "Price per unit",
+                example = "6.99")
+        BigDecimal price
+    ) {
+        public static Item of(OrderLine line) {
+            return new Item(line.productId(), line.productName(), line.quantity(), line.price());
+        }
+    }
 }
@@ -0,0 +1,14 @@
+package com.streamcart.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "One page of order search results, newest first")
+public record OrderSearchPage(
+    List<OrderResponse> orders,
+    
+    @Schema(description = "Pass as cursor to get the next page; null on the last page")
+    String nextCursor
+) {
+}
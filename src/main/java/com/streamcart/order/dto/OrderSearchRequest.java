@@ -0,0 +1,47 @@
+package com.streamcart.order.dto;
+
+import com.streamcart.order.entity.OrderStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Schema(description = "Order search filters (query parameters); all optional")
+public record OrderSearchRequest(
+    @Schema(description = "Only orders in this status. Required for support searches without a username",
+            example = "PAID")
+    OrderStatus status,
+    
+    @Schema(description = "Only orders created at or after this time", example = "2025-10-01T00:00:00")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    LocalDateTime createdFrom,
+    
+    @Schema(description = "Only orders created before this time", example = "2025-11-01T00:00:00")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    LocalDateTime createdTo,
+    
+    @Schema(description = "Minimum order total in USD", example = "10.00")
+    @DecimalMin(value = "0.00", message = "Minimum amount cannot be negative")
+    BigDecimal minAmount,
+    
+    @Schema(description = "Maximum order total in USD", example = "500.00")
+    @DecimalMin(value = "0.00", message = "Maximum amount cannot be negative")
+    BigDecimal maxAmount,
+    
+    @Schema(description = "Whose orders to search. Support staff only; customers always search their own orders",
+            example = "mscott")
+    String username,
+    
+    @Schema(description = "nextCursor from the previous page")
+    String cursor,
+    
+    @Schema(description = "Page size (default 20)", example = "20")
+    @Min(value = 1, message = "Limit must be at least 1")
+    @Max(value = 100, message = "Limit cannot exceed 100")
+    Integer limit
+) {
+}
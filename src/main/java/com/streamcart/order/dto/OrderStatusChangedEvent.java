@@ -0,0 +1,20 @@
+package com.streamcart.order.dto;
+
+import com.streamcart.order.entity.OrderStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published in-process after an order's status changes; also the payload of the
+ * order's SSE stream (GET /api/orders/{orderId}/events).
+ *
+ * version is the order's version after the change, so consumers can discard
+ * events older than what they have already seen.
+ */
+public record OrderStatusChangedEvent(
+    String orderId,
+    OrderStatus status,
+    long version,
+    LocalDateTime timestamp
+) {
+}
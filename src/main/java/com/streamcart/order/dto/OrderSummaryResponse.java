@@ -0,0 +1,26 @@
+package com.streamcart.order.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Order totals for the account page")
+public record OrderSummaryResponse(
+    @Schema(description = "Username of the account",
+            example = "mscott")
+    String username,
+    
+    @Schema(description = "Number of orders placed, including cancelled and failed ones",
+            example = "42")
+    long orderCount,
+    
+    @Schema(description = "Total of all orders in USD, excluding cancelled and failed ones",
+            example = "2936.58")
+    BigDecimal lifetimeSpend,
+    
+    @Schema(description = "Timestamp of the most recent order (null if none)",
+            example = "2025-10-20T14:30:00")
+    LocalDateTime lastOrderAt
+) {
+}
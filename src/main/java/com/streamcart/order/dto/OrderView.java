@@ -0,0 +1,98 @@
+package com.streamcart.order.dto;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.PropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.streamcart.order.exception.InvalidSearchException;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * The shape of the OrderResponse a request asked for: fields= (a comma-separated subset
+ * of the fields; all by default) and expand=items (the line items, left out by default).
+ *
+ * Unrequested fields are dropped by a Jackson property filter, so they are never
+ * serialized; items are only loaded when expanded. Listing items in fields expands them.
+ */
+public record OrderView(SortedSet<String> fields, boolean expandItems) {
+    
+    public static final String FILTER_ID = "orderView";
+    
+    public static final OrderView DEFAULT = new OrderView(new TreeSet<>(), false);
+    
+    private static final String ITEMS = "items";
+    
+    private static final List<String> FIELDS = List.of("orderId", "username", "totalAmount", "status", "createdAt", ITEMS);
+    
+    /**
+     * @throws InvalidSearchException on an unknown field or expansion
+     */
+    public static OrderView of(String fields, String expand) {
+        SortedSet<String> selected = new TreeSet<>(split(fields));
+        for (String field : selected) {
+            if (!FIELDS.contains(field)) {
+                throw new InvalidSearchException("Unknown field: " + field + " (expected any of " + FIELDS + ")");
+            }
+        }
+        Set<String> expansions = split(expand);
+        for (String expansion : expansions) {
+            if (!expansion.equals(ITEMS)) {
+                throw new InvalidSearchException("Unknown expansion: " + expansion + " (expected items)");
+            }
+        }
+        return new OrderView(selected, expansions.contains(ITEMS) || selected.contains(ITEMS));
+    }
+    
+    public boolean isDefault() {
+        return fields.isEmpty() && !expandItems;
+    }
+    
+    public FilterProvider filters() {
+        return new SimpleFilterProvider().addFilter(FILTER_ID, filter());
+    }
+    
+    /**
+     * The ETag of this view of a resource whose full representation has the given ETag:
+     * each view is a different representation.
+     */
+    public String etag(String etag) {
+        if (isDefault()) {
+            return etag;
+        }
+        StringBuilder tag = new StringBuilder(etag);
+        if (!fields.isEmpty()) {
+            tag.append(";fields=").append(String.join(",", fields));
+        }
+        if (expandItems) {
+            tag.append(";expand=items");
+        }
+        return tag.toString();
+    }
+    
+    // Expanded items are always written; unexpanded ones are null and left out anyway
+    private PropertyFilter filter() {
+        if (fields.isEmpty()) {
+            return SimpleBeanPropertyFilter.serializeAll();
+        }
+        Set<String> written = new HashSet<>(fields);
+        written.add(ITEMS);
+        return SimpleBeanPropertyFilter.filterOutAllExcept(written);
+    }
+    
+    private static Set<String> split(String list) {
+        Set<String> values = new HashSet<>();
+        if (list != null) {
+            Arrays.stream(list.split(","))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .forEach(values::add);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,16 @@
+package com.streamcart.order.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Published by payment-service on payment.processed (key: orderId).
+ */
+public record PaymentProcessedEvent(
+    String orderId,
+    boolean successful,
+    BigDecimal amount,
+    String failureReason,
+    LocalDateTime timestamp
+) {
+}
@@ -0,0 +1,25 @@
+package com.streamcart.order.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Sales of one product in one hour")
+public record ProductHourlySales(
+    @Schema(description = "Start of the hour", example = "2025-10-20T14:00:00")
+    LocalDateTime hourStart,
+    
+    @Schema(description = "Product identifier", example = "DM-PAPER-001")
+    String productId,
+    
+    @Schema(description = "Orders containing the product", example = "12")
+    long orders,
+    
+    @Schema(description = "Units sold", example = "340")
+    long units,
+    
+    @Schema(description = "Revenue in USD (quantity × price)", example = "2376.60")
+    BigDecimal revenue
+) {
+}
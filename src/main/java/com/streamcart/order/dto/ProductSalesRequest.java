@@ -0,0 +1,24 @@
+package com.streamcart.order.dto;
+
+import java.time.LocalDateTime;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.format.annotation.DateTimeFormat;
+
+@Schema(description = "Hourly product sales query (query parameters)")
+public record ProductSalesRequest(
+    @Schema(description = "First hour to include (truncated to the hour)", example = "2025-10-20T00:00:00")
+    @NotNull(message = "from is required")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    LocalDateTime from,
+    
+    @Schema(description = "End of the range, exclusive", example = "2025-10-21T00:00:00")
+    @NotNull(message = "to is required")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    LocalDateTime to,
+    
+    @Schema(description = "Only this product (optional)", example = "DM-PAPER-001")
+    String productId
+) {
+}
@@ -0,0 +1,11 @@
+package com.streamcart.order.entity;
+
+/**
+ * How new orders persist their items (order.item-storage).
+ */
+public enum ItemStorage {
+    /** One order_items row per line (1 + N inserts per order, join or lazy load on read) */
+    NORMALIZED,
+    /** All lines in the orders.items_payload column (1 insert per order, no join on read) */
+    EMBEDDED
+}
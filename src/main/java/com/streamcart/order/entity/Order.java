@@ -37,12 +37,25 @@ public class Order {
     
     private LocalDateTime updatedAt;
     
+    // Optimistic lock; status updates check and bump it too
+    // (OrderRepository.compareAndSetStatus, OrderStatusUpdater)
+    @Version
+    private Long version;
+    
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> items = new ArrayList<>();
     
+    // Set instead of items when the order was written with order.item-storage=embedded
+    @Convert(converter = OrderLinesConverter.class)
+    @Column(name = "items_payload")
+    private List<OrderLine> embeddedItems;
+    
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
+        // Already set for new orders: the order id encodes it (OrderIds)
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
         updatedAt = LocalDateTime.now();
     }
     
@@ -55,4 +68,15 @@ public class Order {
         items.add(item);
         item.setOrder(this);
     }
+    
+    /**
+     * The order's lines, whichever storage mode the order was written in.
+     * Loads the items collection for normalized orders.
+     */
+    public List<OrderLine> getLines() {
+        if (embeddedItems != null) {
+            return embeddedItems;
+        }
+        return items.stream().map(OrderLine::of).toList();
+    }
 }
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "order_items")
@@ -35,6 +36,15 @@ public class OrderItem {
     @Column(nullable = false)
     private BigDecimal price;
     
+    // The order's created_at: order_items is partitioned by month on the same key as orders
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = order.getCreatedAt();
+    }
+    
     public BigDecimal getSubtotal() {
         return price.multiply(BigDecimal.valueOf(quantity));
     }
@@ -0,0 +1,29 @@
+package com.streamcart.order.entity;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.math.BigDecimal;
+
+/**
+ * One line of an order, independent of how the order's items are stored.
+ *
+ * Serialized as a JSON array ([productId, productName, quantity, price]) when embedded
+ * in orders.items_payload, so field names aren't repeated for every line.
+ */
+@JsonFormat(shape = JsonFormat.Shape.ARRAY)
+@JsonPropertyOrder({"productId", "productName", "quantity", "price"})
+public record OrderLine(
+    String productId,
+    String productName,
+    Integer quantity,
+    BigDecimal price
+) {
+    public static OrderLine of(OrderItem item) {
+        return new OrderLine(item.getProductId(), item.getProductName(), item.getQuantity(), item.getPrice());
+    }
+
+    public BigDecimal subtotal() {
+        return price.multiply(BigDecimal.valueOf(quantity));
+    }
+}
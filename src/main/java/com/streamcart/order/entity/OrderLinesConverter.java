@@ -0,0 +1,44 @@
+package com.streamcart.order.entity;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.List;
+
+/**
+ * Stores an order's lines as a compact JSON column (orders.items_payload).
+ * Example: [["DM-PAPER-001","Dunder Mifflin Paper - Premium White",10,6.99]]
+ */
+@Converter
+public class OrderLinesConverter implements AttributeConverter<List<OrderLine>, String> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<List<OrderLine>> LINES = new TypeReference<>() {};
+
+    @Override
+    public String convertToDatabaseColumn(List<OrderLine> lines) {
+        if (lines == null) {
+            return null;
+        }
+        try {
+            return MAPPER.writeValueAsString(lines);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Could not serialize order lines", ex);
+        }
+    }
+
+    @Override
+    public List<OrderLine> convertToEntityAttribute(String payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return MAPPER.readValue(payload, LINES);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Could not deserialize order lines", ex);
+        }
+    }
+}
@@ -1,5 +1,18 @@
 package com.streamcart.order.entity;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Order lifecycle. Allowed transitions:
+ *
+ * PENDING → PAYMENT_PROCESSING → PAID → INVENTORY_RESERVED → SHIPPED → DELIVERED
+ * (PENDING may go straight to PAID.) Any state before SHIPPED may go to CANCELLED,
+ * any state before INVENTORY_RESERVED may go to FAILED.
+ * DELIVERED, CANCELLED and FAILED are final.
+ */
 public enum OrderStatus {
     PENDING,
     PAYMENT_PROCESSING,
@@ -8,5 +21,42 @@ public enum OrderStatus {
     SHIPPED,
     DELIVERED,
     CANCELLED,
-    FAILED
+    FAILED;
+
+    public boolean canTransitionTo(OrderStatus next) {
+        return allowedNext().contains(next);
+    }
+
+    public boolean isFinal() {
+        return allowedNext().isEmpty();
+    }
+
+    /**
+     * Whether next can follow this status through one or more transitions.
+     */
+    public boolean canReach(OrderStatus next) {
+        Set<OrderStatus> seen = EnumSet.noneOf(OrderStatus.class);
+        Deque<OrderStatus> queue = new ArrayDeque<>(allowedNext());
+        while (!queue.isEmpty()) {
+            OrderStatus status = queue.poll();
+            if (status == next) {
+                return true;
+            }
+            if (seen.add(status)) {
+                queue.addAll(status.allowedNext());
+            }
+        }
+        return false;
+    }
+
+    private Set<OrderStatus> allowedNext() {
+        return switch (this) {
+            case PENDING -> EnumSet.of(PAYMENT_PROCESSING, PAID, FAILED, CANCELLED);
+            case PAYMENT_PROCESSING -> EnumSet.of(PAID, FAILED, CANCELLED);
+            case PAID -> EnumSet.of(INVENTORY_RESERVED, FAILED, CANCELLED);
+            case INVENTORY_RESERVED -> EnumSet.of(SHIPPED, CANCELLED);
+            case SHIPPED -> EnumSet.of(DELIVERED);
+            case DELIVERED, CANCELLED, FAILED -> EnumSet.noneOf(OrderStatus.class);
+        };
+    }
 }
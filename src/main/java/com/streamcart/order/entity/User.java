@@ -2,6 +2,11 @@ package com.streamcart.order.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.annotations.OptimisticLock;
 
 import java.time.LocalDateTime;
 
@@ -12,12 +17,16 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
+@NaturalIdCache(region = "user-natural-id")
 public class User {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
+    @NaturalId
     @Column(unique = true, nullable = false)
     private String username;
     
@@ -36,8 +45,18 @@ public class User {
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
+    // Written on every login: excluded from the version so concurrent logins don't conflict
+    @OptimisticLock(excluded = true)
     private LocalDateTime lastLoginAt;
     
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private UserRole role = UserRole.USER;
+    
+    @Version
+    private Long version;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
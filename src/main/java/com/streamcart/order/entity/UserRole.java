@@ -0,0 +1,10 @@
+package com.streamcart.order.entity;
+
+/**
+ * Granted to Spring Security as ROLE_&lt;name&gt;.
+ */
+public enum UserRole {
+    USER,      // Customers: see and manage their own orders
+    SUPPORT,   // Support and merchant staff: can also search all users' orders
+    FINANCE    // Finance: can export all orders
+}
@@ -0,0 +1,7 @@
+package com.streamcart.order.exception;
+
+public class InvalidSearchException extends RuntimeException {
+    public InvalidSearchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.streamcart.order.exception;
+
+import com.streamcart.order.entity.OrderStatus;
+
+public class InvalidStatusTransitionException extends RuntimeException {
+    public InvalidStatusTransitionException(String orderId, OrderStatus from, OrderStatus to) {
+        super("Order " + orderId + " cannot move from " + from + " to " + to);
+    }
+}
@@ -0,0 +1,19 @@
+package com.streamcart.order.exception;
+
+/**
+ * Thrown for every rejected request of a user over their limits (UserRequestLimiter),
+ * so it skips the stack trace.
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
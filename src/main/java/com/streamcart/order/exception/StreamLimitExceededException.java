@@ -0,0 +1,7 @@
+package com.streamcart.order.exception;
+
+public class StreamLimitExceededException extends RuntimeException {
+    public StreamLimitExceededException(int maxStreams) {
+        super("Too many open event streams (limit " + maxStreams + "). Please retry later.");
+    }
+}
@@ -0,0 +1,174 @@
+package com.streamcart.order.loadshedding;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * A concurrency limit that follows measured latency, so the service sheds excess load
+ * instead of queueing it (the gradient controller of Envoy's adaptive concurrency filter).
+ *
+ * Two alternating phases:
+ * - probe: the limit is pinned to min-limit until probe-samples requests have completed;
+ *   their average latency is minRtt, the latency of the service without queueing
+ * - gradient: every window, with sampleRtt the window's average latency,
+ *   gradient = clamp(tolerance x minRtt / sampleRtt, 0.5, 2) and
+ *   limit = limit x gradient + sqrt(limit), smoothed. Above tolerance x minRtt requests
+ *   are queueing and the limit shrinks; below it, it grows
+ *
+ * A probe runs at startup and then every probe-interval, so minRtt follows real changes
+ * (a slower database) rather than the queueing the limit is meant to prevent. The limit
+ * doesn't grow while less than half of it is in use.
+ *
+ * Admission is a compare-and-set on the in-flight count; each {@link RequestPriority}
+ * may only fill its share of the limit. Thread-safe.
+ */
+public final class AdaptiveConcurrencyLimiter {
+
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double MAX_GRADIENT = 2.0;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final long windowNanos;
+    private final int minWindowSamples;
+    private final long probeIntervalNanos;
+    private final int probeSamples;
+    private final double[] shares;
+    private final LongSupplier clock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+    private final LongAdder windowLatencySum = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final AtomicLong windowStart;
+
+    private volatile double limit;
+    private volatile boolean probing = true;
+    private volatile long probeStartedAt;
+    private volatile double minRttNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance,
+                                      double smoothing, long windowNanos, int minWindowSamples,
+                                      long probeIntervalNanos, int probeSamples,
+                                      Map<RequestPriority, Double> shares) {
+        this(initialLimit, minLimit, maxLimit, tolerance, smoothing, windowNanos, minWindowSamples,
+                probeIntervalNanos, probeSamples, shares, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance,
+                               double smoothing, long windowNanos, int minWindowSamples,
+                               long probeIntervalNanos, int probeSamples,
+                               Map<RequestPriority, Double> shares, LongSupplier clock) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.windowNanos = windowNanos;
+        this.minWindowSamples = minWindowSamples;
+        this.probeIntervalNanos = probeIntervalNanos;
+        this.probeSamples = probeSamples;
+        this.shares = new double[RequestPriority.values().length];
+        for (RequestPriority priority : RequestPriority.values()) {
+            this.shares[priority.ordinal()] = shares.getOrDefault(priority, 1.0);
+        }
+        this.clock = clock;
+        this.windowStart = new AtomicLong(clock.getAsLong());
+        this.probeStartedAt = windowStart.get();
+    }
+
+    /**
+     * Admits a request if its priority's share of the limit isn't used up. An admitted
+     * request must be reported with {@link #onComplete(long)}.
+     */
+    public boolean tryAcquire(RequestPriority priority) {
+        int allowed = Math.max(1, (int) (limit() * shares[priority.ordinal()]));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                windowMaxInFlight.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @param startNanos System.nanoTime() when the request was admitted
+     */
+    public void onComplete(long startNanos) {
+        inFlight.decrementAndGet();
+        long now = clock.getAsLong();
+        boolean probe = probing;
+        // Requests admitted before the probe ran under the old limit and queued accordingly
+        if (probe && startNanos - probeStartedAt < 0) {
+            return;
+        }
+        windowLatencySum.add(now - startNanos);
+        windowSamples.increment();
+
+        long start = windowStart.get();
+        boolean full = probe
+                ? windowSamples.sum() >= probeSamples
+                : now - start >= windowNanos && windowSamples.sum() >= minWindowSamples;
+        // Only the thread that wins the compare-and-set closes the window
+        if (full && windowStart.compareAndSet(start, now)) {
+            closeWindow(probe, now);
+        }
+    }
+
+    /**
+     * The limit in force: min-limit while probing.
+     */
+    public int limit() {
+        return probing ? minLimit : (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private void closeWindow(boolean probe, long now) {
+        long samples = windowSamples.sumThenReset();
+        long latencySum = windowLatencySum.sumThenReset();
+        int maxInFlight = windowMaxInFlight.getAndSet(inFlight.get());
+        if (samples == 0) {
+            return;
+        }
+        double sampleRtt = Math.max(1, (double) latencySum / samples);
+
+        if (probe) {
+            minRttNanos = sampleRtt;
+            probing = false;
+            return;
+        }
+        if (now - probeStartedAt >= probeIntervalNanos) {
+            probeStartedAt = now;
+            probing = true;
+            return;
+        }
+
+        double current = limit;
+        double gradient = Math.max(MIN_GRADIENT, Math.min(MAX_GRADIENT, tolerance * minRttNanos / sampleRtt));
+        if (gradient >= 1.0 && maxInFlight < current / 2) {
+            return;
+        }
+        double next = current * gradient + Math.sqrt(current);
+        next = current * (1 - smoothing) + next * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("limit=%d inFlight=%d minRtt=%.1fms%s", limit(), inFlight(),
+                minRttNanos / TimeUnit.MILLISECONDS.toNanos(1), probing ? " (probing)" : "");
+    }
+}
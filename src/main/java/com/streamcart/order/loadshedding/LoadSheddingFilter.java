@@ -0,0 +1,80 @@
+package com.streamcart.order.loadshedding;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.streamcart.order.exception.GlobalExceptionHandler.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Puts the order and auth endpoints behind an {@link AdaptiveConcurrencyLimiter}
+ * (registered in LoadSheddingConfig, ahead of Spring Security so a shed request costs
+ * no token check or user lookup).
+ *
+ * A request over its priority's share of the limit gets 503 with Retry-After at once,
+ * instead of waiting in Tomcat's queue until it times out. Latency is measured to the
+ * end of the request, or until a streaming response goes async.
+ */
+@Slf4j
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ObjectMapper objectMapper;
+    private final Map<RequestPriority, Counter> rejections = new EnumMap<>(RequestPriority.class);
+
+    public LoadSheddingFilter(AdaptiveConcurrencyLimiter limiter, ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+        for (RequestPriority priority : RequestPriority.values()) {
+            rejections.put(priority, Counter.builder("order.load-shedding.rejected")
+                    .description("Requests shed with 503 by the adaptive concurrency limit")
+                    .tag("priority", priority.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RequestPriority priority = RequestPriority.of(request);
+        if (!limiter.tryAcquire(priority)) {
+            rejections.get(priority).increment();
+            log.debug("Shed {} {} ({})", priority, request.getRequestURI(), limiter);
+            reject(response);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limiter.onComplete(start);
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Server is overloaded. Please retry later.",
+                LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,28 @@
+package com.streamcart.order.loadshedding;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Traffic classes for load shedding, most important first. Under overload each class
+ * may only use its share of the concurrency limit (order.load-shedding.share.*), so the
+ * lower classes are shed first.
+ */
+public enum RequestPriority {
+    /** Creating and cancelling orders */
+    ORDER_WRITE,
+    /** Every GET on /api/orders, and POST /api/orders/lookup */
+    ORDER_READ,
+    /** Login and registration */
+    AUTH;
+
+    public static RequestPriority of(HttpServletRequest request) {
+        if (request.getRequestURI().startsWith("/api/auth")) {
+            return AUTH;
+        }
+        if ("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod())
+                || request.getRequestURI().equals("/api/orders/lookup")) {
+            return ORDER_READ;
+        }
+        return ORDER_WRITE;
+    }
+}
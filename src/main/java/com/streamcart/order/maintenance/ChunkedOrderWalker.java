@@ -0,0 +1,157 @@
+package com.streamcart.order.maintenance;
+
+import com.streamcart.order.entity.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Walks the orders in one status created before a cutoff, in small chunks, for the
+ * background jobs ({@link PendingOrderSweeper}, {@link OrderPurger}).
+ *
+ * The created_at range is split into order.maintenance.workers disjoint slices, each
+ * walked by its own worker in (created_at, order_id) keyset order on
+ * idx_orders_status_created. Each chunk is one short transaction:
+ *
+ * SELECT ... WHERE status = ? AND (created_at, order_id) > (last key) AND created_at < slice end
+ * ORDER BY created_at, order_id LIMIT chunk-size FOR UPDATE SKIP LOCKED
+ *
+ * then the job's handler, then commit. SKIP LOCKED (PostgreSQL, H2) passes over rows a
+ * request is writing instead of waiting for them; the next run picks them up. After each
+ * chunk the worker waits for its share of order.maintenance.rows-per-second.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class ChunkedOrderWalker {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${order.maintenance.workers:2}")
+    private int workers;
+
+    @Value("${order.maintenance.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${order.maintenance.rows-per-second:500}")
+    private int rowsPerSecond;
+
+    record OrderKey(String orderId, LocalDateTime createdAt, long version) {
+    }
+
+    @FunctionalInterface
+    interface ChunkHandler {
+
+        /**
+         * Runs inside the chunk's transaction, with the chunk's rows locked.
+         *
+         * @return rows the job changed
+         */
+        int handle(List<OrderKey> chunk);
+    }
+
+    private record Slice(LocalDateTime from, LocalDateTime to) {
+    }
+
+    private record ChunkResult(List<OrderKey> chunk, int changed) {
+    }
+
+    /**
+     * @return the sum of what the handler returned
+     */
+    long walk(String job, OrderStatus status, LocalDateTime before, ChunkHandler handler) {
+        List<Slice> slices = slices(status, before);
+        if (slices.isEmpty()) {
+            return 0;
+        }
+        RowRateLimiter limiter = new RowRateLimiter(rowsPerSecond);
+        ExecutorService executor = Executors.newFixedThreadPool(slices.size());
+        try {
+            List<Future<Long>> futures = new ArrayList<>(slices.size());
+            for (Slice slice : slices) {
+                futures.add(executor.submit(() -> walk(status, slice, limiter, handler)));
+            }
+            long changed = 0;
+            for (Future<Long> future : futures) {
+                try {
+                    changed += future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    executor.shutdownNow();
+                    throw new IllegalStateException(job + " interrupted", e);
+                } catch (ExecutionException e) {
+                    executor.shutdownNow();
+                    throw new IllegalStateException(job + " failed", e.getCause());
+                }
+            }
+            return changed;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private List<Slice> slices(OrderStatus status, LocalDateTime before) {
+        Timestamp oldest = jdbcTemplate.queryForObject(
+                "SELECT MIN(created_at) FROM orders WHERE status = ? AND created_at < ?",
+                Timestamp.class, status.name(), Timestamp.valueOf(before));
+        if (oldest == null) {
+            return List.of();
+        }
+        LocalDateTime from = oldest.toLocalDateTime();
+        long span = Duration.between(from, before).toNanos();
+        int count = (int) Math.max(1, Math.min(workers, span));
+        List<Slice> slices = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            slices.add(new Slice(
+                    from.plusNanos(span / count * i),
+                    i == count - 1 ? before : from.plusNanos(span / count * (i + 1))));
+        }
+        return slices;
+    }
+
+    private long walk(OrderStatus status, Slice slice, RowRateLimiter limiter, ChunkHandler handler)
+            throws InterruptedException {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        // order_id > '' takes every order created exactly at the slice start
+        OrderKey last = new OrderKey("", slice.from(), 0);
+        long changed = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            OrderKey after = last;
+            ChunkResult result = transaction.execute(tx -> {
+                List<OrderKey> chunk = jdbcTemplate.query(
+                        "SELECT order_id, created_at, version FROM orders "
+                                + "WHERE status = ? AND (created_at, order_id) > (?, ?) AND created_at < ? "
+                                + "ORDER BY created_at, order_id LIMIT ? FOR UPDATE SKIP LOCKED",
+                        (rs, rowNum) -> new OrderKey(
+                                rs.getString("order_id"),
+                                rs.getTimestamp("created_at").toLocalDateTime(),
+                                rs.getLong("version")),
+                        status.name(), Timestamp.valueOf(after.createdAt()), after.orderId(),
+                        Timestamp.valueOf(slice.to()), chunkSize);
+                return new ChunkResult(chunk, chunk.isEmpty() ? 0 : handler.handle(chunk));
+            });
+            if (result == null || result.chunk().isEmpty()) {
+                break;
+            }
+            changed += result.changed();
+            last = result.chunk().get(result.chunk().size() - 1);
+            limiter.acquire(result.chunk().size());
+        }
+        return changed;
+    }
+}
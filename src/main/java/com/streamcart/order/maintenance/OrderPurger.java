@@ -0,0 +1,80 @@
+package com.streamcart.order.maintenance;
+
+import com.streamcart.order.entity.OrderStatus;
+import com.streamcart.order.maintenance.ChunkedOrderWalker.OrderKey;
+import com.streamcart.order.projection.OrderItemProjection;
+import com.streamcart.order.projection.UserOrderSummaryProjection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Deletes CANCELLED and FAILED orders (with their items, item projection rows and parked
+ * status changes) older than order.maintenance.purge.after: they were never paid, so nothing needs them for long.
+ *
+ * Deletes go chunk by chunk rather than as one DELETE ... WHERE created_at < ?, which
+ * would hold its locks and bloat the table for the whole run. Purged orders keep
+ * counting in user_order_summary's order count, rebuilds included: their totals go to
+ * user_removed_order_totals with the delete.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderPurger {
+
+    private static final List<OrderStatus> PURGED_STATUSES = List.of(OrderStatus.CANCELLED, OrderStatus.FAILED);
+
+    private final ChunkedOrderWalker walker;
+    private final JdbcTemplate jdbcTemplate;
+    private final OrderItemProjection itemProjection;
+    private final UserOrderSummaryProjection summaryProjection;
+
+    @Value("${order.maintenance.purge.after:180d}")
+    private Duration after;
+
+    @Scheduled(cron = "${order.maintenance.purge.cron:0 30 3 * * *}")
+    public void scheduledPurge() {
+        purge();
+    }
+
+    /**
+     * @return the number of orders deleted
+     */
+    public synchronized long purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(after);
+        long purged = 0;
+        for (OrderStatus status : PURGED_STATUSES) {
+            purged += walker.walk("Order purge", status, cutoff, this::delete);
+        }
+        if (purged > 0) {
+            log.info("Purged {} cancelled and failed orders created before {}", purged, cutoff);
+        }
+        return purged;
+    }
+
+    private int delete(List<OrderKey> chunk) {
+        summaryProjection.recordRemoved(chunk.stream().map(OrderKey::orderId).toList());
+        // created_at in the key lets PostgreSQL go straight to each order's partition
+        List<Object[]> keys = chunk.stream()
+                .map(order -> new Object[]{order.orderId(), Timestamp.valueOf(order.createdAt())})
+                .toList();
+        jdbcTemplate.batchUpdate("DELETE FROM order_items WHERE order_id = ? AND created_at = ?", keys);
+        int[] deleted = jdbcTemplate.batchUpdate("DELETE FROM orders WHERE order_id = ? AND created_at = ?", keys);
+        itemProjection.delete(chunk.stream().map(OrderKey::orderId).toList());
+        jdbcTemplate.batchUpdate("DELETE FROM order_parked_transitions WHERE order_id = ?",
+                chunk.stream().map(order -> new Object[]{order.orderId()}).toList());
+        return Arrays.stream(deleted)
+                .map(count -> count == Statement.SUCCESS_NO_INFO ? 1 : count)
+                .sum();
+    }
+}
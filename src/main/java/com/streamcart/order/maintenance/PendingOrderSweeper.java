@@ -0,0 +1,78 @@
+package com.streamcart.order.maintenance;
+
+import com.streamcart.order.dto.OrderStatusChangedEvent;
+import com.streamcart.order.entity.OrderStatus;
+import com.streamcart.order.maintenance.ChunkedOrderWalker.OrderKey;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Cancels orders abandoned in PENDING for longer than order.maintenance.sweeper.pending-timeout.
+ *
+ * Each order is cancelled with a compare-and-set on its status and version, so an order
+ * that moved on (e.g. was paid) since it was read is left alone. Cancellations publish
+ * OrderStatusChangedEvent like any other status change: the user summary drops the
+ * order from lifetime spend, SSE subscribers see it, and order.cancelled tells
+ * inventory-service to release its stock.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PendingOrderSweeper {
+
+    private final ChunkedOrderWalker walker;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Value("${order.maintenance.sweeper.pending-timeout:24h}")
+    private Duration pendingTimeout;
+
+    @Scheduled(cron = "${order.maintenance.sweeper.cron:0 */5 * * * *}")
+    public void scheduledSweep() {
+        sweep();
+    }
+
+    /**
+     * @return the number of orders cancelled
+     */
+    public synchronized long sweep() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(pendingTimeout);
+        long cancelled = walker.walk("Pending order sweep", OrderStatus.PENDING, cutoff, this::cancel);
+        if (cancelled > 0) {
+            log.info("Cancelled {} orders left PENDING since before {}", cancelled, cutoff);
+        }
+        return cancelled;
+    }
+
+    private int cancel(List<OrderKey> chunk) {
+        LocalDateTime now = LocalDateTime.now();
+        int[] updated = jdbcTemplate.batchUpdate(
+                "UPDATE orders SET status = ?, version = version + 1, updated_at = ? "
+                        + "WHERE order_id = ? AND created_at = ? AND version = ? AND status = ?",
+                chunk.stream().map(order -> new Object[]{
+                        OrderStatus.CANCELLED.name(), Timestamp.valueOf(now), order.orderId(),
+                        Timestamp.valueOf(order.createdAt()), order.version(), OrderStatus.PENDING.name()
+                }).toList());
+        int cancelled = 0;
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] > 0 || updated[i] == Statement.SUCCESS_NO_INFO) {
+                OrderKey order = chunk.get(i);
+                applicationEventPublisher.publishEvent(
+                        new OrderStatusChangedEvent(order.orderId(), OrderStatus.CANCELLED, order.version() + 1, now));
+                cancelled++;
+            }
+        }
+        return cancelled;
+    }
+}
@@ -0,0 +1,40 @@
+package com.streamcart.order.maintenance;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps a background job at a number of rows per second, shared by all of its workers.
+ *
+ * Each worker reserves the rows it just processed; the reservation is scheduled after
+ * everything reserved before it, and the worker sleeps until its slot. Unused time is
+ * not saved up, so a job that was idle doesn't get a burst afterwards.
+ */
+final class RowRateLimiter {
+
+    private final long nanosPerRow;
+    private long nextFree = System.nanoTime();
+
+    /**
+     * @param rowsPerSecond 0 or less for no limit
+     */
+    RowRateLimiter(int rowsPerSecond) {
+        this.nanosPerRow = rowsPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / rowsPerSecond : 0;
+    }
+
+    void acquire(int rows) throws InterruptedException {
+        long wait = reserve(rows);
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    private synchronized long reserve(int rows) {
+        if (nanosPerRow == 0) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        long start = Math.max(now, nextFree);
+        nextFree = start + rows * nanosPerRow;
+        return nextFree - now;
+    }
+}
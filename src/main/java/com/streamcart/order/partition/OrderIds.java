@@ -0,0 +1,59 @@
+package com.streamcart.order.partition;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Order ids are UUIDv7: the order's created_at in milliseconds in the first 48 bits,
+ * then the version, variant and 74 random bits. Ids sort by creation time, and a lookup
+ * by id knows which monthly partition holds the order (OrderRepository.findOrder).
+ *
+ * created_at is zone-less local time like every timestamp in this schema; it is encoded
+ * as if it were UTC, so it decodes to the same value.
+ */
+public final class OrderIds {
+
+    private static final long VERSION_7 = 0x7000L;
+    private static final long RAND_A_MASK = 0x0FFFL;
+    private static final long VARIANT_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+    private static final long VARIANT_RFC_4122 = 0x8000_0000_0000_0000L;
+
+    private OrderIds() {
+    }
+
+    public static String next(LocalDateTime createdAt) {
+        return of(createdAt, UUID.randomUUID());
+    }
+
+    /**
+     * The id for an order created at createdAt, taking its random bits from random
+     * (e.g. a seeded UUID for reproducible data).
+     */
+    public static String of(LocalDateTime createdAt, UUID random) {
+        long millis = createdAt.toInstant(ZoneOffset.UTC).toEpochMilli();
+        long mostSignificant = (millis << 16) | VERSION_7 | (random.getMostSignificantBits() & RAND_A_MASK);
+        long leastSignificant = (random.getLeastSignificantBits() & VARIANT_MASK) | VARIANT_RFC_4122;
+        return new UUID(mostSignificant, leastSignificant).toString();
+    }
+
+    /**
+     * The created_at encoded in the id, truncated to the millisecond; empty for ids that
+     * aren't UUIDv7 (orders created before ids were time-ordered).
+     */
+    public static Optional<LocalDateTime> createdAt(String orderId) {
+        UUID uuid;
+        try {
+            uuid = UUID.fromString(orderId);
+        } catch (IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+        if (uuid.version() != 7 || uuid.variant() != 2) {
+            return Optional.empty();
+        }
+        long millis = uuid.getMostSignificantBits() >>> 16;
+        return Optional.of(LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC));
+    }
+}
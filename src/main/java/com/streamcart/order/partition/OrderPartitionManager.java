@@ -0,0 +1,168 @@
+package com.streamcart.order.partition;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the monthly partitions of orders and order_items (db/vendor/postgresql/V10)
+ * ahead of time and out of the way: creates order.partitions.months-ahead months in
+ * advance, and detaches months older than order.partitions.retention-months.
+ *
+ * Only empty months are detached: queries on orders no longer see a detached partition,
+ * so a month that still holds orders (not archived yet, or not in a final status) stays
+ * attached and is retried on the next run. Detached partitions stay in the database as
+ * empty standalone tables (orders_2023_01, ...) and can be dropped. Detaching is
+ * CONCURRENTLY, so it doesn't block traffic, and runs outside a transaction as PostgreSQL
+ * requires.
+ *
+ * Does nothing unless orders is a partitioned PostgreSQL table (e.g. on H2).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderPartitionManager {
+
+    static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private static final String ORDERS = "orders";
+    private static final String ORDER_ITEMS = "order_items";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${order.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${order.partitions.retention-months:24}")
+    private int retentionMonths;
+
+    private volatile Boolean partitioned;
+
+    private record Partition(String name, boolean detachPending) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${order.partitions.cron:0 0 2 * * *}")
+    public void maintain() {
+        if (!isPartitioned()) {
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        try {
+            for (int i = 0; i <= monthsAhead; i++) {
+                createPartition(current.plusMonths(i));
+            }
+            if (retentionMonths > 0) {
+                detachBefore(current.minusMonths(retentionMonths));
+            }
+        } catch (DataAccessException ex) {
+            log.error("Order partition maintenance failed; will retry on the next run", ex);
+        }
+    }
+
+    void createPartition(YearMonth month) {
+        // orders first: order_items rows reference it
+        for (String parent : List.of(ORDERS, ORDER_ITEMS)) {
+            if (partitions(parent).containsKey(month)) {
+                continue;
+            }
+            String name = parent + "_" + month.format(SUFFIX);
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF " + parent
+                    + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+            log.info("Created partition {}", name);
+        }
+    }
+
+    /**
+     * Detaches every empty month before cutoff, order_items first: its detached table keeps a
+     * copy of the foreign key to orders, which is dropped so the orders partition can follow.
+     */
+    void detachBefore(YearMonth cutoff) {
+        Map<YearMonth, Partition> items = partitions(ORDER_ITEMS);
+        Map<YearMonth, Partition> orders = partitions(ORDERS);
+        orders.keySet().stream()
+                .filter(month -> month.isBefore(cutoff))
+                .sorted()
+                .forEach(month -> {
+                    Partition itemPartition = items.get(month);
+                    if (hasRows(orders.get(month)) || (itemPartition != null && hasRows(itemPartition))) {
+                        log.warn("Keeping expired partition {}: it still holds orders", orders.get(month).name());
+                        return;
+                    }
+                    if (itemPartition != null) {
+                        detach(ORDER_ITEMS, itemPartition);
+                        dropForeignKeys(itemPartition.name());
+                    }
+                    detach(ORDERS, orders.get(month));
+                });
+    }
+
+    private void detach(String parent, Partition partition) {
+        // An interrupted CONCURRENTLY detach leaves the partition pending; FINALIZE completes it
+        String mode = partition.detachPending() ? " FINALIZE" : " CONCURRENTLY";
+        jdbcTemplate.execute("ALTER TABLE " + parent + " DETACH PARTITION " + partition.name() + mode);
+        log.info("Detached partition {} from {}", partition.name(), parent);
+    }
+
+    private boolean hasRows(Partition partition) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + partition.name() + ")", Boolean.class));
+    }
+
+    private void dropForeignKeys(String table) {
+        List<String> constraints = jdbcTemplate.queryForList(
+                "SELECT conname FROM pg_constraint WHERE conrelid = ?::regclass AND contype = 'f'",
+                String.class, table);
+        for (String constraint : constraints) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " DROP CONSTRAINT \""
+                    + constraint.replace("\"", "\"\"") + "\"");
+        }
+    }
+
+    /**
+     * Attached partitions of parent by month. Partitions not named parent_yyyy_MM
+     * (created by hand) are left alone.
+     */
+    private Map<YearMonth, Partition> partitions(String parent) {
+        Map<YearMonth, Partition> partitions = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT c.relname, i.inhdetachpending FROM pg_inherits i "
+                        + "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = ?::regclass",
+                rs -> {
+                    String name = rs.getString(1);
+                    try {
+                        YearMonth month = YearMonth.parse(name.substring(parent.length() + 1), SUFFIX);
+                        partitions.put(month, new Partition(name, rs.getBoolean(2)));
+                    } catch (DateTimeParseException | StringIndexOutOfBoundsException ex) {
+                        log.debug("Ignoring partition {} of {}", name, parent);
+                    }
+                },
+                parent);
+        return partitions;
+    }
+
+    private boolean isPartitioned() {
+        if (partitioned == null) {
+            Boolean postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+            partitioned = Boolean.TRUE.equals(postgres) && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass('orders'))",
+                    Boolean.class));
+        }
+        return partitioned;
+    }
+}
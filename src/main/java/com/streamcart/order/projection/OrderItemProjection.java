@@ -0,0 +1,95 @@
+package com.streamcart.order.projection;
+
+import com.streamcart.order.dto.OrderCreatedEvent;
+import com.streamcart.order.entity.OrderLine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Item-level read model (order_item_projection) for aggregate queries.
+ *
+ * With order.item-storage=embedded the items only exist inside orders.items_payload,
+ * which can't be grouped or filtered in SQL. This table holds one row per line and
+ * is filled asynchronously by {@link OrderItemProjector}, so it lags a moment behind orders;
+ * {@link OrderItemProjectionReconciler} repairs inserts that were lost. Rows are deleted
+ * with their orders (purge, archive).
+ *
+ * No read path queries it yet: it is kept for aggregate reports over embedded orders
+ * (hourly product sales come from product_sales_hourly instead).
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderItemProjection {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts one row per line of the order. Replaying the same order is a no-op.
+     *
+     * @return rows inserted
+     */
+    public int insert(OrderCreatedEvent event) {
+        List<OrderLine> lines = event.items().stream()
+                .map(item -> new OrderLine(item.productId(), item.productName(), item.quantity(), item.price()))
+                .toList();
+        return insert(event.orderId(), event.username(), lines, event.createdAt());
+    }
+
+    /**
+     * Inserts the order's lines that aren't projected yet.
+     *
+     * @return rows inserted
+     */
+    public int insert(String orderId, String username, List<OrderLine> lines, LocalDateTime orderedAt) {
+        if (lines.isEmpty()) {
+            return 0;
+        }
+        StringJoiner values = new StringJoiner(", ");
+        List<Object> params = new ArrayList<>(lines.size() * 8);
+        for (int i = 0; i < lines.size(); i++) {
+            OrderLine line = lines.get(i);
+            values.add("(?, ?, ?, ?, ?, ?, ?, ?)");
+            params.add(orderId);
+            params.add(i);
+            params.add(username);
+            params.add(line.productId());
+            params.add(line.productName());
+            params.add(line.quantity());
+            params.add(line.price());
+            params.add(Timestamp.valueOf(orderedAt));
+        }
+        return jdbcTemplate.update(
+                "INSERT INTO order_item_projection "
+                        + "(order_id, line_no, username, product_id, product_name, quantity, price, ordered_at) "
+                        + "VALUES " + values + " ON CONFLICT DO NOTHING",
+                params.toArray());
+    }
+
+    /**
+     * Deletes the rows of orders removed from the orders table.
+     */
+    public void delete(Collection<String> orderIds) {
+        jdbcTemplate.batchUpdate("DELETE FROM order_item_projection WHERE order_id = ?",
+                orderIds.stream().map(orderId -> new Object[]{orderId}).toList());
+    }
+
+    /**
+     * Deletes rows ordered in [from, to) whose order no longer exists.
+     *
+     * @return rows deleted
+     */
+    public int deleteOrphans(LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.update(
+                "DELETE FROM order_item_projection p WHERE p.ordered_at >= ? AND p.ordered_at < ? "
+                        + "AND NOT EXISTS (SELECT 1 FROM orders o WHERE o.order_id = p.order_id)",
+                Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+}
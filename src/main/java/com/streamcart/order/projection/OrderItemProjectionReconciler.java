@@ -0,0 +1,101 @@
+package com.streamcart.order.projection;
+
+import com.streamcart.order.entity.OrderLinesConverter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repairs {@link OrderItemProjection} for orders created in a time range.
+ *
+ * The projector's insert runs after commit and is only logged when it fails (or is lost
+ * with the node), so the projection can miss orders. A reconcile deletes rows whose order
+ * is gone, then re-projects every embedded order of the range in keyset chunks; lines
+ * already present are skipped by the insert's ON CONFLICT.
+ *
+ * Runs on order.item-projection.reconcile.cron over the last
+ * order.item-projection.reconcile.window.
+ */
+@Component
+@ConditionalOnProperty(name = "order.item-storage", havingValue = "embedded")
+@RequiredArgsConstructor
+@Slf4j
+public class OrderItemProjectionReconciler {
+
+    private static final OrderLinesConverter LINES = new OrderLinesConverter();
+
+    private final OrderItemProjection projection;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${order.item-projection.reconcile.window:2d}")
+    private Duration window;
+
+    @Value("${order.item-projection.reconcile.chunk-size:1000}")
+    private int chunkSize;
+
+    public record Result(int orphansDeleted, long rowsInserted) {
+    }
+
+    private record EmbeddedOrder(String orderId, String username, String itemsPayload, LocalDateTime createdAt) {
+    }
+
+    @Scheduled(cron = "${order.item-projection.reconcile.cron:-}")
+    public void scheduledReconcile() {
+        LocalDateTime now = LocalDateTime.now();
+        reconcile(now.minus(window), now);
+    }
+
+    /**
+     * Reconciles orders created in [from, to).
+     */
+    public synchronized Result reconcile(LocalDateTime from, LocalDateTime to) {
+        long start = System.currentTimeMillis();
+        int orphans = projection.deleteOrphans(from, to);
+
+        long inserted = 0;
+        LocalDateTime lastCreatedAt = from;
+        String lastOrderId = "";
+        List<EmbeddedOrder> chunk;
+        do {
+            chunk = nextChunk(lastCreatedAt, lastOrderId, to);
+            for (EmbeddedOrder order : chunk) {
+                inserted += projection.insert(order.orderId(), order.username(),
+                        LINES.convertToEntityAttribute(order.itemsPayload()), order.createdAt());
+            }
+            if (!chunk.isEmpty()) {
+                EmbeddedOrder last = chunk.get(chunk.size() - 1);
+                lastCreatedAt = last.createdAt();
+                lastOrderId = last.orderId();
+            }
+        } while (chunk.size() == chunkSize);
+
+        log.info("Reconciled order item projection for {} - {}: {} orphan rows deleted, {} rows inserted in {} ms",
+                from, to, orphans, inserted, System.currentTimeMillis() - start);
+        return new Result(orphans, inserted);
+    }
+
+    private List<EmbeddedOrder> nextChunk(LocalDateTime afterCreatedAt, String afterOrderId, LocalDateTime to) {
+        return jdbcTemplate.query(
+                "SELECT o.order_id, u.username, o.items_payload, o.created_at "
+                        + "FROM orders o JOIN users u ON u.id = o.user_id "
+                        + "WHERE o.items_payload IS NOT NULL AND o.created_at < ? "
+                        + "AND (o.created_at > ? OR (o.created_at = ? AND o.order_id > ?)) "
+                        + "ORDER BY o.created_at, o.order_id LIMIT ?",
+                (rs, rowNum) -> new EmbeddedOrder(
+                        rs.getString("order_id"),
+                        rs.getString("username"),
+                        rs.getString("items_payload"),
+                        rs.getTimestamp("created_at").toLocalDateTime()),
+                Timestamp.valueOf(to), Timestamp.valueOf(afterCreatedAt), Timestamp.valueOf(afterCreatedAt),
+                afterOrderId, chunkSize);
+    }
+}
@@ -0,0 +1,37 @@
+package com.streamcart.order.projection;
+
+import com.streamcart.order.dto.OrderCreatedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps {@link OrderItemProjection} in sync when items are embedded in orders.
+ *
+ * Runs after the order's transaction commits, on the async executor, so the
+ * projection insert adds no latency to order creation and a rolled-back order
+ * never reaches the projection.
+ */
+@Component
+@ConditionalOnProperty(name = "order.item-storage", havingValue = "embedded")
+@RequiredArgsConstructor
+@Slf4j
+public class OrderItemProjector {
+
+    private final OrderItemProjection projection;
+
+    @Async
+    @TransactionalEventListener
+    public void onOrderCreated(OrderCreatedEvent event) {
+        try {
+            int rows = projection.insert(event);
+            log.debug("Projected {} items for order {}", rows, event.orderId());
+        } catch (DataAccessException ex) {
+            log.error("Failed to project items for order {}", event.orderId(), ex);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.streamcart.order.projection;
+
+import com.streamcart.order.entity.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Per-user order summary read model (user_order_summary): order count, lifetime spend
+ * and last order date, one row per user.
+ *
+ * Writes are deltas ("count + 1", "spend - 12.50") applied by {@link UserOrderSummaryProjector}
+ * inside the order's own transaction, so a busy user's row is never recomputed and never
+ * drifts from a committed order. {@link UserOrderSummaryRebuilder} recomputes it from orders
+ * plus user_removed_order_totals, where the archiver and the purge leave the totals of
+ * the orders they delete.
+ *
+ * Lifetime spend excludes orders that ended CANCELLED or FAILED; order count includes them.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserOrderSummaryProjection {
+
+    /**
+     * Statuses whose orders don't count towards lifetime spend. Both are final, so an
+     * order enters one of them at most once.
+     */
+    static final Set<OrderStatus> UNPAID = EnumSet.of(OrderStatus.CANCELLED, OrderStatus.FAILED);
+
+    private static final String UNPAID_IN = unpaidInList();
+
+    private static final int ID_CHUNK = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record UserOrderSummary(long orderCount, BigDecimal lifetimeSpend, LocalDateTime lastOrderAt) {
+    }
+
+    public Optional<UserOrderSummary> find(long userId) {
+        return jdbcTemplate.query(
+                "SELECT order_count, lifetime_spend, last_order_at FROM user_order_summary WHERE user_id = ?",
+                (rs, rowNum) -> {
+                    Timestamp lastOrderAt = rs.getTimestamp("last_order_at");
+                    return new UserOrderSummary(
+                            rs.getLong("order_count"),
+                            rs.getBigDecimal("lifetime_spend"),
+                            lastOrderAt != null ? lastOrderAt.toLocalDateTime() : null);
+                },
+                userId).stream().findFirst();
+    }
+
+    /**
+     * Adds a new order to its user's summary.
+     *
+     * @return false if the user doesn't exist
+     */
+    public boolean recordOrder(String username, BigDecimal total, LocalDateTime orderedAt) {
+        Long userId = jdbcTemplate.query("SELECT id FROM users WHERE username = ?",
+                (rs, rowNum) -> rs.getLong("id"), username).stream().findFirst().orElse(null);
+        if (userId == null) {
+            return false;
+        }
+        Timestamp at = Timestamp.valueOf(orderedAt);
+        applyDelta(userId,
+                "UPDATE user_order_summary SET order_count = order_count + 1, lifetime_spend = lifetime_spend + ?, "
+                        + "last_order_at = GREATEST(COALESCE(last_order_at, ?), ?) WHERE user_id = ?",
+                total, at, at, userId);
+        return true;
+    }
+
+    /**
+     * Takes an order that just became CANCELLED or FAILED out of its user's lifetime spend.
+     *
+     * @return false if the order doesn't exist
+     */
+    public boolean removeFromSpend(String orderId) {
+        record OrderTotal(long userId, BigDecimal total) {
+        }
+        OrderTotal order = jdbcTemplate.query("SELECT user_id, total_amount FROM orders WHERE order_id = ?",
+                (rs, rowNum) -> new OrderTotal(rs.getLong("user_id"), rs.getBigDecimal("total_amount")),
+                orderId).stream().findFirst().orElse(null);
+        if (order == null) {
+            return false;
+        }
+        applyDelta(order.userId(),
+                "UPDATE user_order_summary SET lifetime_spend = lifetime_spend - ? WHERE user_id = ?",
+                order.total(), order.userId());
+        return true;
+    }
+
+    /**
+     * Moves the given orders' totals to user_removed_order_totals, locking the orders.
+     * Must run in the transaction that then deletes them from orders, so a rebuild
+     * counts each order exactly once. Orders already gone are skipped.
+     */
+    public void recordRemoved(List<String> orderIds) {
+        record Removed(long orderCount, BigDecimal spend, LocalDateTime lastOrderAt) {
+        }
+        Map<Long, Removed> byUser = new HashMap<>();
+        for (int from = 0; from < orderIds.size(); from += ID_CHUNK) {
+            List<String> ids = orderIds.subList(from, Math.min(from + ID_CHUNK, orderIds.size()));
+            jdbcTemplate.query(
+                    "SELECT user_id, total_amount, status, created_at FROM orders WHERE order_id IN ("
+                            + String.join(",", Collections.nCopies(ids.size(), "?")) + ") FOR UPDATE",
+                    rs -> {
+                        BigDecimal spend = UNPAID.contains(OrderStatus.valueOf(rs.getString("status")))
+                                ? BigDecimal.ZERO
+                                : rs.getBigDecimal("total_amount");
+                        LocalDateTime createdAt = rs.getTimestamp("created_at").toLocalDateTime();
+                        byUser.merge(rs.getLong("user_id"), new Removed(1, spend, createdAt), (a, b) -> new Removed(
+                                a.orderCount() + b.orderCount(),
+                                a.spend().add(b.spend()),
+                                a.lastOrderAt().isAfter(b.lastOrderAt()) ? a.lastOrderAt() : b.lastOrderAt()));
+                    },
+                    ids.toArray());
+        }
+        if (byUser.isEmpty()) {
+            return;
+        }
+        List<Long> userIds = List.copyOf(byUser.keySet());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO user_removed_order_totals (user_id, order_count, lifetime_spend) VALUES (?, 0, 0) "
+                        + "ON CONFLICT DO NOTHING",
+                userIds, userIds.size(), (ps, userId) -> ps.setLong(1, userId));
+        jdbcTemplate.batchUpdate(
+                "UPDATE user_removed_order_totals SET order_count = order_count + ?, lifetime_spend = lifetime_spend + ?, "
+                        + "last_order_at = GREATEST(COALESCE(last_order_at, ?), ?) WHERE user_id = ?",
+                userIds, userIds.size(), (ps, userId) -> {
+                    Removed removed = byUser.get(userId);
+                    Timestamp at = Timestamp.valueOf(removed.lastOrderAt());
+                    ps.setLong(1, removed.orderCount());
+                    ps.setBigDecimal(2, removed.spend());
+                    ps.setTimestamp(3, at);
+                    ps.setTimestamp(4, at);
+                    ps.setLong(5, userId);
+                });
+    }
+
+    /**
+     * Recomputes the summaries of users fromUserId..toUserId (inclusive) from their orders
+     * and the totals of their removed orders. Users without orders get no row.
+     *
+     * @return summary rows written
+     */
+    public int rebuild(long fromUserId, long toUserId) {
+        jdbcTemplate.update("DELETE FROM user_order_summary WHERE user_id BETWEEN ? AND ?", fromUserId, toUserId);
+        return jdbcTemplate.update(
+                "INSERT INTO user_order_summary (user_id, order_count, lifetime_spend, last_order_at) "
+                        + "SELECT user_id, SUM(order_count), SUM(lifetime_spend), MAX(last_order_at) FROM ("
+                        + "SELECT user_id, COUNT(*) AS order_count, "
+                        + "SUM(CASE WHEN status IN " + UNPAID_IN + " THEN 0 ELSE total_amount END) AS lifetime_spend, "
+                        + "MAX(created_at) AS last_order_at "
+                        + "FROM orders WHERE user_id BETWEEN ? AND ? GROUP BY user_id "
+                        + "UNION ALL "
+                        + "SELECT user_id, order_count, lifetime_spend, last_order_at "
+                        + "FROM user_removed_order_totals WHERE user_id BETWEEN ? AND ?"
+                        + ") totals GROUP BY user_id",
+                fromUserId, toUserId, fromUserId, toUserId);
+    }
+
+    /**
+     * Runs the delta update; if the user has no summary row yet, creates an empty one
+     * first. ON CONFLICT DO NOTHING lets two first orders of the same user race safely:
+     * both end up updating the one row.
+     */
+    private void applyDelta(long userId, String update, Object... params) {
+        if (jdbcTemplate.update(update, params) == 0) {
+            jdbcTemplate.update(
+                    "INSERT INTO user_order_summary (user_id, order_count, lifetime_spend) VALUES (?, 0, 0) "
+                            + "ON CONFLICT DO NOTHING",
+                    userId);
+            jdbcTemplate.update(update, params);
+        }
+    }
+
+    private static String unpaidInList() {
+        StringJoiner in = new StringJoiner(", ", "(", ")");
+        UNPAID.forEach(status -> in.add("'" + status.name() + "'"));
+        return in.toString();
+    }
+}
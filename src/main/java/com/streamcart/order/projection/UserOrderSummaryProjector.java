@@ -0,0 +1,39 @@
+package com.streamcart.order.projection;
+
+import com.streamcart.order.dto.OrderCreatedEvent;
+import com.streamcart.order.dto.OrderStatusChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Applies order writes to {@link UserOrderSummaryProjection} as deltas.
+ *
+ * Unlike {@link OrderItemProjector} this runs before commit, inside the writer's
+ * transaction: the summary commits (or rolls back) together with the order, so a
+ * delta is never lost or applied twice. Both status writers (compare-and-set and the
+ * batch consumer path) publish OrderStatusChangedEvent, so both are covered.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserOrderSummaryProjector {
+
+    private final UserOrderSummaryProjection projection;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onOrderCreated(OrderCreatedEvent event) {
+        if (!projection.recordOrder(event.username(), event.totalAmount(), event.createdAt())) {
+            log.warn("No user {} for order {}; summary not updated", event.username(), event.orderId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onStatusChanged(OrderStatusChangedEvent event) {
+        if (UserOrderSummaryProjection.UNPAID.contains(event.status())) {
+            projection.removeFromSpend(event.orderId());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.streamcart.order.projection;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Recomputes every {@link UserOrderSummaryProjection} row from orders and the totals of
+ * archived and purged orders, e.g. after orders were written outside the application
+ * (bulk loads, manual fixes).
+ *
+ * Users are split into id ranges of order.summary.rebuild.chunk-size, rebuilt on
+ * order.summary.rebuild.parallelism threads, one transaction per range. Live deltas
+ * keep flowing during a rebuild: a chunk and an order write for the same user are
+ * serialized by the summary row's lock. If a user's first order creates their row while
+ * the chunk is rebuilding it, the chunk hits the primary key and is simply rebuilt again.
+ *
+ * Runs on order.summary.rebuild.cron (disabled by default) and after synthetic data generation.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserOrderSummaryRebuilder {
+
+    private static final int MAX_CHUNK_ATTEMPTS = 3;
+
+    private final UserOrderSummaryProjection projection;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${order.summary.rebuild.chunk-size:10000}")
+    private int chunkSize;
+
+    @Value("${order.summary.rebuild.parallelism:4}")
+    private int parallelism;
+
+    private record Chunk(long fromUserId, long toUserId) {
+    }
+
+    @Scheduled(cron = "${order.summary.rebuild.cron:-}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * @return summary rows written
+     */
+    public long rebuild() {
+        List<Chunk> chunks = chunks();
+        log.info("Rebuilding user order summaries: {} chunks of up to {} users", chunks.size(), chunkSize);
+        long start = System.currentTimeMillis();
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, chunks.size())));
+        try {
+            List<Future<Integer>> futures = new ArrayList<>(chunks.size());
+            for (Chunk chunk : chunks) {
+                futures.add(executor.submit(() -> rebuild(chunk)));
+            }
+            long rows = 0;
+            for (Future<Integer> future : futures) {
+                try {
+                    rows += future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("User order summary rebuild interrupted", e);
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("User order summary rebuild failed", e.getCause());
+                }
+            }
+            log.info("Rebuilt {} user order summaries in {} ms", rows, System.currentTimeMillis() - start);
+            return rows;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private List<Chunk> chunks() {
+        List<Chunk> chunks = new ArrayList<>();
+        jdbcTemplate.query("SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM users", rs -> {
+            long min = rs.getLong("min_id");
+            if (rs.wasNull()) {
+                return;
+            }
+            long max = rs.getLong("max_id");
+            for (long from = min; from <= max; from += chunkSize) {
+                chunks.add(new Chunk(from, Math.min(max, from + chunkSize - 1)));
+            }
+        });
+        return chunks;
+    }
+
+    private int rebuild(Chunk chunk) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Integer rows = transaction.execute(status -> projection.rebuild(chunk.fromUserId(), chunk.toUserId()));
+                return rows != null ? rows : 0;
+            } catch (DataIntegrityViolationException ex) {
+                if (attempt == MAX_CHUNK_ATTEMPTS) {
+                    throw ex;
+                }
+                log.debug("Summary row created concurrently in users {}..{}, rebuilding the chunk again",
+                        chunk.fromUserId(), chunk.toUserId());
+            }
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package com.streamcart.order.publisher;
 
+import com.streamcart.order.dto.OrderCancelledEvent;
 import com.streamcart.order.dto.OrderCreatedEvent;
+import com.streamcart.order.dto.OrderStatusChangedEvent;
+import com.streamcart.order.entity.OrderStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.concurrent.CompletableFuture;
 
@@ -15,8 +20,10 @@ import java.util.concurrent.CompletableFuture;
 public class OrderEventPublisher {
     
     private static final String TOPIC = "order.created";
+    private static final String CANCELLED_TOPIC = "order.cancelled";
     
     private final KafkaTemplate<String, OrderCreatedEvent> kafkaTemplate;
+    private final KafkaTemplate<String, OrderCancelledEvent> cancelledTemplate;
     
     public void publishOrderCreated(OrderCreatedEvent event) {
         log.info("Publishing order created event for order: {}", event.orderId());
@@ -35,4 +42,26 @@ public class OrderEventPublisher {
             }
         });
     }
+    
+    /**
+     * Every status writer publishes OrderStatusChangedEvent; cancellations are passed
+     * on to Kafka once they have committed.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onStatusChanged(OrderStatusChangedEvent event) {
+        if (event.status() == OrderStatus.CANCELLED) {
+            publishOrderCancelled(new OrderCancelledEvent(event.orderId(), event.timestamp()));
+        }
+    }
+    
+    public void publishOrderCancelled(OrderCancelledEvent event) {
+        log.info("Publishing order cancelled event for order: {}", event.orderId());
+        
+        cancelledTemplate.send(CANCELLED_TOPIC, event.orderId(), event)
+            .whenComplete((result, ex) -> {
+                if (ex != null) {
+                    log.error("Failed to publish order cancelled event for order: {}", event.orderId(), ex);
+                }
+            });
+    }
 }
@@ -0,0 +1,70 @@
+package com.streamcart.order.ratelimit;
+
+import com.streamcart.order.exception.RateLimitExceededException;
+import com.streamcart.order.ratelimit.UserRequestLimiter.UserLimit;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Applies {@link UserRequestLimiter} to the /api/orders endpoints (registered in WebConfig),
+ * keyed on the user JwtAuthenticationFilter authenticated.
+ *
+ * The in-flight slot is held until the request completes. Streaming responses (SSE,
+ * export) give it back as soon as they go async: a stream open for minutes would
+ * otherwise count against the user's concurrent requests for its whole life.
+ * Rejections throw {@link RateLimitExceededException}: 429 with Retry-After.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserRateLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String LIMIT_ATTRIBUTE = UserRateLimitInterceptor.class.getName() + ".LIMIT";
+
+    private final UserRequestLimiter limiter;
+
+    @Value("${order.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        // Async and error dispatches belong to a request that was already counted
+        if (!enabled || request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return true;
+        }
+        request.setAttribute(LIMIT_ATTRIBUTE, limiter.acquire(authentication.getName()));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(@NonNull HttpServletRequest request,
+                                               @NonNull HttpServletResponse response,
+                                               @NonNull Object handler) {
+        release(request);
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                @NonNull Object handler, Exception ex) {
+        release(request);
+    }
+
+    private void release(HttpServletRequest request) {
+        if (request.getAttribute(LIMIT_ATTRIBUTE) instanceof UserLimit limit) {
+            request.removeAttribute(LIMIT_ATTRIBUTE);
+            limit.release();
+        }
+    }
+}
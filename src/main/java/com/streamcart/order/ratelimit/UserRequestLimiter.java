@@ -0,0 +1,142 @@
+package com.streamcart.order.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.streamcart.order.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user request limits: a token bucket (order.rate-limit.requests-per-second, with
+ * bursts of up to order.rate-limit.burst) and a cap on concurrent requests
+ * (order.rate-limit.max-in-flight), so one client can't take the whole connection pool.
+ *
+ * Each user's state is two atomics updated with compare-and-set, no locks. The bucket
+ * is kept as the time it will next be full (GCRA), so refilling needs no timer or
+ * extra state. Users live in a Caffeine cache: a concurrent hash table bounded to
+ * order.rate-limit.max-users and expired after order.rate-limit.idle-expiry without
+ * requests (an expired user starts again with a full bucket).
+ */
+@Component
+@RequiredArgsConstructor
+public class UserRequestLimiter {
+
+    private static final long IN_FLIGHT_RETRY_AFTER_SECONDS = 1;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${order.rate-limit.requests-per-second:20}")
+    private double requestsPerSecond;
+
+    @Value("${order.rate-limit.burst:40}")
+    private int burst;
+
+    @Value("${order.rate-limit.max-in-flight:8}")
+    private int maxInFlight;
+
+    @Value("${order.rate-limit.max-users:100000}")
+    private long maxUsers;
+
+    @Value("${order.rate-limit.idle-expiry:10m}")
+    private Duration idleExpiry;
+
+    private long intervalNanos;
+    private long toleranceNanos;
+    private Cache<String, UserLimit> users;
+    private Counter rateRejections;
+    private Counter concurrencyRejections;
+
+    @PostConstruct
+    void init() {
+        intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+        toleranceNanos = intervalNanos * (Math.max(1, burst) - 1);
+        users = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(idleExpiry)
+                // Eviction and expiry run in small steps on request threads: handing them to
+                // the common pool cost more than doing them, per request
+                .executor(Runnable::run)
+                .build();
+        rateRejections = rejections("rate");
+        concurrencyRejections = rejections("concurrency");
+    }
+
+    /**
+     * Takes a token and an in-flight slot for the user. The caller must
+     * {@link UserLimit#release() release} the returned limit when the request ends.
+     *
+     * @throws RateLimitExceededException if the user is out of tokens or already has
+     *         max-in-flight requests running
+     */
+    public UserLimit acquire(String username) {
+        UserLimit limit = users.get(username, name -> new UserLimit(System.nanoTime()));
+        if (limit.inFlight.incrementAndGet() > maxInFlight) {
+            limit.inFlight.decrementAndGet();
+            concurrencyRejections.increment();
+            throw new RateLimitExceededException(
+                    "Too many concurrent requests (limit " + maxInFlight + "). Please retry later.",
+                    IN_FLIGHT_RETRY_AFTER_SECONDS);
+        }
+        long waitNanos = limit.takeToken(System.nanoTime());
+        if (waitNanos > 0) {
+            limit.inFlight.decrementAndGet();
+            rateRejections.increment();
+            throw new RateLimitExceededException(
+                    "Too many requests (limit " + requestsPerSecond + "/s). Please retry later.",
+                    Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1)));
+        }
+        return limit;
+    }
+
+    long trackedUsers() {
+        return users.estimatedSize();
+    }
+
+    private Counter rejections(String reason) {
+        return Counter.builder("order.rate-limit.rejected")
+                .description("Requests rejected with 429 by the per-user limits")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    public final class UserLimit {
+
+        // When the bucket will be full again; a request may go while that's at most toleranceNanos ahead
+        private final AtomicLong theoreticalArrival;
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private UserLimit(long now) {
+            this.theoreticalArrival = new AtomicLong(now);
+        }
+
+        /**
+         * @return 0 if a token was taken, otherwise how long until one is available
+         */
+        private long takeToken(long now) {
+            while (true) {
+                long arrival = theoreticalArrival.get();
+                long start = Math.max(arrival, now);
+                long wait = start - now - toleranceNanos;
+                if (wait > 0) {
+                    return wait;
+                }
+                if (theoreticalArrival.compareAndSet(arrival, start + intervalNanos)) {
+                    return 0;
+                }
+            }
+        }
+
+        public void release() {
+            inFlight.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.streamcart.order.repository;
+
+import com.streamcart.order.entity.OrderLine;
+import com.streamcart.order.entity.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One order as read by {@link OrderExportRepository}, with its lines from either storage mode.
+ */
+public record ExportedOrder(
+    String orderId,
+    String username,
+    OrderStatus status,
+    BigDecimal totalAmount,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt,
+    List<OrderLine> lines
+) {
+}
@@ -0,0 +1,132 @@
+package com.streamcart.order.repository;
+
+import com.streamcart.order.entity.OrderLine;
+import com.streamcart.order.entity.OrderLinesConverter;
+import com.streamcart.order.entity.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads every order matching a filter, one at a time, for exports of any size.
+ *
+ * Plain JDBC rather than entities, so no persistence context grows with the export.
+ * The statement is a forward-only, read-only cursor with a fetch size; PostgreSQL only
+ * fetches in batches inside a transaction, hence the (read-only) @Transactional.
+ * Orders arrive sorted by order_id with their order_items rows next to each other, so
+ * at most one order's lines are held at a time. The items join repeats created_at so that
+ * on PostgreSQL each order only probes the order_items partition of its month.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderExportRepository {
+
+    private static final OrderLinesConverter LINES = new OrderLinesConverter();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${order.export.fetch-size:1000}")
+    private int fetchSize;
+
+    /**
+     * @param status      null for all statuses
+     * @param createdFrom inclusive, null for no lower bound
+     * @param createdTo   exclusive, null for no upper bound
+     */
+    @Transactional(readOnly = true)
+    public void forEachOrder(OrderStatus status, LocalDateTime createdFrom, LocalDateTime createdTo,
+                             Consumer<ExportedOrder> orders) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT o.order_id, u.username, o.status, o.total_amount, o.created_at, o.updated_at, "
+                        + "o.items_payload, i.product_id, i.product_name, i.quantity, i.price "
+                        + "FROM orders o JOIN users u ON u.id = o.user_id "
+                        + "LEFT JOIN order_items i ON i.order_id = o.order_id AND i.created_at = o.created_at WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+        if (status != null) {
+            sql.append(" AND o.status = ?");
+            params.add(status.name());
+        }
+        if (createdFrom != null) {
+            sql.append(" AND o.created_at >= ?");
+            params.add(Timestamp.valueOf(createdFrom));
+        }
+        if (createdTo != null) {
+            sql.append(" AND o.created_at < ?");
+            params.add(Timestamp.valueOf(createdTo));
+        }
+        sql.append(" ORDER BY o.order_id, i.id");
+
+        Grouper grouper = new Grouper(orders);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < params.size(); i++) {
+                statement.setObject(i + 1, params.get(i));
+            }
+            return statement;
+        }, grouper);
+        grouper.finish();
+    }
+
+    /**
+     * Folds consecutive rows of the same order into one {@link ExportedOrder}.
+     */
+    private static final class Grouper implements RowCallbackHandler {
+
+        private final Consumer<ExportedOrder> orders;
+        private ExportedOrder current;
+
+        private Grouper(Consumer<ExportedOrder> orders) {
+            this.orders = orders;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            String orderId = rs.getString("order_id");
+            if (current == null || !current.orderId().equals(orderId)) {
+                finish();
+                String payload = rs.getString("items_payload");
+                current = new ExportedOrder(
+                        orderId,
+                        rs.getString("username"),
+                        OrderStatus.valueOf(rs.getString("status")),
+                        rs.getBigDecimal("total_amount"),
+                        rs.getTimestamp("created_at").toLocalDateTime(),
+                        toLocalDateTime(rs.getTimestamp("updated_at")),
+                        payload != null ? LINES.convertToEntityAttribute(payload) : new ArrayList<>());
+            }
+            String productId = rs.getString("product_id");
+            if (productId != null) {
+                current.lines().add(new OrderLine(
+                        productId,
+                        rs.getString("product_name"),
+                        rs.getInt("quantity"),
+                        rs.getBigDecimal("price")));
+            }
+        }
+
+        private void finish() {
+            if (current != null) {
+                orders.accept(current);
+                current = null;
+            }
+        }
+
+        private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+            return timestamp != null ? timestamp.toLocalDateTime() : null;
+        }
+    }
+}
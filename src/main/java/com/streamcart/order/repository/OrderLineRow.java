@@ -0,0 +1,14 @@
+package com.streamcart.order.repository;
+
+import com.streamcart.order.entity.OrderLine;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * One row of OrderRepository.findLines: an embedded order's items_payload, or one
+ * order_items row of a normalized order (all nulls if it has none).
+ */
+public record OrderLineRow(String orderId, List<OrderLine> embeddedItems,
+                           String productId, String productName, Integer quantity, BigDecimal price) {
+}
@@ -0,0 +1,10 @@
+package com.streamcart.order.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * High-water mark of a user's orders: changes whenever one is created (count, newest),
+ * deleted (count) or changes status (every status change bumps its version).
+ */
+public record OrderListVersion(Long orderCount, Long versionSum, LocalDateTime lastCreatedAt) {
+}
@@ -0,0 +1,7 @@
+package com.streamcart.order.repository;
+
+/**
+ * Owner and version of an order, read without loading the entity.
+ */
+public record OrderOwnerVersion(String username, Long version) {
+}
@@ -1,14 +1,175 @@
 package com.streamcart.order.repository;
 
+import com.streamcart.order.dto.OrderResponse;
 import com.streamcart.order.entity.Order;
+import com.streamcart.order.entity.OrderLine;
+import com.streamcart.order.entity.OrderStatus;
 import com.streamcart.order.entity.User;
+import com.streamcart.order.partition.OrderIds;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, String> {
     List<Order> findByUser(User user);
-    List<Order> findByUser_Username(String username);
+
+    // Inner join so the planner can start from the users.username index
+    // (the derived query uses a LEFT JOIN, which forces a scan of orders first)
+    @Query("SELECT o FROM Order o JOIN o.user u WHERE u.username = :username")
+    List<Order> findByUser_Username(@Param("username") String username);
+
+    Optional<OrderStatusVersion> findStatusVersionByOrderId(String orderId);
+
+    /**
+     * Loads an order by id. A time-ordered id (OrderIds) carries created_at, so the
+     * lookup also bounds created_at and PostgreSQL reads only the partition holding the
+     * order. Other ids, and misses, fall back to findById, which probes every partition.
+     */
+    default Optional<Order> findOrder(String orderId) {
+        return OrderIds.createdAt(orderId)
+                .flatMap(createdAt -> findByOrderIdAndCreatedAtBetween(
+                        orderId, createdAt, createdAt.plus(1, ChronoUnit.MILLIS)))
+                .or(() -> findById(orderId));
+    }
+
+    // Inclusive upper bound: the id holds created_at truncated to the millisecond
+    Optional<Order> findByOrderIdAndCreatedAtBetween(String orderId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * findOrder for conditional GETs: only the owner's username and the version.
+     */
+    default Optional<OrderOwnerVersion> findOwnerVersion(String orderId) {
+        return OrderIds.createdAt(orderId)
+                .flatMap(createdAt -> findOwnerVersionByOrderIdAndCreatedAtBetween(
+                        orderId, createdAt, createdAt.plus(1, ChronoUnit.MILLIS)))
+                .or(() -> findOwnerVersionByOrderId(orderId));
+    }
+
+    @Query("SELECT new com.streamcart.order.repository.OrderOwnerVersion(u.username, o.version) "
+            + "FROM Order o JOIN o.user u WHERE o.orderId = :orderId AND o.createdAt BETWEEN :from AND :to")
+    Optional<OrderOwnerVersion> findOwnerVersionByOrderIdAndCreatedAtBetween(@Param("orderId") String orderId,
+                                                                            @Param("from") LocalDateTime from,
+                                                                            @Param("to") LocalDateTime to);
+
+    @Query("SELECT new com.streamcart.order.repository.OrderOwnerVersion(u.username, o.version) "
+            + "FROM Order o JOIN o.user u WHERE o.orderId = :orderId")
+    Optional<OrderOwnerVersion> findOwnerVersionByOrderId(@Param("orderId") String orderId);
+
+    @Query("SELECT new com.streamcart.order.repository.OrderListVersion(COUNT(o), COALESCE(SUM(o.version), 0), "
+            + "MAX(o.createdAt)) FROM Order o WHERE o.user.id = :userId")
+    OrderListVersion findListVersionByUserId(@Param("userId") Long userId);
+
+    /**
+     * Loads many orders with their owner's username in one query, without hydrating
+     * entities. When every id is time-ordered the query also bounds created_at by the
+     * ids' range, so PostgreSQL only reads the partitions in it; ids it misses are
+     * retried without the bound, like findOrder.
+     */
+    default List<OrderResponse> findResponses(Collection<String> orderIds) {
+        List<LocalDateTime> createdAts = orderIds.stream()
+                .map(OrderIds::createdAt)
+                .flatMap(Optional::stream)
+                .toList();
+        if (createdAts.size() < orderIds.size()) {
+            return findResponsesByOrderIdIn(orderIds);
+        }
+
+        List<OrderResponse> found = new ArrayList<>(findResponsesByOrderIdInAndCreatedAtBetween(orderIds,
+                createdAts.stream().min(Comparator.naturalOrder()).orElseThrow(),
+                createdAts.stream().max(Comparator.naturalOrder()).orElseThrow().plus(1, ChronoUnit.MILLIS)));
+        if (found.size() < orderIds.size()) {
+            Set<String> foundIds = found.stream().map(OrderResponse::orderId).collect(Collectors.toSet());
+            List<String> missed = orderIds.stream().filter(id -> !foundIds.contains(id)).toList();
+            found.addAll(findResponsesByOrderIdIn(missed));
+        }
+        return found;
+    }
+
+    @Query("SELECT new com.streamcart.order.dto.OrderResponse(o.orderId, u.username, o.totalAmount, o.status, o.createdAt) "
+            + "FROM Order o JOIN o.user u WHERE o.orderId IN :orderIds")
+    List<OrderResponse> findResponsesByOrderIdIn(@Param("orderIds") Collection<String> orderIds);
+
+    @Query("SELECT new com.streamcart.order.dto.OrderResponse(o.orderId, u.username, o.totalAmount, o.status, o.createdAt) "
+            + "FROM Order o JOIN o.user u WHERE o.orderId IN :orderIds AND o.createdAt BETWEEN :from AND :to")
+    List<OrderResponse> findResponsesByOrderIdInAndCreatedAtBetween(@Param("orderIds") Collection<String> orderIds,
+                                                                   @Param("from") LocalDateTime from,
+                                                                   @Param("to") LocalDateTime to);
+
+    /**
+     * The line items of many orders in one query, whichever way each order stores them
+     * (see ItemStorage), keyed by order id; orders not in the hot tables are absent.
+     * Bounds created_at like findResponses.
+     */
+    default Map<String, List<OrderLine>> findLines(Collection<String> orderIds) {
+        if (orderIds.isEmpty()) {
+            return Map.of();
+        }
+        List<LocalDateTime> createdAts = orderIds.stream()
+                .map(OrderIds::createdAt)
+                .flatMap(Optional::stream)
+                .toList();
+        List<OrderLineRow> rows = new ArrayList<>();
+        if (createdAts.size() < orderIds.size()) {
+            rows.addAll(findLineRowsByOrderIdIn(orderIds));
+        } else {
+            rows.addAll(findLineRowsByOrderIdInAndCreatedAtBetween(orderIds,
+                    createdAts.stream().min(Comparator.naturalOrder()).orElseThrow(),
+                    createdAts.stream().max(Comparator.naturalOrder()).orElseThrow().plus(1, ChronoUnit.MILLIS)));
+            Set<String> foundIds = rows.stream().map(OrderLineRow::orderId).collect(Collectors.toSet());
+            if (foundIds.size() < orderIds.size()) {
+                List<String> missed = orderIds.stream().filter(id -> !foundIds.contains(id)).toList();
+                rows.addAll(findLineRowsByOrderIdIn(missed));
+            }
+        }
+
+        Map<String, List<OrderLine>> lines = new HashMap<>();
+        for (OrderLineRow row : rows) {
+            List<OrderLine> orderLines = lines.computeIfAbsent(row.orderId(), id -> new ArrayList<>());
+            if (row.embeddedItems() != null) {
+                orderLines.addAll(row.embeddedItems());
+            } else if (row.productId() != null) {
+                orderLines.add(new OrderLine(row.productId(), row.productName(), row.quantity(), row.price()));
+            }
+        }
+        return lines;
+    }
+
+    @Query("SELECT new com.streamcart.order.repository.OrderLineRow(o.orderId, o.embeddedItems, "
+            + "i.productId, i.productName, i.quantity, i.price) "
+            + "FROM Order o LEFT JOIN o.items i WHERE o.orderId IN :orderIds ORDER BY o.orderId, i.id")
+    List<OrderLineRow> findLineRowsByOrderIdIn(@Param("orderIds") Collection<String> orderIds);
+
+    // An item's created_at is its order's, so both tables are bounded to the same partitions
+    @Query("SELECT new com.streamcart.order.repository.OrderLineRow(o.orderId, o.embeddedItems, "
+            + "i.productId, i.productName, i.quantity, i.price) "
+            + "FROM Order o LEFT JOIN o.items i ON i.createdAt BETWEEN :from AND :to "
+            + "WHERE o.orderId IN :orderIds AND o.createdAt BETWEEN :from AND :to ORDER BY o.orderId, i.id")
+    List<OrderLineRow> findLineRowsByOrderIdInAndCreatedAtBetween(@Param("orderIds") Collection<String> orderIds,
+                                                                 @Param("from") LocalDateTime from,
+                                                                 @Param("to") LocalDateTime to);
+
+    // Compare-and-set in one statement: returns 0 if the order moved on since it was read
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :next, o.version = o.version + 1, o.updatedAt = :now "
+            + "WHERE o.orderId = :orderId AND o.status = :expected AND o.version = :version")
+    int compareAndSetStatus(@Param("orderId") String orderId,
+                            @Param("expected") OrderStatus expected,
+                            @Param("version") Long version,
+                            @Param("next") OrderStatus next,
+                            @Param("now") LocalDateTime now);
 }
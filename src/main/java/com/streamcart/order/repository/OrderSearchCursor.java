@@ -0,0 +1,29 @@
+package com.streamcart.order.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Keyset position in a search: the (created_at, order_id) of the last order returned.
+ * Clients get it as an opaque URL-safe token.
+ */
+public record OrderSearchCursor(LocalDateTime createdAt, String orderId) {
+
+    public String encode() {
+        String raw = createdAt + "|" + orderId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token wasn't produced by {@link #encode()}
+     */
+    public static OrderSearchCursor decode(String token) {
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        int separator = raw.indexOf('|');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        return new OrderSearchCursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+    }
+}
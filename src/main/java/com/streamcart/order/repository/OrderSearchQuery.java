@@ -0,0 +1,29 @@
+package com.streamcart.order.repository;
+
+import com.streamcart.order.entity.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Resolved search filters; null means "no filter". At least one of userId and status
+ * is set, so every search is a range scan on one of the search indexes.
+ *
+ * @param createdFrom inclusive
+ * @param createdTo   exclusive
+ * @param after       continue after this position (null for the first page)
+ */
+public record OrderSearchQuery(
+    Long userId,
+    OrderStatus status,
+    LocalDateTime createdFrom,
+    LocalDateTime createdTo,
+    BigDecimal minAmount,
+    BigDecimal maxAmount,
+    OrderSearchCursor after,
+    int limit
+) {
+    public boolean hasAmountFilter() {
+        return minAmount != null || maxAmount != null;
+    }
+}
@@ -0,0 +1,130 @@
+package com.streamcart.order.repository;
+
+import com.streamcart.order.dto.OrderResponse;
+import com.streamcart.order.entity.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Filtered order search, newest first, with keyset pagination.
+ *
+ * Rows are handed to the caller as they are read from the result set, never collected
+ * into a list. Each statement is a scan of one index range:
+ * - user given:     idx_orders_user_status_created (user_id, status, created_at, order_id)
+ *                   or idx_orders_user_created without a status
+ * - status only:    idx_orders_status_created (status, created_at, order_id)
+ * Without amount filters it reads at most limit + 1 rows. total_amount is in neither index,
+ * so amount filters are checked row by row and may read the whole range before the page
+ * fills: one user's orders, or for a status-only search the created_at range, which is
+ * therefore required (OrderSearchService caps its length).
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderSearchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    record Statement(String sql, Object[] params) {
+    }
+
+    /**
+     * Streams up to query.limit() matching orders to rows.
+     *
+     * @return where the next page starts, or null if this was the last page
+     */
+    public OrderSearchCursor search(OrderSearchQuery query, Consumer<OrderResponse> rows) {
+        Statement statement = statement(query);
+        Page page = new Page(query.limit(), rows);
+        jdbcTemplate.query(statement.sql(), page, statement.params());
+        return page.more ? page.last : null;
+    }
+
+    Statement statement(OrderSearchQuery query) {
+        if (query.userId() == null && query.status() == null) {
+            throw new IllegalArgumentException("A search needs a user or a status to stay on an index");
+        }
+        if (query.userId() == null && query.hasAmountFilter()
+                && (query.createdFrom() == null || query.createdTo() == null)) {
+            throw new IllegalArgumentException("Amount filters across all users need a created_at range to bound the scan");
+        }
+        StringBuilder sql = new StringBuilder(
+                "SELECT o.order_id, u.username, o.total_amount, o.status, o.created_at "
+                        + "FROM orders o JOIN users u ON u.id = o.user_id WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+        if (query.userId() != null) {
+            sql.append(" AND o.user_id = ?");
+            params.add(query.userId());
+        }
+        if (query.status() != null) {
+            sql.append(" AND o.status = ?");
+            params.add(query.status().name());
+        }
+        if (query.createdFrom() != null) {
+            sql.append(" AND o.created_at >= ?");
+            params.add(Timestamp.valueOf(query.createdFrom()));
+        }
+        if (query.createdTo() != null) {
+            sql.append(" AND o.created_at < ?");
+            params.add(Timestamp.valueOf(query.createdTo()));
+        }
+        if (query.minAmount() != null) {
+            sql.append(" AND o.total_amount >= ?");
+            params.add(query.minAmount());
+        }
+        if (query.maxAmount() != null) {
+            sql.append(" AND o.total_amount <= ?");
+            params.add(query.maxAmount());
+        }
+        if (query.after() != null) {
+            sql.append(" AND (o.created_at, o.order_id) < (?, ?)");
+            params.add(Timestamp.valueOf(query.after().createdAt()));
+            params.add(query.after().orderId());
+        }
+        sql.append(" ORDER BY o.created_at DESC, o.order_id DESC LIMIT ?");
+        params.add(query.limit() + 1);
+        return new Statement(sql.toString(), params.toArray());
+    }
+
+    private static final class Page implements RowCallbackHandler {
+
+        private final int limit;
+        private final Consumer<OrderResponse> rows;
+        private int count;
+        private OrderSearchCursor last;
+        private boolean more;
+
+        private Page(int limit, Consumer<OrderResponse> rows) {
+            this.limit = limit;
+            this.rows = rows;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            // The extra row only tells us there is a next page
+            if (count == limit) {
+                more = true;
+                return;
+            }
+            LocalDateTime createdAt = rs.getTimestamp("created_at").toLocalDateTime();
+            String orderId = rs.getString("order_id");
+            rows.accept(new OrderResponse(
+                    orderId,
+                    rs.getString("username"),
+                    rs.getBigDecimal("total_amount"),
+                    OrderStatus.valueOf(rs.getString("status")),
+                    createdAt));
+            last = new OrderSearchCursor(createdAt, orderId);
+            count++;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.streamcart.order.repository;
+
+import com.streamcart.order.entity.OrderStatus;
+
+/**
+ * Status and version of an order, read without loading the entity.
+ */
+public record OrderStatusVersion(OrderStatus status, Long version) {
+}
@@ -0,0 +1,9 @@
+package com.streamcart.order.repository;
+
+import com.streamcart.order.entity.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+    Optional<User> findByUsername(String username);
+}
@@ -0,0 +1,103 @@
+package com.streamcart.order.rollup;
+
+/**
+ * Open-addressing hash map from a non-zero long key to three long counters
+ * (orders, units, revenue in cents), stored in parallel arrays.
+ *
+ * Adding to an existing key allocates nothing: no boxed keys, no entry objects.
+ * Not thread-safe.
+ */
+final class LongKeyedTotals {
+
+    private static final long EMPTY = 0L;
+    private static final int MIN_CAPACITY = 64;
+
+    private long[] keys;
+    private long[] orders;
+    private long[] units;
+    private long[] revenueCents;
+    private int size;
+
+    @FunctionalInterface
+    interface EntryConsumer {
+        void accept(long key, long orders, long units, long revenueCents);
+    }
+
+    LongKeyedTotals() {
+        allocate(MIN_CAPACITY);
+    }
+
+    void add(long key, long orderDelta, long unitDelta, long revenueDeltaCents) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Key 0 is reserved");
+        }
+        int slot = slot(key);
+        if (keys[slot] == EMPTY) {
+            if ((size + 1) * 4 > keys.length * 3) {
+                resize(keys.length * 2);
+                slot = slot(key);
+            }
+            keys[slot] = key;
+            size++;
+        }
+        orders[slot] += orderDelta;
+        units[slot] += unitDelta;
+        revenueCents[slot] += revenueDeltaCents;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Removes every entry, handing each to the consumer.
+     */
+    void drain(EntryConsumer consumer) {
+        long[] oldKeys = keys;
+        long[] oldOrders = orders;
+        long[] oldUnits = units;
+        long[] oldRevenue = revenueCents;
+        allocate(MIN_CAPACITY);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                consumer.accept(oldKeys[i], oldOrders[i], oldUnits[i], oldRevenue[i]);
+            }
+        }
+    }
+
+    private int slot(long key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldOrders = orders;
+        long[] oldUnits = units;
+        long[] oldRevenue = revenueCents;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                add(oldKeys[i], oldOrders[i], oldUnits[i], oldRevenue[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        orders = new long[capacity];
+        units = new long[capacity];
+        revenueCents = new long[capacity];
+        size = 0;
+    }
+
+    // Spreads hour/product keys, which differ mostly in their low bits within an hour
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
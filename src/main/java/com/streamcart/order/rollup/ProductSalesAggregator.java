@@ -0,0 +1,184 @@
+package com.streamcart.order.rollup;
+
+import com.streamcart.order.dto.OrderCreatedEvent;
+import com.streamcart.order.dto.ProductHourlySales;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hourly sales per product, aggregated in memory from committed orders and added to
+ * product_sales_hourly every order.rollups.flush-interval.
+ *
+ * Each (hour, product) pair is one long key: the hour since the epoch in the high 32 bits,
+ * the product's index in a small dictionary in the low 32. Totals live in a
+ * {@link LongKeyedTotals}, so recording an order allocates nothing once its products are known.
+ *
+ * Orders are bucketed by their created_at, the column {@link ProductSalesRecomputer} reads.
+ * Every node only sees the orders it committed, so each flush drains all of its totals,
+ * open hours included, and adds them to their rows in one batch. Rows are only ever
+ * added to, so the nodes' deltas for one hour (and a later delta from the same node)
+ * sum in the table, and reports read the table alone, at most one flush interval behind.
+ *
+ * An order that arrives more than order.rollups.grace after its hour ended (e.g. a slow
+ * transaction) is counted in order.rollups.late-events; it is added to its row like any other.
+ * Totals not yet flushed are flushed on shutdown but lost on a crash;
+ * {@link ProductSalesRecomputer} rebuilds a range of hours from the orders.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSalesAggregator {
+
+    private static final long SECONDS_PER_HOUR = 3600;
+
+    private final ProductSalesRollupRepository rollupRepository;
+    private final MeterRegistry meterRegistry;
+
+    // Guarded by this
+    private final LongKeyedTotals totals = new LongKeyedTotals();
+    private final Map<String, Integer> productIndexes = new HashMap<>();
+    private final List<String> productIds = new ArrayList<>();
+
+    @Value("${order.rollups.grace:2m}")
+    private Duration grace;
+
+    private Counter lateEvents;
+    private Counter flushedRows;
+
+    @PostConstruct
+    void registerMetrics() {
+        lateEvents = Counter.builder("order.rollups.late-events")
+                .description("Orders that arrived after their hour closed")
+                .register(meterRegistry);
+        flushedRows = Counter.builder("order.rollups.flushed")
+                .description("Hourly product rows added to product_sales_hourly")
+                .register(meterRegistry);
+        Gauge.builder("order.rollups.pending", this, ProductSalesAggregator::pending)
+                .description("Hourly product totals held in memory")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener
+    public void onOrderCreated(OrderCreatedEvent event) {
+        long hour = hourOf(event.createdAt());
+        if (hour < firstOpenHour()) {
+            lateEvents.increment();
+        }
+        List<OrderCreatedEvent.OrderItemDto> items = event.items();
+        synchronized (this) {
+            for (int i = 0; i < items.size(); i++) {
+                OrderCreatedEvent.OrderItemDto item = items.get(i);
+                long units = item.quantity() != null ? item.quantity() : 0;
+                long cents = item.price() != null
+                        ? item.price().setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact() * units
+                        : 0;
+                // The order counts once per product, even if the product is on several lines
+                long orders = appearsEarlier(items, i) ? 0 : 1;
+                totals.add(key(hour, productIndex(item.productId())), orders, units, cents);
+            }
+        }
+    }
+
+    /**
+     * Adds every total held in memory to its row and forgets it. On failure the totals are
+     * kept for the next flush.
+     */
+    @Scheduled(fixedDelayString = "${order.rollups.flush-interval:30s}")
+    @PreDestroy
+    public void flush() {
+        List<ProductHourlySales> drained = new ArrayList<>();
+        synchronized (this) {
+            totals.drain((key, orders, units, cents) ->
+                    drained.add(toSales(hourOfKey(key), productIds.get(productIndexOfKey(key)), orders, units, cents)));
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+        try {
+            rollupRepository.addAll(drained);
+            flushedRows.increment(drained.size());
+            log.debug("Flushed {} hourly product sales rows", drained.size());
+        } catch (DataAccessException ex) {
+            // Nothing was committed; put the totals back for the next flush
+            log.error("Failed to flush {} hourly product sales rows; will retry", drained.size(), ex);
+            synchronized (this) {
+                for (ProductHourlySales sales : drained) {
+                    totals.add(key(hourOf(sales.hourStart()), productIndex(sales.productId())),
+                            sales.orders(), sales.units(), sales.revenue().unscaledValue().longValueExact());
+                }
+            }
+        }
+    }
+
+    private synchronized int pending() {
+        return totals.size();
+    }
+
+    private long firstOpenHour() {
+        return hourOf(LocalDateTime.now().minus(grace));
+    }
+
+    // Caller holds the lock
+    private int productIndex(String productId) {
+        Integer index = productIndexes.get(productId);
+        if (index == null) {
+            index = productIds.size();
+            productIds.add(productId);
+            productIndexes.put(productId, index);
+        }
+        return index;
+    }
+
+    private static boolean appearsEarlier(List<OrderCreatedEvent.OrderItemDto> items, int index) {
+        String productId = items.get(index).productId();
+        for (int i = 0; i < index; i++) {
+            if (productId.equals(items.get(i).productId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ProductHourlySales toSales(long hour, String productId, long orders, long units, long cents) {
+        return new ProductHourlySales(
+                LocalDateTime.ofEpochSecond(hour * SECONDS_PER_HOUR, 0, ZoneOffset.UTC),
+                productId, orders, units, BigDecimal.valueOf(cents, 2));
+    }
+
+    // LocalDateTime is the zone-less local time used throughout; UTC only does the arithmetic
+    private static long hourOf(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), SECONDS_PER_HOUR);
+    }
+
+    private static long key(long hour, int productIndex) {
+        return (hour << 32) | productIndex;
+    }
+
+    private static long hourOfKey(long key) {
+        return key >>> 32;
+    }
+
+    private static int productIndexOfKey(long key) {
+        return (int) key;
+    }
+}
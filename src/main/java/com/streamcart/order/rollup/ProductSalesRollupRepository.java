@@ -0,0 +1,111 @@
+package com.streamcart.order.rollup;
+
+import com.streamcart.order.dto.ProductHourlySales;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * product_sales_hourly: one row per (hour, product), only ever added to, except by a
+ * {@link ProductSalesRecomputer} replacing a range.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductSalesRollupRepository {
+
+    private static final String ADD =
+            "UPDATE product_sales_hourly SET orders = orders + ?, units = units + ?, revenue = revenue + ? "
+                    + "WHERE hour_start = ? AND product_id = ?";
+
+    private static final String INSERT_EMPTY =
+            "INSERT INTO product_sales_hourly (hour_start, product_id, orders, units, revenue) "
+                    + "VALUES (?, ?, 0, 0, 0) ON CONFLICT DO NOTHING";
+
+    private static final String INSERT =
+            "INSERT INTO product_sales_hourly (hour_start, product_id, orders, units, revenue) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Adds the deltas to their rows, creating missing rows, in three batched statements
+     * at most. Adding rather than overwriting is what lets a late order for an hour that
+     * was already written land in the same row.
+     */
+    @Transactional
+    public void addAll(List<ProductHourlySales> deltas) {
+        int[] updated = jdbcTemplate.batchUpdate(ADD, deltas, deltas.size(), ProductSalesRollupRepository::setAdd)[0];
+
+        List<ProductHourlySales> missing = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                missing.add(deltas.get(i));
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_EMPTY, missing, missing.size(), (ps, delta) -> {
+            ps.setTimestamp(1, Timestamp.valueOf(delta.hourStart()));
+            ps.setString(2, delta.productId());
+        });
+        jdbcTemplate.batchUpdate(ADD, missing, missing.size(), ProductSalesRollupRepository::setAdd);
+    }
+
+    /**
+     * Replaces the rows with from <= hour_start < to by the given ones, in one transaction.
+     */
+    @Transactional
+    public void replace(LocalDateTime from, LocalDateTime to, List<ProductHourlySales> rows) {
+        jdbcTemplate.update("DELETE FROM product_sales_hourly WHERE hour_start >= ? AND hour_start < ?",
+                Timestamp.valueOf(from), Timestamp.valueOf(to));
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT, rows, rows.size(), (ps, row) -> {
+            ps.setTimestamp(1, Timestamp.valueOf(row.hourStart()));
+            ps.setString(2, row.productId());
+            ps.setLong(3, row.orders());
+            ps.setLong(4, row.units());
+            ps.setBigDecimal(5, row.revenue());
+        });
+    }
+
+    private static void setAdd(PreparedStatement ps, ProductHourlySales delta) throws SQLException {
+        ps.setLong(1, delta.orders());
+        ps.setLong(2, delta.units());
+        ps.setBigDecimal(3, delta.revenue());
+        ps.setTimestamp(4, Timestamp.valueOf(delta.hourStart()));
+        ps.setString(5, delta.productId());
+    }
+
+    /**
+     * Rows with from <= hour_start < to, optionally for one product, by hour then product.
+     */
+    public List<ProductHourlySales> find(LocalDateTime from, LocalDateTime to, String productId) {
+        String sql = "SELECT hour_start, product_id, orders, units, revenue FROM product_sales_hourly "
+                + "WHERE " + (productId != null ? "product_id = ? AND " : "")
+                + "hour_start >= ? AND hour_start < ? ORDER BY hour_start, product_id";
+        List<Object> params = new ArrayList<>(3);
+        if (productId != null) {
+            params.add(productId);
+        }
+        params.add(Timestamp.valueOf(from));
+        params.add(Timestamp.valueOf(to));
+        return jdbcTemplate.query(sql,
+                (rs, rowNum) -> new ProductHourlySales(
+                        rs.getTimestamp("hour_start").toLocalDateTime(),
+                        rs.getString("product_id"),
+                        rs.getLong("orders"),
+                        rs.getLong("units"),
+                        rs.getBigDecimal("revenue")),
+                params.toArray());
+    }
+}
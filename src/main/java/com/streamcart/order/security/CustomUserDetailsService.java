@@ -2,6 +2,7 @@ package com.streamcart.order.security;
 
 import com.streamcart.order.entity.User;
 import com.streamcart.order.repository.UserRepository;
+import com.streamcart.order.singleflight.SingleFlight;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -11,6 +12,7 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import java.util.Collections;
+import java.util.Optional;
 
 /**
  * Custom UserDetailsService Implementation
@@ -31,6 +33,7 @@ import java.util.Collections;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final SingleFlight<String, Optional<UserDetails>> userDetailsLoads;
 
     /**
      * Load user by username - called by Spring Security during authentication
@@ -43,25 +46,35 @@ public class CustomUserDetailsService implements UserDetailsService {
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         log.debug("Loading user by username: {}", username);
         
-        // Find user in database
-        User user = userRepository.findByUsername(username)
+        // Concurrent requests of one user share a single lookup
+        UserDetails loaded = userDetailsLoads.execute(username, () -> load(username))
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
         
+        // A copy per caller: Spring Security erases the password of the instance it authenticated
+        return org.springframework.security.core.userdetails.User.withUserDetails(loaded).build();
+    }
+    
+    private Optional<UserDetails> load(String username) {
+        Optional<User> found = userRepository.findByUsername(username);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        User user = found.get();
         log.debug("User found: {}", user.getUsername());
         
         // Convert YOUR User entity to Spring Security's UserDetails
         // We're using Spring's built-in User class (org.springframework.security.core.userdetails.User)
-        return org.springframework.security.core.userdetails.User.builder()
+        return Optional.of(org.springframework.security.core.userdetails.User.builder()
                 .username(user.getUsername())
                 .password(user.getPassword())  // Already BCrypt encrypted
                 .authorities(Collections.singletonList(
-                    new SimpleGrantedAuthority("ROLE_USER")  // Give all users the "USER" role
+                    new SimpleGrantedAuthority("ROLE_" + user.getRole().name())  // ROLE_USER, ROLE_SUPPORT or ROLE_FINANCE
                 ))
                 .accountExpired(false)
                 .accountLocked(false)
                 .credentialsExpired(false)
                 .disabled(false)
-                .build();
+                .build());
     }
 }
 
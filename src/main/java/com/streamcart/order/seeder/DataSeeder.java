@@ -0,0 +1,28 @@
+package com.streamcart.order.seeder;
+
+/**
+ * A dataset written at startup by {@link SeedDataInitializer}.
+ *
+ * Implementations must be idempotent: seed() is called on every start and should
+ * insert only the rows that are missing, in a single bulk statement.
+ */
+public interface DataSeeder {
+
+    /**
+     * Name used in logs and as the metric tag
+     */
+    String name();
+
+    /**
+     * Whether the application depends on this data to serve traffic.
+     * Required datasets gate the readiness probe, optional ones don't.
+     */
+    boolean required();
+
+    /**
+     * Inserts missing rows
+     *
+     * @return number of rows inserted (0 when everything already exists)
+     */
+    int seed();
+}
@@ -1,21 +1,27 @@
 package com.streamcart.order.seeder;
 
 import com.streamcart.order.entity.User;
-import com.streamcart.order.repository.UserRepository;
+import com.streamcart.order.entity.UserRole;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Profile;
 import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * Seeds demo users for testing.
  * Only runs in 'dev' profile to avoid creating demo users in production.
+ * Writes all users in one INSERT ... ON CONFLICT DO NOTHING (idempotent).
  * 
+ * Not required: the app can serve traffic before demo users exist.
  * Order(2) ensures this runs after ProductDataSeeder.
  */
 @Component
@@ -23,27 +29,47 @@ import java.util.List;
 @Profile("dev")  // Only run in development
 @RequiredArgsConstructor
 @Slf4j
-public class DemoUserSeeder implements CommandLineRunner {
+public class DemoUserSeeder implements DataSeeder {
     
-    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
     private final PasswordEncoder passwordEncoder;
     
     @Override
-    public void run(String... args) {
-        if (userRepository.count() == 0) {
-            log.info("👥 Seeding demo users (The Office Edition)...");
-            seedDemoUsers();
-            log.info("✅ Demo users seeded! {} users available for testing.", 
-                    userRepository.count());
-            log.info("🔑 Login with: mscott/worldsbestboss or dschrute/beetsfacts");
+    public String name() {
+        return "demo-users";
+    }
+    
+    @Override
+    public boolean required() {
+        return false;
+    }
+    
+    @Override
+    public int seed() {
+        List<User> users = demoUsers();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object> args = new ArrayList<>(users.size() * 7);
+        for (User user : users) {
+            args.addAll(List.of(user.getUsername(), user.getEmail(), user.getPassword(),
+                    user.getFirstName(), user.getLastName(), user.getRole().name(), now));
+        }
+        
+        int inserted = jdbcTemplate.update(
+                "INSERT INTO users (username, email, password, first_name, last_name, role, created_at) VALUES "
+                        + String.join(",", Collections.nCopies(users.size(), "(?,?,?,?,?,?,?)"))
+                        + " ON CONFLICT DO NOTHING",
+                args.toArray());
+        if (inserted > 0) {
+            log.info("👥 Demo users seeded (The Office Edition): {} new users", inserted);
+            log.info("🔑 Login with: mscott/worldsbestboss or dschrute/beetsfacts (support: tflenderson/hrisnotyourfriend, finance: omartinez/actuallyaccountant)");
         } else {
-            log.info("👥 Users already exist ({} users). Skipping demo user seed.", 
-                    userRepository.count());
+            log.info("👥 Demo users already exist. Nothing to seed.");
         }
+        return inserted;
     }
     
-    private void seedDemoUsers() {
-        List<User> users = List.of(
+    private List<User> demoUsers() {
+        return List.of(
             createUser(
                 "mscott",
                 "michael.scott@dundermifflin.com",
@@ -71,20 +97,40 @@ public class DemoUserSeeder implements CommandLineRunner {
                 "fineart2023",
                 "Pam",
                 "Beesly"
+            ),
+            createUser(
+                "tflenderson",
+                "toby.flenderson@dundermifflin.com",
+                "hrisnotyourfriend",
+                "Toby",
+                "Flenderson",
+                UserRole.SUPPORT
+            ),
+            createUser(
+                "omartinez",
+                "oscar.martinez@dundermifflin.com",
+                "actuallyaccountant",
+                "Oscar",
+                "Martinez",
+                UserRole.FINANCE
             )
         );
-        
-        userRepository.saveAll(users);
     }
     
     private User createUser(String username, String email, String password, 
                            String firstName, String lastName) {
+        return createUser(username, email, password, firstName, lastName, UserRole.USER);
+    }
+    
+    private User createUser(String username, String email, String password, 
+                           String firstName, String lastName, UserRole role) {
         return User.builder()
                 .username(username)
                 .email(email)
                 .password(passwordEncoder.encode(password))  // BCrypt encrypt
                 .firstName(firstName)
                 .lastName(lastName)
+                .role(role)
                 .build();
     }
 }
@@ -1,45 +1,70 @@
 package com.streamcart.order.seeder;
 
 import com.streamcart.order.entity.Product;
-import com.streamcart.order.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.CommandLineRunner;
 import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
- * Seeds initial product data on application startup.
- * Only runs if products table is empty (idempotent).
+ * Seeds the initial product catalog.
+ * Writes all products in one INSERT ... ON CONFLICT DO NOTHING, so existing
+ * products are left untouched and restarts are idempotent.
  * 
+ * Required: readiness waits for the catalog, since orders reference these products.
  * Order(1) ensures this runs before other seeders.
  */
 @Component
 @Order(1)
 @RequiredArgsConstructor
 @Slf4j
-public class ProductDataSeeder implements CommandLineRunner {
+public class ProductDataSeeder implements DataSeeder {
     
-    private final ProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
     
     @Override
-    public void run(String... args) {
-        if (productRepository.count() == 0) {
-            log.info("🌱 Seeding initial product catalog (The Office Edition)...");
-            seedProducts();
-            log.info("✅ Product catalog seeded successfully! {} products available.", 
-                    productRepository.count());
+    public String name() {
+        return "products";
+    }
+    
+    @Override
+    public boolean required() {
+        return true;
+    }
+    
+    @Override
+    public int seed() {
+        List<Product> products = catalog();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object> args = new ArrayList<>(products.size() * 7);
+        for (Product product : products) {
+            args.addAll(List.of(product.getProductId(), product.getName(), product.getPrice(),
+                    product.getDescription(), product.getStockQuantity(), now, now));
+        }
+        
+        int inserted = jdbcTemplate.update(
+                "INSERT INTO products (product_id, name, price, description, stock_quantity, created_at, updated_at) VALUES "
+                        + String.join(",", Collections.nCopies(products.size(), "(?,?,?,?,?,?,?)"))
+                        + " ON CONFLICT DO NOTHING",
+                args.toArray());
+        if (inserted > 0) {
+            log.info("🌱 Product catalog seeded (The Office Edition): {} new products", inserted);
         } else {
-            log.info("📦 Product catalog already exists ({} products). Skipping seed.", 
-                    productRepository.count());
+            log.info("📦 Product catalog already up to date ({} products). Nothing to seed.", products.size());
         }
+        return inserted;
     }
     
-    private void seedProducts() {
-        List<Product> products = List.of(
+    private List<Product> catalog() {
+        return List.of(
             // Paper Products - The Core Business
             createProduct(
                 "DM-PAPER-001",
@@ -206,8 +231,6 @@ public class ProductDataSeeder implements CommandLineRunner {
                 20
             )
         );
-        
-        productRepository.saveAll(products);
     }
     
     private Product createProduct(String id, String name, BigDecimal price, 
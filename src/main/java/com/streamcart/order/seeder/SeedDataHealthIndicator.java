@@ -0,0 +1,38 @@
+package com.streamcart.order.seeder;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports whether the required seed data has been written.
+ *
+ * Part of the readiness group (management.endpoint.health.group.readiness), so a new
+ * pod only receives traffic once the data it depends on exists. Optional datasets
+ * such as demo users never hold readiness back.
+ */
+@Component("seedData")
+public class SeedDataHealthIndicator implements HealthIndicator {
+
+    private volatile Health health = Health.down().withDetail("status", "seeding").build();
+
+    void markReady(long durationMs) {
+        health = Health.up().withDetail("durationMs", durationMs).build();
+    }
+
+    void markRetrying(String dataset, int failedAttempts) {
+        health = Health.down().withDetail("status", "retrying")
+                .withDetail("dataset", dataset)
+                .withDetail("failedAttempts", failedAttempts)
+                .build();
+    }
+
+    void markFailed(String dataset) {
+        health = Health.down().withDetail("status", "failed").withDetail("dataset", dataset).build();
+    }
+
+    @Override
+    public Health health() {
+        return health;
+    }
+}
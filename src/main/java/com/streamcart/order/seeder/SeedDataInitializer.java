@@ -0,0 +1,101 @@
+package com.streamcart.order.seeder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs all {@link DataSeeder}s once the application is up.
+ *
+ * Seeding is asynchronous so it never delays server startup. Readiness is held back
+ * (via {@link SeedDataHealthIndicator}) only until the required datasets are written;
+ * optional datasets are seeded afterwards.
+ *
+ * A required dataset that fails (e.g. the database is briefly unreachable at startup)
+ * is retried up to order.seed.retry.max-attempts times, waiting order.seed.retry.backoff
+ * before the first retry and twice as long before each next one. Only then is it
+ * reported as failed, which keeps the pod unready until it is restarted.
+ *
+ * Each dataset is timed as startup.seed.duration{dataset=...}. Together with the
+ * built-in application.started.time / application.ready.time metrics this shows
+ * cold-start regressions per pod.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SeedDataInitializer {
+
+    private final List<DataSeeder> seeders;
+    private final SeedDataHealthIndicator healthIndicator;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${order.seed.retry.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${order.seed.retry.backoff:1s}")
+    private Duration backoff;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedOnStartup() {
+        long start = System.nanoTime();
+        for (DataSeeder seeder : seeders) {
+            if (seeder.required() && !seedWithRetry(seeder)) {
+                healthIndicator.markFailed(seeder.name());
+                return;
+            }
+        }
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        healthIndicator.markReady(durationMs);
+        log.info("✅ Required seed data ready after {} ms", durationMs);
+
+        seeders.stream()
+                .filter(seeder -> !seeder.required())
+                .forEach(this::seed);
+    }
+
+    private boolean seedWithRetry(DataSeeder seeder) {
+        long delayMs = backoff.toMillis();
+        for (int attempt = 1; ; attempt++) {
+            if (seed(seeder)) {
+                return true;
+            }
+            if (attempt >= maxAttempts) {
+                return false;
+            }
+            log.warn("Retrying dataset {} in {} ms (attempt {} of {})", seeder.name(), delayMs, attempt + 1, maxAttempts);
+            healthIndicator.markRetrying(seeder.name(), attempt);
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            delayMs *= 2;
+        }
+    }
+
+    private boolean seed(DataSeeder seeder) {
+        Timer timer = Timer.builder("startup.seed.duration")
+                .description("Time spent writing seed data at startup")
+                .tag("dataset", seeder.name())
+                .register(meterRegistry);
+        try {
+            timer.record(seeder::seed);
+            return true;
+        } catch (RuntimeException ex) {
+            log.error("Failed to seed dataset: {}", seeder.name(), ex);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.streamcart.order.seeder;
+
+import com.github.javafaker.Faker;
+import com.streamcart.order.entity.OrderStatus;
+import com.streamcart.order.partition.OrderIds;
+import com.streamcart.order.projection.UserOrderSummaryRebuilder;
+import com.streamcart.order.rollup.ProductSalesRecomputer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * Generates a production-scale synthetic dataset for query-plan and load testing.
+ * Only runs in the 'generator' profile (see application-generator.yml).
+ *
+ * Data shape:
+ * - Product popularity follows a Zipf distribution (a few best sellers, a long tail)
+ * - Buyers follow a flatter Zipf distribution (heavy-tail repeat customers)
+ * - 1..N items per order, timestamps spread over the configured history window
+ *
+ * Rows are written with multi-row INSERT statements from a pool of parallel workers.
+ * Work is split into fixed chunks and every chunk derives its Random from the seed and
+ * its chunk index, so the same seed always produces the same dataset regardless of
+ * how the chunks are scheduled across threads.
+ *
+ * Runs as a CommandLineRunner, i.e. before ApplicationReadyEvent and so before the
+ * regular seeders ({@link SeedDataInitializer}) start. It doesn't need them: its users
+ * and products have their own prefixes and its orders only reference those.
+ */
+@Component
+@Profile("generator")
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    static final String USERNAME_PREFIX = "synthetic.";
+    static final String PRODUCT_PREFIX = "GEN-";
+
+    private static final int CHUNK_SIZE = 50_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final UserOrderSummaryRebuilder summaryRebuilder;
+    private final ProductSalesRecomputer salesRecomputer;
+
+    @Value("${generator.seed:42}")
+    private long seed;
+
+    @Value("${generator.users:1000000}")
+    private int userCount;
+
+    @Value("${generator.products:50000}")
+    private int productCount;
+
+    @Value("${generator.orders:5000000}")
+    private int orderCount;
+
+    @Value("${generator.max-items-per-order:8}")
+    private int maxItemsPerOrder;
+
+    @Value("${generator.product-skew:1.1}")
+    private double productSkew;
+
+    @Value("${generator.buyer-skew:0.8}")
+    private double buyerSkew;
+
+    @Value("${generator.history-days:730}")
+    private int historyDays;
+
+    @Value("${generator.until:2026-01-01T00:00:00}")
+    private LocalDateTime until;
+
+    @Value("${generator.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${generator.workers:8}")
+    private int workers;
+
+    @Value("${generator.password:password123}")
+    private String password;
+
+    @Override
+    public void run(String... args) {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE username LIKE ?", Integer.class, USERNAME_PREFIX + "%");
+        if (existing != null && existing > 0) {
+            log.info("🏭 Synthetic dataset already present ({} users). Skipping generation.", existing);
+            return;
+        }
+
+        log.info("🏭 Generating synthetic dataset: {} users, {} products, {} orders (seed={}, workers={})",
+                userCount, productCount, orderCount, seed, workers);
+        long start = System.currentTimeMillis();
+        generate();
+        log.info("✅ Synthetic dataset generated in {} s", (System.currentTimeMillis() - start) / 1000);
+    }
+
+    void generate() {
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            ProductCatalog catalog = buildCatalog();
+            runChunks(executor, productCount, chunk -> insertProducts(chunk, catalog));
+            log.info("📦 {} synthetic products written", productCount);
+
+            String passwordHash = passwordEncoder.encode(password);
+            runChunks(executor, userCount, chunk -> insertUsers(chunk, passwordHash));
+            log.info("👥 {} synthetic users written", userCount);
+
+            long[] userIds = loadUserIds();
+            ZipfianSampler buyers = new ZipfianSampler(userIds.length, buyerSkew);
+            ZipfianSampler products = new ZipfianSampler(productCount, productSkew);
+            runChunks(executor, orderCount, chunk -> insertOrders(chunk, userIds, buyers, products, catalog));
+            log.info("🧾 {} synthetic orders written", orderCount);
+
+            // Orders were inserted directly, not through OrderService
+            summaryRebuilder.rebuild();
+            salesRecomputer.recompute(until.minusDays(historyDays), until);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void runChunks(ExecutorService executor, int total, IntFunction<ChunkWriter> writers) {
+        List<Future<?>> futures = new ArrayList<>();
+        int chunks = (total + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        for (int index = 0; index < chunks; index++) {
+            Chunk chunk = new Chunk(index, index * CHUNK_SIZE, Math.min(total, (index + 1) * CHUNK_SIZE));
+            futures.add(executor.submit(() -> writers.apply(chunk.index()).write(chunk)));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Synthetic data generation interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Synthetic data generation failed", e.getCause());
+            }
+        }
+    }
+
+    private ProductCatalog buildCatalog() {
+        Random random = chunkRandom(-1);
+        Faker faker = new Faker(Locale.US, random);
+        String[] names = new String[productCount];
+        BigDecimal[] prices = new BigDecimal[productCount];
+        for (int i = 0; i < productCount; i++) {
+            names[i] = faker.commerce().productName();
+            prices[i] = BigDecimal.valueOf(99 + random.nextInt(49_900), 2);
+        }
+        return new ProductCatalog(names, prices);
+    }
+
+    private ChunkWriter insertProducts(int chunkIndex, ProductCatalog catalog) {
+        return chunk -> {
+            Random random = chunkRandom(1_000_000L + chunkIndex);
+            Timestamp now = Timestamp.valueOf(until);
+            MultiRowInsert insert = new MultiRowInsert(
+                    "INSERT INTO products (product_id, name, price, description, stock_quantity, created_at, updated_at) VALUES ",
+                    7);
+            for (int i = chunk.from(); i < chunk.to(); i++) {
+                insert.add(productId(i), catalog.names()[i], catalog.prices()[i],
+                        "Synthetic product #" + i, random.nextInt(10_000), now, now);
+                insert.flushIfFull();
+            }
+            insert.flush();
+        };
+    }
+
+    private ChunkWriter insertUsers(int chunkIndex, String passwordHash) {
+        return chunk -> {
+            Random random = chunkRandom(2_000_000L + chunkIndex);
+            Faker faker = new Faker(Locale.US, random);
+            MultiRowInsert insert = new MultiRowInsert(
+                    "INSERT INTO users (username, email, password, first_name, last_name, created_at) VALUES ",
+                    6);
+            for (int i = chunk.from(); i < chunk.to(); i++) {
+                String username = String.format("%s%08d", USERNAME_PREFIX, i);
+                insert.add(username, username + "@example.com", passwordHash,
+                        faker.name().firstName(), faker.name().lastName(),
+                        Timestamp.valueOf(randomTimestamp(random)));
+                insert.flushIfFull();
+            }
+            insert.flush();
+        };
+    }
+
+    private ChunkWriter insertOrders(int chunkIndex, long[] userIds, ZipfianSampler buyers,
+                                     ZipfianSampler products, ProductCatalog catalog) {
+        return chunk -> {
+            Random random = chunkRandom(3_000_000L + chunkIndex);
+            MultiRowInsert orders = new MultiRowInsert(
+                    "INSERT INTO orders (order_id, user_id, total_amount, status, created_at, updated_at) VALUES ",
+                    6);
+            MultiRowInsert items = new MultiRowInsert(
+                    "INSERT INTO order_items (order_id, product_id, product_name, quantity, price, created_at) VALUES ",
+                    6);
+            for (int i = chunk.from(); i < chunk.to(); i++) {
+                LocalDateTime createdAt = randomTimestamp(random).truncatedTo(ChronoUnit.MICROS);
+                String orderId = OrderIds.of(createdAt, new UUID(random.nextLong(), random.nextLong()));
+                int itemCount = 1 + random.nextInt(maxItemsPerOrder);
+                BigDecimal total = BigDecimal.ZERO;
+                for (int j = 0; j < itemCount; j++) {
+                    int product = products.sample(random);
+                    int quantity = 1 + random.nextInt(5);
+                    BigDecimal price = catalog.prices()[product];
+                    total = total.add(price.multiply(BigDecimal.valueOf(quantity)));
+                    items.add(orderId, productId(product), catalog.names()[product], quantity, price,
+                            Timestamp.valueOf(createdAt));
+                }
+                orders.add(orderId, userIds[buyers.sample(random)], total,
+                        statusFor(createdAt, random).name(), Timestamp.valueOf(createdAt), Timestamp.valueOf(createdAt));
+                // Items reference orders, so the parent batch must be written first
+                if (orders.isFull() || items.isFull()) {
+                    orders.flush();
+                    items.flush();
+                }
+            }
+            orders.flush();
+            items.flush();
+        };
+    }
+
+    private long[] loadUserIds() {
+        return jdbcTemplate.queryForList(
+                        "SELECT id FROM users WHERE username LIKE ? ORDER BY username", Long.class, USERNAME_PREFIX + "%")
+                .stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    private OrderStatus statusFor(LocalDateTime createdAt, Random random) {
+        if (createdAt.isBefore(until.minusDays(14))) {
+            int roll = random.nextInt(100);
+            return roll < 90 ? OrderStatus.DELIVERED : roll < 97 ? OrderStatus.CANCELLED : OrderStatus.FAILED;
+        }
+        OrderStatus[] inFlight = {OrderStatus.PENDING, OrderStatus.PAYMENT_PROCESSING, OrderStatus.PAID,
+                OrderStatus.INVENTORY_RESERVED, OrderStatus.SHIPPED, OrderStatus.DELIVERED};
+        return inFlight[random.nextInt(inFlight.length)];
+    }
+
+    private LocalDateTime randomTimestamp(Random random) {
+        long windowSeconds = historyDays * 86_400L;
+        return until.minusSeconds((long) (random.nextDouble() * windowSeconds));
+    }
+
+    private Random chunkRandom(long stream) {
+        return new Random(seed * 0x9E3779B97F4A7C15L + stream);
+    }
+
+    private static String productId(int index) {
+        return String.format("%s%06d", PRODUCT_PREFIX, index);
+    }
+
+    private record Chunk(int index, int from, int to) {}
+
+    private record ProductCatalog(String[] names, BigDecimal[] prices) {}
+
+    @FunctionalInterface
+    private interface ChunkWriter {
+        void write(Chunk chunk);
+    }
+
+    /**
+     * Accumulates rows and writes them as a single INSERT ... VALUES (...), (...) statement.
+     */
+    private final class MultiRowInsert {
+
+        private final String prefix;
+        private final int columns;
+        private final List<Object> args = new ArrayList<>();
+        private int rows;
+
+        MultiRowInsert(String prefix, int columns) {
+            this.prefix = prefix;
+            this.columns = columns;
+        }
+
+        void add(Object... values) {
+            args.addAll(List.of(values));
+            rows++;
+        }
+
+        boolean isFull() {
+            return rows >= batchSize;
+        }
+
+        void flushIfFull() {
+            if (isFull()) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (rows == 0) {
+                return;
+            }
+            String row = "(" + "?,".repeat(columns - 1) + "?)";
+            StringBuilder sql = new StringBuilder(prefix.length() + rows * (row.length() + 1)).append(prefix);
+            for (int i = 0; i < rows; i++) {
+                sql.append(i == 0 ? "" : ",").append(row);
+            }
+            jdbcTemplate.update(sql.toString(), args.toArray());
+            args.clear();
+            rows = 0;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.streamcart.order.seeder;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Samples ranks in [0, n) following a Zipf distribution with the given exponent.
+ *
+ * Rank 0 is the most popular item. The cumulative distribution is precomputed once
+ * (8 bytes per rank), so each sample is a binary search and the sampler can be shared
+ * by all generator workers. Randomness always comes from the caller's Random, which
+ * keeps generated data deterministic per seed.
+ */
+final class ZipfianSampler {
+
+    private final double[] cumulative;
+
+    ZipfianSampler(int n, double exponent) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Zipfian sampler needs at least one rank");
+        }
+        cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= sum;
+        }
+    }
+
+    int sample(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+
+    int size() {
+        return cumulative.length;
+    }
+}
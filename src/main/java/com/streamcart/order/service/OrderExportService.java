@@ -0,0 +1,134 @@
+package com.streamcart.order.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.streamcart.order.archive.OrderArchive;
+import com.streamcart.order.dto.OrderExportRequest;
+import com.streamcart.order.entity.OrderLine;
+import com.streamcart.order.entity.UserRole;
+import com.streamcart.order.exception.AccessDeniedException;
+import com.streamcart.order.exception.InvalidSearchException;
+import com.streamcart.order.exception.UnauthorizedException;
+import com.streamcart.order.repository.ExportedOrder;
+import com.streamcart.order.repository.OrderExportRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Full order exports for finance, as NDJSON (one order per line, optionally gzipped).
+ *
+ * Orders are written with Jackson's streaming generator as {@link OrderExportRepository}
+ * reads them, so memory use doesn't depend on how many orders are exported:
+ * {"orderId":"...","username":"mscott","status":"DELIVERED","totalAmount":69.90,
+ *  "createdAt":"...","updatedAt":"...","items":[{"productId":"...","productName":"...","quantity":10,"price":6.99}]}
+ *
+ * Exports read the hot tables only: orders still there are exported at any age, archived
+ * ones are not. {@link #archivedBefore} tells the caller when an export may be missing some.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderExportService {
+
+    private static final String FINANCE_AUTHORITY = "ROLE_" + UserRole.FINANCE.name();
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final OrderExportRepository exportRepository;
+    private final ObjectMapper objectMapper;
+    private final OrderArchive orderArchive;
+
+    /**
+     * @throws AccessDeniedException  if the current user isn't in the finance role
+     * @throws InvalidSearchException if createdFrom isn't before createdTo
+     */
+    public StreamingResponseBody export(OrderExportRequest request, boolean gzip) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new UnauthorizedException("User not authenticated");
+        }
+        if (authentication.getAuthorities().stream()
+                .noneMatch(authority -> FINANCE_AUTHORITY.equals(authority.getAuthority()))) {
+            throw new AccessDeniedException("Access denied: order exports are limited to finance");
+        }
+        if (request.createdFrom() != null && request.createdTo() != null
+                && !request.createdFrom().isBefore(request.createdTo())) {
+            throw new InvalidSearchException("createdFrom must be before createdTo");
+        }
+
+        String username = authentication.getName();
+        return out -> {
+            long start = System.currentTimeMillis();
+            long exported = gzip ? writeGzipped(request, out) : write(request, out);
+            log.info("User {} exported {} orders in {} ms", username, exported, System.currentTimeMillis() - start);
+        };
+    }
+
+    /**
+     * The archive horizon, if archived orders (only found by id and in /my-orders) could
+     * match the export; otherwise empty.
+     */
+    public Optional<LocalDateTime> archivedBefore(OrderExportRequest request) {
+        return orderArchive.horizonFor(request.status(), request.createdFrom());
+    }
+
+    private long writeGzipped(OrderExportRequest request, OutputStream out) throws IOException {
+        GZIPOutputStream gzipOut = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+        long exported = write(request, gzipOut);
+        gzipOut.finish();
+        return exported;
+    }
+
+    /**
+     * @return number of orders written
+     */
+    private long write(OrderExportRequest request, OutputStream out) throws IOException {
+        long[] exported = {0};
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setRootValueSeparator(null);  // Each order ends with its own newline
+            exportRepository.forEachOrder(request.status(), request.createdFrom(), request.createdTo(), order -> {
+                try {
+                    writeOrder(json, order);
+                } catch (IOException ex) {
+                    // Usually the client went away; aborts the query
+                    throw new UncheckedIOException(ex);
+                }
+                exported[0]++;
+            });
+        }
+        return exported[0];
+    }
+
+    private void writeOrder(JsonGenerator json, ExportedOrder order) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("orderId", order.orderId());
+        json.writeStringField("username", order.username());
+        json.writeStringField("status", order.status().name());
+        json.writeNumberField("totalAmount", order.totalAmount());
+        json.writeStringField("createdAt", order.createdAt().toString());
+        json.writeStringField("updatedAt", order.updatedAt() != null ? order.updatedAt().toString() : null);
+        json.writeArrayFieldStart("items");
+        for (OrderLine line : order.lines()) {
+            json.writeStartObject();
+            json.writeStringField("productId", line.productId());
+            json.writeStringField("productName", line.productName());
+            json.writeNumberField("quantity", line.quantity());
+            json.writeNumberField("price", line.price());
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+}
@@ -0,0 +1,192 @@
+package com.streamcart.order.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.streamcart.order.archive.OrderArchive;
+import com.streamcart.order.dto.OrderResponse;
+import com.streamcart.order.dto.OrderSearchRequest;
+import com.streamcart.order.dto.OrderView;
+import com.streamcart.order.entity.OrderLine;
+import com.streamcart.order.entity.User;
+import com.streamcart.order.entity.UserRole;
+import com.streamcart.order.exception.AccessDeniedException;
+import com.streamcart.order.exception.InvalidSearchException;
+import com.streamcart.order.exception.UnauthorizedException;
+import com.streamcart.order.exception.UserNotFoundException;
+import com.streamcart.order.repository.OrderRepository;
+import com.streamcart.order.repository.OrderSearchCursor;
+import com.streamcart.order.repository.OrderSearchQuery;
+import com.streamcart.order.repository.OrderSearchRepository;
+import com.streamcart.order.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Order search for customers (own orders) and support staff (any user's orders).
+ *
+ * Filters, permissions and the cursor are checked up front, on the request thread, so
+ * bad searches fail with a normal error response. The results are then written straight
+ * from the JDBC result set to the response as an {@link com.streamcart.order.dto.OrderSearchPage}.
+ *
+ * Search reads the hot tables only. Orders still there are found at any age, but archived
+ * ones (final orders created before the archive horizon) are not; {@link #archivedBefore}
+ * tells the caller when a search may be missing some.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderSearchService {
+
+    static final int DEFAULT_LIMIT = 20;
+
+    private static final String SUPPORT_AUTHORITY = "ROLE_" + UserRole.SUPPORT.name();
+
+    private final OrderSearchRepository searchRepository;
+    private final OrderRepository orderRepository;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final OrderArchive orderArchive;
+
+    @Value("${order.search.amount-window:31d}")
+    private Duration amountWindow;
+
+    /**
+     * @throws AccessDeniedException  if a customer searches another user's orders
+     * @throws InvalidSearchException if the filters are inconsistent, the cursor is malformed,
+     *                                a support search has neither username nor status,
+     *                                or filters amounts across all users without a bounded date range
+     */
+    public StreamingResponseBody search(OrderSearchRequest request, OrderView view) {
+        OrderSearchQuery query = resolve(request);
+        log.debug("Searching orders: {}", query);
+        return out -> writePage(query, view, out);
+    }
+
+    private OrderSearchQuery resolve(OrderSearchRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new UnauthorizedException("User not authenticated");
+        }
+        boolean support = authentication.getAuthorities().stream()
+            .anyMatch(authority -> SUPPORT_AUTHORITY.equals(authority.getAuthority()));
+
+        Long userId = null;
+        if (!support) {
+            if (request.username() != null && !request.username().equals(authentication.getName())) {
+                throw new AccessDeniedException("Access denied: only support staff can search other users' orders");
+            }
+            userId = findUser(authentication.getName()).getId();
+        } else if (request.username() != null) {
+            userId = findUser(request.username()).getId();
+        } else if (request.status() == null) {
+            throw new InvalidSearchException("Searching all users' orders requires a status or username");
+        }
+
+        if (request.createdFrom() != null && request.createdTo() != null
+                && !request.createdFrom().isBefore(request.createdTo())) {
+            throw new InvalidSearchException("createdFrom must be before createdTo");
+        }
+        if (request.minAmount() != null && request.maxAmount() != null
+                && request.minAmount().compareTo(request.maxAmount()) > 0) {
+            throw new InvalidSearchException("minAmount cannot exceed maxAmount");
+        }
+
+        // total_amount isn't indexed: across all users only a bounded created_at range keeps the scan small
+        if (userId == null && (request.minAmount() != null || request.maxAmount() != null)) {
+            if (request.createdFrom() == null || request.createdTo() == null) {
+                throw new InvalidSearchException(
+                    "Amount filters across all users require createdFrom and createdTo");
+            }
+            if (Duration.between(request.createdFrom(), request.createdTo()).compareTo(amountWindow) > 0) {
+                throw new InvalidSearchException(
+                    "Amount filters across all users cover at most " + amountWindow.toDays() + " days");
+            }
+        }
+
+        return new OrderSearchQuery(
+            userId,
+            request.status(),
+            request.createdFrom(),
+            request.createdTo(),
+            request.minAmount(),
+            request.maxAmount(),
+            decodeCursor(request.cursor()),
+            request.limit() != null ? request.limit() : DEFAULT_LIMIT
+        );
+    }
+
+    /**
+     * The archive horizon, if archived orders (only found by id and in /my-orders) could
+     * match the search; otherwise empty.
+     */
+    public Optional<LocalDateTime> archivedBefore(OrderSearchRequest request) {
+        return orderArchive.horizonFor(request.status(), request.createdFrom());
+    }
+
+    private User findUser(String username) {
+        return userRepository.findByUsername(username)
+            .orElseThrow(() -> new UserNotFoundException(username));
+    }
+
+    private OrderSearchCursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return OrderSearchCursor.decode(cursor);
+        } catch (RuntimeException ex) {
+            throw new InvalidSearchException("Invalid cursor");
+        }
+    }
+
+    private void writePage(OrderSearchQuery query, OrderView view, OutputStream out) throws IOException {
+        // One flush at the end instead of one per order
+        ObjectWriter orderWriter = objectMapper.writerFor(OrderResponse.class)
+            .with(view.filters())
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.writeStartObject();
+            json.writeArrayFieldStart("orders");
+            Consumer<OrderResponse> write = order -> {
+                try {
+                    orderWriter.writeValue(json, order);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            };
+            OrderSearchCursor next;
+            if (view.expandItems()) {
+                // Items take the whole page's ids (at most 100 orders): buffer it, then one query for all lines
+                List<OrderResponse> page = new ArrayList<>();
+                next = searchRepository.search(query, page::add);
+                Map<String, List<OrderLine>> lines = orderRepository.findLines(
+                    page.stream().map(OrderResponse::orderId).toList());
+                page.forEach(order -> write.accept(order.withItems(lines.getOrDefault(order.orderId(), List.of()))));
+            } else {
+                next = searchRepository.search(query, write);
+            }
+            json.writeEndArray();
+            json.writeStringField("nextCursor", next != null ? next.encode() : null);
+            json.writeEndObject();
+        }
+    }
+}
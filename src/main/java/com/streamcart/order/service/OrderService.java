@@ -1,30 +1,57 @@
 package com.streamcart.order.service;
 
+import com.streamcart.order.archive.ArchivedOrder;
+import com.streamcart.order.archive.OrderArchive;
+import com.streamcart.order.datasource.ReadReplicaRoutingDataSource;
 import com.streamcart.order.dto.CreateOrderRequest;
 import com.streamcart.order.dto.OrderCreatedEvent;
+import com.streamcart.order.dto.OrderLookupResponse;
 import com.streamcart.order.dto.OrderResponse;
+import com.streamcart.order.dto.OrderStatusChangedEvent;
+import com.streamcart.order.dto.OrderSummaryResponse;
+import com.streamcart.order.entity.ItemStorage;
 import com.streamcart.order.entity.Order;
 import com.streamcart.order.entity.OrderItem;
+import com.streamcart.order.entity.OrderLine;
 import com.streamcart.order.entity.OrderStatus;
 import com.streamcart.order.entity.User;
 import com.streamcart.order.exception.AccessDeniedException;
+import com.streamcart.order.exception.InvalidSearchException;
 import com.streamcart.order.exception.OrderNotFoundException;
 import com.streamcart.order.exception.UnauthorizedException;
 import com.streamcart.order.exception.UserNotFoundException;
+import com.streamcart.order.partition.OrderIds;
+import com.streamcart.order.projection.UserOrderSummaryProjection;
 import com.streamcart.order.publisher.OrderEventPublisher;
+import com.streamcart.order.repository.OrderListVersion;
+import com.streamcart.order.repository.OrderOwnerVersion;
 import com.streamcart.order.repository.OrderRepository;
 import com.streamcart.order.repository.UserRepository;
+import com.streamcart.order.singleflight.SingleFlight;
+import com.streamcart.order.stream.OrderStatusStreamHub;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,9 +59,26 @@ import java.util.stream.Collectors;
 @Slf4j
 public class OrderService {
     
+    private static final int MAX_LOOKUP_IDS = 100;
+    
+    private static final String ACCESS_DENIED = "Access denied: Order does not belong to current user";
+    
+    // Suffix of the orderLoads key for loads routed to the primary (read-your-writes)
+    private static final String PRIMARY_LOAD = "@primary";
+    
     private final OrderRepository orderRepository;
     private final OrderEventPublisher eventPublisher;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final OrderStatusService orderStatusService;
+    private final OrderStatusStreamHub statusStreamHub;
+    private final UserOrderSummaryProjection summaryProjection;
+    private final OrderArchive orderArchive;
+    private final SingleFlight<String, Optional<Versioned<OrderResponse>>> orderLoads;
+    private final ReadReplicaRoutingDataSource routingDataSource;
+    
+    @Value("${order.item-storage:normalized}")
+    private ItemStorage itemStorage = ItemStorage.NORMALIZED;
     
     @Transactional
     public OrderResponse createOrder(CreateOrderRequest request) {
@@ -46,27 +90,8 @@ public class OrderService {
         User user = userRepository.findByUsername(username)
             .orElseThrow(() -> new UserNotFoundException(username));
         
-        // Create order entity
-        Order order = new Order();
-        order.setOrderId(UUID.randomUUID().toString());
-        order.setUser(user);
-        order.setStatus(OrderStatus.PENDING);
-        
-        // Add order items
-        for (CreateOrderRequest.OrderItemRequest itemReq : request.items()) {
-            OrderItem item = new OrderItem();
-            item.setProductId(itemReq.productId());
-            item.setProductName(itemReq.productName());
-            item.setQuantity(itemReq.quantity());
-            item.setPrice(itemReq.price());
-            order.addItem(item);
-        }
-        
-        // Calculate total
-        BigDecimal total = order.getItems().stream()
-            .map(OrderItem::getSubtotal)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        order.setTotalAmount(total);
+        // Create order entity with items and total
+        Order order = buildOrder(request, user);
         
         // Save to database
         Order savedOrder = orderRepository.save(order);
@@ -76,36 +101,310 @@ public class OrderService {
         OrderCreatedEvent event = mapToEvent(savedOrder);
         eventPublisher.publishOrderCreated(event);
         
+        // In-process copy for listeners that run after commit (item projection)
+        applicationEventPublisher.publishEvent(event);
+        
         return mapToResponse(savedOrder);
     }
     
+    /**
+     * Falls through to the archive for orders no longer in the hot tables (OrderArchiver).
+     *
+     * Concurrent requests for the same order (storefront, app and emails right after
+     * checkout) share one load; each caller's ownership is still checked. Callers reading
+     * their own writes from the primary only share with each other, not with replica reads.
+     */
     @Transactional(readOnly = true)
     public OrderResponse getOrder(String orderId) {
-        Order order = orderRepository.findById(orderId)
+        return getVersionedOrder(orderId, false).body();
+    }
+    
+    /**
+     * getOrder with the order's ETag, and its items if expandItems. Items never change
+     * once the order is created, so the ETag covers them too.
+     */
+    @Transactional(readOnly = true)
+    public Versioned<OrderResponse> getVersionedOrder(String orderId, boolean expandItems) {
+        Versioned<OrderResponse> order = orderLoads.execute(loadKey(orderId), () -> loadOrder(orderId))
             .orElseThrow(() -> new OrderNotFoundException(orderId));
+        verifyOwner(orderId, order.body().username());
+        if (!expandItems) {
+            return order;
+        }
+        return new Versioned<>(withItems(List.of(order.body())).get(0), order.etag());
+    }
+    
+    /**
+     * The ETag getVersionedOrder would return, from the order's owner and version alone:
+     * answers conditional GETs without loading the order. Same errors as getOrder.
+     */
+    @Transactional(readOnly = true)
+    public String getOrderETag(String orderId) {
+        Optional<OrderOwnerVersion> current = orderRepository.findOwnerVersion(orderId);
+        if (current.isPresent()) {
+            verifyOwner(orderId, current.get().username());
+            return orderETag(orderId, current.get().version());
+        }
         
-        // Verify order belongs to current user
+        ArchivedOrder archived = orderArchive.find(orderId)
+            .orElseThrow(() -> new OrderNotFoundException(orderId));
+        verifyOwner(orderId, archived.username());
+        return archivedOrderETag(orderId);
+    }
+    
+    /**
+     * getOrder for many ids at once: one query for all of them (with their owners), the
+     * archive for ids not in the hot tables. Ids that are missing or belong to another
+     * user are reported in errors with the status getOrder would have returned.
+     * With expandItems, the orders' items are loaded in one more query.
+     */
+    @Transactional(readOnly = true)
+    public OrderLookupResponse getOrders(List<String> orderIds, boolean expandItems) {
+        Set<String> ids = new LinkedHashSet<>(orderIds);
+        if (ids.isEmpty() || ids.size() > MAX_LOOKUP_IDS) {
+            throw new InvalidSearchException("Between 1 and " + MAX_LOOKUP_IDS + " order ids are required");
+        }
         String currentUsername = getCurrentUsername();
-        if (!order.getUser().getUsername().equals(currentUsername)) {
-            log.warn("User {} attempted to access order {} belonging to {}", 
-                currentUsername, orderId, order.getUser().getUsername());
-            throw new AccessDeniedException("Access denied: Order does not belong to current user");
+        
+        Map<String, OrderResponse> found = orderRepository.findResponses(ids).stream()
+            .collect(Collectors.toMap(OrderResponse::orderId, Function.identity()));
+        List<OrderResponse> orders = new ArrayList<>(ids.size());
+        List<OrderLookupResponse.Failure> errors = new ArrayList<>();
+        for (String orderId : ids) {
+            OrderResponse order = Optional.ofNullable(found.get(orderId))
+                .or(() -> orderArchive.find(orderId).map(this::mapToResponse))
+                .orElse(null);
+            if (order == null) {
+                errors.add(new OrderLookupResponse.Failure(
+                    orderId, HttpStatus.NOT_FOUND.value(), "Order not found: " + orderId));
+            } else if (!order.username().equals(currentUsername)) {
+                log.warn("User {} attempted to access order {} belonging to {}",
+                    currentUsername, orderId, order.username());
+                errors.add(new OrderLookupResponse.Failure(orderId, HttpStatus.FORBIDDEN.value(), ACCESS_DENIED));
+            } else {
+                orders.add(order);
+            }
         }
+        return new OrderLookupResponse(expandItems ? withItems(orders) : orders, errors);
+    }
+    
+    /**
+     * New getOrder calls start a fresh load once a status change commits, rather than
+     * joining one that may have read the old status.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(OrderStatusChangedEvent event) {
+        orderLoads.forget(event.orderId());
+        orderLoads.forget(event.orderId() + PRIMARY_LOAD);
+    }
+    
+    /**
+     * Opens an SSE stream of status changes for one of the current user's orders.
+     * The first event is the current status, read from the primary (not readOnly): a
+     * lagging replica could return a status older than events already sent.
+     */
+    @Transactional
+    public SseEmitter streamStatus(String orderId) {
+        getOwnedOrder(orderId);
         
-        return mapToResponse(order);
+        return statusStreamHub.subscribe(orderId, () -> orderRepository.findStatusVersionByOrderId(orderId)
+            .map(current -> new OrderStatusChangedEvent(orderId, current.status(), current.version(), LocalDateTime.now()))
+            .orElseThrow(() -> new OrderNotFoundException(orderId)));
+    }
+    
+    /**
+     * Cancels one of the current user's orders, if its status still allows it.
+     * The status change is a compare-and-set, so it can't overwrite a concurrent
+     * transition (e.g. the order shipping at the same moment).
+     */
+    @Transactional
+    public OrderResponse cancelOrder(String orderId) {
+        Order order = getOwnedOrder(orderId);
+        log.info("Cancelling order {} for user: {}", orderId, order.getUser().getUsername());
+        
+        OrderStatus status = orderStatusService.transition(orderId, OrderStatus.CANCELLED);
+        
+        // The entity still holds the status it was loaded with
+        return new OrderResponse(
+            order.getOrderId(),
+            order.getUser().getUsername(),
+            order.getTotalAmount(),
+            status,
+            order.getCreatedAt()
+        );
     }
     
     @Transactional(readOnly = true)
     public List<OrderResponse> getMyOrders() {
+        return getVersionedMyOrders(false).body();
+    }
+    
+    /**
+     * getMyOrders with an ETag built from the user's orders high-water mark
+     * (OrderListVersion), computed from the orders just loaded. With expandItems, the
+     * items of all of them are loaded in one more query.
+     */
+    @Transactional(readOnly = true)
+    public Versioned<List<OrderResponse>> getVersionedMyOrders(boolean expandItems) {
         String username = getCurrentUsername();
         log.info("Fetching orders for user: {}", username);
         
         User user = userRepository.findByUsername(username)
             .orElseThrow(() -> new UserNotFoundException(username));
         
-        return orderRepository.findByUser(user).stream()
+        List<Order> hotOrders = orderRepository.findByUser(user);
+        String etag = listETag(new OrderListVersion(
+            (long) hotOrders.size(),
+            hotOrders.stream().mapToLong(order -> order.getVersion() != null ? order.getVersion() : 0).sum(),
+            hotOrders.stream().map(Order::getCreatedAt).max(Comparator.naturalOrder()).orElse(null)));
+        List<OrderResponse> hotResponses = hotOrders.stream()
             .map(this::mapToResponse)
-            .collect(Collectors.toList());
+            .toList();
+        List<OrderResponse> orders = new ArrayList<>(expandItems ? withItems(hotResponses) : hotResponses);
+        
+        // Older orders from the archive; one still in the hot tables too (archived, not yet deleted) is listed once
+        Set<String> hotIds = orders.stream().map(OrderResponse::orderId).collect(Collectors.toSet());
+        orderArchive.findByUser(user.getId()).stream()
+            .filter(archived -> !hotIds.contains(archived.orderId()))
+            .map(archived -> expandItems ? mapToResponse(archived).withItems(archived.lines()) : mapToResponse(archived))
+            .forEach(orders::add);
+        return new Versioned<>(orders, etag);
+    }
+    
+    /**
+     * The ETag getVersionedMyOrders would return, from one aggregate over the user's
+     * orders instead of loading them. Archived orders only leave the hot tables, which
+     * changes the mark too.
+     */
+    @Transactional(readOnly = true)
+    public String getMyOrdersETag() {
+        String username = getCurrentUsername();
+        User user = userRepository.findByUsername(username)
+            .orElseThrow(() -> new UserNotFoundException(username));
+        
+        return listETag(orderRepository.findListVersionByUserId(user.getId()));
+    }
+    
+    /**
+     * Order count, lifetime spend and last order date for the current user: one
+     * primary-key read of the summary read model, however many orders the user has.
+     */
+    @Transactional(readOnly = true)
+    public OrderSummaryResponse getMySummary() {
+        String username = getCurrentUsername();
+        User user = userRepository.findByUsername(username)
+            .orElseThrow(() -> new UserNotFoundException(username));
+        
+        return summaryProjection.find(user.getId())
+            .map(summary -> new OrderSummaryResponse(
+                username, summary.orderCount(), summary.lifetimeSpend(), summary.lastOrderAt()))
+            .orElseGet(() -> new OrderSummaryResponse(username, 0, BigDecimal.ZERO, null));
+    }
+    
+    /**
+     * Runs the request → entity → event/response mapping on a transient order.
+     * Nothing is persisted or published; used by the warm-up stage to JIT-compile
+     * the order paths before the pod receives traffic.
+     */
+    public OrderResponse simulateOrder(CreateOrderRequest request, User user) {
+        Order order = buildOrder(request, user);
+        mapToEvent(order);
+        return mapToResponse(order);
+    }
+    
+    private Order buildOrder(CreateOrderRequest request, User user) {
+        Order order = new Order();
+        // One clock reading for both: the id encodes created_at (see OrderIds)
+        LocalDateTime createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        order.setOrderId(OrderIds.next(createdAt));
+        order.setCreatedAt(createdAt);
+        order.setUser(user);
+        order.setStatus(OrderStatus.PENDING);
+        
+        List<OrderLine> lines = request.items().stream()
+            .map(itemReq -> new OrderLine(
+                itemReq.productId(),
+                itemReq.productName(),
+                itemReq.quantity(),
+                itemReq.price()
+            ))
+            .toList();
+        
+        // Add order items: one column on orders, or one order_items row each
+        if (itemStorage == ItemStorage.EMBEDDED) {
+            order.setEmbeddedItems(lines);
+        } else {
+            for (OrderLine line : lines) {
+                OrderItem item = new OrderItem();
+                item.setProductId(line.productId());
+                item.setProductName(line.productName());
+                item.setQuantity(line.quantity());
+                item.setPrice(line.price());
+                order.addItem(item);
+            }
+        }
+        
+        // Calculate total
+        BigDecimal total = lines.stream()
+            .map(OrderLine::subtotal)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        order.setTotalAmount(total);
+        return order;
+    }
+    
+    // Shared between callers: the result is an immutable response, not the entity
+    private String loadKey(String orderId) {
+        return routingDataSource.readsOwnWrites() ? orderId + PRIMARY_LOAD : orderId;
+    }
+    
+    private Optional<Versioned<OrderResponse>> loadOrder(String orderId) {
+        return orderRepository.findOrder(orderId)
+            .map(order -> new Versioned<>(mapToResponse(order), orderETag(orderId, order.getVersion())))
+            .or(() -> orderArchive.find(orderId)
+                .map(order -> new Versioned<>(mapToResponse(order), archivedOrderETag(orderId))));
+    }
+    
+    // One query for the lines of all the hot orders (never the lazy items collection, once per order)
+    private List<OrderResponse> withItems(List<OrderResponse> orders) {
+        Map<String, List<OrderLine>> lines = orderRepository.findLines(
+            orders.stream().map(OrderResponse::orderId).toList());
+        return orders.stream()
+            .map(order -> order.withItems(Optional.ofNullable(lines.get(order.orderId()))
+                .or(() -> orderArchive.find(order.orderId()).map(ArchivedOrder::lines))
+                .orElse(List.of())))
+            .toList();
+    }
+    
+    // Every status change bumps the version, and status is the only field of OrderResponse that changes
+    private static String orderETag(String orderId, Long version) {
+        return orderId + "-v" + (version != null ? version : 0);
+    }
+    
+    // Only final orders are archived, so an archived order never changes
+    private static String archivedOrderETag(String orderId) {
+        return orderId + "-archived";
+    }
+    
+    private static String listETag(OrderListVersion mark) {
+        return "orders-" + mark.orderCount() + "-" + mark.versionSum() + "-"
+            + (mark.lastCreatedAt() != null ? mark.lastCreatedAt() : "none");
+    }
+    
+    private Order getOwnedOrder(String orderId) {
+        Order order = orderRepository.findOrder(orderId)
+            .orElseThrow(() -> new OrderNotFoundException(orderId));
+        
+        verifyOwner(orderId, order.getUser().getUsername());
+        return order;
+    }
+    
+    private void verifyOwner(String orderId, String owner) {
+        String currentUsername = getCurrentUsername();
+        if (!owner.equals(currentUsername)) {
+            log.warn("User {} attempted to access order {} belonging to {}", 
+                currentUsername, orderId, owner);
+            throw new AccessDeniedException(ACCESS_DENIED);
+        }
     }
     
     private String getCurrentUsername() {
@@ -117,12 +416,12 @@ public class OrderService {
     }
     
     private OrderCreatedEvent mapToEvent(Order order) {
-        List<OrderCreatedEvent.OrderItemDto> items = order.getItems().stream()
-            .map(item -> new OrderCreatedEvent.OrderItemDto(
-                item.getProductId(),
-                item.getProductName(),
-                item.getQuantity(),
-                item.getPrice()
+        List<OrderCreatedEvent.OrderItemDto> items = order.getLines().stream()
+            .map(line -> new OrderCreatedEvent.OrderItemDto(
+                line.productId(),
+                line.productName(),
+                line.quantity(),
+                line.price()
             ))
             .collect(Collectors.toList());
         
@@ -131,10 +430,21 @@ public class OrderService {
             order.getUser().getUsername(),
             order.getTotalAmount(),
             items,
+            order.getCreatedAt(),
             LocalDateTime.now()
         );
     }
     
+    private OrderResponse mapToResponse(ArchivedOrder order) {
+        return new OrderResponse(
+            order.orderId(),
+            order.username(),
+            order.totalAmount(),
+            order.status(),
+            order.createdAt()
+        );
+    }
+    
     private OrderResponse mapToResponse(Order order) {
         return new OrderResponse(
             order.getOrderId(),
@@ -0,0 +1,52 @@
+package com.streamcart.order.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counters for status writes, tagged by path (cas: single-order compare-and-set,
+ * batch: Kafka consumer bulk updates).
+ *
+ * order.status.updates{path, result=applied|conflict|rejected} - conflict rate is
+ *   conflict / (applied + conflict)
+ * order.status.retries{path} - attempts repeated after a version conflict
+ */
+@Component
+@RequiredArgsConstructor
+class OrderStatusMetrics {
+
+    static final String CAS = "cas";
+    static final String BATCH = "batch";
+
+    private final MeterRegistry meterRegistry;
+
+    void applied(String path, int count) {
+        updates(path, "applied").increment(count);
+    }
+
+    void conflicts(String path, int count) {
+        updates(path, "conflict").increment(count);
+    }
+
+    void rejected(String path, int count) {
+        updates(path, "rejected").increment(count);
+    }
+
+    void retry(String path) {
+        Counter.builder("order.status.retries")
+                .description("Status writes retried after a version conflict")
+                .tag("path", path)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private Counter updates(String path, String result) {
+        return Counter.builder("order.status.updates")
+                .description("Order status writes by outcome")
+                .tag("path", path)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
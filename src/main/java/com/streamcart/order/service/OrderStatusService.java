@@ -0,0 +1,71 @@
+package com.streamcart.order.service;
+
+import com.streamcart.order.dto.OrderStatusChangedEvent;
+import com.streamcart.order.entity.OrderStatus;
+import com.streamcart.order.exception.InvalidStatusTransitionException;
+import com.streamcart.order.exception.OrderNotFoundException;
+import com.streamcart.order.repository.OrderRepository;
+import com.streamcart.order.repository.OrderStatusVersion;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Single-order status changes (cancellations, admin actions) without locks.
+ *
+ * Reads the order's status and version, validates the transition, then writes it with one
+ * compare-and-set UPDATE (OrderRepository.compareAndSetStatus). If another writer got there
+ * first the UPDATE matches no row and the whole step is retried from a fresh read, so a
+ * concurrent change is never overwritten.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderStatusService {
+
+    static final int MAX_ATTEMPTS = 5;
+
+    private final OrderRepository orderRepository;
+    private final OrderStatusMetrics metrics;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    /**
+     * @throws OrderNotFoundException            if the order doesn't exist
+     * @throws InvalidStatusTransitionException  if the order's current status can't move to target
+     * @throws OptimisticLockingFailureException if every attempt lost to a concurrent writer
+     */
+    @Transactional
+    public OrderStatus transition(String orderId, OrderStatus target) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            if (attempt > 1) {
+                metrics.retry(OrderStatusMetrics.CAS);
+            }
+            OrderStatusVersion current = orderRepository.findStatusVersionByOrderId(orderId)
+                    .orElseThrow(() -> new OrderNotFoundException(orderId));
+            if (!current.status().canTransitionTo(target)) {
+                metrics.rejected(OrderStatusMetrics.CAS, 1);
+                throw new InvalidStatusTransitionException(orderId, current.status(), target);
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            int updated = orderRepository.compareAndSetStatus(
+                    orderId, current.status(), current.version(), target, now);
+            if (updated == 1) {
+                metrics.applied(OrderStatusMetrics.CAS, 1);
+                applicationEventPublisher.publishEvent(
+                        new OrderStatusChangedEvent(orderId, target, current.version() + 1, now));
+                log.info("Order {} moved {} -> {}", orderId, current.status(), target);
+                return target;
+            }
+            metrics.conflicts(OrderStatusMetrics.CAS, 1);
+            log.debug("Version conflict moving order {} to {} (attempt {})", orderId, target, attempt);
+        }
+        throw new OptimisticLockingFailureException(
+                "Order " + orderId + " kept changing concurrently; gave up after " + MAX_ATTEMPTS + " attempts");
+    }
+}
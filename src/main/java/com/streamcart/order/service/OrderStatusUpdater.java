@@ -0,0 +1,294 @@
+package com.streamcart.order.service;
+
+import com.streamcart.order.dto.OrderStatusChangedEvent;
+import com.streamcart.order.entity.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Applies batches of order status changes with a handful of bulk statements.
+ *
+ * For each batch:
+ * 1. Loads the current status and version of every order in the batch (one SELECT)
+ * 2. Replays each order's changes in order through the {@link OrderStatus} state machine.
+ *    A change the order can't take yet but can still reach (inventory reserved while the
+ *    payment is processing) is parked in order_parked_transitions and applied once the order
+ *    gets there, in this or a later batch. Changes it can no longer reach (late or duplicate
+ *    events) are skipped.
+ * 3. Writes one UPDATE per resulting status:
+ *    UPDATE orders SET status = ?, version = version + 1 ... WHERE (order_id, version) IN (...)
+ * 4. Orders whose version changed concurrently are reloaded and replayed (up to MAX_ATTEMPTS)
+ *
+ * Every order whose status changed gets one {@link OrderStatusChangedEvent} with its final status.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderStatusUpdater {
+
+    static final int MAX_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OrderStatusMetrics metrics;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public record StatusChange(String orderId, OrderStatus target) {
+    }
+
+    /**
+     * @param updated  orders whose status changed
+     * @param rejected changes the order's status can no longer reach
+     * @param unknown  changes for orders that don't exist
+     * @param parked   changes kept for when the order reaches a status they follow from
+     */
+    public record BatchResult(int updated, int rejected, int unknown, int parked) {
+    }
+
+    private record VersionedStatus(String orderId, OrderStatus status, long version) {
+    }
+
+    private record Replay(OrderStatus status, int rejected, Set<OrderStatus> parked) {
+    }
+
+    private record ParkedChange(String orderId, Set<OrderStatus> before, Set<OrderStatus> after) {
+    }
+
+    /**
+     * Applies the changes in list order per order, all in one transaction.
+     *
+     * @throws OptimisticLockingFailureException if orders kept changing concurrently
+     *         for MAX_ATTEMPTS rounds; nothing is committed
+     */
+    @Transactional
+    public BatchResult applyAll(List<StatusChange> changes) {
+        Map<String, List<OrderStatus>> targetsByOrder = new LinkedHashMap<>();
+        for (StatusChange change : changes) {
+            targetsByOrder.computeIfAbsent(change.orderId(), id -> new ArrayList<>()).add(change.target());
+        }
+
+        List<OrderStatusChangedEvent> applied = new ArrayList<>();
+        Map<String, Integer> rejectedByOrder = new HashMap<>();
+        int updated = 0;
+        int unknown = 0;
+        int parked = 0;
+        Set<String> pending = targetsByOrder.keySet();
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            if (attempt > MAX_ATTEMPTS) {
+                throw new OptimisticLockingFailureException(
+                        "Orders still changing concurrently after " + MAX_ATTEMPTS + " attempts: " + pending);
+            }
+            if (attempt > 1) {
+                metrics.retry(OrderStatusMetrics.BATCH);
+            }
+
+            Map<String, VersionedStatus> current = loadCurrent(pending);
+            Map<String, Set<OrderStatus>> parkedByOrder = loadParked(pending);
+            Map<OrderStatus, List<VersionedStatus>> writes = new EnumMap<>(OrderStatus.class);
+            List<ParkedChange> parkedChanges = new ArrayList<>();
+            for (String orderId : pending) {
+                VersionedStatus state = current.get(orderId);
+                if (state == null) {
+                    log.warn("Ignoring status change for unknown order {}", orderId);
+                    unknown += targetsByOrder.get(orderId).size();
+                    continue;
+                }
+                Set<OrderStatus> wasParked = parkedByOrder.getOrDefault(orderId, Set.of());
+                Replay replay = replay(orderId, state.status(), wasParked, targetsByOrder.get(orderId));
+                rejectedByOrder.put(orderId, replay.rejected());
+                if (!replay.parked().equals(wasParked)) {
+                    parkedChanges.add(new ParkedChange(orderId, wasParked, replay.parked()));
+                }
+                if (replay.status() != state.status()) {
+                    writes.computeIfAbsent(replay.status(), s -> new ArrayList<>()).add(state);
+                }
+            }
+
+            Set<String> conflicted = new LinkedHashSet<>();
+            for (Map.Entry<OrderStatus, List<VersionedStatus>> write : writes.entrySet()) {
+                OrderStatus status = write.getKey();
+                List<VersionedStatus> rows = write.getValue();
+                LocalDateTime now = LocalDateTime.now();
+                int rowsUpdated = bulkUpdate(status, rows, now);
+                updated += rowsUpdated;
+                Set<String> lost = rowsUpdated < rows.size() ? findConflicts(status, rows) : Set.of();
+                conflicted.addAll(lost);
+                for (VersionedStatus row : rows) {
+                    if (!lost.contains(row.orderId())) {
+                        applied.add(new OrderStatusChangedEvent(row.orderId(), status, row.version() + 1, now));
+                    }
+                }
+            }
+            // Conflicted orders are replayed from scratch next round, parked changes included
+            parkedChanges.removeIf(change -> conflicted.contains(change.orderId()));
+            parked += saveParked(parkedChanges);
+            if (!conflicted.isEmpty()) {
+                metrics.conflicts(OrderStatusMetrics.BATCH, conflicted.size());
+                log.debug("Version conflict on {} orders, retrying (attempt {})", conflicted.size(), attempt);
+            }
+            pending = conflicted;
+        }
+
+        int rejected = rejectedByOrder.values().stream().mapToInt(Integer::intValue).sum();
+        applied.forEach(applicationEventPublisher::publishEvent);
+        metrics.applied(OrderStatusMetrics.BATCH, updated);
+        metrics.rejected(OrderStatusMetrics.BATCH, rejected);
+        return new BatchResult(updated, rejected, unknown, parked);
+    }
+
+    /**
+     * Runs the order's parked changes and then its new ones through the state machine.
+     * Parked changes are retried after every transition, so e.g. a parked
+     * INVENTORY_RESERVED follows right after PAID.
+     */
+    private static Replay replay(String orderId, OrderStatus from, Set<OrderStatus> parked,
+                                 List<OrderStatus> targets) {
+        Set<OrderStatus> waiting = EnumSet.noneOf(OrderStatus.class);
+        waiting.addAll(parked);
+        OrderStatus status = applyParked(from, waiting);
+        int rejected = 0;
+        for (OrderStatus target : targets) {
+            if (status.canTransitionTo(target)) {
+                status = applyParked(target, waiting);
+            } else if (status == target) {
+                // Duplicate
+            } else if (status.canReach(target)) {
+                log.debug("Parked transition {} -> {} for order {}", status, target, orderId);
+                waiting.add(target);
+            } else {
+                log.warn("Rejected transition {} -> {} for order {}", status, target, orderId);
+                rejected++;
+            }
+        }
+        return new Replay(status, rejected, waiting);
+    }
+
+    private static OrderStatus applyParked(OrderStatus status, Set<OrderStatus> waiting) {
+        boolean progressed = true;
+        while (progressed) {
+            progressed = false;
+            for (Iterator<OrderStatus> it = waiting.iterator(); it.hasNext(); ) {
+                OrderStatus target = it.next();
+                if (status.canTransitionTo(target)) {
+                    status = target;
+                    it.remove();
+                    progressed = true;
+                } else if (!status.canReach(target)) {
+                    // Overtaken, e.g. the order failed or was cancelled meanwhile
+                    it.remove();
+                }
+            }
+        }
+        return status;
+    }
+
+    private Map<String, Set<OrderStatus>> loadParked(Set<String> orderIds) {
+        StringJoiner placeholders = new StringJoiner(", ", "(", ")");
+        orderIds.forEach(id -> placeholders.add("?"));
+        Map<String, Set<OrderStatus>> parked = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT order_id, target_status FROM order_parked_transitions WHERE order_id IN " + placeholders,
+                rs -> {
+                    parked.computeIfAbsent(rs.getString("order_id"), id -> EnumSet.noneOf(OrderStatus.class))
+                            .add(OrderStatus.valueOf(rs.getString("target_status")));
+                },
+                orderIds.toArray());
+        return parked;
+    }
+
+    /**
+     * @return changes newly parked
+     */
+    private int saveParked(List<ParkedChange> changes) {
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (ParkedChange change : changes) {
+            for (OrderStatus target : change.after()) {
+                if (!change.before().contains(target)) {
+                    inserts.add(new Object[]{change.orderId(), target.name(), now});
+                }
+            }
+            for (OrderStatus target : change.before()) {
+                if (!change.after().contains(target)) {
+                    deletes.add(new Object[]{change.orderId(), target.name()});
+                }
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO order_parked_transitions (order_id, target_status, parked_at) "
+                    + "VALUES (?, ?, ?) ON CONFLICT DO NOTHING", inserts);
+        }
+        if (!deletes.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "DELETE FROM order_parked_transitions WHERE order_id = ? AND target_status = ?", deletes);
+        }
+        return inserts.size();
+    }
+
+    private Map<String, VersionedStatus> loadCurrent(Set<String> orderIds) {
+        StringJoiner placeholders = new StringJoiner(", ", "(", ")");
+        orderIds.forEach(id -> placeholders.add("?"));
+        Map<String, VersionedStatus> current = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT order_id, status, version FROM orders WHERE order_id IN " + placeholders,
+                rs -> {
+                    String orderId = rs.getString("order_id");
+                    current.put(orderId, new VersionedStatus(
+                            orderId, OrderStatus.valueOf(rs.getString("status")), rs.getLong("version")));
+                },
+                orderIds.toArray());
+        return current;
+    }
+
+    private int bulkUpdate(OrderStatus status, List<VersionedStatus> rows, LocalDateTime now) {
+        StringJoiner keys = new StringJoiner(", ", "(", ")");
+        List<Object> params = new ArrayList<>(2 + rows.size() * 2);
+        params.add(status.name());
+        params.add(Timestamp.valueOf(now));
+        for (VersionedStatus row : rows) {
+            keys.add("(?, ?)");
+            params.add(row.orderId());
+            params.add(row.version());
+        }
+        return jdbcTemplate.update(
+                "UPDATE orders SET status = ?, version = version + 1, updated_at = ? "
+                        + "WHERE (order_id, version) IN " + keys,
+                params.toArray());
+    }
+
+    /**
+     * Orders that weren't updated: someone else bumped their version first.
+     * Rows we did update are locked until commit, so they read back as status / version + 1.
+     */
+    private Set<String> findConflicts(OrderStatus status, List<VersionedStatus> rows) {
+        Map<String, Long> expectedVersion = new HashMap<>();
+        rows.forEach(row -> expectedVersion.put(row.orderId(), row.version() + 1));
+
+        Set<String> conflicted = new LinkedHashSet<>();
+        loadCurrent(expectedVersion.keySet()).values().forEach(state -> {
+            if (state.status() != status || state.version() != expectedVersion.get(state.orderId())) {
+                conflicted.add(state.orderId());
+            }
+        });
+        return conflicted;
+    }
+}
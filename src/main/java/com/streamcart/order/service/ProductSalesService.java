@@ -0,0 +1,60 @@
+package com.streamcart.order.service;
+
+import com.streamcart.order.dto.ProductHourlySales;
+import com.streamcart.order.dto.ProductSalesRequest;
+import com.streamcart.order.entity.UserRole;
+import com.streamcart.order.exception.AccessDeniedException;
+import com.streamcart.order.exception.InvalidSearchException;
+import com.streamcart.order.exception.UnauthorizedException;
+import com.streamcart.order.rollup.ProductSalesAggregator;
+import com.streamcart.order.rollup.ProductSalesRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Hourly revenue and volume per product for finance, read from the product_sales_hourly
+ * rollup only. Every node's {@link ProductSalesAggregator} adds its totals there each
+ * flush interval, so a response is at most one interval behind on any node.
+ * Never aggregates orders or order_items.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductSalesService {
+
+    static final Duration MAX_RANGE = Duration.ofDays(93);
+
+    private static final String FINANCE_AUTHORITY = "ROLE_" + UserRole.FINANCE.name();
+
+    private final ProductSalesRollupRepository rollupRepository;
+
+    /**
+     * @throws AccessDeniedException  if the current user isn't in the finance role
+     * @throws InvalidSearchException if from isn't before to, or the range exceeds MAX_RANGE
+     */
+    public List<ProductHourlySales> hourlySales(ProductSalesRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new UnauthorizedException("User not authenticated");
+        }
+        if (authentication.getAuthorities().stream()
+                .noneMatch(authority -> FINANCE_AUTHORITY.equals(authority.getAuthority()))) {
+            throw new AccessDeniedException("Access denied: sales reports are limited to finance");
+        }
+        LocalDateTime from = request.from().truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime to = request.to();
+        if (!from.isBefore(to)) {
+            throw new InvalidSearchException("from must be before to");
+        }
+        if (Duration.between(from, to).compareTo(MAX_RANGE) > 0) {
+            throw new InvalidSearchException("Range cannot exceed " + MAX_RANGE.toDays() + " days");
+        }
+        return rollupRepository.find(from, to, request.productId());
+    }
+}
@@ -0,0 +1,7 @@
+package com.streamcart.order.service;
+
+/**
+ * A response body with the strong ETag (unquoted) of the data it was built from.
+ */
+public record Versioned<T>(T body, String etag) {
+}
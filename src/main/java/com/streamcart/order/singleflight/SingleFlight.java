@@ -0,0 +1,109 @@
+package com.streamcart.order.singleflight;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical loads: while a load for a key is running, other
+ * callers asking for the same key wait for its result instead of starting their own.
+ * Nothing is cached; once a load finishes the next caller starts a new one.
+ *
+ * The first caller (the leader) runs the loader on its own thread, in its own
+ * transaction and security context, so the loader must not depend on anything that
+ * differs between callers, and its result is handed to every waiter: it must be
+ * immutable or copied per caller. A loader exception is rethrown to the leader and
+ * every waiter.
+ *
+ * Metrics, tagged name:
+ * - order.single-flight.calls{outcome=executed|shared}: loads run vs. results shared
+ * - order.single-flight.coalescing-ratio: shared / all calls since startup
+ * - order.single-flight.in-flight: keys being loaded
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter shared;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.executed = Counter.builder("order.single-flight.calls")
+                .description("Calls that ran the load themselves")
+                .tag("name", name)
+                .tag("outcome", "executed")
+                .register(meterRegistry);
+        this.shared = Counter.builder("order.single-flight.calls")
+                .description("Calls that got the result of a load already in flight")
+                .tag("name", name)
+                .tag("outcome", "shared")
+                .register(meterRegistry);
+        Gauge.builder("order.single-flight.coalescing-ratio", this, SingleFlight::coalescingRatio)
+                .description("Share of calls served by another caller's load")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("order.single-flight.in-flight", inFlight, ConcurrentMap::size)
+                .description("Keys with a load in flight")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * The loader's result for the key, from this caller's load or from the one already
+     * in flight.
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            shared.increment();
+            return await(running);
+        }
+
+        executed.increment();
+        try {
+            V value = loader.get();
+            // Removed first: a caller arriving after this load finished must not get its result
+            inFlight.remove(key, flight);
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Stops handing the running load for the key to new callers, e.g. after a write made
+     * its result stale. Callers already waiting still get it.
+     */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    public double coalescingRatio() {
+        double total = executed.count() + shared.count();
+        return total == 0 ? 0 : shared.count() / total;
+    }
+
+    private static <V> V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException ex) {
+            // The leader's own exception, as the leader saw it
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
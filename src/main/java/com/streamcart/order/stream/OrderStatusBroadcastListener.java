@@ -0,0 +1,36 @@
+package com.streamcart.order.stream;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pushes status changes made on other nodes to this node's SSE streams.
+ *
+ * Every node consumes order.status.changes in its own consumer group (a broadcast), starting
+ * from the latest offset: a freshly started node has no streams that could miss anything.
+ * The hub only queues the event, so a slow client never holds up the consumer.
+ */
+@Component
+@ConditionalOnProperty(name = "order.events.broadcast.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class OrderStatusBroadcastListener {
+
+    private final OrderStatusStreamHub hub;
+    private final OrderStatusBroadcaster broadcaster;
+
+    @KafkaListener(
+            topics = OrderStatusBroadcaster.TOPIC,
+            groupId = "order-service-events-#{@orderStatusBroadcaster.nodeId}",
+            properties = {
+                    "auto.offset.reset=latest",
+                    "spring.json.value.default.type=com.streamcart.order.stream.OrderStatusNotice"
+            })
+    public void onStatusNotice(OrderStatusNotice notice) {
+        if (broadcaster.getNodeId().equals(notice.origin())) {
+            return;  // Already delivered locally on commit
+        }
+        hub.dispatch(notice.toEvent());
+    }
+}
@@ -0,0 +1,42 @@
+package com.streamcart.order.stream;
+
+import com.streamcart.order.dto.OrderStatusChangedEvent;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+
+/**
+ * Publishes an {@link OrderStatusNotice} after every committed status change, so streams
+ * opened on other nodes see it too (see {@link OrderStatusBroadcastListener}).
+ *
+ * Keyed by orderId: an order's notices stay in one partition and arrive in order.
+ */
+@Component
+@ConditionalOnProperty(name = "order.events.broadcast.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class OrderStatusBroadcaster {
+
+    static final String TOPIC = "order.status.changes";
+
+    private final KafkaTemplate<String, OrderStatusNotice> kafkaTemplate;
+
+    @Getter
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(OrderStatusChangedEvent event) {
+        kafkaTemplate.send(TOPIC, event.orderId(), OrderStatusNotice.of(event, nodeId)).whenComplete((result, ex) -> {
+            if (ex != null) {
+                // Streams on other nodes miss this change; they get the current status when they reconnect
+                log.error("Failed to broadcast status change of order {}", event.orderId(), ex);
+            }
+        });
+    }
+}
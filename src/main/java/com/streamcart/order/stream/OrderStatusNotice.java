@@ -0,0 +1,28 @@
+package com.streamcart.order.stream;
+
+import com.streamcart.order.dto.OrderStatusChangedEvent;
+import com.streamcart.order.entity.OrderStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Broadcast on the order.status.changes topic after an order's status changes, so every
+ * node can push it to the order's SSE streams.
+ *
+ * @param origin node that made the change; it already delivered it locally and skips its own notices
+ */
+public record OrderStatusNotice(
+    String orderId,
+    OrderStatus status,
+    long version,
+    LocalDateTime timestamp,
+    String origin
+) {
+    public static OrderStatusNotice of(OrderStatusChangedEvent event, String origin) {
+        return new OrderStatusNotice(event.orderId(), event.status(), event.version(), event.timestamp(), origin);
+    }
+
+    public OrderStatusChangedEvent toEvent() {
+        return new OrderStatusChangedEvent(orderId, status, version, timestamp);
+    }
+}
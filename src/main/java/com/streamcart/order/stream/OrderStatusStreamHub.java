@@ -0,0 +1,291 @@
+package com.streamcart.order.stream;
+
+import com.streamcart.order.dto.OrderStatusChangedEvent;
+import com.streamcart.order.exception.StreamLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Fans order status changes out to open SSE streams.
+ *
+ * Status writers publish an {@link OrderStatusChangedEvent}; after their transaction commits
+ * the hub queues it for every stream subscribed to that order. Changes made on other nodes
+ * arrive through {@link OrderStatusBroadcastListener}. Nothing polls the database:
+ * a stream costs one read when it opens and nothing while it waits.
+ *
+ * Callers never write to a socket. Each stream has a queue of at most
+ * order.events.queue-capacity events, drained by one task at a time on a virtual-thread
+ * executor, so a blocked write only parks that stream's task. Heartbeats are queued by their
+ * own scheduler thread. Streams are closed when:
+ * - the order reaches a final status (after that event is sent)
+ * - no status change arrived for order.events.idle-timeout (clients reconnect and get the current status)
+ * - the queue is full: the client reads too slowly, it reconnects and gets the current status
+ * - a write fails (client went away)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderStatusStreamHub {
+
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<String, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger openStreams = new AtomicInteger();
+
+    @Value("${order.events.max-streams:50000}")
+    private int maxStreams;
+
+    @Value("${order.events.idle-timeout:5m}")
+    private Duration idleTimeout;
+
+    @Value("${order.events.heartbeat-interval:15s}")
+    private Duration heartbeatInterval;
+
+    @Value("${order.events.queue-capacity:16}")
+    private int queueCapacity;
+
+    private ExecutorService writers;
+    private ScheduledExecutorService heartbeats;
+    private Counter slowStreams;
+
+    @PostConstruct
+    void start() {
+        Gauge.builder("order.events.streams", openStreams, AtomicInteger::get)
+                .description("Open order status SSE streams")
+                .register(meterRegistry);
+        slowStreams = Counter.builder("order.events.slow-streams")
+                .description("Order status SSE streams closed because their queue was full")
+                .register(meterRegistry);
+
+        writers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("order-events-", 0).factory());
+        heartbeats = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("order-events-heartbeat").daemon().factory());
+        long interval = heartbeatInterval.toMillis();
+        heartbeats.scheduleWithFixedDelay(this::sendHeartbeats, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        heartbeats.shutdownNow();
+        writers.shutdownNow();
+    }
+
+    /**
+     * Opens a stream for the order. The current status (read after subscribing, so no
+     * change can slip in between) is the first event.
+     *
+     * @throws StreamLimitExceededException if order.events.max-streams streams are already open
+     */
+    public SseEmitter subscribe(String orderId, Supplier<OrderStatusChangedEvent> currentStatus) {
+        if (openStreams.incrementAndGet() > maxStreams) {
+            openStreams.decrementAndGet();
+            throw new StreamLimitExceededException(maxStreams);
+        }
+        // No container timeout: the idle sweep in sendHeartbeats() closes streams
+        Subscription subscription = new Subscription(orderId, new SseEmitter(0L));
+        subscription.emitter.onCompletion(subscription::discard);
+        subscription.emitter.onError(ex -> subscription.discard());
+        subscriptions.compute(orderId, (id, open) -> {
+            Set<Subscription> set = open != null ? open : ConcurrentHashMap.newKeySet();
+            set.add(subscription);
+            return set;
+        });
+
+        try {
+            subscription.offer(currentStatus.get());
+        } catch (RuntimeException ex) {
+            remove(subscription);
+            throw ex;
+        }
+        return subscription.emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(OrderStatusChangedEvent event) {
+        dispatch(event);
+    }
+
+    /**
+     * Queues the event for the order's streams on this node. Never blocks on a client.
+     */
+    public void dispatch(OrderStatusChangedEvent event) {
+        Set<Subscription> open = subscriptions.get(event.orderId());
+        if (open != null) {
+            open.forEach(subscription -> subscription.offer(event));
+        }
+    }
+
+    /**
+     * Queues an SSE comment for every stream so proxies keep the connection open and
+     * dead clients are detected; closes streams that have been idle too long.
+     */
+    public void sendHeartbeats() {
+        try {
+            long idleSince = System.nanoTime() - idleTimeout.toNanos();
+            int closed = 0;
+            for (Set<Subscription> open : subscriptions.values()) {
+                for (Subscription subscription : open) {
+                    if (subscription.lastEventAt - idleSince < 0) {
+                        subscription.close();
+                        closed++;
+                    } else {
+                        subscription.heartbeat();
+                    }
+                }
+            }
+            if (closed > 0) {
+                log.debug("Closed {} idle order event streams", closed);
+            }
+        } catch (RuntimeException ex) {
+            // Keep the schedule alive
+            log.error("Order event heartbeat failed", ex);
+        }
+    }
+
+    public int openStreams() {
+        return openStreams.get();
+    }
+
+    private void remove(Subscription subscription) {
+        subscriptions.computeIfPresent(subscription.orderId, (id, open) -> {
+            if (open.remove(subscription)) {
+                openStreams.decrementAndGet();
+            }
+            return open.isEmpty() ? null : open;
+        });
+    }
+
+    /**
+     * @param event null to only complete the stream
+     * @param last  complete the stream after this write
+     */
+    private record Outgoing(SseEmitter.SseEventBuilder event, boolean last) {
+    }
+
+    private final class Subscription {
+
+        private final String orderId;
+        private final SseEmitter emitter;
+        private final ArrayDeque<Outgoing> queue = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+        private long lastVersion = -1;
+        private volatile long lastEventAt = System.nanoTime();
+
+        private Subscription(String orderId, SseEmitter emitter) {
+            this.orderId = orderId;
+            this.emitter = emitter;
+        }
+
+        /**
+         * Skips stale events: the client already has a newer status.
+         */
+        private synchronized void offer(OrderStatusChangedEvent event) {
+            if (closed || event.version() <= lastVersion) {
+                return;
+            }
+            lastVersion = event.version();
+            lastEventAt = System.nanoTime();
+            enqueue(new Outgoing(SseEmitter.event()
+                    .id(String.valueOf(event.version()))
+                    .name("status")
+                    .data(event, MediaType.APPLICATION_JSON), event.status().isFinal()));
+        }
+
+        private synchronized void heartbeat() {
+            // A stream with queued events isn't idle; the heartbeat would only add to its backlog
+            if (!closed && queue.isEmpty()) {
+                enqueue(new Outgoing(SseEmitter.event().comment("heartbeat"), false));
+            }
+        }
+
+        private synchronized void close() {
+            if (!closed) {
+                enqueue(new Outgoing(null, true));
+            }
+        }
+
+        /**
+         * The client is gone: drop whatever is queued.
+         */
+        private synchronized void discard() {
+            closed = true;
+            queue.clear();
+            remove(this);
+        }
+
+        private void enqueue(Outgoing outgoing) {
+            if (queue.size() >= queueCapacity) {
+                // Too slow: complete the stream once the write in progress returns
+                log.debug("Closing slow order event stream for {}", orderId);
+                slowStreams.increment();
+                queue.clear();
+                outgoing = new Outgoing(null, true);
+            }
+            queue.add(outgoing);
+            if (outgoing.last()) {
+                closed = true;
+                remove(this);
+            }
+            if (!draining) {
+                draining = true;
+                writers.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Outgoing next;
+                synchronized (this) {
+                    next = queue.poll();
+                    if (next == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                if (next.event() != null && !write(next.event())) {
+                    discard();
+                    return;
+                }
+                if (next.last()) {
+                    emitter.complete();
+                    return;
+                }
+            }
+        }
+
+        private boolean write(SseEmitter.SseEventBuilder event) {
+            try {
+                emitter.send(event);
+                return true;
+            } catch (IOException | IllegalStateException ex) {
+                // Client disconnected or stream already completed; the container reports the error
+                log.debug("Dropping order event stream for {}: {}", orderId, ex.getMessage());
+                return false;
+            }
+        }
+    }
+}
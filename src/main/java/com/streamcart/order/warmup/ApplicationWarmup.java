@@ -0,0 +1,182 @@
+package com.streamcart.order.warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.streamcart.order.dto.CreateOrderRequest;
+import com.streamcart.order.dto.OrderResponse;
+import com.streamcart.order.entity.User;
+import com.streamcart.order.repository.ProductRepository;
+import com.streamcart.order.security.JwtUtil;
+import com.streamcart.order.service.OrderService;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Warms up a fresh pod before the readiness probe turns green.
+ *
+ * Steps, all within warmup.time-budget:
+ * 1. Opens the connection pool up to its minimum idle size
+ * 2. Loads the product catalog (read-only) so the hot queries and caches are primed
+ * 3. Repeats the request hot paths with synthetic data until warmup.iterations is reached:
+ *    JWT generation/validation, Jackson (de)serialization of CreateOrderRequest and
+ *    OrderResponse, and OrderService's request → entity → response/event mapping
+ *
+ * No side effects: the synthetic user and orders are never persisted or published.
+ *
+ * A failing step (e.g. the database briefly unavailable) is logged and skipped; warm-up
+ * still completes, with the failed steps in the health details, so the pod can't be
+ * kept out of rotation by it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ApplicationWarmup {
+
+    private static final String WARMUP_USERNAME = "warmup";
+
+    private final JwtUtil jwtUtil;
+    private final ObjectMapper objectMapper;
+    private final OrderService orderService;
+    private final ProductRepository productRepository;
+    private final DataSource dataSource;
+    private final PlatformTransactionManager transactionManager;
+    private final WarmupHealthIndicator healthIndicator;
+
+    @Value("${warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${warmup.iterations:5000}")
+    private int iterations;
+
+    @Value("${warmup.time-budget:15s}")
+    private Duration timeBudget;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            healthIndicator.markComplete(0, 0, false, List.of());
+            return;
+        }
+        long start = System.currentTimeMillis();
+        long deadline = start + timeBudget.toMillis();
+        log.info("🔥 Warming up (budget {} ms, {} iterations)", timeBudget.toMillis(), iterations);
+
+        List<String> failedStages = new ArrayList<>();
+        long[] completed = {0};
+        try {
+            runStage("connections", this::openConnections, failedStages);
+            runStage("catalog", this::preloadCatalog, failedStages);
+            runStage("hot-paths", () -> completed[0] = exerciseHotPaths(deadline), failedStages);
+        } finally {
+            long durationMs = System.currentTimeMillis() - start;
+            boolean budgetExceeded = completed[0] < iterations;
+            healthIndicator.markComplete(completed[0], durationMs, budgetExceeded, failedStages);
+            log.info("🔥 Warm-up finished: {} iterations in {} ms{}{}", completed[0], durationMs,
+                    budgetExceeded ? " (time budget exceeded)" : "",
+                    failedStages.isEmpty() ? "" : " (failed: " + String.join(", ", failedStages) + ")");
+        }
+    }
+
+    private void runStage(String name, Runnable stage, List<String> failedStages) {
+        try {
+            stage.run();
+        } catch (RuntimeException ex) {
+            log.warn("Warm-up stage {} failed, skipping it: {}", name, ex.getMessage());
+            failedStages.add(name);
+        }
+    }
+
+    private void openConnections() {
+        int target = 1;
+        // The pool itself: connections from the routing proxy only open on first use
+        DataSource pool = dataSource;
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+                target = Math.max(1, hikari.getMinimumIdle());
+                pool = hikari;
+            }
+        } catch (SQLException ex) {
+            log.warn("Could not inspect connection pool: {}", ex.getMessage());
+        }
+
+        // Hold all connections at once so the pool has to open each of them
+        List<Connection> held = new ArrayList<>(target);
+        try {
+            for (int i = 0; i < target; i++) {
+                Connection connection = pool.getConnection();
+                held.add(connection);
+                connection.isValid(1);
+            }
+        } catch (SQLException ex) {
+            log.warn("Could not pre-open connection pool: {}", ex.getMessage());
+        } finally {
+            held.forEach(this::closeQuietly);
+        }
+        log.debug("Pre-opened {} pooled connections", held.size());
+    }
+
+    private void preloadCatalog() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        Integer products = readOnly.execute(status -> productRepository.findAll().size());
+        log.debug("Preloaded {} products", products);
+    }
+
+    private long exerciseHotPaths(long deadline) {
+        User user = User.builder()
+                .id(-1L)
+                .username(WARMUP_USERNAME)
+                .email("warmup@localhost")
+                .firstName("Warm")
+                .lastName("Up")
+                .build();
+        CreateOrderRequest request = new CreateOrderRequest(List.of(
+                new CreateOrderRequest.OrderItemRequest("DM-PAPER-001", "Dunder Mifflin Paper - Premium White", 10, new BigDecimal("6.99")),
+                new CreateOrderRequest.OrderItemRequest("DM-SUPPLY-001", "Stapler - Red Swingline", 1, new BigDecimal("15.99")),
+                new CreateOrderRequest.OrderItemRequest("DM-MERCH-001", "World's Best Boss Mug", 2, new BigDecimal("12.99"))
+        ));
+
+        long completed = 0;
+        try {
+            while (completed < iterations && System.currentTimeMillis() < deadline) {
+                String token = jwtUtil.generateToken(WARMUP_USERNAME);
+                jwtUtil.validateToken(token, WARMUP_USERNAME);
+
+                CreateOrderRequest parsed = objectMapper.readValue(
+                        objectMapper.writeValueAsString(request), CreateOrderRequest.class);
+                OrderResponse response = orderService.simulateOrder(parsed, user);
+                objectMapper.readValue(objectMapper.writeValueAsString(response), OrderResponse.class);
+                completed++;
+            }
+        } catch (JsonProcessingException ex) {
+            log.warn("Warm-up serialization failed, stopping early: {}", ex.getMessage());
+        }
+        return completed;
+    }
+
+    private void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException ex) {
+            log.warn("Failed to return warm-up connection to the pool: {}", ex.getMessage());
+        }
+    }
+}
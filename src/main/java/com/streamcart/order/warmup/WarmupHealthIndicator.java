@@ -0,0 +1,36 @@
+package com.streamcart.order.warmup;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Reports DOWN while {@link ApplicationWarmup} is running.
+ *
+ * Part of the readiness group, so traffic only arrives once the hot paths are
+ * compiled and the connection pool is open. Warm-up always ends UP (even when it
+ * runs out of time budget or a step fails) so a slow or failed warm-up can never keep a
+ * pod out of rotation; partial lists the steps that failed.
+ */
+@Component("warmup")
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    private volatile Health health = Health.down().withDetail("status", "warming up").build();
+
+    void markComplete(long iterations, long durationMs, boolean budgetExceeded, List<String> failedStages) {
+        health = Health.up()
+                .withDetail("iterations", iterations)
+                .withDetail("durationMs", durationMs)
+                .withDetail("budgetExceeded", budgetExceeded)
+                .withDetail("partial", !failedStages.isEmpty())
+                .withDetail("failedStages", List.copyOf(failedStages))
+                .build();
+    }
+
+    @Override
+    public Health health() {
+        return health;
+    }
+}
@@ -0,0 +1,9 @@
+-- Status changes that arrived before the order could take them (OrderStatusUpdater), e.g.
+-- inventory reserved while the payment is still processing. Applied as soon as the order
+-- reaches a status they follow from; dropped once they can no longer apply.
+CREATE TABLE order_parked_transitions (
+    order_id       VARCHAR(255) NOT NULL,
+    target_status  VARCHAR(255) NOT NULL,
+    parked_at      TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_order_parked_transitions PRIMARY KEY (order_id, target_status)
+);
@@ -0,0 +1,10 @@
+-- Per-user totals of orders deleted from orders by the archiver or the purge, added in
+-- the same transaction as the delete, so a user_order_summary rebuild still counts them.
+-- Orders removed before this table existed are not in it.
+CREATE TABLE user_removed_order_totals (
+    user_id         BIGINT         PRIMARY KEY,
+    order_count     BIGINT         NOT NULL,
+    lifetime_spend  NUMERIC(38, 2) NOT NULL,
+    last_order_at   TIMESTAMP(6),
+    CONSTRAINT fk_user_removed_order_totals_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
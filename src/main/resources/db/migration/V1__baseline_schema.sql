@@ -0,0 +1,45 @@
+-- Baseline schema, equivalent to what Hibernate's ddl-auto: update used to create.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate).
+
+CREATE TABLE users (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username       VARCHAR(255)  NOT NULL,
+    email          VARCHAR(255)  NOT NULL,
+    password       VARCHAR(255)  NOT NULL,
+    first_name     VARCHAR(255)  NOT NULL,
+    last_name      VARCHAR(255)  NOT NULL,
+    created_at     TIMESTAMP(6)  NOT NULL,
+    last_login_at  TIMESTAMP(6),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE products (
+    product_id      VARCHAR(255)   PRIMARY KEY,
+    name            VARCHAR(255)   NOT NULL,
+    price           NUMERIC(38, 2) NOT NULL,
+    description     VARCHAR(1000),
+    stock_quantity  INTEGER,
+    created_at      TIMESTAMP(6)   NOT NULL,
+    updated_at      TIMESTAMP(6)
+);
+
+CREATE TABLE orders (
+    order_id      VARCHAR(255)   PRIMARY KEY,
+    user_id       BIGINT         NOT NULL,
+    total_amount  NUMERIC(38, 2) NOT NULL,
+    status        VARCHAR(255)   NOT NULL,
+    created_at    TIMESTAMP(6)   NOT NULL,
+    updated_at    TIMESTAMP(6),
+    CONSTRAINT fk_orders_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE order_items (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    order_id      VARCHAR(255)   NOT NULL,
+    product_id    VARCHAR(255)   NOT NULL,
+    product_name  VARCHAR(255)   NOT NULL,
+    quantity      INTEGER        NOT NULL,
+    price         NUMERIC(38, 2) NOT NULL,
+    CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders (order_id)
+);
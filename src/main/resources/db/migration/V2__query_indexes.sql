@@ -0,0 +1,16 @@
+-- Indexes for every repository query (see RepositoryQueryPlanTest).
+-- users.username / users.email are already covered by their unique constraints.
+
+-- My orders: OrderRepository.findByUser / findByUser_Username.
+-- Covering: the key holds every orders column, so the listing is an index-only scan
+-- that can also return rows newest-first without a sort.
+CREATE INDEX idx_orders_user_created
+    ON orders (user_id, created_at DESC, order_id, status, total_amount, updated_at);
+
+-- Status queries (status transitions, stale PENDING orders), oldest first
+CREATE INDEX idx_orders_status_created
+    ON orders (status, created_at);
+
+-- Item loads for an order (Order.items)
+CREATE INDEX idx_order_items_order
+    ON order_items (order_id);
@@ -0,0 +1,17 @@
+-- Embedded item storage (order.item-storage=embedded): all lines of an order in one
+-- JSON column instead of one order_items row per line. NULL for normalized orders.
+ALTER TABLE orders ADD COLUMN items_payload VARCHAR;
+
+-- Item-level projection for aggregate queries over embedded orders
+-- (OrderItemProjection, filled asynchronously after each order commits)
+CREATE TABLE order_item_projection (
+    order_id      VARCHAR(255)   NOT NULL,
+    line_no       INTEGER        NOT NULL,
+    username      VARCHAR(255)   NOT NULL,
+    product_id    VARCHAR(255)   NOT NULL,
+    product_name  VARCHAR(255)   NOT NULL,
+    quantity      INTEGER        NOT NULL,
+    price         NUMERIC(38, 2) NOT NULL,
+    ordered_at    TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT pk_order_item_projection PRIMARY KEY (order_id, line_no)
+);
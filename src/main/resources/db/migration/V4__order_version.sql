@@ -0,0 +1,2 @@
+-- Optimistic locking for orders: every status write checks and bumps the version
+ALTER TABLE orders ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,3 @@
+-- Optimistic locking for users and products (@Version)
+ALTER TABLE users ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE products ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
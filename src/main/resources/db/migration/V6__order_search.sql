@@ -0,0 +1,14 @@
+-- Roles: support staff can search across all users' orders
+ALTER TABLE users ADD COLUMN role VARCHAR(32) NOT NULL DEFAULT 'USER';
+
+-- Order search (OrderSearchRepository), newest first with keyset pagination on (created_at, order_id).
+-- order_id is the tie-breaker, so it is part of both keys.
+
+-- Status search across users (support): replaces V2's (status, created_at)
+DROP INDEX idx_orders_status_created;
+CREATE INDEX idx_orders_status_created
+    ON orders (status, created_at, order_id);
+
+-- One user's orders in a status
+CREATE INDEX idx_orders_user_status_created
+    ON orders (user_id, status, created_at DESC, order_id DESC);
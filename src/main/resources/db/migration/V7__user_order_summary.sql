@@ -0,0 +1,19 @@
+-- Per-user order summary read model (UserOrderSummaryProjection): kept up to date with
+-- delta updates in the same transaction as each order write, so the account page reads
+-- one row instead of aggregating the user's orders.
+CREATE TABLE user_order_summary (
+    user_id         BIGINT         PRIMARY KEY,
+    order_count     BIGINT         NOT NULL,
+    lifetime_spend  NUMERIC(38, 2) NOT NULL,
+    last_order_at   TIMESTAMP(6),
+    CONSTRAINT fk_user_order_summary_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+-- Existing orders; later drift is fixed by UserOrderSummaryRebuilder
+INSERT INTO user_order_summary (user_id, order_count, lifetime_spend, last_order_at)
+SELECT user_id,
+       COUNT(*),
+       SUM(CASE WHEN status IN ('CANCELLED', 'FAILED') THEN 0 ELSE total_amount END),
+       MAX(created_at)
+FROM orders
+GROUP BY user_id;
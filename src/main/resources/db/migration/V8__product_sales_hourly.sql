@@ -0,0 +1,15 @@
+-- Hourly sales per product (ProductSalesAggregator): aggregated in memory from new orders
+-- and added here when each hour closes, so reporting never groups the OLTP tables.
+-- Rows only grow: late orders for an hour already written are added to its row.
+CREATE TABLE product_sales_hourly (
+    hour_start  TIMESTAMP(6)   NOT NULL,
+    product_id  VARCHAR(255)   NOT NULL,
+    orders      BIGINT         NOT NULL,
+    units       BIGINT         NOT NULL,
+    revenue     NUMERIC(38, 2) NOT NULL,
+    CONSTRAINT pk_product_sales_hourly PRIMARY KEY (hour_start, product_id)
+);
+
+-- One product over time
+CREATE INDEX idx_product_sales_hourly_product
+    ON product_sales_hourly (product_id, hour_start);
@@ -0,0 +1,8 @@
+-- order_items carries its order's created_at, so both tables can be partitioned by month
+-- on the same key (db/vendor/postgresql/V10) and an order's items sit in the matching partition
+ALTER TABLE order_items ADD COLUMN created_at TIMESTAMP(6);
+
+UPDATE order_items i
+SET created_at = (SELECT o.created_at FROM orders o WHERE o.order_id = i.order_id);
+
+ALTER TABLE order_items ALTER COLUMN created_at SET NOT NULL;
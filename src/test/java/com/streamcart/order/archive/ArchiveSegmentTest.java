@@ -0,0 +1,62 @@
+package com.streamcart.order.archive;
+
+import com.streamcart.order.entity.OrderLine;
+import com.streamcart.order.entity.OrderStatus;
+import com.streamcart.order.partition.OrderIds;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ArchiveSegmentTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testWriteThenOpen_FindsEveryOrderByIdAndUser() throws IOException {
+        LocalDateTime start = LocalDateTime.of(2024, 3, 1, 9, 0, 0, 123_456_000);
+        List<ArchivedOrder> orders = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            orders.add(order(OrderIds.next(start.plusMinutes(i)), i % 3, start.plusMinutes(i), i % 2 == 0));
+        }
+        Path file = dir.resolve("orders-000001.seg");
+
+        ArchiveSegmentWriter.write(file, orders, 4);
+        ArchiveSegment segment = ArchiveSegment.open(file);
+
+        assertThat(segment.orderCount()).isEqualTo(50);
+        for (ArchivedOrder order : orders) {
+            assertThat(segment.find(order.orderId())).contains(order);
+        }
+        assertThat(segment.findByUser(1)).hasSize(17).allMatch(order -> order.userId() == 1);
+        assertThat(segment.findByUser(99)).isEmpty();
+        // Inside the segment's id range, and before it
+        assertThat(segment.find(OrderIds.next(start.plusSeconds(90)))).isEmpty();
+        assertThat(segment.find(OrderIds.next(start.minusDays(1)))).isEmpty();
+        assertThat(dir.resolve("orders-000001.seg.tmp")).doesNotExist();
+    }
+
+    @Test
+    void testOpen_RejectsOtherFiles() throws IOException {
+        Path file = Files.writeString(dir.resolve("orders-000002.seg"), "not a segment, just some text");
+
+        assertThatThrownBy(() -> ArchiveSegment.open(file)).isInstanceOf(IOException.class);
+    }
+
+    private static ArchivedOrder order(String orderId, long userId, LocalDateTime createdAt, boolean updated) {
+        return new ArchivedOrder(orderId, userId, "user" + userId, new BigDecimal("20.97"), OrderStatus.DELIVERED,
+                createdAt, updated ? createdAt.plusDays(3) : null,
+                List.of(new OrderLine("DM-PAPER-001", "Paper", 2, new BigDecimal("6.99")),
+                        new OrderLine("DM-SUPPLY-001", "Stapler", 1, new BigDecimal("6.99"))));
+    }
+}
@@ -0,0 +1,275 @@
+package com.streamcart.order.archive;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.streamcart.order.entity.Order;
+import com.streamcart.order.entity.OrderItem;
+import com.streamcart.order.entity.OrderLine;
+import com.streamcart.order.entity.OrderStatus;
+import com.streamcart.order.entity.User;
+import com.streamcart.order.entity.UserRole;
+import com.streamcart.order.partition.OrderIds;
+import com.streamcart.order.projection.UserOrderSummaryProjection;
+import com.streamcart.order.repository.OrderRepository;
+import com.streamcart.order.repository.UserRepository;
+import com.streamcart.order.security.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The archiver deletes committed rows, so these tests commit their writes.
+ */
+@SpringBootTest(properties = {"order.archive.after=30d", "order.archive.orders-per-block=2"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OrderArchiverTest {
+
+    private static final Path ARCHIVE_DIR = tempDirectory();
+
+    @DynamicPropertySource
+    static void archiveDirectory(DynamicPropertyRegistry registry) {
+        registry.add("order.archive.directory", ARCHIVE_DIR::toString);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderArchiver archiver;
+
+    @Autowired
+    private OrderArchive archive;
+
+    @Autowired
+    private UserOrderSummaryProjection summaryProjection;
+
+    @Test
+    void testArchive_MovesOldFinalOrdersOutAndKeepsThemReadable() throws Exception {
+        User owner = findOrCreateUser("archive-owner");
+        findOrCreateUser("archive-other");
+        LocalDateTime old = LocalDateTime.now().minusDays(90).truncatedTo(ChronoUnit.MICROS);
+
+        String normalized = saveOrder(owner, old, OrderStatus.DELIVERED, false);
+        String embedded = saveOrder(owner, old.plusMinutes(1), OrderStatus.CANCELLED, true);
+        String oldButOpen = saveOrder(owner, old.plusMinutes(2), OrderStatus.SHIPPED, false);
+        String recent = saveOrder(owner, LocalDateTime.now().minusDays(1).truncatedTo(ChronoUnit.MICROS),
+                OrderStatus.DELIVERED, false);
+
+        assertThat(archiver.archive()).isEqualTo(2);
+        assertThat(archiver.archive()).isZero();
+
+        assertThat(hotOrderIds(owner)).containsExactlyInAnyOrder(oldButOpen, recent);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM order_items WHERE order_id = ?", Long.class, normalized)).isZero();
+        assertThat(archive.find(normalized).orElseThrow().lines()).hasSize(2);
+        assertThat(archive.find(embedded).orElseThrow().lines()).hasSize(2);
+
+        JsonNode order = getJson("/api/orders/" + normalized, "archive-owner");
+        assertThat(order.get("status").asText()).isEqualTo("DELIVERED");
+        assertThat(order.get("totalAmount").decimalValue()).isEqualByComparingTo("26.97");
+        assertThat(order.get("createdAt").asText()).startsWith(old.toString().substring(0, 16));
+        assertThat(getJson("/api/orders/" + embedded, "archive-owner").get("status").asText()).isEqualTo("CANCELLED");
+
+        mockMvc.perform(get("/api/orders/" + normalized)
+                        .header("Authorization", "Bearer " + jwtUtil.generateToken("archive-other")))
+                .andExpect(status().isForbidden());
+
+        List<String> myOrders = new ArrayList<>();
+        getJson("/api/orders/my-orders", "archive-owner").forEach(node -> myOrders.add(node.get("orderId").asText()));
+        assertThat(myOrders).containsExactlyInAnyOrder(normalized, embedded, oldButOpen, recent);
+
+        // A rebuild adds the archived orders' totals back; the cancelled one has no spend
+        summaryProjection.rebuild(owner.getId(), owner.getId());
+        UserOrderSummaryProjection.UserOrderSummary summary = summaryProjection.find(owner.getId()).orElseThrow();
+        assertThat(summary.orderCount()).isEqualTo(4);
+        assertThat(summary.lifetimeSpend()).isEqualByComparingTo("80.91");
+    }
+
+    @Test
+    void testSearchAndExport_KeepOldHotOrdersAndFlagPossiblyArchivedOnes() throws Exception {
+        User owner = findOrCreateUser("archive-searcher");
+        User finance = findOrCreateUser("archive-finance", UserRole.FINANCE);
+        String archived = saveOrder(owner, LocalDateTime.now().minusDays(70).truncatedTo(ChronoUnit.MICROS),
+                OrderStatus.DELIVERED, false);
+        String oldButOpen = saveOrder(owner, LocalDateTime.now().minusDays(70).truncatedTo(ChronoUnit.MICROS),
+                OrderStatus.SHIPPED, false);
+        String recent = saveOrder(owner, LocalDateTime.now().minusDays(2).truncatedTo(ChronoUnit.MICROS),
+                OrderStatus.DELIVERED, false);
+        archiver.archive();
+        String ownerToken = jwtUtil.generateToken("archive-searcher");
+        String financeToken = jwtUtil.generateToken(finance.getUsername());
+
+        MockHttpServletResponse search = streamed(get("/api/orders/search")
+                .header("Authorization", "Bearer " + ownerToken)
+                .param("createdFrom", LocalDateTime.now().minusDays(100).toString()));
+        List<String> found = new ArrayList<>();
+        objectMapper.readTree(search.getContentAsString())
+                .get("orders").forEach(node -> found.add(node.get("orderId").asText()));
+        assertThat(found).containsExactly(recent, oldButOpen);
+        assertThat(search.getHeader("X-Archived-Before")).isNotNull();
+
+        // Nothing archived can match: no flag
+        assertThat(streamed(get("/api/orders/search")
+                .header("Authorization", "Bearer " + ownerToken)
+                .param("status", "SHIPPED")).getHeader("X-Archived-Before")).isNull();
+        assertThat(streamed(get("/api/orders/search")
+                .header("Authorization", "Bearer " + ownerToken)
+                .param("createdFrom", LocalDateTime.now().minusDays(10).toString()))
+                .getHeader("X-Archived-Before")).isNull();
+
+        MockHttpServletResponse export = streamed(get("/api/orders/export")
+                .header("Authorization", "Bearer " + financeToken));
+        assertThat(export.getContentAsString()).contains(recent, oldButOpen).doesNotContain(archived);
+        assertThat(export.getHeader("X-Archived-Before")).isNotNull();
+    }
+
+    @Test
+    void testOpenSegments_FindsOrdersArchivedBeforeStartup() throws IOException {
+        User owner = findOrCreateUser("archive-restart");
+        String orderId = saveOrder(owner, LocalDateTime.now().minusDays(60).truncatedTo(ChronoUnit.MICROS),
+                OrderStatus.FAILED, true);
+        archiver.archive();
+
+        // What a fresh instance sees
+        OrderArchive reopened = new OrderArchive();
+        ReflectionTestUtils.setField(reopened, "directory", ARCHIVE_DIR.toString());
+        reopened.openSegments();
+
+        assertThat(reopened.segmentCount()).isEqualTo(archive.segmentCount());
+        assertThat(reopened.find(orderId)).isEqualTo(archive.find(orderId)).isPresent();
+        assertThat(reopened.findByUser(owner.getId())).extracting(ArchivedOrder::orderId).containsExactly(orderId);
+    }
+
+    @Test
+    void testFind_RescansForSegmentsWrittenByAnotherNode() {
+        // Another node, started before this one archived anything
+        OrderArchive otherNode = new OrderArchive();
+        ReflectionTestUtils.setField(otherNode, "directory", ARCHIVE_DIR.toString());
+        otherNode.openSegments();
+        int segmentsBefore = otherNode.segmentCount();
+
+        User owner = findOrCreateUser("archive-shared");
+        String first = saveOrder(owner, LocalDateTime.now().minusDays(50).truncatedTo(ChronoUnit.MICROS),
+                OrderStatus.DELIVERED, false);
+        archiver.archive();
+        String second = saveOrder(owner, LocalDateTime.now().minusDays(40).truncatedTo(ChronoUnit.MICROS),
+                OrderStatus.DELIVERED, true);
+        archiver.archive();
+
+        assertThat(otherNode.find(first)).isPresent();
+        assertThat(otherNode.findByUser(owner.getId())).extracting(ArchivedOrder::orderId)
+                .containsExactlyInAnyOrder(first, second);
+        assertThat(otherNode.segmentCount()).isEqualTo(segmentsBefore + 2).isEqualTo(archive.segmentCount());
+    }
+
+    private String saveOrder(User user, LocalDateTime createdAt, OrderStatus status, boolean embeddedItems) {
+        Order order = new Order();
+        order.setOrderId(OrderIds.next(createdAt));
+        order.setUser(user);
+        order.setStatus(status);
+        order.setCreatedAt(createdAt);
+        order.setTotalAmount(new BigDecimal("26.97"));
+        List<OrderLine> lines = List.of(
+                new OrderLine("AR-PAPER", "Paper", 2, new BigDecimal("6.99")),
+                new OrderLine("AR-MUG", "Mug", 1, new BigDecimal("12.99")));
+        if (embeddedItems) {
+            order.setEmbeddedItems(lines);
+        } else {
+            for (OrderLine line : lines) {
+                OrderItem item = new OrderItem();
+                item.setProductId(line.productId());
+                item.setProductName(line.productName());
+                item.setQuantity(line.quantity());
+                item.setPrice(line.price());
+                order.addItem(item);
+            }
+        }
+        return orderRepository.save(order).getOrderId();
+    }
+
+    private List<String> hotOrderIds(User user) {
+        return jdbcTemplate.queryForList("SELECT order_id FROM orders WHERE user_id = ?", String.class, user.getId());
+    }
+
+    private JsonNode getJson(String path, String username) throws Exception {
+        String body = mockMvc.perform(get(path)
+                        .header("Authorization", "Bearer " + jwtUtil.generateToken(username)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private MockHttpServletResponse streamed(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult started = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+    }
+
+    private User findOrCreateUser(String username) {
+        return findOrCreateUser(username, UserRole.USER);
+    }
+
+    private User findOrCreateUser(String username, UserRole role) {
+        return userRepository.findByUsername(username).orElseGet(() -> userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@dundermifflin.com")
+                .password("secret")
+                .firstName("Archive")
+                .lastName("User")
+                .role(role)
+                .build()));
+    }
+
+    private static Path tempDirectory() {
+        try {
+            return Files.createTempDirectory("order-archive");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.streamcart.order.benchmark;
+
+import com.streamcart.order.archive.ArchivedOrder;
+import com.streamcart.order.archive.OrderArchive;
+import com.streamcart.order.entity.OrderLine;
+import com.streamcart.order.entity.OrderStatus;
+import com.streamcart.order.partition.OrderIds;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lookup latency of archived orders by id: hits spread over every segment, and misses
+ * (ids inside the archived range that were never archived, the worst case, as each
+ * segment whose range covers the id inflates a block).
+ *
+ * Excluded from the default build. Run with: ./mvnw -Pbenchmark test -Dtest=ArchiveLookupBenchmarkTest
+ * Sizes: -Dbenchmark.archive-segments=10 -Dbenchmark.archive-segment-size=100000
+ *
+ * Segments are freshly written, so their pages are in the OS page cache; numbers for a
+ * cold archive also include the page faults of reading the footer and one block.
+ */
+@Tag("benchmark")
+class ArchiveLookupBenchmarkTest {
+
+    private static final int SEGMENTS = Integer.getInteger("benchmark.archive-segments", 10);
+    private static final int SEGMENT_SIZE = Integer.getInteger("benchmark.archive-segment-size", 100_000);
+    private static final int ORDERS_PER_BLOCK = Integer.getInteger("benchmark.archive-orders-per-block", 16);
+    private static final int LOOKUPS = 200_000;
+    private static final int WARMUP_LOOKUPS = 50_000;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void measureLookupLatency() {
+        OrderArchive archive = new OrderArchive();
+        ReflectionTestUtils.setField(archive, "directory", dir.toString());
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.of(2023, 1, 1, 0, 0);
+        List<String> archivedIds = new ArrayList<>();
+
+        long writeStart = System.nanoTime();
+        for (int s = 0; s < SEGMENTS; s++) {
+            List<ArchivedOrder> orders = new ArrayList<>(SEGMENT_SIZE);
+            for (int i = 0; i < SEGMENT_SIZE; i++) {
+                LocalDateTime createdAt = start.plusSeconds((long) s * SEGMENT_SIZE * 10 + i * 10L);
+                String orderId = OrderIds.of(createdAt, new UUID(random.nextLong(), random.nextLong()));
+                orders.add(order(orderId, random.nextInt(10_000), createdAt));
+                archivedIds.add(orderId);
+            }
+            archive.append(orders, ORDERS_PER_BLOCK);
+        }
+        long writeNanos = System.nanoTime() - writeStart;
+
+        Function<Integer, String> hit = i -> archivedIds.get(random.nextInt(archivedIds.size()));
+        // Five seconds into a ten-second gap: inside a segment's range but never archived
+        Function<Integer, String> miss = i -> OrderIds.next(start.plusSeconds(random.nextInt(archivedIds.size()) * 10L + 5));
+
+        measure(archive, WARMUP_LOOKUPS, hit, true);
+        measure(archive, WARMUP_LOOKUPS, miss, false);
+        long[] hits = measure(archive, LOOKUPS, hit, true);
+        long[] misses = measure(archive, LOOKUPS, miss, false);
+
+        System.out.printf("%nArchive lookups: %d segments x %d orders, %d orders per block (written in %.1f s)%n",
+                SEGMENTS, SEGMENT_SIZE, ORDERS_PER_BLOCK, writeNanos / 1e9);
+        System.out.printf("%-8s %12s %12s %12s %12s%n", "lookup", "p50 (us)", "p99 (us)", "max (us)", "lookups/s");
+        print("hit", hits);
+        print("miss", misses);
+        System.out.println();
+    }
+
+    private static long[] measure(OrderArchive archive, int count, Function<Integer, String> ids, boolean expectFound) {
+        long[] nanos = new long[count];
+        for (int i = 0; i < count; i++) {
+            String orderId = ids.apply(i);
+            long start = System.nanoTime();
+            boolean found = archive.find(orderId).isPresent();
+            nanos[i] = System.nanoTime() - start;
+            assertThat(found).isEqualTo(expectFound);
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    private static void print(String label, long[] sorted) {
+        double totalSeconds = Arrays.stream(sorted).sum() / 1e9;
+        System.out.printf("%-8s %12.1f %12.1f %12.1f %12.0f%n", label,
+                sorted[sorted.length / 2] / 1e3,
+                sorted[(int) (sorted.length * 0.99)] / 1e3,
+                sorted[sorted.length - 1] / 1e3,
+                sorted.length / totalSeconds);
+    }
+
+    private static ArchivedOrder order(String orderId, long userId, LocalDateTime createdAt) {
+        return new ArchivedOrder(orderId, userId, "user" + userId, new BigDecimal("26.97"), OrderStatus.DELIVERED,
+                createdAt, createdAt.plusDays(4),
+                List.of(new OrderLine("DM-PAPER-001", "Dunder Mifflin Paper - Premium White", 2, new BigDecimal("6.99")),
+                        new OrderLine("DM-MUG-001", "World's Best Boss Mug", 1, new BigDecimal("12.99"))));
+    }
+}
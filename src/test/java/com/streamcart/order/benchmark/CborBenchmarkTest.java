@@ -0,0 +1,121 @@
+package com.streamcart.order.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.streamcart.order.dto.CreateOrderRequest;
+import com.streamcart.order.dto.OrderResponse;
+import com.streamcart.order.entity.OrderLine;
+import com.streamcart.order.entity.OrderStatus;
+import com.streamcart.order.partition.OrderIds;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Payload size and serialize/parse time of JSON vs CBOR for CreateOrderRequest and
+ * OrderResponse (with expand=items) bodies of 1, 50 and 1000 items, using the
+ * application's own mappers (the ones behind the JSON and CBOR message converters).
+ *
+ * Excluded from the default build. Run with: ./mvnw -Pbenchmark test -Dtest=CborBenchmarkTest
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class CborBenchmarkTest {
+
+    private static final int[] ITEM_COUNTS = {1, 50, 1000};
+    // Items written per measurement, so each size does about the same amount of work
+    private static final int ITEMS_PER_RUN = Integer.getInteger("benchmark.cbor-items-per-run", 500_000);
+
+    @Autowired
+    private ObjectMapper jsonMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    private record Result(int bytes, double serializeMicros, double parseMicros) {
+    }
+
+    @Test
+    void compareJsonAndCbor() throws Exception {
+        ObjectMapper cborMapper = cborConverter.getObjectMapper();
+
+        System.out.printf("%nJSON vs CBOR bodies%n");
+        System.out.printf("%-22s %6s %10s %10s %7s %12s %12s %12s %12s%n", "body", "items",
+                "json (B)", "cbor (B)", "size", "json ser us", "cbor ser us", "json parse us", "cbor parse us");
+        for (int items : ITEM_COUNTS) {
+            int iterations = Math.max(200, ITEMS_PER_RUN / items);
+            CreateOrderRequest request = request(items);
+            OrderResponse response = response(items);
+
+            print("CreateOrderRequest", items,
+                    measure(jsonMapper, request, CreateOrderRequest.class, iterations),
+                    measure(cborMapper, request, CreateOrderRequest.class, iterations));
+            print("OrderResponse", items,
+                    measure(jsonMapper, response, OrderResponse.class, iterations),
+                    measure(cborMapper, response, OrderResponse.class, iterations));
+        }
+        System.out.println();
+    }
+
+    private static <T> Result measure(ObjectMapper mapper, T value, Class<T> type, int iterations) throws Exception {
+        ObjectWriter writer = mapper.writerFor(type);
+        ObjectReader reader = mapper.readerFor(type);
+        byte[] bytes = writer.writeValueAsBytes(value);
+        assertThat((Object) reader.readValue(bytes)).isEqualTo(value);
+
+        // Warm-up, then the measured runs
+        long sink = 0;
+        for (int i = 0; i < iterations; i++) {
+            sink += writer.writeValueAsBytes(value).length;
+            sink += reader.readValue(bytes).hashCode();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += writer.writeValueAsBytes(value).length;
+        }
+        long serializeNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += reader.readValue(bytes).hashCode();
+        }
+        long parseNanos = System.nanoTime() - start;
+        assertThat(sink).isNotZero();
+        return new Result(bytes.length, serializeNanos / 1e3 / iterations, parseNanos / 1e3 / iterations);
+    }
+
+    private static void print(String body, int items, Result json, Result cbor) {
+        System.out.printf("%-22s %6d %10d %10d %6.0f%% %12.2f %12.2f %12.2f %12.2f%n", body, items,
+                json.bytes(), cbor.bytes(), 100.0 * cbor.bytes() / json.bytes(),
+                json.serializeMicros(), cbor.serializeMicros(), json.parseMicros(), cbor.parseMicros());
+    }
+
+    private static CreateOrderRequest request(int items) {
+        return new CreateOrderRequest(IntStream.range(0, items)
+                .mapToObj(i -> new CreateOrderRequest.OrderItemRequest(
+                        "DM-PAPER-" + i, "Dunder Mifflin Paper - Premium White", 10 + i % 5, new BigDecimal("6.99")))
+                .toList());
+    }
+
+    private static OrderResponse response(int items) {
+        LocalDateTime createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        List<OrderLine> lines = IntStream.range(0, items)
+                .mapToObj(i -> new OrderLine(
+                        "DM-PAPER-" + i, "Dunder Mifflin Paper - Premium White", 10 + i % 5, new BigDecimal("6.99")))
+                .toList();
+        return new OrderResponse(OrderIds.next(createdAt), "mscott", new BigDecimal("699.00"), OrderStatus.PENDING,
+                createdAt).withItems(lines);
+    }
+}
@@ -0,0 +1,143 @@
+package com.streamcart.order.benchmark;
+
+import com.streamcart.order.entity.Order;
+import com.streamcart.order.entity.OrderLine;
+import com.streamcart.order.entity.OrderStatus;
+import com.streamcart.order.entity.User;
+import com.streamcart.order.partition.OrderIds;
+import com.streamcart.order.repository.OrderRepository;
+import com.streamcart.order.repository.UserRepository;
+import com.streamcart.order.security.JwtUtil;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Cost of a client polling an unchanged order and an unchanged order list: full 200
+ * responses vs revalidating with If-None-Match (304, no body).
+ *
+ * Excluded from the default build. Run with: ./mvnw -Pbenchmark test -Dtest=ConditionalGetBenchmarkTest
+ * Size of the polled list: -Dbenchmark.orders-per-user=50
+ *
+ * Runs through MockMvc on the test H2 database, so the time saved is the server's
+ * (query, mapping, serialization); bytes are the response body a client would download.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalGetBenchmarkTest {
+
+    private static final int ORDERS_PER_USER = Integer.getInteger("benchmark.orders-per-user", 50);
+    private static final int POLLS = Integer.getInteger("benchmark.polls", 2_000);
+    private static final int WARMUP_POLLS = 500;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private record Result(double pollsPerSecond, double bytesPerPoll) {
+    }
+
+    @Test
+    void comparePlainAndConditionalPolling() throws Exception {
+        User user = userRepository.findByUsername("etagbench").orElseGet(() -> userRepository.save(User.builder()
+                .username("etagbench")
+                .email("etagbench@dundermifflin.com")
+                .password("benchmark")
+                .firstName("Bench")
+                .lastName("Mark")
+                .build()));
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS).minusHours(1);
+        List<String> orderIds = new ArrayList<>(IntStream.range(0, ORDERS_PER_USER)
+                .mapToObj(i -> createOrder(user, start.plusSeconds(i)))
+                .toList());
+        String token = "Bearer " + jwtUtil.generateToken("etagbench");
+        String orderUrl = "/api/orders/" + orderIds.get(0);
+        String listUrl = "/api/orders/my-orders";
+
+        String orderETag = mockMvc.perform(get(orderUrl).header("Authorization", token)).andReturn()
+                .getResponse().getHeader(HttpHeaders.ETAG);
+        String listETag = mockMvc.perform(get(listUrl).header("Authorization", token)).andReturn()
+                .getResponse().getHeader(HttpHeaders.ETAG);
+
+        poll(WARMUP_POLLS, get(orderUrl).header("Authorization", token), 200);
+        poll(WARMUP_POLLS, get(orderUrl).header("Authorization", token).header(HttpHeaders.IF_NONE_MATCH, orderETag), 304);
+        poll(WARMUP_POLLS, get(listUrl).header("Authorization", token), 200);
+        poll(WARMUP_POLLS, get(listUrl).header("Authorization", token).header(HttpHeaders.IF_NONE_MATCH, listETag), 304);
+
+        Result orderPlain = poll(POLLS, get(orderUrl).header("Authorization", token), 200);
+        Result orderConditional = poll(POLLS,
+                get(orderUrl).header("Authorization", token).header(HttpHeaders.IF_NONE_MATCH, orderETag), 304);
+        Result listPlain = poll(POLLS, get(listUrl).header("Authorization", token), 200);
+        Result listConditional = poll(POLLS,
+                get(listUrl).header("Authorization", token).header(HttpHeaders.IF_NONE_MATCH, listETag), 304);
+
+        System.out.printf("%nPolling unchanged resources: %d polls each, %d orders in the list%n", POLLS, ORDERS_PER_USER);
+        System.out.printf("%-26s %12s %14s%n", "request", "polls/s", "body bytes");
+        print("GET order", orderPlain);
+        print("GET order + If-None-Match", orderConditional);
+        print("GET my-orders", listPlain);
+        print("GET my-orders + INM", listConditional);
+        System.out.printf("%-26s %11.2fx %14.0f%n", "my-orders speed-up / saved",
+                listConditional.pollsPerSecond() / listPlain.pollsPerSecond(),
+                listPlain.bytesPerPoll() - listConditional.bytesPerPoll());
+        System.out.println();
+
+        orderRepository.deleteAllById(orderIds);
+    }
+
+    private Result poll(int count, MockHttpServletRequestBuilder request, int expectedStatus) throws Exception {
+        long bytes = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            MvcResult result = mockMvc.perform(request).andReturn();
+            assertThat(result.getResponse().getStatus()).isEqualTo(expectedStatus);
+            bytes += result.getResponse().getContentAsByteArray().length;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return new Result(count / seconds, (double) bytes / count);
+    }
+
+    private static void print(String label, Result result) {
+        System.out.printf("%-26s %12.0f %14.0f%n", label, result.pollsPerSecond(), result.bytesPerPoll());
+    }
+
+    private String createOrder(User user, LocalDateTime createdAt) {
+        Order order = new Order();
+        order.setOrderId(OrderIds.next(createdAt));
+        order.setCreatedAt(createdAt);
+        order.setUser(user);
+        order.setStatus(OrderStatus.PENDING);
+        order.setTotalAmount(new BigDecimal("26.97"));
+        order.setEmbeddedItems(List.of(
+                new OrderLine("DM-PAPER-001", "Dunder Mifflin Paper - Premium White", 2, new BigDecimal("6.99")),
+                new OrderLine("DM-MUG-001", "World's Best Boss Mug", 1, new BigDecimal("12.99"))));
+        return orderRepository.save(order).getOrderId();
+    }
+}
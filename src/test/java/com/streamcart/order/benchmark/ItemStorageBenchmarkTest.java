@@ -0,0 +1,146 @@
+package com.streamcart.order.benchmark;
+
+import com.streamcart.order.entity.Order;
+import com.streamcart.order.entity.OrderItem;
+import com.streamcart.order.entity.OrderLine;
+import com.streamcart.order.entity.OrderStatus;
+import com.streamcart.order.entity.User;
+import com.streamcart.order.repository.OrderRepository;
+import com.streamcart.order.repository.UserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Write and read throughput of normalized (order_items rows) vs embedded
+ * (orders.items_payload) item storage.
+ *
+ * Excluded from the default build. Run with: ./mvnw -Pbenchmark test
+ * Runs on the test H2 database; point it at PostgreSQL for production-like numbers:
+ * ./mvnw -Pbenchmark test -Dspring.datasource.url=jdbc:postgresql://localhost:5433/order_db
+ *     -Dspring.datasource.username=order_user -Dspring.datasource.password=order_pass
+ *     -Dspring.datasource.driver-class-name=org.postgresql.Driver
+ *
+ * Each order is written in its own transaction (as in POST /api/orders) and read back
+ * by id with all of its lines (as the order.created event mapping does).
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class ItemStorageBenchmarkTest {
+
+    private static final int ORDERS = Integer.getInteger("benchmark.orders", 5_000);
+    private static final int LINES_PER_ORDER = Integer.getInteger("benchmark.lines-per-order", 5);
+    private static final int WARMUP_ORDERS = 500;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void compareNormalizedAndEmbeddedStorage() {
+        User user = userRepository.findByUsername("benchmark").orElseGet(() -> userRepository.save(User.builder()
+                .username("benchmark")
+                .email("benchmark@dundermifflin.com")
+                .password("benchmark")
+                .firstName("Bench")
+                .lastName("Mark")
+                .build()));
+
+        // Warm up both paths before measuring
+        run("warmup-n", WARMUP_ORDERS, id -> normalizedOrder(id, user));
+        run("warmup-e", WARMUP_ORDERS, id -> embeddedOrder(id, user));
+
+        Result normalized = run("norm", ORDERS, id -> normalizedOrder(id, user));
+        Result embedded = run("embd", ORDERS, id -> embeddedOrder(id, user));
+
+        System.out.printf("%nItem storage: %d orders x %d lines%n", ORDERS, LINES_PER_ORDER);
+        System.out.printf("%-12s %14s %14s%n", "mode", "writes/s", "reads/s");
+        System.out.printf("%-12s %14.0f %14.0f%n", "normalized", normalized.writesPerSecond(), normalized.readsPerSecond());
+        System.out.printf("%-12s %14.0f %14.0f%n", "embedded", embedded.writesPerSecond(), embedded.readsPerSecond());
+        System.out.printf("%-12s %13.2fx %13.2fx%n%n", "speed-up",
+                embedded.writesPerSecond() / normalized.writesPerSecond(),
+                embedded.readsPerSecond() / normalized.readsPerSecond());
+
+        orderRepository.deleteAll();
+    }
+
+    private record Result(double writesPerSecond, double readsPerSecond) {
+    }
+
+    private Result run(String prefix, int count, Function<String, Order> factory) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        List<String> ids = new ArrayList<>(count);
+        long writeStart = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            String id = prefix + "-" + i;
+            transaction.executeWithoutResult(status -> orderRepository.save(factory.apply(id)));
+            ids.add(id);
+        }
+        long writeNanos = System.nanoTime() - writeStart;
+
+        long readStart = System.nanoTime();
+        for (String id : ids) {
+            Integer lines = readOnly.execute(status -> orderRepository.findById(id).orElseThrow().getLines().size());
+            assertThat(lines).isEqualTo(LINES_PER_ORDER);
+        }
+        long readNanos = System.nanoTime() - readStart;
+
+        return new Result(count * 1e9 / writeNanos, count * 1e9 / readNanos);
+    }
+
+    private Order normalizedOrder(String id, User user) {
+        Order order = baseOrder(id, user);
+        for (OrderLine line : lines()) {
+            OrderItem item = new OrderItem();
+            item.setProductId(line.productId());
+            item.setProductName(line.productName());
+            item.setQuantity(line.quantity());
+            item.setPrice(line.price());
+            order.addItem(item);
+        }
+        return order;
+    }
+
+    private Order embeddedOrder(String id, User user) {
+        Order order = baseOrder(id, user);
+        order.setEmbeddedItems(lines());
+        return order;
+    }
+
+    private Order baseOrder(String id, User user) {
+        Order order = new Order();
+        order.setOrderId(id);
+        order.setUser(user);
+        order.setStatus(OrderStatus.PENDING);
+        order.setTotalAmount(new BigDecimal("6.99").multiply(BigDecimal.valueOf(LINES_PER_ORDER)));
+        return order;
+    }
+
+    private static List<OrderLine> lines() {
+        List<OrderLine> lines = new ArrayList<>(LINES_PER_ORDER);
+        for (int i = 0; i < LINES_PER_ORDER; i++) {
+            lines.add(new OrderLine("DM-PAPER-" + i, "Dunder Mifflin Paper - Premium White", 1, new BigDecimal("6.99")));
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,154 @@
+package com.streamcart.order.benchmark;
+
+import com.streamcart.order.loadshedding.AdaptiveConcurrencyLimiter;
+import com.streamcart.order.loadshedding.RequestPriority;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Overload test for AdaptiveConcurrencyLimiter: a simulated server (SERVER_THREADS
+ * request threads in front of a DB_POOL connection pool, SERVICE_MS per query, so
+ * DB_POOL / SERVICE_MS requests per ms of capacity) is offered OVERLOAD x its capacity
+ * for DURATION_SECONDS, open loop, by clients that give up after DEADLINE_MS.
+ *
+ * Without a limit every request queues, latency climbs past the deadline and goodput
+ * (responses before the deadline) collapses. With the limiter configured as in
+ * application.yml the excess is shed with 503 up front and goodput stays near
+ * capacity, auth and reads being shed before writes.
+ *
+ * Excluded from the default build. Run with: ./mvnw -Pbenchmark test -Dtest=LoadSheddingBenchmarkTest
+ */
+@Tag("benchmark")
+class LoadSheddingBenchmarkTest {
+
+    private static final int SERVER_THREADS = 200;
+    private static final int DB_POOL = 10;
+    private static final int SERVICE_MS = 10;
+    private static final int OVERLOAD = 3;
+    private static final int DURATION_SECONDS = Integer.getInteger("benchmark.overload-seconds", 10);
+    private static final long DEADLINE_MS = 1_000;
+    private static final double CAPACITY_PER_SECOND = DB_POOL * 1_000.0 / SERVICE_MS;
+
+    private record Result(double goodput, int shed, int timedOut, long p99Millis,
+                          Map<RequestPriority, Double> successRates) {
+    }
+
+    @Test
+    void compareGoodputUnderOverload() throws InterruptedException {
+        Result unprotected = run(null);
+        Result shedding = run(new AdaptiveConcurrencyLimiter(50, 10, 400, 1.5, 0.2,
+                TimeUnit.MILLISECONDS.toNanos(100), 10, TimeUnit.SECONDS.toNanos(30), 50,
+                Map.of(RequestPriority.ORDER_WRITE, 1.0,
+                        RequestPriority.ORDER_READ, 0.9,
+                        RequestPriority.AUTH, 0.75)));
+
+        System.out.printf("%nLoad shedding: %.0f req/s offered to %.0f req/s capacity for %d s, %d ms deadline%n",
+                CAPACITY_PER_SECOND * OVERLOAD, CAPACITY_PER_SECOND, DURATION_SECONDS, DEADLINE_MS);
+        System.out.printf("%-14s %10s %8s %10s %8s %8s %8s %8s%n",
+                "", "goodput/s", "shed", "timed out", "p99 ms", "writes", "reads", "auth");
+        print("no limit", unprotected);
+        print("adaptive", shedding);
+        System.out.println();
+
+        assertThat(shedding.goodput()).isGreaterThan(CAPACITY_PER_SECOND * 0.7);
+        assertThat(shedding.goodput()).isGreaterThan(unprotected.goodput() * 2);
+        assertThat(shedding.p99Millis()).isLessThan(DEADLINE_MS);
+        assertThat(shedding.successRates().get(RequestPriority.ORDER_WRITE))
+                .isGreaterThan(shedding.successRates().get(RequestPriority.AUTH));
+    }
+
+    private static void print(String name, Result result) {
+        System.out.printf("%-14s %10.0f %8d %10d %8d %7.0f%% %7.0f%% %7.0f%%%n",
+                name, result.goodput(), result.shed(), result.timedOut(), result.p99Millis(),
+                result.successRates().get(RequestPriority.ORDER_WRITE) * 100,
+                result.successRates().get(RequestPriority.ORDER_READ) * 100,
+                result.successRates().get(RequestPriority.AUTH) * 100);
+    }
+
+    private Result run(AdaptiveConcurrencyLimiter limiter) throws InterruptedException {
+        ThreadPoolExecutor server = new ThreadPoolExecutor(SERVER_THREADS, SERVER_THREADS,
+                0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        Semaphore dbPool = new Semaphore(DB_POOL, true);
+        AtomicInteger shed = new AtomicInteger();
+        ConcurrentLinkedQueue<Long> goodLatencies = new ConcurrentLinkedQueue<>();
+        Map<RequestPriority, AtomicInteger> offered = new EnumMap<>(RequestPriority.class);
+        Map<RequestPriority, AtomicInteger> succeeded = new EnumMap<>(RequestPriority.class);
+        for (RequestPriority priority : RequestPriority.values()) {
+            offered.put(priority, new AtomicInteger());
+            succeeded.put(priority, new AtomicInteger());
+        }
+
+        double perNano = CAPACITY_PER_SECOND * OVERLOAD / TimeUnit.SECONDS.toNanos(1);
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(DURATION_SECONDS);
+        long sent = 0;
+        for (long now = start; now < end; now = System.nanoTime()) {
+            for (long due = (long) ((now - start) * perNano); sent < due; sent++) {
+                RequestPriority priority = pick();
+                offered.get(priority).incrementAndGet();
+                long arrival = System.nanoTime();
+                server.execute(() -> {
+                    if (limiter != null && !limiter.tryAcquire(priority)) {
+                        shed.incrementAndGet();
+                        return;
+                    }
+                    long admitted = System.nanoTime();
+                    try {
+                        dbPool.acquireUninterruptibly();
+                        try {
+                            Thread.sleep(SERVICE_MS);
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        } finally {
+                            dbPool.release();
+                        }
+                    } finally {
+                        if (limiter != null) {
+                            limiter.onComplete(admitted);
+                        }
+                    }
+                    long latency = System.nanoTime() - arrival;
+                    if (latency <= TimeUnit.MILLISECONDS.toNanos(DEADLINE_MS)) {
+                        goodLatencies.add(latency);
+                        succeeded.get(priority).incrementAndGet();
+                    }
+                });
+            }
+            Thread.sleep(1);
+        }
+        // Whatever is still queued is past its deadline by the time it would run
+        server.shutdownNow();
+        server.awaitTermination(DEADLINE_MS, TimeUnit.MILLISECONDS);
+
+        long[] latencies = goodLatencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        Map<RequestPriority, Double> successRates = new EnumMap<>(RequestPriority.class);
+        for (RequestPriority priority : RequestPriority.values()) {
+            successRates.put(priority, (double) succeeded.get(priority).get() / Math.max(1, offered.get(priority).get()));
+        }
+        return new Result(
+                (double) latencies.length / DURATION_SECONDS,
+                shed.get(),
+                (int) (sent - latencies.length - shed.get()),
+                latencies.length == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(latencies[(int) (latencies.length * 0.99)]),
+                successRates);
+    }
+
+    // 20% writes, 60% reads, 20% logins
+    private static RequestPriority pick() {
+        int roll = ThreadLocalRandom.current().nextInt(10);
+        return roll < 2 ? RequestPriority.ORDER_WRITE : roll < 8 ? RequestPriority.ORDER_READ : RequestPriority.AUTH;
+    }
+}
@@ -0,0 +1,154 @@
+package com.streamcart.order.benchmark;
+
+import com.streamcart.order.dto.OrderExportRequest;
+import com.streamcart.order.entity.User;
+import com.streamcart.order.repository.UserRepository;
+import com.streamcart.order.service.OrderExportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports 5M orders (benchmark.export-orders) and checks that retained heap stays flat while
+ * they stream. Run against H2 by {@link OrderExportMemoryBenchmarkTest} and against PostgreSQL,
+ * whose driver only streams with a fetch size inside a transaction, by
+ * {@link OrderExportMemoryPostgresTest}. The rows are generated once and reused by later runs.
+ *
+ * Every fourth order is normalized (items in order_items), the rest embed their items, so
+ * both halves of the export query are streamed.
+ *
+ * After every 10% of the export the heap is collected and measured. A list-based export
+ * would retain every order; the streaming export must stay within RETAINED_GROWTH_LIMIT.
+ */
+@ActiveProfiles("test")
+abstract class OrderExportMemoryBenchmark {
+
+    private static final int ORDERS = Integer.getInteger("benchmark.export-orders", 5_000_000);
+    private static final int INSERT_BATCH = 500_000;
+    private static final long RETAINED_GROWTH_LIMIT = 64L * 1024 * 1024;
+
+    @Autowired
+    private OrderExportService exportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void exportKeepsRetainedHeapFlat() throws Exception {
+        generateOrders();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "finance", null, List.of(new SimpleGrantedAuthority("ROLE_FINANCE"))));
+
+        HeapSampler out = new HeapSampler(ORDERS / 10);
+        long start = System.nanoTime();
+        exportService.export(new OrderExportRequest(null, null, null), false).writeTo(out);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%nNDJSON export: %d orders, %.0f MB in %.1f s (%.0f orders/s)%n",
+                out.lines, out.bytes / 1e6, seconds, out.lines / seconds);
+        System.out.printf("Retained heap after each 10%%: %s MB%n%n", out.samplesInMb());
+
+        assertThat(out.lines).isEqualTo(ORDERS);
+        long growth = out.samples.get(out.samples.size() - 1) - out.samples.get(0);
+        assertThat(growth).as("retained heap growth from 10%% to 100%% of the export").isLessThan(RETAINED_GROWTH_LIMIT);
+    }
+
+    private void generateOrders() {
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders", Integer.class);
+        if (existing != null && existing == ORDERS) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM order_items");
+        jdbcTemplate.update("DELETE FROM orders");
+        User user = userRepository.findByUsername("benchmark").orElseGet(() -> userRepository.save(User.builder()
+                .username("benchmark")
+                .email("benchmark@dundermifflin.com")
+                .password("benchmark")
+                .firstName("Bench")
+                .lastName("Mark")
+                .build()));
+
+        // This month: on PostgreSQL its partition always exists
+        Timestamp createdAt = Timestamp.valueOf(LocalDate.now().withDayOfMonth(1).atStartOfDay());
+        Timestamp updatedAt = Timestamp.valueOf(createdAt.toLocalDateTime().plusHours(1));
+
+        // generate_series creates the rows in the database (H2 and PostgreSQL)
+        long start = System.nanoTime();
+        for (int from = 1; from <= ORDERS; from += INSERT_BATCH) {
+            int to = Math.min(ORDERS, from + INSERT_BATCH - 1);
+            jdbcTemplate.update(
+                    "INSERT INTO orders (order_id, user_id, total_amount, status, created_at, updated_at, version, items_payload) "
+                            + "SELECT 'EXP-' || LPAD(CAST(r.x AS VARCHAR), 9, '0'), ?, 20.97, 'DELIVERED', ?, ?, 0, "
+                            + "CASE WHEN MOD(r.x, 4) = 0 THEN NULL "
+                            + "ELSE '[[\"DM-PAPER-001\",\"Dunder Mifflin Paper - Premium White\",3,6.99]]' END "
+                            + "FROM generate_series(?, ?) AS r(x)",
+                    user.getId(), createdAt, updatedAt, from, to);
+            jdbcTemplate.update(
+                    "INSERT INTO order_items (order_id, product_id, product_name, quantity, price, created_at) "
+                            + "SELECT 'EXP-' || LPAD(CAST(r.x AS VARCHAR), 9, '0'), 'DM-PAPER-001', "
+                            + "'Dunder Mifflin Paper - Premium White', 3, 6.99, ? "
+                            + "FROM generate_series(?, ?) AS r(x) WHERE MOD(r.x, 4) = 0",
+                    createdAt, from, to);
+        }
+        System.out.printf("%nGenerated %d orders in %.1f s%n", ORDERS, (System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * Discards the export, counting lines and sampling retained heap every sampleEvery lines.
+     */
+    private static final class HeapSampler extends OutputStream {
+
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final long sampleEvery;
+        private final List<Long> samples = new ArrayList<>();
+        private long lines;
+        private long bytes;
+
+        private HeapSampler(long sampleEvery) {
+            this.sampleEvery = Math.max(1, sampleEvery);
+        }
+
+        @Override
+        public void write(int b) {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) {
+            bytes += length;
+            for (int i = offset; i < offset + length; i++) {
+                if (buffer[i] == '\n' && ++lines % sampleEvery == 0) {
+                    System.gc();
+                    samples.add(memory.getHeapMemoryUsage().getUsed());
+                }
+            }
+        }
+
+        private List<Long> samplesInMb() {
+            return samples.stream().map(used -> used / (1024 * 1024)).toList();
+        }
+    }
+}
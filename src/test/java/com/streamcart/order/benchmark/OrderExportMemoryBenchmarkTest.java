@@ -0,0 +1,20 @@
+package com.streamcart.order.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * {@link OrderExportMemoryBenchmark} on H2.
+ *
+ * Excluded from the default build. Run with: ./mvnw -Pbenchmark test -Dtest=OrderExportMemoryBenchmarkTest
+ * Uses a file-based H2 database under target/ (the in-memory test database would itself hold
+ * every row on the heap).
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/export-benchmark/db;MODE=PostgreSQL;"
+                + "DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;LAZY_QUERY_EXECUTION=TRUE",
+        "warmup.enabled=false"
+})
+class OrderExportMemoryBenchmarkTest extends OrderExportMemoryBenchmark {
+}
@@ -0,0 +1,23 @@
+package com.streamcart.order.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * {@link OrderExportMemoryBenchmark} on partitioned PostgreSQL tables, where the driver
+ * would buffer the whole result set if the export ran outside a transaction.
+ *
+ * Runs only with -Ppostgres, against POSTGRES_TEST_URL (default: a database order_test on
+ * the local-dev Postgres). It replaces every order in that database with the generated
+ * ones; pass -Dbenchmark.export-orders to export fewer.
+ */
+@Tag("postgres")
+@SpringBootTest(properties = {
+        "spring.datasource.url=${POSTGRES_TEST_URL:jdbc:postgresql://localhost:5433/order_test}",
+        "spring.datasource.username=${POSTGRES_TEST_USERNAME:order_user}",
+        "spring.datasource.password=${POSTGRES_TEST_PASSWORD:order_pass}",
+        "spring.datasource.driver-class-name=org.postgresql.Driver",
+        "warmup.enabled=false"
+})
+class OrderExportMemoryPostgresTest extends OrderExportMemoryBenchmark {
+}
@@ -0,0 +1,85 @@
+package com.streamcart.order.benchmark;
+
+import com.streamcart.order.ratelimit.UserRequestLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Per-request cost of UserRequestLimiter: acquire then release, for requests spread
+ * over USERS users, on 1 and on THREADS threads. Limits are set high enough that
+ * nothing is rejected, so this is the cost every admitted request pays.
+ *
+ * Excluded from the default build. Run with: ./mvnw -Pbenchmark test -Dtest=UserRequestLimiterBenchmarkTest
+ */
+@Tag("benchmark")
+class UserRequestLimiterBenchmarkTest {
+
+    private static final int USERS = Integer.getInteger("benchmark.limiter-users", 10_000);
+    private static final int THREADS = Integer.getInteger("benchmark.limiter-threads", 4);
+    private static final int OPERATIONS = 5_000_000;
+    private static final double MAX_NANOS_PER_REQUEST = 1_000;
+
+    @Test
+    void measureOverheadPerRequest() throws InterruptedException {
+        UserRequestLimiter limiter = new UserRequestLimiter(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(limiter, "requestsPerSecond", 1e9);
+        ReflectionTestUtils.setField(limiter, "burst", Integer.MAX_VALUE / 2);
+        ReflectionTestUtils.setField(limiter, "maxInFlight", Integer.MAX_VALUE);
+        ReflectionTestUtils.setField(limiter, "maxUsers", 100_000L);
+        ReflectionTestUtils.setField(limiter, "idleExpiry", Duration.ofMinutes(10));
+        ReflectionTestUtils.invokeMethod(limiter, "init");
+        String[] users = new String[USERS];
+        for (int i = 0; i < USERS; i++) {
+            users[i] = "user-" + i;
+        }
+
+        // Warm up (JIT, populate the map)
+        run(limiter, users, 1, OPERATIONS);
+
+        double single = run(limiter, users, 1, OPERATIONS);
+        double parallel = run(limiter, users, THREADS, OPERATIONS);
+
+        System.out.printf("%nUserRequestLimiter: acquire + release over %d users, %d cores%n",
+                USERS, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-12s %14s%n", "threads", "ns/request");
+        System.out.printf("%-12d %14.1f%n", 1, single);
+        System.out.printf("%-12d %14.1f%n%n", THREADS, parallel);
+
+        assertThat(single).isLessThan(MAX_NANOS_PER_REQUEST);
+        assertThat(parallel).isLessThan(MAX_NANOS_PER_REQUEST);
+    }
+
+    /**
+     * @return CPU nanoseconds per request: wall time x busy cores / requests
+     */
+    private static double run(UserRequestLimiter limiter, String[] users, int threads, int operations)
+            throws InterruptedException {
+        List<Thread> workers = new ArrayList<>(threads);
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < operations; i++) {
+                    limiter.acquire(users[random.nextInt(users.length)]).release();
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long wall = System.nanoTime() - start;
+        int cores = Math.min(threads, Runtime.getRuntime().availableProcessors());
+        return (double) wall * cores / ((long) threads * operations);
+    }
+}
@@ -0,0 +1,214 @@
+package com.streamcart.order.cache;
+
+import com.streamcart.order.entity.Product;
+import com.streamcart.order.entity.User;
+import com.streamcart.order.repository.ProductRepository;
+import com.streamcart.order.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Cache consistency guarantees (see README "Second-Level Cache"):
+ * - Same node: committed changes are visible to the next read (read-write cache)
+ * - Other nodes: a committed update/delete is broadcast; until the notice arrives
+ *   they serve the old entry, afterwards they reload from the database
+ * - Rolled-back changes are never broadcast
+ */
+@SpringBootTest(properties = {
+        "cache.invalidation.enabled=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+
+    private static final String PRODUCT_ID = "CACHE-001";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityChangeListener changeListener;
+
+    @Autowired
+    private EntityChangePublisher changePublisher;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private KafkaTemplate<String, EntityChangeNotice> kafkaTemplate;
+
+    private Statistics statistics;
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() {
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(new CompletableFuture<>());
+        transaction = new TransactionTemplate(transactionManager);
+
+        if (userRepository.findByUsername("cached").isEmpty()) {
+            userRepository.save(User.builder()
+                    .username("cached")
+                    .email("cached@dundermifflin.com")
+                    .password("secret")
+                    .firstName("Cache")
+                    .lastName("Hit")
+                    .build());
+        }
+        // Reset through SQL: saving a fresh (unversioned) entity would be treated as an insert
+        jdbcTemplate.update("DELETE FROM products WHERE product_id = ?", PRODUCT_ID);
+        productRepository.save(Product.builder()
+                .productId(PRODUCT_ID)
+                .name("Cached Paper")
+                .price(new BigDecimal("5.00"))
+                .stockQuantity(10)
+                .build());
+
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        clearInvocations(kafkaTemplate);
+    }
+
+    @Test
+    void testFindByUsername_RepeatLookupServedFromCache() {
+        userRepository.findByUsername("cached");
+        statistics.clear();
+
+        assertThat(userRepository.findByUsername("cached")).isPresent();
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testLastLoginUpdate_KeepsVersionSoConcurrentLoginsDontConflict() {
+        // Two logins that read the user at the same time
+        User first = userRepository.findByUsername("cached").orElseThrow();
+        User second = userRepository.findByUsername("cached").orElseThrow();
+        Long version = first.getVersion();
+
+        first.setLastLoginAt(LocalDateTime.now());
+        userRepository.save(first);
+        second.setLastLoginAt(LocalDateTime.now());
+        userRepository.save(second);
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT version FROM users WHERE username = 'cached'", Long.class)).isEqualTo(version);
+    }
+
+    @Test
+    void testLastLoginUpdate_IsNotBroadcast() {
+        transaction.executeWithoutResult(status -> userRepository.findByUsername("cached")
+                .orElseThrow()
+                .setLastLoginAt(LocalDateTime.now()));
+
+        verify(kafkaTemplate, never()).send(anyString(), anyString(), any());
+    }
+
+    @Test
+    void testUserUpdate_WithLastLogin_IsBroadcast() {
+        transaction.executeWithoutResult(status -> {
+            User user = userRepository.findByUsername("cached").orElseThrow();
+            user.setLastLoginAt(LocalDateTime.now());
+            user.setFirstName("Cached");
+        });
+
+        verify(kafkaTemplate).send(eq(EntityChangePublisher.TOPIC), eq(User.class.getName()), any());
+    }
+
+    @Test
+    void testUpdate_VisibleOnSameNodeAndBroadcast() {
+        productRepository.findById(PRODUCT_ID);
+
+        transaction.executeWithoutResult(status -> productRepository.findById(PRODUCT_ID)
+                .orElseThrow()
+                .setPrice(new BigDecimal("7.50")));
+
+        statistics.clear();
+        assertThat(productRepository.findById(PRODUCT_ID)).hasValueSatisfying(
+                product -> assertThat(product.getPrice()).isEqualByComparingTo("7.50"));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        verify(kafkaTemplate).send(eq(EntityChangePublisher.TOPIC), eq(Product.class.getName()), argThat(notice ->
+                notice.id().equals(PRODUCT_ID)
+                        && !notice.deleted()
+                        && notice.origin().equals(changePublisher.getNodeId())));
+    }
+
+    @Test
+    void testRolledBackUpdate_IsNotBroadcast() {
+        transaction.executeWithoutResult(status -> {
+            productRepository.findById(PRODUCT_ID).orElseThrow().setPrice(new BigDecimal("9.99"));
+            productRepository.flush();
+            status.setRollbackOnly();
+        });
+
+        verify(kafkaTemplate, never()).send(anyString(), anyString(), any());
+        assertThat(productRepository.findById(PRODUCT_ID)).hasValueSatisfying(
+                product -> assertThat(product.getPrice()).isEqualByComparingTo("5.00"));
+    }
+
+    @Test
+    void testRemoteChange_StaleUntilNoticeThenReloaded() {
+        productRepository.findById(PRODUCT_ID);
+
+        // Another node commits a change: this node's cache doesn't know yet
+        jdbcTemplate.update("UPDATE products SET price = 8.25 WHERE product_id = ?", PRODUCT_ID);
+        assertThat(productRepository.findById(PRODUCT_ID)).hasValueSatisfying(
+                product -> assertThat(product.getPrice()).isEqualByComparingTo("5.00"));
+
+        changeListener.onEntityChange(new EntityChangeNotice(
+                Product.class.getName(), PRODUCT_ID, false, "other-node", Instant.now()));
+
+        assertThat(productRepository.findById(PRODUCT_ID)).hasValueSatisfying(
+                product -> assertThat(product.getPrice()).isEqualByComparingTo("8.25"));
+    }
+
+    @Test
+    void testOwnNotice_IsIgnored() {
+        productRepository.findById(PRODUCT_ID);
+        jdbcTemplate.update("UPDATE products SET price = 6.00 WHERE product_id = ?", PRODUCT_ID);
+
+        changeListener.onEntityChange(new EntityChangeNotice(
+                Product.class.getName(), PRODUCT_ID, false, changePublisher.getNodeId(), Instant.now()));
+
+        assertThat(productRepository.findById(PRODUCT_ID)).hasValueSatisfying(
+                product -> assertThat(product.getPrice()).isEqualByComparingTo("5.00"));
+    }
+}
@@ -0,0 +1,115 @@
+package com.streamcart.order.consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.streamcart.order.entity.OrderStatus;
+import com.streamcart.order.service.OrderStatusUpdater;
+import com.streamcart.order.service.OrderStatusUpdater.BatchResult;
+import com.streamcart.order.service.OrderStatusUpdater.StatusChange;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderStatusEventListenerTest {
+
+    @Mock
+    private OrderStatusUpdater statusUpdater;
+
+    @Mock
+    private Acknowledgment acknowledgment;
+
+    private OrderStatusEventListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new OrderStatusEventListener(statusUpdater, new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    @Test
+    void testOnStatusEvents_AppliesInEventOrderThenAcknowledges() {
+        when(statusUpdater.applyAll(any())).thenReturn(new BatchResult(1, 0, 0, 0));
+
+        listener.onStatusEvents(List.of(
+                record(OrderStatusEventListener.INVENTORY_TOPIC, 200,
+                        "{\"orderId\":\"ORD-1\",\"reserved\":true,\"timestamp\":\"2025-10-20T14:30:02\"}"),
+                record(OrderStatusEventListener.PAYMENT_TOPIC, 100,
+                        "{\"orderId\":\"ORD-1\",\"successful\":true,\"amount\":69.90,\"timestamp\":\"2025-10-20T14:30:01\"}")),
+                acknowledgment);
+
+        InOrder inOrder = inOrder(statusUpdater, acknowledgment);
+        inOrder.verify(statusUpdater).applyAll(List.of(
+                new StatusChange("ORD-1", OrderStatus.PAID),
+                new StatusChange("ORD-1", OrderStatus.INVENTORY_RESERVED)));
+        inOrder.verify(acknowledgment).acknowledge();
+    }
+
+    @Test
+    void testInEventOrder_MergesPartitionsAndKeepsOffsetOrderWithinEach() {
+        ConsumerRecord<String, String> payment0 = record(OrderStatusEventListener.PAYMENT_TOPIC, 0, 0, 300, "p0");
+        // Producer clock went backwards: still after payment0 in its partition
+        ConsumerRecord<String, String> payment1 = record(OrderStatusEventListener.PAYMENT_TOPIC, 0, 1, 100, "p1");
+        ConsumerRecord<String, String> inventory0 = record(OrderStatusEventListener.INVENTORY_TOPIC, 0, 0, 200, "i0");
+        ConsumerRecord<String, String> inventory1 = record(OrderStatusEventListener.INVENTORY_TOPIC, 0, 1, 400, "i1");
+        ConsumerRecord<String, String> otherPartition = record(OrderStatusEventListener.PAYMENT_TOPIC, 1, 0, 250, "p2");
+
+        assertThat(OrderStatusEventListener.inEventOrder(
+                List.of(payment0, payment1, otherPartition, inventory0, inventory1)))
+                .extracting(ConsumerRecord::value)
+                .containsExactly("i0", "p2", "p0", "p1", "i1");
+    }
+
+    @Test
+    void testOnStatusEvents_FailedBatchIsNotAcknowledged() {
+        when(statusUpdater.applyAll(any())).thenThrow(new OptimisticLockingFailureException("conflict"));
+
+        assertThatThrownBy(() -> listener.onStatusEvents(List.of(
+                record(OrderStatusEventListener.PAYMENT_TOPIC, 100, "{\"orderId\":\"ORD-1\",\"successful\":false}")),
+                acknowledgment))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+    @Test
+    void testToStatusChange_MapsResultsAndSkipsMalformedRecords() {
+        assertThat(listener.toStatusChange(record(
+                OrderStatusEventListener.PAYMENT_TOPIC, 1, "{\"orderId\":\"ORD-1\",\"successful\":false}")))
+                .contains(new StatusChange("ORD-1", OrderStatus.FAILED));
+        assertThat(listener.toStatusChange(record(
+                OrderStatusEventListener.INVENTORY_TOPIC, 1, "{\"orderId\":\"ORD-1\",\"reserved\":false}")))
+                .contains(new StatusChange("ORD-1", OrderStatus.FAILED));
+        assertThat(listener.toStatusChange(record(
+                OrderStatusEventListener.PAYMENT_TOPIC, 1, "not json")))
+                .isEqualTo(Optional.empty());
+    }
+
+    private static ConsumerRecord<String, String> record(String topic, long timestamp, String value) {
+        return record(topic, 0, timestamp, timestamp, value);
+    }
+
+    private static ConsumerRecord<String, String> record(String topic, int partition, long offset,
+                                                         long timestamp, String value) {
+        return new ConsumerRecord<>(topic, partition, offset, timestamp, TimestampType.CREATE_TIME,
+                0, 0, "ORD-1", value, new RecordHeaders(), Optional.empty());
+    }
+}
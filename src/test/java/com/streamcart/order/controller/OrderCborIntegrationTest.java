@@ -0,0 +1,153 @@
+package com.streamcart.order.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.streamcart.order.dto.AuthResponse;
+import com.streamcart.order.dto.CreateOrderRequest;
+import com.streamcart.order.dto.LoginRequest;
+import com.streamcart.order.dto.OrderResponse;
+import com.streamcart.order.dto.RegisterRequest;
+import com.streamcart.order.entity.OrderStatus;
+import com.streamcart.order.publisher.OrderEventPublisher;
+import com.streamcart.order.repository.OrderRepository;
+import com.streamcart.order.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Auth and order endpoints with CBOR request and response bodies (application/cbor).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OrderCborIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @MockBean
+    private OrderEventPublisher orderEventPublisher;
+
+    private ObjectMapper cbor;
+
+    @BeforeEach
+    void setUp() {
+        cbor = cborConverter.getObjectMapper();
+        orderRepository.deleteAll();
+        userRepository.findByUsername("cborclient").ifPresent(userRepository::delete);
+    }
+
+    @Test
+    void testAuth_RegistersAndLogsInWithCborBodies() throws Exception {
+        AuthResponse registered = send(post("/api/auth/register"),
+                new RegisterRequest("cborclient", "cbor@dundermifflin.com", "secret123", "Binary", "Client"),
+                201, AuthResponse.class);
+        assertThat(registered.username()).isEqualTo("cborclient");
+
+        AuthResponse login = send(post("/api/auth/login"), new LoginRequest("cborclient", "secret123"),
+                200, AuthResponse.class);
+        assertThat(login.token()).isNotBlank();
+
+        // Same validation as JSON
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cbor.writeValueAsBytes(new RegisterRequest("x", "not-an-email", "1", "B", "C"))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testOrders_CreateAndReadWithCborBodies() throws Exception {
+        String token = "Bearer " + send(post("/api/auth/register"),
+                new RegisterRequest("cborclient", "cbor@dundermifflin.com", "secret123", "Binary", "Client"),
+                201, AuthResponse.class).token();
+
+        List<CreateOrderRequest.OrderItemRequest> items = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            items.add(new CreateOrderRequest.OrderItemRequest("DM-PAPER-00" + i, "Paper " + i, 2, new BigDecimal("6.99")));
+        }
+        OrderResponse created = send(post("/api/orders").header("Authorization", token),
+                new CreateOrderRequest(items), 201, OrderResponse.class);
+        assertThat(created.status()).isEqualTo(OrderStatus.PENDING);
+        assertThat(created.totalAmount()).isEqualByComparingTo("41.94");
+
+        MvcResult read = mockMvc.perform(get("/api/orders/" + created.orderId())
+                        .param("fields", "orderId,items")
+                        .header("Authorization", token)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andReturn();
+        JsonNode order = cbor.readTree(read.getResponse().getContentAsByteArray());
+        assertThat(order.get("orderId").asText()).isEqualTo(created.orderId());
+        assertThat(order.has("status")).isFalse();
+        assertThat(order.get("items")).hasSize(3);
+
+        // JSON and CBOR are different representations: one's ETag doesn't validate the other
+        String cborETag = read.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(cborETag).endsWith(";format=cbor\"");
+        mockMvc.perform(get("/api/orders/" + created.orderId())
+                        .param("fields", "orderId,items")
+                        .header("Authorization", token)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, cborETag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/orders/" + created.orderId())
+                        .param("fields", "orderId,items")
+                        .header("Authorization", token)
+                        .header(HttpHeaders.IF_NONE_MATCH, cborETag))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+
+        mockMvc.perform(post("/api/orders")
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cbor.writeValueAsBytes(new CreateOrderRequest(List.of()))))
+                .andExpect(status().isBadRequest());
+    }
+
+    private <T> T send(MockHttpServletRequestBuilder request,
+                       Object body, int expectedStatus, Class<T> type) throws Exception {
+        byte[] response = mockMvc.perform(request
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cbor.writeValueAsBytes(body)))
+                .andExpect(status().is(expectedStatus))
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        return cbor.readValue(response, type);
+    }
+}
@@ -0,0 +1,166 @@
+package com.streamcart.order.controller;
+
+import com.streamcart.order.entity.Order;
+import com.streamcart.order.entity.OrderStatus;
+import com.streamcart.order.entity.User;
+import com.streamcart.order.partition.OrderIds;
+import com.streamcart.order.publisher.OrderEventPublisher;
+import com.streamcart.order.repository.OrderRepository;
+import com.streamcart.order.repository.UserRepository;
+import com.streamcart.order.security.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Status changes commit in their own transaction, so this test commits its data.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OrderConditionalGetIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private OrderEventPublisher orderEventPublisher;
+
+    private User customer;
+    private String token;
+    private String orderId;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        customer = findOrCreateUser("poller");
+        findOrCreateUser("otherpoller");
+        orderId = createOrder(customer, LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        token = jwtUtil.generateToken("poller");
+    }
+
+    @Test
+    void testGetOrder_AnswersUnchangedPollWith304UntilStatusChanges() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/orders/" + orderId).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andReturn();
+        assertThat(first.getResponse().getHeaders(HttpHeaders.ETAG)).hasSize(1);
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isEqualTo("\"" + orderId + "-v0\"");
+
+        mockMvc.perform(get("/api/orders/" + orderId)
+                        .header("Authorization", "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(post("/api/orders/" + orderId + "/cancel").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/orders/" + orderId)
+                        .header("Authorization", "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + orderId + "-v1\""));
+    }
+
+    @Test
+    void testGetOrder_ChecksOwnershipBeforeAnswering304() throws Exception {
+        mockMvc.perform(get("/api/orders/" + orderId)
+                        .header("Authorization", "Bearer " + jwtUtil.generateToken("otherpoller"))
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + orderId + "-v0\""))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/api/orders/ORD-MISSING")
+                        .header("Authorization", "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testGetMyOrders_ETagChangesWhenAnyOrderIsCreatedChangedOrRemoved() throws Exception {
+        String etag = myOrdersETag(null);
+        assertThat(myOrdersETag(etag)).isEqualTo(etag);
+
+        String newOrderId = createOrder(customer, LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        String afterCreate = myOrdersETag(etag);
+        assertThat(afterCreate).isNotEqualTo(etag);
+
+        mockMvc.perform(post("/api/orders/" + newOrderId + "/cancel").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        String afterCancel = myOrdersETag(afterCreate);
+        assertThat(afterCancel).isNotEqualTo(afterCreate);
+
+        // Purged behind the application's back
+        jdbcTemplate.update("DELETE FROM orders WHERE order_id = ?", newOrderId);
+        assertThat(myOrdersETag(afterCancel)).isNotEqualTo(afterCancel);
+    }
+
+    // The current ETag: from a 304 if ifNoneMatch still matches, else from a full response
+    private String myOrdersETag(String ifNoneMatch) throws Exception {
+        MvcResult result = mockMvc.perform(ifNoneMatch == null
+                        ? get("/api/orders/my-orders").header("Authorization", "Bearer " + token)
+                        : get("/api/orders/my-orders").header("Authorization", "Bearer " + token)
+                                .header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch))
+                .andReturn();
+        int status = result.getResponse().getStatus();
+        assertThat(status).isIn(200, 304);
+        if (status == 200) {
+            assertThat(result.getResponse().getContentAsString()).startsWith("[");
+        }
+        return result.getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private User findOrCreateUser(String username) {
+        return userRepository.findByUsername(username).orElseGet(() -> userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@dundermifflin.com")
+                .password("secret")
+                .firstName("Conditional")
+                .lastName("Poller")
+                .build()));
+    }
+
+    private String createOrder(User user, LocalDateTime createdAt) {
+        Order order = new Order();
+        order.setOrderId(OrderIds.next(createdAt));
+        order.setCreatedAt(createdAt);
+        order.setUser(user);
+        order.setStatus(OrderStatus.PENDING);
+        order.setTotalAmount(new BigDecimal("12.50"));
+        return orderRepository.save(order).getOrderId();
+    }
+}
@@ -262,6 +262,63 @@ class OrderControllerIntegrationTest {
                 .andExpect(status().isForbidden());
     }
 
+    // ========== CANCEL ORDER TESTS ==========
+
+    @Test
+    void testCancelOrder_WithOwnPendingOrder_ReturnsCancelled() throws Exception {
+        // Arrange
+        Order order = new Order();
+        order.setOrderId(UUID.randomUUID().toString());
+        order.setUser(testUser);
+        order.setStatus(OrderStatus.PENDING);
+        order.setTotalAmount(new BigDecimal("25.00"));
+        order = orderRepository.saveAndFlush(order);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/orders/{orderId}/cancel", order.getOrderId())
+                        .header("Authorization", "Bearer " + validJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderId").value(order.getOrderId()))
+                .andExpect(jsonPath("$.status").value("CANCELLED"));
+    }
+
+    @Test
+    void testCancelOrder_WhenAlreadyCancelled_ReturnsConflict() throws Exception {
+        // Arrange
+        Order order = new Order();
+        order.setOrderId(UUID.randomUUID().toString());
+        order.setUser(testUser);
+        order.setStatus(OrderStatus.PENDING);
+        order.setTotalAmount(new BigDecimal("25.00"));
+        order = orderRepository.saveAndFlush(order);
+
+        mockMvc.perform(post("/api/orders/{orderId}/cancel", order.getOrderId())
+                        .header("Authorization", "Bearer " + validJwtToken))
+                .andExpect(status().isOk());
+
+        // Act & Assert - CANCELLED is final
+        mockMvc.perform(post("/api/orders/{orderId}/cancel", order.getOrderId())
+                        .header("Authorization", "Bearer " + validJwtToken))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409));
+    }
+
+    @Test
+    void testCancelOrder_WithOtherUsersOrder_ReturnsForbidden() throws Exception {
+        // Arrange
+        Order order = new Order();
+        order.setOrderId(UUID.randomUUID().toString());
+        order.setUser(otherUser);
+        order.setStatus(OrderStatus.PENDING);
+        order.setTotalAmount(new BigDecimal("30.00"));
+        order = orderRepository.saveAndFlush(order);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/orders/{orderId}/cancel", order.getOrderId())
+                        .header("Authorization", "Bearer " + validJwtToken))
+                .andExpect(status().isForbidden());
+    }
+
     // ========== GET MY ORDERS TESTS ==========
 
     @Test
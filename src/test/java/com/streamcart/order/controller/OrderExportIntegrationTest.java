@@ -0,0 +1,171 @@
+package com.streamcart.order.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.streamcart.order.entity.Order;
+import com.streamcart.order.entity.OrderItem;
+import com.streamcart.order.entity.OrderLine;
+import com.streamcart.order.entity.OrderStatus;
+import com.streamcart.order.entity.User;
+import com.streamcart.order.entity.UserRole;
+import com.streamcart.order.repository.OrderRepository;
+import com.streamcart.order.repository.UserRepository;
+import com.streamcart.order.security.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The export is streamed on its own connection after the request thread returns,
+ * so this test commits its data (see OrderSearchIntegrationTest).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OrderExportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private String financeToken;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        User customer = findOrCreateUser("exported", UserRole.USER);
+        findOrCreateUser("finance", UserRole.FINANCE);
+
+        Order normalized = newOrder("ORD-E1", customer, OrderStatus.DELIVERED, "20.97");
+        normalized.addItem(item("DM-PAPER-001", "Paper", 2, "6.99"));
+        normalized.addItem(item("DM-SUPPLY-001", "Stapler", 1, "6.99"));
+        orderRepository.save(normalized);
+
+        Order embedded = newOrder("ORD-E2", customer, OrderStatus.PENDING, "12.99");
+        embedded.setEmbeddedItems(List.of(new OrderLine("DM-MERCH-001", "Mug", 1, new BigDecimal("12.99"))));
+        orderRepository.save(embedded);
+
+        orderRepository.save(newOrder("ORD-E3", customer, OrderStatus.DELIVERED, "5.00"));
+
+        financeToken = jwtUtil.generateToken("finance");
+    }
+
+    @Test
+    void testExport_WritesOneOrderPerLineWithItemsFromBothStorageModes() throws Exception {
+        MockHttpServletResponse response = export(get("/api/orders/export"));
+
+        assertThat(response.getContentType()).startsWith("application/x-ndjson");
+        List<JsonNode> lines = parseLines(response.getContentAsString());
+        assertThat(lines).extracting(line -> line.get("orderId").asText())
+                .containsExactly("ORD-E1", "ORD-E2", "ORD-E3");
+        assertThat(lines.get(0).get("items")).hasSize(2);
+        assertThat(lines.get(0).get("items").get(0).get("productId").asText()).isEqualTo("DM-PAPER-001");
+        assertThat(lines.get(1).get("items").get(0).get("productName").asText()).isEqualTo("Mug");
+        assertThat(lines.get(2).get("items")).isEmpty();
+        assertThat(lines.get(0).get("username").asText()).isEqualTo("exported");
+    }
+
+    @Test
+    void testExport_GzipsWhenAcceptedAndAppliesFilters() throws Exception {
+        MockHttpServletResponse response = export(get("/api/orders/export")
+                .param("status", "DELIVERED")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"));
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        byte[] body;
+        try (GZIPInputStream gunzip = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            body = gunzip.readAllBytes();
+        }
+        assertThat(parseLines(new String(body, StandardCharsets.UTF_8)))
+                .extracting(line -> line.get("orderId").asText())
+                .containsExactly("ORD-E1", "ORD-E3");
+    }
+
+    @Test
+    void testExport_RequiresFinanceRole() throws Exception {
+        mockMvc.perform(get("/api/orders/export")
+                        .header("Authorization", "Bearer " + jwtUtil.generateToken("exported")))
+                .andExpect(status().isForbidden())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_DISPOSITION));
+    }
+
+    private MockHttpServletResponse export(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request.header("Authorization", "Bearer " + financeToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+    }
+
+    private List<JsonNode> parseLines(String body) throws Exception {
+        assertThat(body).endsWith("\n");
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    private User findOrCreateUser(String username, UserRole role) {
+        return userRepository.findByUsername(username).orElseGet(() -> userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@dundermifflin.com")
+                .password("secret")
+                .firstName("Export")
+                .lastName("User")
+                .role(role)
+                .build()));
+    }
+
+    private static Order newOrder(String orderId, User user, OrderStatus status, String total) {
+        Order order = new Order();
+        order.setOrderId(orderId);
+        order.setUser(user);
+        order.setStatus(status);
+        order.setTotalAmount(new BigDecimal(total));
+        return order;
+    }
+
+    private static OrderItem item(String productId, String name, int quantity, String price) {
+        OrderItem item = new OrderItem();
+        item.setProductId(productId);
+        item.setProductName(name);
+        item.setQuantity(quantity);
+        item.setPrice(new BigDecimal(price));
+        return item;
+    }
+}
@@ -0,0 +1,205 @@
+package com.streamcart.order.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.streamcart.order.dto.OrderLookupRequest;
+import com.streamcart.order.entity.Order;
+import com.streamcart.order.entity.OrderItem;
+import com.streamcart.order.entity.OrderLine;
+import com.streamcart.order.entity.OrderStatus;
+import com.streamcart.order.entity.User;
+import com.streamcart.order.partition.OrderIds;
+import com.streamcart.order.repository.OrderRepository;
+import com.streamcart.order.repository.UserRepository;
+import com.streamcart.order.security.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OrderFieldSelectionIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private String token;
+    private String normalizedId;
+    private String embeddedId;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        User customer = userRepository.findByUsername("shaper").orElseGet(() -> userRepository.save(User.builder()
+                .username("shaper")
+                .email("shaper@dundermifflin.com")
+                .password("secret")
+                .firstName("Field")
+                .lastName("Shaper")
+                .build()));
+
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        normalizedId = createOrder(customer, now.minusMinutes(1), false);
+        embeddedId = createOrder(customer, now, true);
+        token = jwtUtil.generateToken("shaper");
+    }
+
+    @Test
+    void testGetOrder_WritesOnlyTheSelectedFields() throws Exception {
+        JsonNode order = read(get("/api/orders/" + normalizedId).param("fields", "orderId,status"));
+
+        assertThat(fieldNames(order)).containsExactly("orderId", "status");
+    }
+
+    @Test
+    void testGetOrder_LeavesItemsOutUnlessExpanded() throws Exception {
+        assertThat(read(get("/api/orders/" + normalizedId)).has("items")).isFalse();
+
+        JsonNode normalized = read(get("/api/orders/" + normalizedId).param("expand", "items"));
+        assertThat(normalized.get("items")).hasSize(2);
+        assertThat(normalized.get("items").get(0).get("productId").asText()).isEqualTo("DM-PAPER-001");
+        assertThat(normalized.get("items").get(1).get("quantity").asInt()).isEqualTo(1);
+
+        JsonNode embedded = read(get("/api/orders/" + embeddedId).param("fields", "orderId,items"));
+        assertThat(fieldNames(embedded)).containsExactly("orderId", "items");
+        assertThat(embedded.get("items")).hasSize(2);
+    }
+
+    @Test
+    void testGetOrder_EachViewHasItsOwnETag() throws Exception {
+        String full = etag(get("/api/orders/" + normalizedId));
+        String expanded = etag(get("/api/orders/" + normalizedId).param("expand", "items"));
+        // Field order doesn't make a different view
+        String selected = etag(get("/api/orders/" + normalizedId).param("fields", "status,orderId"));
+        assertThat(selected).isEqualTo(etag(get("/api/orders/" + normalizedId).param("fields", "orderId,status")));
+        assertThat(List.of(full, expanded, selected)).doesNotHaveDuplicates();
+
+        mockMvc.perform(get("/api/orders/" + normalizedId).param("expand", "items")
+                        .header("Authorization", "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, expanded))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/orders/" + normalizedId).param("expand", "items")
+                        .header("Authorization", "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, full))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testListEndpoints_ExpandItemsForEveryOrder() throws Exception {
+        JsonNode mine = read(get("/api/orders/my-orders").param("expand", "items").param("fields", "orderId"));
+        assertThat(mine).hasSize(2);
+        mine.forEach(order -> {
+            assertThat(fieldNames(order)).containsExactly("orderId", "items");
+            assertThat(order.get("items")).hasSize(2);
+        });
+
+        JsonNode lookup = read(post("/api/orders/lookup").param("expand", "items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new OrderLookupRequest(List.of(embeddedId, normalizedId)))));
+        assertThat(lookup.get("orders")).hasSize(2);
+        assertThat(lookup.get("orders").get(0).get("items")).hasSize(2);
+        assertThat(lookup.get("orders").get(1).get("items")).hasSize(2);
+
+        MvcResult search = mockMvc.perform(get("/api/orders/search")
+                        .param("fields", "orderId,totalAmount")
+                        .param("expand", "items")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(search))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode page = objectMapper.readTree(body);
+        assertThat(page.get("orders")).hasSize(2);
+        assertThat(fieldNames(page.get("orders").get(0))).containsExactly("orderId", "totalAmount", "items");
+        assertThat(page.get("orders").get(1).get("items")).hasSize(2);
+    }
+
+    @Test
+    void testGetOrder_RejectsUnknownFieldsAndExpansions() throws Exception {
+        mockMvc.perform(get("/api/orders/" + normalizedId).param("fields", "orderId,password")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/orders/my-orders").param("expand", "user")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode read(MockHttpServletRequestBuilder request) throws Exception {
+        String body = mockMvc.perform(request.header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private String etag(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request.header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+
+    private String createOrder(User user, LocalDateTime createdAt, boolean embedded) {
+        Order order = new Order();
+        order.setOrderId(OrderIds.next(createdAt));
+        order.setCreatedAt(createdAt);
+        order.setUser(user);
+        order.setStatus(OrderStatus.PENDING);
+        order.setTotalAmount(new BigDecimal("26.97"));
+        List<OrderLine> lines = List.of(
+                new OrderLine("DM-PAPER-001", "Dunder Mifflin Paper - Premium White", 2, new BigDecimal("6.99")),
+                new OrderLine("DM-MUG-001", "World's Best Boss Mug", 1, new BigDecimal("12.99")));
+        if (embedded) {
+            order.setEmbeddedItems(lines);
+        } else {
+            for (OrderLine line : lines) {
+                OrderItem item = new OrderItem();
+                item.setProductId(line.productId());
+                item.setProductName(line.productName());
+                item.setQuantity(line.quantity());
+                item.setPrice(line.price());
+                order.addItem(item);
+            }
+        }
+        return orderRepository.save(order).getOrderId();
+    }
+}
@@ -0,0 +1,146 @@
+package com.streamcart.order.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.streamcart.order.dto.OrderLookupRequest;
+import com.streamcart.order.entity.Order;
+import com.streamcart.order.entity.OrderStatus;
+import com.streamcart.order.entity.User;
+import com.streamcart.order.partition.OrderIds;
+import com.streamcart.order.repository.OrderRepository;
+import com.streamcart.order.repository.UserRepository;
+import com.streamcart.order.security.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OrderLookupIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private String token;
+    private String recentId;
+    private String olderId;
+    private String otherUsersId;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        User customer = findOrCreateUser("lookup");
+        User other = findOrCreateUser("otherlookup");
+
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        recentId = createOrder(OrderIds.next(now), customer, now);
+        olderId = createOrder(OrderIds.next(now.minusDays(40)), customer, now.minusDays(40));
+        otherUsersId = createOrder(OrderIds.next(now.minusDays(1)), other, now.minusDays(1));
+        createOrder("ORD-LEGACY1", customer, now.minusDays(2));
+
+        token = jwtUtil.generateToken("lookup");
+    }
+
+    @Test
+    void testGetOrders_ReturnsOwnOrdersAndPerIdErrors() throws Exception {
+        JsonNode body = lookup(get("/api/orders")
+                .param("ids", String.join(",", olderId, otherUsersId, "ORD-LEGACY1", "ORD-MISSING", recentId, olderId)));
+
+        List<String> returned = new ArrayList<>();
+        body.get("orders").forEach(order -> returned.add(order.get("orderId").asText()));
+        assertThat(returned).containsExactly(olderId, "ORD-LEGACY1", recentId);
+        assertThat(body.get("orders").get(0).get("username").asText()).isEqualTo("lookup");
+
+        assertThat(body.get("errors")).hasSize(2);
+        assertThat(body.get("errors").get(0).get("orderId").asText()).isEqualTo(otherUsersId);
+        assertThat(body.get("errors").get(0).get("status").asInt()).isEqualTo(403);
+        assertThat(body.get("errors").get(1).get("orderId").asText()).isEqualTo("ORD-MISSING");
+        assertThat(body.get("errors").get(1).get("status").asInt()).isEqualTo(404);
+    }
+
+    @Test
+    void testLookupOrders_AcceptsIdsInTheBody() throws Exception {
+        JsonNode body = lookup(post("/api/orders/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new OrderLookupRequest(List.of(recentId, otherUsersId)))));
+
+        assertThat(body.get("orders")).hasSize(1);
+        assertThat(body.get("errors")).hasSize(1);
+    }
+
+    @Test
+    void testLookupOrders_RejectsEmptyAndOversizedBatches() throws Exception {
+        mockMvc.perform(post("/api/orders/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OrderLookupRequest(List.of())))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/orders")
+                        .param("ids", IntStream.range(0, 101)
+                                .mapToObj(i -> "ORD-X" + i)
+                                .collect(Collectors.joining(",")))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode lookup(MockHttpServletRequestBuilder request) throws Exception {
+        String body = mockMvc.perform(request.header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private User findOrCreateUser(String username) {
+        return userRepository.findByUsername(username).orElseGet(() -> userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@dundermifflin.com")
+                .password("secret")
+                .firstName("Lookup")
+                .lastName("User")
+                .build()));
+    }
+
+    private String createOrder(String orderId, User user, LocalDateTime createdAt) {
+        Order order = new Order();
+        order.setOrderId(orderId);
+        order.setCreatedAt(createdAt);
+        order.setUser(user);
+        order.setStatus(OrderStatus.PENDING);
+        order.setTotalAmount(new BigDecimal("19.99"));
+        orderRepository.save(order);
+        return orderId;
+    }
+}
@@ -0,0 +1,210 @@
+package com.streamcart.order.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.streamcart.order.entity.Order;
+import com.streamcart.order.entity.OrderStatus;
+import com.streamcart.order.entity.User;
+import com.streamcart.order.entity.UserRole;
+import com.streamcart.order.repository.OrderRepository;
+import com.streamcart.order.repository.UserRepository;
+import com.streamcart.order.security.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Search results are streamed after the request thread returns, on their own connection,
+ * so this test commits its data instead of rolling back like OrderControllerIntegrationTest.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OrderSearchIntegrationTest {
+
+    private static final LocalDateTime DAY_ONE = LocalDateTime.of(2025, 10, 1, 9, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String customerToken;
+    private String supportToken;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        User customer = findOrCreateUser("searcher", UserRole.USER);
+        User other = findOrCreateUser("othersearcher", UserRole.USER);
+        findOrCreateUser("supportdesk", UserRole.SUPPORT);
+
+        // searcher: five orders on consecutive days, totals 10, 20, ... 50
+        for (int day = 0; day < 5; day++) {
+            createOrder("ORD-S" + day, customer, day % 2 == 0 ? OrderStatus.PAID : OrderStatus.PENDING,
+                    new BigDecimal(10 * (day + 1)), DAY_ONE.plusDays(day));
+        }
+        createOrder("ORD-X0", other, OrderStatus.PAID, new BigDecimal("99.00"), DAY_ONE);
+
+        customerToken = jwtUtil.generateToken("searcher");
+        supportToken = jwtUtil.generateToken("supportdesk");
+    }
+
+    @Test
+    void testSearch_PaginatesNewestFirstWithCursor() throws Exception {
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/orders/search").param("limit", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = search(request, customerToken);
+            page.get("orders").forEach(order -> seen.add(order.get("orderId").asText()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).containsExactly("ORD-S4", "ORD-S3", "ORD-S2", "ORD-S1", "ORD-S0");
+    }
+
+    @Test
+    void testSearch_CombinesStatusDateAndAmountFilters() throws Exception {
+        JsonNode page = search(get("/api/orders/search")
+                .param("status", "PAID")
+                .param("createdFrom", DAY_ONE.plusDays(1).toString())
+                .param("createdTo", DAY_ONE.plusDays(5).toString())
+                .param("minAmount", "25.00")
+                .param("maxAmount", "50.00"), customerToken);
+
+        assertThat(page.get("orders")).hasSize(2);
+        assertThat(page.get("orders").get(0).get("orderId").asText()).isEqualTo("ORD-S4");
+        assertThat(page.get("orders").get(1).get("orderId").asText()).isEqualTo("ORD-S2");
+        assertThat(page.get("nextCursor").isNull()).isTrue();
+    }
+
+    @Test
+    void testSearch_CustomerCannotSearchOtherUsers() throws Exception {
+        mockMvc.perform(get("/api/orders/search")
+                        .param("username", "othersearcher")
+                        .header("Authorization", "Bearer " + customerToken))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testSearch_SupportSearchesAcrossUsersByStatus() throws Exception {
+        JsonNode page = search(get("/api/orders/search").param("status", "PAID"), supportToken);
+
+        List<String> usernames = new ArrayList<>();
+        page.get("orders").forEach(order -> usernames.add(order.get("username").asText()));
+        assertThat(usernames).hasSize(4).contains("searcher", "othersearcher");
+
+        // Without a status or username the search would have no index to use
+        mockMvc.perform(get("/api/orders/search")
+                        .header("Authorization", "Bearer " + supportToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testSearch_AmountFiltersAcrossUsersNeedABoundedDateRange() throws Exception {
+        JsonNode page = search(get("/api/orders/search")
+                .param("status", "PAID")
+                .param("createdFrom", DAY_ONE.toString())
+                .param("createdTo", DAY_ONE.plusDays(10).toString())
+                .param("minAmount", "25.00"), supportToken);
+        assertThat(page.get("orders")).hasSize(3);  // ORD-S4, ORD-S2, ORD-X0
+
+        mockMvc.perform(get("/api/orders/search")
+                        .param("status", "PAID")
+                        .param("minAmount", "25.00")
+                        .header("Authorization", "Bearer " + supportToken))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/orders/search")
+                        .param("status", "PAID")
+                        .param("createdFrom", DAY_ONE.toString())
+                        .param("createdTo", DAY_ONE.plusDays(60).toString())
+                        .param("minAmount", "25.00")
+                        .header("Authorization", "Bearer " + supportToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testSearch_RejectsInvalidLimitAndCursor() throws Exception {
+        mockMvc.perform(get("/api/orders/search")
+                        .param("limit", "101")
+                        .header("Authorization", "Bearer " + customerToken))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/orders/search")
+                        .param("cursor", "not-a-cursor")
+                        .header("Authorization", "Bearer " + customerToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode search(MockHttpServletRequestBuilder request, String token) throws Exception {
+        MvcResult result = mockMvc.perform(request.header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private User findOrCreateUser(String username, UserRole role) {
+        return userRepository.findByUsername(username).orElseGet(() -> userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@dundermifflin.com")
+                .password("secret")
+                .firstName("Search")
+                .lastName("User")
+                .role(role)
+                .build()));
+    }
+
+    private void createOrder(String orderId, User user, OrderStatus status, BigDecimal total, LocalDateTime createdAt) {
+        Order order = new Order();
+        order.setOrderId(orderId);
+        order.setUser(user);
+        order.setStatus(status);
+        order.setTotalAmount(total);
+        orderRepository.save(order);
+        // created_at is set on persist; backdate it
+        jdbcTemplate.update("UPDATE orders SET created_at = ? WHERE order_id = ?", Timestamp.valueOf(createdAt), orderId);
+    }
+}
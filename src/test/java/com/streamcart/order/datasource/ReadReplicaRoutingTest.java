@@ -0,0 +1,270 @@
+package com.streamcart.order.datasource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.streamcart.order.dto.CreateOrderRequest;
+import com.streamcart.order.dto.OrderResponse;
+import com.streamcart.order.entity.Order;
+import com.streamcart.order.entity.OrderStatus;
+import com.streamcart.order.entity.User;
+import com.streamcart.order.publisher.OrderEventPublisher;
+import com.streamcart.order.repository.OrderRepository;
+import com.streamcart.order.repository.UserRepository;
+import com.streamcart.order.security.JwtUtil;
+import com.streamcart.order.service.Versioned;
+import com.streamcart.order.singleflight.SingleFlight;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs against two embedded databases: the usual test database as primary and a second
+ * H2 database as the replica. Nothing replicates between them, so each test can tell
+ * where a read went by giving the replica a different (stale) copy of the data.
+ */
+@SpringBootTest(properties = {
+        "replica.url=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "replica.username=sa",
+        "replica.password=",
+        "replica.lag-query=SELECT lag_seconds FROM replica_status",
+        "replica.max-lag=1s",
+        "replica.read-your-writes-window=1s",
+        "replica.health-check-interval=1h"  // Checks are triggered by hand
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReadReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+            + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+
+    private static JdbcTemplate replica;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ReadReplicaRoutingDataSource routingDataSource;
+
+    @MockBean
+    private OrderEventPublisher eventPublisher;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SingleFlight<String, Optional<Versioned<OrderResponse>>> orderLoads;
+
+    @BeforeAll
+    static void createReplica() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        replica = new JdbcTemplate(dataSource);
+        replica.execute("CREATE TABLE IF NOT EXISTS replica_status (lag_seconds DOUBLE PRECISION)");
+    }
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        replica.update("DELETE FROM orders");
+        replica.update("DELETE FROM replica_status");
+        replica.update("INSERT INTO replica_status VALUES (0)");
+        routingDataSource.checkReplica();
+    }
+
+    @Test
+    void testReadOnlyTransaction_ReadsFromReplica() throws Exception {
+        User reader = createUser("replicareader");
+        createOrder("ORD-R1", reader, OrderStatus.PAID);
+        replicateStale("ORD-R1", reader, OrderStatus.PENDING);
+
+        assertThat(getOrderStatus("ORD-R1", "replicareader")).isEqualTo("PENDING");
+    }
+
+    @Test
+    void testUserWhoJustCreatedAnOrder_ReadsFromPrimaryUntilWindowEnds() throws Exception {
+        createUser("replicawriter");
+        String token = jwtUtil.generateToken("replicawriter");
+        CreateOrderRequest request = new CreateOrderRequest(List.of(
+                new CreateOrderRequest.OrderItemRequest("PROD-001", "Product 1", 1, new BigDecimal("10.00"))));
+        String body = mockMvc.perform(post("/api/orders")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(cookie().maxAge(WriteMarkerCookie.NAME, 1))
+                .andReturn().getResponse().getContentAsString();
+        String orderId = objectMapper.readTree(body).get("orderId").asText();
+
+        // The replica never receives the order: only a primary read can find it
+        mockMvc.perform(get("/api/orders/{orderId}", orderId).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderId").value(orderId));
+
+        Thread.sleep(1_100);
+        mockMvc.perform(get("/api/orders/{orderId}", orderId).header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testWriteMarkerCookie_KeepsReadsOnPrimaryAcrossNodes() throws Exception {
+        // The write happened on another node: only the client's cookie knows about it
+        User reader = createUser("replicareader");
+        createOrder("ORD-R3", reader, OrderStatus.PAID);
+        replicateStale("ORD-R3", reader, OrderStatus.PENDING);
+        String token = jwtUtil.generateToken("replicareader");
+
+        mockMvc.perform(get("/api/orders/{orderId}", "ORD-R3")
+                        .header("Authorization", "Bearer " + token)
+                        .cookie(new Cookie(WriteMarkerCookie.NAME, Long.toString(System.currentTimeMillis()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("PAID"));
+
+        mockMvc.perform(get("/api/orders/{orderId}", "ORD-R3")
+                        .header("Authorization", "Bearer " + token)
+                        .cookie(new Cookie(WriteMarkerCookie.NAME, Long.toString(System.currentTimeMillis() - 5_000))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("PENDING"));
+    }
+
+    @Test
+    void testRecentWriter_DoesNotJoinALoadReadingTheReplica() throws Exception {
+        User reader = createUser("replicareader");
+        createOrder("ORD-R4", reader, OrderStatus.PAID);
+        String token = jwtUtil.generateToken("replicareader");
+
+        // Another caller's load of the order is in flight (on the replica: not found)
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Optional<Versioned<OrderResponse>>> replicaLoad = CompletableFuture.supplyAsync(() ->
+                orderLoads.execute("ORD-R4", () -> {
+                    loading.countDown();
+                    awaitQuietly(release);
+                    return Optional.empty();
+                }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<MockHttpServletResponse> recentWriterRead = CompletableFuture.supplyAsync(() -> {
+            try {
+                return mockMvc.perform(get("/api/orders/{orderId}", "ORD-R4")
+                                .header("Authorization", "Bearer " + token)
+                                .cookie(new Cookie(WriteMarkerCookie.NAME, Long.toString(System.currentTimeMillis()))))
+                        .andReturn().getResponse();
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        try {
+            MockHttpServletResponse response = recentWriterRead.get(5, TimeUnit.SECONDS);
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(objectMapper.readTree(response.getContentAsString()).get("status").asText()).isEqualTo("PAID");
+        } finally {
+            release.countDown();
+            replicaLoad.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void testLaggingOrFailingReplica_FallsBackToPrimary() throws Exception {
+        User reader = createUser("replicareader");
+        createOrder("ORD-R2", reader, OrderStatus.PAID);
+        replicateStale("ORD-R2", reader, OrderStatus.PENDING);
+
+        replica.update("UPDATE replica_status SET lag_seconds = 5");
+        routingDataSource.checkReplica();
+        assertThat(getOrderStatus("ORD-R2", "replicareader")).isEqualTo("PAID");
+
+        replica.update("UPDATE replica_status SET lag_seconds = 0.2");
+        routingDataSource.checkReplica();
+        assertThat(getOrderStatus("ORD-R2", "replicareader")).isEqualTo("PENDING");
+
+        replica.execute("DROP TABLE replica_status");
+        try {
+            routingDataSource.checkReplica();
+            assertThat(getOrderStatus("ORD-R2", "replicareader")).isEqualTo("PAID");
+        } finally {
+            replica.execute("CREATE TABLE replica_status (lag_seconds DOUBLE PRECISION)");
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String getOrderStatus(String orderId, String username) throws Exception {
+        String body = mockMvc.perform(get("/api/orders/{orderId}", orderId)
+                        .header("Authorization", "Bearer " + jwtUtil.generateToken(username)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode order = objectMapper.readTree(body);
+        return order.get("status").asText();
+    }
+
+    private User createUser(String username) {
+        User user = userRepository.findByUsername(username).orElseGet(() -> userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@dundermifflin.com")
+                .password("secret")
+                .firstName("Replica")
+                .lastName("User")
+                .build()));
+        replica.update("MERGE INTO users (id, username, email, password, first_name, last_name, created_at, version, role) "
+                        + "KEY (id) VALUES (?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, 0, 'USER')",
+                user.getId(), user.getUsername(), user.getEmail(), user.getPassword(),
+                user.getFirstName(), user.getLastName());
+        return user;
+    }
+
+    private void createOrder(String orderId, User user, OrderStatus status) {
+        Order order = new Order();
+        order.setOrderId(orderId);
+        order.setUser(user);
+        order.setStatus(status);
+        order.setTotalAmount(new BigDecimal("10.00"));
+        orderRepository.save(order);
+    }
+
+    private void replicateStale(String orderId, User user, OrderStatus status) {
+        replica.update("INSERT INTO orders (order_id, user_id, total_amount, status, created_at, version) "
+                + "VALUES (?, ?, 10.00, ?, CURRENT_TIMESTAMP, 0)", orderId, user.getId(), status.name());
+    }
+}
@@ -0,0 +1,118 @@
+package com.streamcart.order.loadshedding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long WINDOW = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long PROBE_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    // No smoothing, so each window applies its gradient in full
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+            20, 5, 100, 1.5, 1.0, WINDOW, 5, PROBE_INTERVAL, 5,
+            Map.of(RequestPriority.ORDER_WRITE, 1.0,
+                    RequestPriority.ORDER_READ, 0.9,
+                    RequestPriority.AUTH, 0.75),
+            clock::get);
+
+    @Test
+    void testLimit_PinnedToMinimumWhileProbing() {
+        assertThat(limiter.limit()).isEqualTo(5);
+
+        window(5, 10);
+
+        assertThat(limiter.limit()).isEqualTo(20);
+    }
+
+    @Test
+    void testLimit_ShrinksWhenLatencyRises() {
+        window(5, 10);
+
+        int previous = limiter.limit();
+        for (int i = 0; i < 10; i++) {
+            window(limiter.limit(), 40);
+            assertThat(limiter.limit()).isLessThanOrEqualTo(previous);
+            previous = limiter.limit();
+        }
+
+        assertThat(limiter.limit()).isEqualTo(5);
+    }
+
+    @Test
+    void testLimit_GrowsWhileLatencyStaysNearNoLoadLatency() {
+        window(5, 10);
+
+        for (int i = 0; i < 10; i++) {
+            window(limiter.limit(), 12);
+        }
+
+        assertThat(limiter.limit()).isEqualTo(100);
+    }
+
+    @Test
+    void testLimit_DoesNotGrowWhenMostOfItIsUnused() {
+        window(5, 10);
+
+        for (int i = 0; i < 10; i++) {
+            window(6, 10);
+        }
+
+        assertThat(limiter.limit()).isEqualTo(20);
+    }
+
+    @Test
+    void testLimit_ReprobesNoLoadLatencyEveryInterval() {
+        window(5, 10);
+        window(20, 10);
+        assertThat(limiter.limit()).isGreaterThan(20);
+
+        clock.addAndGet(PROBE_INTERVAL);
+        window(20, 10);
+        assertThat(limiter.limit()).isEqualTo(5);
+
+        // The database got slower: 30 ms becomes the new no-load latency instead of shrinking the limit
+        window(5, 30);
+        int afterProbe = limiter.limit();
+        window(limiter.limit(), 30);
+        assertThat(limiter.limit()).isGreaterThan(afterProbe);
+    }
+
+    @Test
+    void testTryAcquire_ShedsAuthAndReadsBeforeWrites() {
+        window(5, 10);
+        assertThat(limiter.limit()).isEqualTo(20);
+
+        assertThat(admit(RequestPriority.AUTH, 20)).isEqualTo(15);
+        assertThat(admit(RequestPriority.ORDER_READ, 20)).isEqualTo(3);
+        assertThat(admit(RequestPriority.ORDER_WRITE, 20)).isEqualTo(2);
+        assertThat(limiter.inFlight()).isEqualTo(20);
+    }
+
+    private int admit(RequestPriority priority, int requests) {
+        int admitted = 0;
+        for (int i = 0; i < requests; i++) {
+            if (limiter.tryAcquire(priority)) {
+                admitted++;
+            }
+        }
+        return admitted;
+    }
+
+    // Up to `concurrency` requests admitted at once, all taking latencyMillis
+    private void window(int concurrency, long latencyMillis) {
+        long start = clock.get();
+        int admitted = admit(RequestPriority.ORDER_WRITE, concurrency);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+        for (int i = 0; i < admitted; i++) {
+            limiter.onComplete(start);
+        }
+    }
+}
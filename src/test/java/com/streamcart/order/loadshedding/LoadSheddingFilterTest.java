@@ -0,0 +1,71 @@
+package com.streamcart.order.loadshedding;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoadSheddingFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // Limit 2 (min-limit, probing) for writes, 1 for logins
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+            2, 2, 2, 1.5, 0.2, TimeUnit.MILLISECONDS.toNanos(100), 10, TimeUnit.SECONDS.toNanos(30), 50,
+            Map.of(RequestPriority.AUTH, 0.5));
+
+    private final LoadSheddingFilter filter = new LoadSheddingFilter(
+            limiter, new ObjectMapper().registerModule(new JavaTimeModule()), meterRegistry);
+
+    @Test
+    void testFilter_ShedsRequestsOverTheLimitWith503() throws Exception {
+        MockHttpServletResponse login = new MockHttpServletResponse();
+        MockHttpServletResponse write = new MockHttpServletResponse();
+
+        // Both requests arrive while an order is being created
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/orders"), new MockHttpServletResponse(),
+                new MockFilterChain() {
+                    @Override
+                    public void doFilter(ServletRequest request, ServletResponse response) {
+                        try {
+                            filter.doFilter(new MockHttpServletRequest("POST", "/api/auth/login"), login,
+                                    new MockFilterChain());
+                            filter.doFilter(new MockHttpServletRequest("POST", "/api/orders"), write,
+                                    new MockFilterChain());
+                        } catch (Exception ex) {
+                            throw new IllegalStateException(ex);
+                        }
+                    }
+                });
+
+        assertThat(login.getStatus()).isEqualTo(503);
+        assertThat(login.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(login.getContentAsString()).contains("\"status\":503", "overloaded");
+        assertThat(write.getStatus()).isEqualTo(200);
+        assertThat(limiter.inFlight()).isZero();
+        assertThat(meterRegistry.counter("order.load-shedding.rejected", "priority", "AUTH").count()).isEqualTo(1);
+    }
+
+    @Test
+    void testPriority_FromPathAndMethod() {
+        assertThat(RequestPriority.of(new MockHttpServletRequest("POST", "/api/auth/login")))
+                .isEqualTo(RequestPriority.AUTH);
+        assertThat(RequestPriority.of(new MockHttpServletRequest("GET", "/api/orders/abc")))
+                .isEqualTo(RequestPriority.ORDER_READ);
+        assertThat(RequestPriority.of(new MockHttpServletRequest("POST", "/api/orders/lookup")))
+                .isEqualTo(RequestPriority.ORDER_READ);
+        assertThat(RequestPriority.of(new MockHttpServletRequest("PATCH", "/api/orders/abc/status")))
+                .isEqualTo(RequestPriority.ORDER_WRITE);
+    }
+}
@@ -0,0 +1,207 @@
+package com.streamcart.order.maintenance;
+
+import com.streamcart.order.dto.OrderCancelledEvent;
+import com.streamcart.order.entity.Order;
+import com.streamcart.order.entity.OrderItem;
+import com.streamcart.order.entity.OrderStatus;
+import com.streamcart.order.entity.User;
+import com.streamcart.order.partition.OrderIds;
+import com.streamcart.order.projection.UserOrderSummaryProjection;
+import com.streamcart.order.publisher.OrderEventPublisher;
+import com.streamcart.order.repository.OrderRepository;
+import com.streamcart.order.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * The jobs commit chunk by chunk, so these tests commit their writes. Small chunks and
+ * three workers make every walk cross chunk and slice boundaries.
+ */
+@SpringBootTest(properties = {
+        "order.maintenance.workers=3",
+        "order.maintenance.chunk-size=2",
+        "order.maintenance.rows-per-second=0",
+        "order.maintenance.sweeper.pending-timeout=1h",
+        "order.maintenance.purge.after=30d"
+})
+@ActiveProfiles("test")
+class OrderMaintenanceJobsTest {
+
+    @Autowired
+    private PendingOrderSweeper sweeper;
+
+    @Autowired
+    private OrderPurger purger;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserOrderSummaryProjection summaryProjection;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Real listener, stubbed Kafka send
+    @SpyBean
+    private OrderEventPublisher orderEventPublisher;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        doNothing().when(orderEventPublisher).publishOrderCancelled(any());
+        user = userRepository.findByUsername("sweeper").orElseGet(() -> userRepository.save(User.builder()
+                .username("sweeper")
+                .email("sweeper@dundermifflin.com")
+                .password("secret")
+                .firstName("Sweep")
+                .lastName("Er")
+                .build()));
+    }
+
+    @Test
+    void testSweep_CancelsOnlyStalePendingOrders() {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> stale = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            stale.add(saveOrder(now.minusDays(i + 1).minusMinutes(i), OrderStatus.PENDING));
+        }
+        String fresh = saveOrder(now.minusMinutes(5), OrderStatus.PENDING);
+        String paid = saveOrder(now.minusDays(3), OrderStatus.PAID);
+
+        assertThat(sweeper.sweep()).isEqualTo(7);
+        assertThat(sweeper.sweep()).isZero();
+
+        for (String orderId : stale) {
+            assertThat(statusOf(orderId)).isEqualTo("CANCELLED");
+            assertThat(versionOf(orderId)).isEqualTo(1);
+            verify(orderEventPublisher).publishOrderCancelled(
+                    argThat((OrderCancelledEvent event) -> event.orderId().equals(orderId)));
+        }
+        assertThat(statusOf(fresh)).isEqualTo("PENDING");
+        assertThat(statusOf(paid)).isEqualTo("PAID");
+    }
+
+    @Test
+    void testSweep_SkipsOrdersLockedByOtherTransactions() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        String locked = saveOrder(now.minusDays(2), OrderStatus.PENDING);
+        String unlocked = saveOrder(now.minusDays(2).plusSeconds(1), OrderStatus.PENDING);
+
+        CountDownLatch lockHeld = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+            jdbcTemplate.queryForList("SELECT order_id FROM orders WHERE order_id = ? FOR UPDATE", locked);
+            lockHeld.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        holder.start();
+        assertThat(lockHeld.await(10, TimeUnit.SECONDS)).isTrue();
+        try {
+            assertThat(sweeper.sweep()).isEqualTo(1);
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+
+        assertThat(statusOf(locked)).isEqualTo("PENDING");
+        assertThat(statusOf(unlocked)).isEqualTo("CANCELLED");
+        assertThat(sweeper.sweep()).isEqualTo(1);
+        assertThat(statusOf(locked)).isEqualTo("CANCELLED");
+    }
+
+    @Test
+    void testPurge_DeletesOldCancelledAndFailedOrdersWithTheirItemsAndProjectionRows() {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> expired = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            expired.add(saveOrder(now.minusDays(40 + i), i % 2 == 0 ? OrderStatus.CANCELLED : OrderStatus.FAILED));
+        }
+        String recentCancelled = saveOrder(now.minusDays(10), OrderStatus.CANCELLED);
+        String oldDelivered = saveOrder(now.minusDays(60), OrderStatus.DELIVERED);
+        jdbcTemplate.update("DELETE FROM user_removed_order_totals WHERE user_id = ?", user.getId());
+        for (String orderId : expired) {
+            jdbcTemplate.update("INSERT INTO order_item_projection "
+                    + "(order_id, line_no, username, product_id, product_name, quantity, price, ordered_at) "
+                    + "VALUES (?, 0, 'sweeper', 'MT-PAPER', 'Paper', 1, 6.99, CURRENT_TIMESTAMP)", orderId);
+        }
+
+        assertThat(purger.purge()).isEqualTo(5);
+
+        assertThat(jdbcTemplate.queryForList("SELECT order_id FROM orders", String.class))
+                .containsExactlyInAnyOrder(recentCancelled, oldDelivered);
+        for (String orderId : expired) {
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM order_items WHERE order_id = ?", Long.class, orderId)).isZero();
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM order_item_projection WHERE order_id = ?", Long.class, orderId)).isZero();
+        }
+        verify(orderEventPublisher, never()).publishOrderCancelled(any());
+
+        // A rebuild still counts the purged orders, but not in the spend
+        summaryProjection.rebuild(user.getId(), user.getId());
+        UserOrderSummaryProjection.UserOrderSummary summary = summaryProjection.find(user.getId()).orElseThrow();
+        assertThat(summary.orderCount()).isEqualTo(7);
+        assertThat(summary.lifetimeSpend()).isEqualByComparingTo("6.99");
+        assertThat(summary.lastOrderAt()).isAfter(now.minusDays(11));
+    }
+
+    private String saveOrder(LocalDateTime createdAt, OrderStatus status) {
+        LocalDateTime at = createdAt.truncatedTo(ChronoUnit.MICROS);
+        Order order = new Order();
+        order.setOrderId(OrderIds.next(at));
+        order.setUser(user);
+        order.setStatus(status);
+        order.setCreatedAt(at);
+        order.setTotalAmount(new BigDecimal("6.99"));
+        OrderItem item = new OrderItem();
+        item.setProductId("MT-PAPER");
+        item.setProductName("Paper");
+        item.setQuantity(1);
+        item.setPrice(new BigDecimal("6.99"));
+        order.addItem(item);
+        return orderRepository.save(order).getOrderId();
+    }
+
+    private String statusOf(String orderId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM orders WHERE order_id = ?", String.class, orderId);
+    }
+
+    private long versionOf(String orderId) {
+        return jdbcTemplate.queryForObject("SELECT version FROM orders WHERE order_id = ?", Long.class, orderId);
+    }
+}
@@ -0,0 +1,40 @@
+package com.streamcart.order.maintenance;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RowRateLimiterTest {
+
+    @Test
+    void testAcquire_SpacesRowsAcrossWorkers() throws Exception {
+        RowRateLimiter limiter = new RowRateLimiter(1_000);
+        long start = System.nanoTime();
+
+        Thread other = new Thread(() -> {
+            try {
+                limiter.acquire(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        other.start();
+        limiter.acquire(100);
+        other.join();
+
+        // 200 rows at 1000/s, whichever worker reserved first
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(190);
+    }
+
+    @Test
+    void testAcquire_NoLimit() throws Exception {
+        RowRateLimiter limiter = new RowRateLimiter(0);
+        long start = System.nanoTime();
+
+        limiter.acquire(1_000_000);
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(100);
+    }
+}
@@ -0,0 +1,49 @@
+package com.streamcart.order.partition;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderIdsTest {
+
+    @Test
+    void testNext_EncodesCreatedAtToTheMillisecond() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 10, 31, 23, 59, 59, 987_654_000);
+
+        String orderId = OrderIds.next(createdAt);
+
+        assertThat(UUID.fromString(orderId).version()).isEqualTo(7);
+        assertThat(UUID.fromString(orderId).variant()).isEqualTo(2);
+        assertThat(OrderIds.createdAt(orderId)).contains(createdAt.truncatedTo(ChronoUnit.MILLIS));
+    }
+
+    @Test
+    void testNext_IdsSortByCreationTime() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+        String earlier = OrderIds.next(createdAt);
+        String later = OrderIds.next(createdAt.plusNanos(1_000_000));
+        String nextMonth = OrderIds.next(createdAt.plusMonths(1));
+
+        assertThat(earlier).isLessThan(later);
+        assertThat(later).isLessThan(nextMonth);
+    }
+
+    @Test
+    void testOf_SameRandomBitsGiveSameId() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 6, 15, 12, 0);
+        UUID random = new UUID(42, 43);
+
+        assertThat(OrderIds.of(createdAt, random)).isEqualTo(OrderIds.of(createdAt, random));
+    }
+
+    @Test
+    void testCreatedAt_OtherIdsAreEmpty() {
+        assertThat(OrderIds.createdAt(UUID.randomUUID().toString())).isEmpty();
+        assertThat(OrderIds.createdAt("ORD-PLAN0001")).isEmpty();
+    }
+}
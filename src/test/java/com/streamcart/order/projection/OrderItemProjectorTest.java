@@ -0,0 +1,162 @@
+package com.streamcart.order.projection;
+
+import com.streamcart.order.dto.CreateOrderRequest;
+import com.streamcart.order.dto.OrderResponse;
+import com.streamcart.order.entity.User;
+import com.streamcart.order.publisher.OrderEventPublisher;
+import com.streamcart.order.repository.OrderRepository;
+import com.streamcart.order.repository.UserRepository;
+import com.streamcart.order.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "order.item-storage=embedded")
+@ActiveProfiles("test")
+class OrderItemProjectorTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderItemProjectionReconciler reconciler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private OrderEventPublisher orderEventPublisher;  // Mock Kafka publisher for tests
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM order_item_projection");
+        orderRepository.deleteAll();
+        if (userRepository.findByUsername("dwight").isEmpty()) {
+            userRepository.save(User.builder()
+                    .username("dwight")
+                    .email("dschrute@dundermifflin.com")
+                    .password("beets")
+                    .firstName("Dwight")
+                    .lastName("Schrute")
+                    .build());
+        }
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("dwight", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testCreateOrder_EmbeddedStorage_WritesNoItemRows() {
+        OrderResponse response = orderService.createOrder(new CreateOrderRequest(List.of(
+                new CreateOrderRequest.OrderItemRequest("DM-PAPER-001", "Paper", 10, new BigDecimal("6.99")),
+                new CreateOrderRequest.OrderItemRequest("DM-SUPPLY-001", "Stapler", 1, new BigDecimal("15.99")))));
+
+        assertThat(response.totalAmount()).isEqualByComparingTo("85.89");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM order_items WHERE order_id = ?", Integer.class, response.orderId()))
+                .isZero();
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> assertThat(orderRepository.findById(response.orderId()))
+                .hasValueSatisfying(order -> assertThat(order.getLines())
+                        .extracting(line -> line.productId())
+                        .containsExactly("DM-PAPER-001", "DM-SUPPLY-001")));
+    }
+
+    @Test
+    void testCreateOrder_EmbeddedStorage_ProjectsItemsAsynchronously() throws InterruptedException {
+        orderService.createOrder(new CreateOrderRequest(List.of(
+                new CreateOrderRequest.OrderItemRequest("DM-PAPER-001", "Paper", 10, new BigDecimal("6.99")))));
+        orderService.createOrder(new CreateOrderRequest(List.of(
+                new CreateOrderRequest.OrderItemRequest("DM-PAPER-001", "Paper", 5, new BigDecimal("6.99")),
+                new CreateOrderRequest.OrderItemRequest("DM-MERCH-001", "Mug", 2, new BigDecimal("12.99")))));
+
+        awaitProjectedRows(3);
+
+        assertThat(unitsSoldByProduct()).containsExactly("DM-PAPER-001=15", "DM-MERCH-001=2");
+    }
+
+    @Test
+    void testCreateOrder_EmbeddedStorage_ProjectsOrderCreationTime() throws InterruptedException {
+        OrderResponse response = orderService.createOrder(new CreateOrderRequest(List.of(
+                new CreateOrderRequest.OrderItemRequest("DM-PAPER-001", "Paper", 10, new BigDecimal("6.99")))));
+
+        awaitProjectedRows(1);
+
+        // The reconciler selects by orders.created_at, so the row must carry that instant
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM order_item_projection p JOIN orders o ON o.order_id = p.order_id "
+                        + "WHERE p.order_id = ? AND p.ordered_at = o.created_at", Integer.class, response.orderId()))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void testReconcile_ReprojectsLostInsertsAndDropsOrphans() throws InterruptedException {
+        OrderResponse lost = orderService.createOrder(new CreateOrderRequest(List.of(
+                new CreateOrderRequest.OrderItemRequest("DM-PAPER-001", "Paper", 10, new BigDecimal("6.99")))));
+        orderService.createOrder(new CreateOrderRequest(List.of(
+                new CreateOrderRequest.OrderItemRequest("DM-MERCH-001", "Mug", 2, new BigDecimal("12.99")))));
+        awaitProjectedRows(2);
+
+        // One insert lost, one row left behind by an order deleted outside the purge
+        jdbcTemplate.update("DELETE FROM order_item_projection WHERE order_id = ?", lost.orderId());
+        jdbcTemplate.update("INSERT INTO order_item_projection "
+                        + "(order_id, line_no, username, product_id, product_name, quantity, price, ordered_at) "
+                        + "VALUES ('gone', 0, 'dwight', 'DM-SUPPLY-001', 'Stapler', 1, 15.99, ?)",
+                Timestamp.valueOf(LocalDateTime.now()));
+
+        OrderItemProjectionReconciler.Result result = reconciler.reconcile(
+                LocalDateTime.now().minusHours(1), LocalDateTime.now().plusMinutes(1));
+
+        assertThat(result.orphansDeleted()).isEqualTo(1);
+        assertThat(result.rowsInserted()).isEqualTo(1);
+        assertThat(unitsSoldByProduct()).containsExactly("DM-PAPER-001=10", "DM-MERCH-001=2");
+    }
+
+    private void awaitProjectedRows(int rows) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (countProjectedRows() < rows && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+
+    private int countProjectedRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_item_projection", Integer.class);
+    }
+
+    private List<String> unitsSoldByProduct() {
+        return jdbcTemplate.queryForList(
+                "SELECT product_id || '=' || SUM(quantity) FROM order_item_projection "
+                        + "GROUP BY product_id ORDER BY SUM(quantity) DESC", String.class);
+    }
+}
@@ -0,0 +1,160 @@
+package com.streamcart.order.projection;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.streamcart.order.dto.CreateOrderRequest;
+import com.streamcart.order.entity.OrderStatus;
+import com.streamcart.order.entity.User;
+import com.streamcart.order.publisher.OrderEventPublisher;
+import com.streamcart.order.repository.OrderRepository;
+import com.streamcart.order.repository.UserRepository;
+import com.streamcart.order.security.JwtUtil;
+import com.streamcart.order.service.OrderStatusUpdater;
+import com.streamcart.order.service.OrderStatusUpdater.StatusChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The summary is updated before commit, so these tests commit their writes
+ * (a rolled-back test transaction would never reach the projector).
+ */
+@SpringBootTest(properties = "order.summary.rebuild.chunk-size=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserOrderSummaryTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private OrderStatusUpdater statusUpdater;
+
+    @Autowired
+    private UserOrderSummaryRebuilder rebuilder;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private OrderEventPublisher orderEventPublisher;
+
+    private User user;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        user = userRepository.findByUsername("summarizer").orElseGet(() -> userRepository.save(User.builder()
+                .username("summarizer")
+                .email("summarizer@dundermifflin.com")
+                .password("secret")
+                .firstName("Summary")
+                .lastName("User")
+                .build()));
+        jdbcTemplate.update("DELETE FROM user_order_summary");
+        token = jwtUtil.generateToken("summarizer");
+    }
+
+    @Test
+    void testSummary_NoOrders_ReturnsZeros() throws Exception {
+        JsonNode summary = getSummary();
+
+        assertThat(summary.get("orderCount").asLong()).isZero();
+        assertThat(summary.get("lifetimeSpend").decimalValue()).isEqualByComparingTo("0");
+        assertThat(summary.get("lastOrderAt").isNull()).isTrue();
+    }
+
+    @Test
+    void testSummary_CreateAndStatusChanges_ApplyDeltas() throws Exception {
+        String first = createOrder("10.00");
+        String second = createOrder("25.50");
+        String third = createOrder("4.50");
+
+        JsonNode summary = getSummary();
+        assertThat(summary.get("orderCount").asLong()).isEqualTo(3);
+        assertThat(summary.get("lifetimeSpend").decimalValue()).isEqualByComparingTo("40.00");
+        // Same instant the rebuild reads from orders.created_at
+        assertThat(LocalDateTime.parse(summary.get("lastOrderAt").asText())).isEqualTo(jdbcTemplate.queryForObject(
+                "SELECT MAX(created_at) FROM orders", Timestamp.class).toLocalDateTime());
+
+        // Compare-and-set path
+        mockMvc.perform(post("/api/orders/{orderId}/cancel", first).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        // Batch consumer path; PAID doesn't change spend, FAILED removes it
+        statusUpdater.applyAll(List.of(
+                new StatusChange(second, OrderStatus.PAID),
+                new StatusChange(third, OrderStatus.FAILED)));
+
+        summary = getSummary();
+        assertThat(summary.get("orderCount").asLong()).isEqualTo(3);
+        assertThat(summary.get("lifetimeSpend").decimalValue()).isEqualByComparingTo("25.50");
+    }
+
+    @Test
+    void testRebuild_RecomputesFromOrdersInChunks() throws Exception {
+        createOrder("10.00");
+        jdbcTemplate.update("UPDATE user_order_summary SET order_count = 99, lifetime_spend = 0");
+        // Written behind the application's back: no delta
+        jdbcTemplate.update("INSERT INTO orders (order_id, user_id, total_amount, status, created_at, version) "
+                + "VALUES ('ORD-BULK-1', ?, 7.00, 'DELIVERED', CURRENT_TIMESTAMP, 0)", user.getId());
+        jdbcTemplate.update("INSERT INTO orders (order_id, user_id, total_amount, status, created_at, version) "
+                + "VALUES ('ORD-BULK-2', ?, 3.00, 'CANCELLED', CURRENT_TIMESTAMP, 0)", user.getId());
+
+        long rows = rebuilder.rebuild();
+
+        assertThat(rows).isEqualTo(jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT user_id) FROM orders", Long.class));
+        JsonNode summary = getSummary();
+        assertThat(summary.get("orderCount").asLong()).isEqualTo(3);
+        assertThat(summary.get("lifetimeSpend").decimalValue()).isEqualByComparingTo("17.00");
+    }
+
+    private String createOrder(String price) throws Exception {
+        CreateOrderRequest request = new CreateOrderRequest(List.of(
+                new CreateOrderRequest.OrderItemRequest("PROD-001", "Product 1", 1, new BigDecimal(price))));
+        String body = mockMvc.perform(post("/api/orders")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("orderId").asText();
+    }
+
+    private JsonNode getSummary() throws Exception {
+        String body = mockMvc.perform(get("/api/orders/summary").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+}
@@ -0,0 +1,111 @@
+package com.streamcart.order.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.streamcart.order.dto.CreateOrderRequest;
+import com.streamcart.order.entity.User;
+import com.streamcart.order.publisher.OrderEventPublisher;
+import com.streamcart.order.repository.UserRepository;
+import com.streamcart.order.security.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "order.rate-limit.enabled=true",
+        "order.rate-limit.requests-per-second=0.5",
+        "order.rate-limit.burst=4",
+        "order.rate-limit.max-in-flight=1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserRateLimitTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockBean
+    private OrderEventPublisher orderEventPublisher;
+
+    @Test
+    void testOrderEndpoints_RejectUserOverTheirRateWithRetryAfter() throws Exception {
+        String token = tokenFor("limited-burst");
+        for (int i = 0; i < 4; i++) {
+            myOrders(token).andExpect(status().isOk());
+        }
+
+        myOrders(token)
+                .andExpect(status().isTooManyRequests())
+                // The next token is at most 2 s away (one every 2 s)
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, matchesPattern("[12]")))
+                .andExpect(jsonPath("$.status").value(429));
+
+        // Limits are per user
+        myOrders(tokenFor("limited-neighbour")).andExpect(status().isOk());
+    }
+
+    @Test
+    void testOrderStream_GivesBackItsInFlightSlotOnceAsync() throws Exception {
+        String token = tokenFor("limited-streamer");
+        CreateOrderRequest order = new CreateOrderRequest(List.of(
+                new CreateOrderRequest.OrderItemRequest("RL-PAPER", "Paper", 1, new BigDecimal("6.99"))));
+        String body = mockMvc.perform(post("/api/orders")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(order)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String orderId = objectMapper.readTree(body).get("orderId").asText();
+
+        mockMvc.perform(get("/api/orders/{orderId}/events", orderId)
+                        .header("Authorization", "Bearer " + token)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        // max-in-flight is 1: this only passes if the open stream released its slot
+        myOrders(token).andExpect(status().isOk());
+    }
+
+    private ResultActions myOrders(String token) throws Exception {
+        return mockMvc.perform(get("/api/orders/my-orders").header("Authorization", "Bearer " + token));
+    }
+
+    private String tokenFor(String username) {
+        if (userRepository.findByUsername(username).isEmpty()) {
+            userRepository.save(User.builder()
+                    .username(username)
+                    .email(username + "@dundermifflin.com")
+                    .password("secret")
+                    .firstName("Rate")
+                    .lastName("Limited")
+                    .build());
+        }
+        return jwtUtil.generateToken(username);
+    }
+}
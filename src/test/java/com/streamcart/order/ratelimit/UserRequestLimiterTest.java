@@ -0,0 +1,74 @@
+package com.streamcart.order.ratelimit;
+
+import com.streamcart.order.exception.RateLimitExceededException;
+import com.streamcart.order.ratelimit.UserRequestLimiter.UserLimit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserRequestLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testAcquire_CapsConcurrentRequestsPerUser() {
+        UserRequestLimiter limiter = limiter(1_000, 100, 2);
+
+        UserLimit first = limiter.acquire("jim");
+        limiter.acquire("jim");
+        assertThatThrownBy(() -> limiter.acquire("jim"))
+                .isInstanceOf(RateLimitExceededException.class)
+                .extracting("retryAfterSeconds").isEqualTo(1L);
+        // Other users have their own slots
+        limiter.acquire("dwight");
+
+        first.release();
+        limiter.acquire("jim");
+        assertThat(meterRegistry.counter("order.rate-limit.rejected", "reason", "concurrency").count()).isEqualTo(1);
+    }
+
+    @Test
+    void testAcquire_AllowsBurstThenRefillsAtTheRate() throws InterruptedException {
+        UserRequestLimiter limiter = limiter(20, 3, 100);
+
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("jim").release();
+        }
+        assertThatThrownBy(() -> limiter.acquire("jim"))
+                .isInstanceOf(RateLimitExceededException.class)
+                .extracting("retryAfterSeconds").isEqualTo(1L);
+
+        // One token every 50 ms
+        Thread.sleep(60);
+        limiter.acquire("jim").release();
+        assertThatThrownBy(() -> limiter.acquire("jim")).isInstanceOf(RateLimitExceededException.class);
+        assertThat(meterRegistry.counter("order.rate-limit.rejected", "reason", "rate").count()).isEqualTo(2);
+    }
+
+    @Test
+    void testAcquire_RetryAfterCoversTheWait() {
+        UserRequestLimiter limiter = limiter(0.2, 1, 100);
+
+        limiter.acquire("jim").release();
+
+        assertThatThrownBy(() -> limiter.acquire("jim"))
+                .isInstanceOf(RateLimitExceededException.class)
+                .extracting("retryAfterSeconds").isEqualTo(5L);
+    }
+
+    private UserRequestLimiter limiter(double requestsPerSecond, int burst, int maxInFlight) {
+        UserRequestLimiter limiter = new UserRequestLimiter(meterRegistry);
+        ReflectionTestUtils.setField(limiter, "requestsPerSecond", requestsPerSecond);
+        ReflectionTestUtils.setField(limiter, "burst", burst);
+        ReflectionTestUtils.setField(limiter, "maxInFlight", maxInFlight);
+        ReflectionTestUtils.setField(limiter, "maxUsers", 1_000L);
+        ReflectionTestUtils.setField(limiter, "idleExpiry", Duration.ofMinutes(10));
+        limiter.init();
+        return limiter;
+    }
+}
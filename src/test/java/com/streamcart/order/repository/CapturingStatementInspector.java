@@ -0,0 +1,31 @@
+package com.streamcart.order.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records every SQL statement Hibernate prepares so tests can EXPLAIN them.
+ * Enabled per test via hibernate.session_factory.statement_inspector.
+ */
+public class CapturingStatementInspector implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    static void clear() {
+        STATEMENTS.clear();
+    }
+
+    static List<String> selects() {
+        return STATEMENTS.stream()
+                .filter(sql -> sql.trim().toLowerCase().startsWith("select"))
+                .toList();
+    }
+}
@@ -0,0 +1,190 @@
+package com.streamcart.order.repository;
+
+import com.streamcart.order.entity.Order;
+import com.streamcart.order.entity.OrderItem;
+import com.streamcart.order.entity.OrderStatus;
+import com.streamcart.order.entity.User;
+import com.streamcart.order.partition.OrderIds;
+import com.streamcart.order.partition.OrderPartitionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Monthly partitioning of orders (db/vendor/postgresql/V10) needs PostgreSQL, so this
+ * test runs only with -Ppostgres, against POSTGRES_TEST_URL (default: a database
+ * order_test on the local-dev Postgres). It commits its writes.
+ */
+@Tag("postgres")
+@SpringBootTest(properties = {
+        "spring.datasource.url=${POSTGRES_TEST_URL:jdbc:postgresql://localhost:5433/order_test}",
+        "spring.datasource.username=${POSTGRES_TEST_USERNAME:order_user}",
+        "spring.datasource.password=${POSTGRES_TEST_PASSWORD:order_pass}",
+        "spring.datasource.driver-class-name=org.postgresql.Driver",
+        "order.partitions.retention-months=24",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.streamcart.order.repository.CapturingStatementInspector"})
+@ActiveProfiles("test")
+class OrderPartitionPruningTest {
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final Pattern ORDERS_PARTITION = Pattern.compile("\\borders_\\d{4}_\\d{2}\\b");
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderPartitionManager partitionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private YearMonth expired;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.findByUsername("partitioner").orElseGet(() -> userRepository.save(User.builder()
+                .username("partitioner")
+                .email("partitioner@dundermifflin.com")
+                .password("secret")
+                .firstName("Partition")
+                .lastName("Pruner")
+                .build()));
+        expired = YearMonth.now().minusMonths(30);
+        dropExpiredTables();
+        CapturingStatementInspector.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dropExpiredTables();
+    }
+
+    @Test
+    void testMaintain_CreatesUpcomingMonths() {
+        partitionManager.maintain();
+
+        for (int i = 0; i <= 3; i++) {
+            String suffix = YearMonth.now().plusMonths(i).format(SUFFIX);
+            assertThat(attachedPartitions("orders")).contains("orders_" + suffix);
+            assertThat(attachedPartitions("order_items")).contains("order_items_" + suffix);
+        }
+    }
+
+    @Test
+    void testFindOrder_ReadsOnlyThePartitionOfItsId() {
+        LocalDateTime createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        String orderId = OrderIds.next(createdAt);
+        orderRepository.save(newOrder(orderId, createdAt));
+        CapturingStatementInspector.clear();
+
+        assertThat(orderRepository.findOrder(orderId)).isPresent();
+
+        String sql = CapturingStatementInspector.selects().get(0);
+        LocalDateTime from = OrderIds.createdAt(orderId).orElseThrow();
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class,
+                orderId, Timestamp.valueOf(from), Timestamp.valueOf(from.plus(1, ChronoUnit.MILLIS))));
+        assertThat(partitionsIn(plan))
+                .as("Partitions read by:%n%s%n%s", sql, plan)
+                .containsExactly("orders_" + YearMonth.from(createdAt).format(SUFFIX));
+
+        // Without created_at, every partition is probed
+        String unbounded = String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN SELECT * FROM orders WHERE order_id = ?", String.class, orderId));
+        assertThat(partitionsIn(unbounded)).hasSizeGreaterThan(1);
+    }
+
+    @Test
+    void testMaintain_KeepsExpiredMonthsThatStillHoldOrders() {
+        String suffix = expired.format(SUFFIX);
+        for (String parent : List.of("orders", "order_items")) {
+            jdbcTemplate.execute("CREATE TABLE " + parent + "_" + suffix + " PARTITION OF " + parent
+                    + " FOR VALUES FROM ('" + expired.atDay(1) + "') TO ('" + expired.plusMonths(1).atDay(1) + "')");
+        }
+        LocalDateTime createdAt = expired.atDay(10).atTime(12, 0);
+        String orderId = OrderIds.next(createdAt);
+        orderRepository.save(newOrder(orderId, createdAt));
+
+        partitionManager.maintain();
+
+        // Not archived yet: detaching would hide the order
+        assertThat(attachedPartitions("orders")).contains("orders_" + suffix);
+        assertThat(attachedPartitions("order_items")).contains("order_items_" + suffix);
+        assertThat(orderRepository.findOrder(orderId)).isPresent();
+        jdbcTemplate.update("DELETE FROM order_items WHERE order_id = ?", orderId);
+        jdbcTemplate.update("DELETE FROM orders WHERE order_id = ?", orderId);
+    }
+
+    @Test
+    void testMaintain_DetachesEmptyExpiredMonthsWithTheirItems() {
+        String suffix = expired.format(SUFFIX);
+        for (String parent : List.of("orders", "order_items")) {
+            jdbcTemplate.execute("CREATE TABLE " + parent + "_" + suffix + " PARTITION OF " + parent
+                    + " FOR VALUES FROM ('" + expired.atDay(1) + "') TO ('" + expired.plusMonths(1).atDay(1) + "')");
+        }
+
+        partitionManager.maintain();
+
+        assertThat(attachedPartitions("orders")).doesNotContain("orders_" + suffix);
+        assertThat(attachedPartitions("order_items")).doesNotContain("order_items_" + suffix);
+    }
+
+    private Order newOrder(String orderId, LocalDateTime createdAt) {
+        Order order = new Order();
+        order.setOrderId(orderId);
+        order.setCreatedAt(createdAt);
+        order.setUser(user);
+        order.setStatus(OrderStatus.DELIVERED);
+        order.setTotalAmount(new BigDecimal("6.99"));
+        OrderItem item = new OrderItem();
+        item.setProductId("DM-PAPER-001");
+        item.setProductName("Dunder Mifflin Paper - Premium White");
+        item.setQuantity(1);
+        item.setPrice(new BigDecimal("6.99"));
+        order.addItem(item);
+        return order;
+    }
+
+    private List<String> attachedPartitions(String parent) {
+        return jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i "
+                + "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = ?::regclass", String.class, parent);
+    }
+
+    private static List<String> partitionsIn(String plan) {
+        Set<String> partitions = new LinkedHashSet<>();
+        Matcher matcher = ORDERS_PARTITION.matcher(plan);
+        while (matcher.find()) {
+            partitions.add(matcher.group());
+        }
+        return List.copyOf(partitions);
+    }
+
+    private void dropExpiredTables() {
+        String suffix = expired.format(SUFFIX);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS order_items_" + suffix);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS orders_" + suffix);
+    }
+}
@@ -0,0 +1,54 @@
+package com.streamcart.order.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs EXPLAIN on a statement and fails if any of the big tables is read sequentially.
+ *
+ * Understands H2 plans (full table or full index scans) and PostgreSQL plans
+ * ("Seq Scan on orders", or on a monthly partition such as orders_2025_10), so the same
+ * tests work against either database.
+ * Parameters are bound as NULL; both databases still plan the indexed access path.
+ */
+public final class QueryPlanAssertions {
+
+    // H2 prints the access path as a comment under each table; a comment without an
+    // index condition ("tableScan", or a bare index name) means every row is read.
+    private static final Pattern SEQUENTIAL_SCAN = Pattern.compile(
+            "(\"public\"\\.\"(orders|order_items|users)\"[^\\n]*\\n\\s*/\\*[^:]*?\\*/)"
+                    + "|(Seq Scan on (orders|order_items|users)(_\\d{4}_\\d{2})?\\b)");
+
+    private QueryPlanAssertions() {
+    }
+
+    public static String explain(JdbcTemplate jdbcTemplate, String sql) {
+        return jdbcTemplate.execute((java.sql.Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                int parameters = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameters; i++) {
+                    statement.setObject(i, null);
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            }
+        });
+    }
+
+    public static void assertNoSequentialScan(JdbcTemplate jdbcTemplate, String sql) {
+        String plan = explain(jdbcTemplate, sql);
+        assertThat(SEQUENTIAL_SCAN.matcher(plan).find())
+                .as("Sequential scan of a big table in plan for:%n%s%n%s", sql, plan)
+                .isFalse();
+    }
+}
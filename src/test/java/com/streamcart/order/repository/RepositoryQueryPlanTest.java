@@ -0,0 +1,225 @@
+package com.streamcart.order.repository;
+
+import com.streamcart.order.entity.Order;
+import com.streamcart.order.entity.OrderItem;
+import com.streamcart.order.entity.OrderLine;
+import com.streamcart.order.entity.OrderStatus;
+import com.streamcart.order.entity.User;
+import com.streamcart.order.partition.OrderIds;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * EXPLAINs every SQL statement the repositories issue and fails on a sequential
+ * scan of orders, order_items or users. A new query method without a matching
+ * index in db/migration fails here instead of in production.
+ */
+@SpringBootTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.streamcart.order.repository.CapturingStatementInspector")
+@ActiveProfiles("test")
+class RepositoryQueryPlanTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderSearchRepository orderSearchRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        userRepository.findByUsername("planner").ifPresent(userRepository::delete);
+
+        user = userRepository.save(User.builder()
+                .username("planner")
+                .email("planner@dundermifflin.com")
+                .password("secret")
+                .firstName("Query")
+                .lastName("Planner")
+                .build());
+
+        Order order = new Order();
+        order.setOrderId("ORD-PLAN0001");
+        order.setUser(user);
+        order.setStatus(OrderStatus.PENDING);
+        order.setTotalAmount(new BigDecimal("6.99"));
+        OrderItem item = new OrderItem();
+        item.setProductId("DM-PAPER-001");
+        item.setProductName("Dunder Mifflin Paper - Premium White");
+        item.setQuantity(1);
+        item.setPrice(new BigDecimal("6.99"));
+        order.addItem(item);
+        orderRepository.save(order);
+
+        // Every lookup must reach the database, not the second-level cache
+        entityManagerFactory.getCache().evictAll();
+        CapturingStatementInspector.clear();
+    }
+
+    @Test
+    void testUserRepository_QueriesUseIndexes() {
+        userRepository.findByUsername("planner");
+        entityManagerFactory.getCache().evictAll();
+        userRepository.findByEmail("planner@dundermifflin.com");
+        userRepository.existsByUsername("planner");
+        userRepository.existsByEmail("planner@dundermifflin.com");
+        entityManagerFactory.getCache().evictAll();
+        userRepository.findById(user.getId());
+
+        assertCapturedQueriesUseIndexes(5);
+    }
+
+    @Test
+    void testOrderRepository_QueriesUseIndexes() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            orderRepository.findByUser_Username("planner");
+            List<Order> orders = orderRepository.findByUser(user);
+            // Lazy collection load: SELECT ... FROM order_items WHERE order_id = ?
+            assertThat(orders).singleElement().satisfies(order -> assertThat(order.getItems()).hasSize(1));
+        });
+        orderRepository.findById("ORD-PLAN0001");
+        orderRepository.findStatusVersionByOrderId("ORD-PLAN0001");
+        // Time-ordered id: lookup bounded by created_at, then the findById fallback on a miss
+        orderRepository.findOrder(OrderIds.next(LocalDateTime.now()));
+        // Multi-get: unbounded for other ids; bounded by created_at, then the fallback on a miss
+        orderRepository.findResponses(List.of("ORD-PLAN0001", "ORD-MISSING"));
+        orderRepository.findResponses(List.of(OrderIds.next(LocalDateTime.now()), OrderIds.next(LocalDateTime.now())));
+        // Conditional GETs: bounded, then the fallback on a miss; the user's high-water mark
+        orderRepository.findOwnerVersion(OrderIds.next(LocalDateTime.now()));
+        orderRepository.findListVersionByUserId(user.getId());
+        // Expanded items: unbounded for other ids; bounded by created_at, then the fallback on a miss
+        orderRepository.findLines(List.of("ORD-PLAN0001"));
+        orderRepository.findLines(List.of(OrderIds.next(LocalDateTime.now())));
+
+        assertCapturedQueriesUseIndexes(16);
+    }
+
+    @Test
+    void testFindLines_LoadsNormalizedAndEmbeddedItemsInOneQuery() {
+        LocalDateTime createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Order embedded = new Order();
+        embedded.setOrderId(OrderIds.next(createdAt));
+        embedded.setCreatedAt(createdAt);
+        embedded.setUser(user);
+        embedded.setStatus(OrderStatus.PENDING);
+        embedded.setTotalAmount(new BigDecimal("25.98"));
+        embedded.setEmbeddedItems(List.of(new OrderLine("DM-MUG-001", "World's Best Boss Mug", 2, new BigDecimal("12.99"))));
+        orderRepository.save(embedded);
+        CapturingStatementInspector.clear();
+
+        Map<String, List<OrderLine>> lines = orderRepository.findLines(
+                List.of("ORD-PLAN0001", embedded.getOrderId(), "ORD-MISSING"));
+
+        assertThat(lines).containsOnlyKeys("ORD-PLAN0001", embedded.getOrderId());
+        assertThat(lines.get("ORD-PLAN0001")).singleElement()
+                .satisfies(line -> assertThat(line.productId()).isEqualTo("DM-PAPER-001"));
+        assertThat(lines.get(embedded.getOrderId())).singleElement()
+                .satisfies(line -> assertThat(line.quantity()).isEqualTo(2));
+        assertThat(CapturingStatementInspector.selects()).hasSize(1);
+    }
+
+    @Test
+    void testFindResponses_LoadsOrdersWithOwnersInOneQuery() {
+        assertThat(orderRepository.findResponses(List.of("ORD-PLAN0001", "ORD-MISSING")))
+                .singleElement()
+                .satisfies(order -> assertThat(order.username()).isEqualTo("planner"));
+
+        assertThat(CapturingStatementInspector.selects()).hasSize(1);
+    }
+
+    @Test
+    void testOrderSearch_EveryFilterCombinationUsesIndexes() {
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+        OrderSearchCursor cursor = new OrderSearchCursor(from.plusDays(10), "ORD-PLAN0001");
+        List<Long> users = Arrays.asList(user.getId(), null);
+        List<OrderStatus> statuses = Arrays.asList(OrderStatus.PAID, null);
+        int checked = 0;
+        for (Long userId : users) {
+            for (OrderStatus status : statuses) {
+                if (userId == null && status == null) {
+                    continue;  // rejected by OrderSearchService
+                }
+                for (int filters = 0; filters < 8; filters++) {
+                    if (userId == null && filters == 2 || userId == null && filters == 6) {
+                        continue;  // amounts across all users without a date range: rejected
+                    }
+                    OrderSearchQuery query = new OrderSearchQuery(
+                            userId,
+                            status,
+                            (filters & 1) != 0 ? from : null,
+                            (filters & 1) != 0 ? from.plusMonths(1) : null,
+                            (filters & 2) != 0 ? new BigDecimal("10.00") : null,
+                            (filters & 2) != 0 ? new BigDecimal("500.00") : null,
+                            (filters & 4) != 0 ? cursor : null,
+                            20);
+                    QueryPlanAssertions.assertNoSequentialScan(jdbcTemplate, orderSearchRepository.statement(query).sql());
+                    checked++;
+                }
+            }
+        }
+        assertThat(checked).isEqualTo(22);
+    }
+
+    @Test
+    void testOrderSearch_AmountFiltersAcrossUsersScanOnlyTheCreatedRange() {
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+        OrderSearchQuery query = new OrderSearchQuery(null, OrderStatus.PAID, from, from.plusDays(7),
+                new BigDecimal("10.00"), new BigDecimal("500.00"), null, 20);
+
+        String plan = QueryPlanAssertions.explain(jdbcTemplate, orderSearchRepository.statement(query).sql());
+        // created_at bounds the index range; total_amount is only a filter on its rows
+        assertThat(plan).containsPattern(
+                "(?i)idx_orders_status_created: status = \\?\\d+\\s+and created_at >= \\?\\d+\\s+and created_at < \\?\\d+");
+
+        assertThatThrownBy(() -> orderSearchRepository.statement(new OrderSearchQuery(
+                null, OrderStatus.PAID, from, null, new BigDecimal("10.00"), null, null, 20)))
+                .hasMessageContaining("created_at range");
+    }
+
+    @Test
+    void testPlanCheck_DetectsSequentialScan() {
+        assertThatThrownBy(() -> QueryPlanAssertions.assertNoSequentialScan(
+                jdbcTemplate, "SELECT * FROM order_items WHERE product_name = ?"))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("order_items");
+    }
+
+    private void assertCapturedQueriesUseIndexes(int expectedAtLeast) {
+        List<String> selects = CapturingStatementInspector.selects();
+        assertThat(selects).hasSizeGreaterThanOrEqualTo(expectedAtLeast);
+        selects.forEach(sql -> QueryPlanAssertions.assertNoSequentialScan(jdbcTemplate, sql));
+    }
+}
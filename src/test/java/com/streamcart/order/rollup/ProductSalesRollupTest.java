@@ -0,0 +1,258 @@
+package com.streamcart.order.rollup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.streamcart.order.dto.CreateOrderRequest;
+import com.streamcart.order.dto.OrderCreatedEvent;
+import com.streamcart.order.entity.User;
+import com.streamcart.order.entity.UserRole;
+import com.streamcart.order.publisher.OrderEventPublisher;
+import com.streamcart.order.repository.UserRepository;
+import com.streamcart.order.security.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Orders reach the aggregator after commit, so these tests commit their writes.
+ * The scheduled flush is pushed out of the way; tests flush explicitly. With a 1h flush
+ * interval, only hours that ended two hours ago can be recomputed.
+ */
+@SpringBootTest(properties = "order.rollups.flush-interval=1h")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProductSalesRollupTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductSalesAggregator aggregator;
+
+    @Autowired
+    private ProductSalesRecomputer recomputer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private OrderEventPublisher orderEventPublisher;
+
+    private String financeToken;
+
+    @BeforeEach
+    void setUp() {
+        findOrCreateUser("rollup-buyer", UserRole.USER);
+        findOrCreateUser("rollup-finance", UserRole.FINANCE);
+        aggregator.flush();
+        jdbcTemplate.update("DELETE FROM product_sales_hourly");
+        jdbcTemplate.update("DELETE FROM orders WHERE order_id = 'ORD-RU-EMBEDDED'");
+        financeToken = jwtUtil.generateToken("rollup-finance");
+    }
+
+    @Test
+    void testFlush_AddsEveryHourAndLateEventsToTheirRow() {
+        LocalDateTime hour = LocalDateTime.now().minusHours(3).truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime currentHour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        double lateBefore = meterRegistry.counter("order.rollups.late-events").count();
+
+        // The same product on two lines still counts as one order
+        aggregator.onOrderCreated(event(hour.plusMinutes(5),
+                new OrderCreatedEvent.OrderItemDto("RU-PAPER", "Paper", 2, new BigDecimal("6.99")),
+                new OrderCreatedEvent.OrderItemDto("RU-PAPER", "Paper", 1, new BigDecimal("6.99")),
+                new OrderCreatedEvent.OrderItemDto("RU-MUG", "Mug", 1, new BigDecimal("12.99"))));
+        aggregator.onOrderCreated(event(hour.plusMinutes(40),
+                new OrderCreatedEvent.OrderItemDto("RU-PAPER", "Paper", 1, new BigDecimal("6.99"))));
+        aggregator.onOrderCreated(event(currentHour,
+                new OrderCreatedEvent.OrderItemDto("RU-MUG", "Mug", 2, new BigDecimal("12.99"))));
+        aggregator.flush();
+
+        assertThat(row(hour, "RU-PAPER")).containsEntry("orders", 2L).containsEntry("units", 4L);
+        assertThat((BigDecimal) row(hour, "RU-PAPER").get("revenue")).isEqualByComparingTo("27.96");
+        assertThat(row(hour, "RU-MUG")).containsEntry("orders", 1L).containsEntry("units", 1L);
+        // The open hour is flushed too, so other nodes can read it
+        assertThat(row(currentHour, "RU-MUG")).containsEntry("orders", 1L).containsEntry("units", 2L);
+
+        // Arrives after the hour was written: added to the row, not overwriting it
+        aggregator.onOrderCreated(event(hour.plusMinutes(59),
+                new OrderCreatedEvent.OrderItemDto("RU-PAPER", "Paper", 3, new BigDecimal("6.99"))));
+        aggregator.flush();
+
+        assertThat(row(hour, "RU-PAPER")).containsEntry("orders", 3L).containsEntry("units", 7L);
+        assertThat((BigDecimal) row(hour, "RU-PAPER").get("revenue")).isEqualByComparingTo("48.93");
+        assertThat(meterRegistry.counter("order.rollups.late-events").count()).isEqualTo(lateBefore + 3);
+    }
+
+    @Test
+    void testHourlySales_ReadsFlushedTotals() throws Exception {
+        createOrder("RU-STAPLER", 2, "4.25");
+        LocalDateTime hour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        assertThat(getSales(hour, "RU-STAPLER")).isEmpty();
+
+        aggregator.flush();
+        JsonNode sales = getSales(hour, "RU-STAPLER");
+        assertThat(sales).hasSize(1);
+        assertThat(sales.get(0).get("orders").asLong()).isEqualTo(1);
+        assertThat(sales.get(0).get("units").asLong()).isEqualTo(2);
+        assertThat(sales.get(0).get("revenue").decimalValue()).isEqualByComparingTo("8.50");
+
+        // A second flush for the same hour (or another node's) adds to the row
+        createOrder("RU-STAPLER", 1, "4.25");
+        aggregator.flush();
+
+        sales = getSales(hour, "RU-STAPLER");
+        assertThat(sales).hasSize(1);
+        assertThat(sales.get(0).get("orders").asLong()).isEqualTo(2);
+        assertThat(sales.get(0).get("revenue").decimalValue()).isEqualByComparingTo("12.75");
+    }
+
+    @Test
+    void testRecompute_ReplacesHoursWithTotalsFromOrders() throws Exception {
+        LocalDateTime hour = LocalDateTime.now().minusHours(5).truncatedTo(ChronoUnit.HOURS);
+        String first = createOrder("RU-LAMP", 2, "15.00");
+        String second = createOrder("RU-LAMP", 1, "15.00");
+        aggregator.flush();
+        for (String orderId : List.of(first, second)) {
+            jdbcTemplate.update("UPDATE orders SET created_at = ? WHERE order_id = ?", hour.plusMinutes(10), orderId);
+            jdbcTemplate.update("UPDATE order_items SET created_at = ? WHERE order_id = ?", hour.plusMinutes(10), orderId);
+        }
+        // Embedded order written outside the application, never seen by the aggregator
+        Long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = 'rollup-buyer'", Long.class);
+        jdbcTemplate.update("INSERT INTO orders (order_id, user_id, total_amount, status, created_at, items_payload) "
+                        + "VALUES (?, ?, 30.00, 'DELIVERED', ?, ?)",
+                "ORD-RU-EMBEDDED", userId, hour.plusMinutes(50), "[[\"RU-LAMP\",\"Lamp\",2,15.00]]");
+        // Stale: no such orders
+        jdbcTemplate.update("INSERT INTO product_sales_hourly (hour_start, product_id, orders, units, revenue) "
+                + "VALUES (?, 'RU-GONE', 9, 9, 99.00)", hour);
+
+        assertThat(recomputer.recompute(hour, hour.plusMinutes(30))).isGreaterThanOrEqualTo(1);
+
+        assertThat(row(hour, "RU-LAMP")).containsEntry("orders", 3L).containsEntry("units", 5L);
+        assertThat((BigDecimal) row(hour, "RU-LAMP").get("revenue")).isEqualByComparingTo("75.00");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM product_sales_hourly WHERE product_id = 'RU-GONE'", Long.class)).isZero();
+
+        // Hours some node may not have flushed yet
+        LocalDateTime now = LocalDateTime.now();
+        assertThatThrownBy(() -> recomputer.recompute(now.minusHours(1), now))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testRecompute_FlushesLocalTotalsFirstSoLateOrdersCountOnce() {
+        LocalDateTime hour = LocalDateTime.now().minusHours(5).truncatedTo(ChronoUnit.HOURS);
+        // A late order: committed into the range, its delta still held in memory
+        Long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = 'rollup-buyer'", Long.class);
+        jdbcTemplate.update("INSERT INTO orders (order_id, user_id, total_amount, status, created_at, items_payload) "
+                        + "VALUES (?, ?, 15.00, 'PENDING', ?, ?)",
+                "ORD-RU-EMBEDDED", userId, hour.plusMinutes(50), "[[\"RU-LATE\",\"Late\",1,15.00]]");
+        aggregator.onOrderCreated(event(hour.plusMinutes(50),
+                new OrderCreatedEvent.OrderItemDto("RU-LATE", "Late", 1, new BigDecimal("15.00"))));
+
+        recomputer.recompute(hour, hour.plusHours(1));
+        aggregator.flush();
+
+        assertThat(row(hour, "RU-LATE")).containsEntry("orders", 1L).containsEntry("units", 1L);
+    }
+
+    @Test
+    void testHourlySales_RequiresFinanceAndValidRange() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+
+        mockMvc.perform(get("/api/orders/sales/hourly")
+                        .header("Authorization", "Bearer " + jwtUtil.generateToken("rollup-buyer"))
+                        .param("from", now.minusDays(1).toString())
+                        .param("to", now.toString()))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/orders/sales/hourly")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .param("from", now.toString())
+                        .param("to", now.minusDays(1).toString()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/orders/sales/hourly")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .param("from", now.minusDays(200).toString())
+                        .param("to", now.toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Published now for an order created at createdAt: the aggregator buckets by createdAt
+    private OrderCreatedEvent event(LocalDateTime createdAt, OrderCreatedEvent.OrderItemDto... items) {
+        return new OrderCreatedEvent("ORD-RU", "rollup-buyer", BigDecimal.ZERO, List.of(items),
+                createdAt, LocalDateTime.now());
+    }
+
+    private Map<String, Object> row(LocalDateTime hour, String productId) {
+        return jdbcTemplate.queryForMap(
+                "SELECT orders, units, revenue FROM product_sales_hourly WHERE hour_start = ? AND product_id = ?",
+                hour, productId);
+    }
+
+    private String createOrder(String productId, int quantity, String price) throws Exception {
+        CreateOrderRequest request = new CreateOrderRequest(List.of(
+                new CreateOrderRequest.OrderItemRequest(productId, "Product", quantity, new BigDecimal(price))));
+        String body = mockMvc.perform(post("/api/orders")
+                        .header("Authorization", "Bearer " + jwtUtil.generateToken("rollup-buyer"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("orderId").asText();
+    }
+
+    private JsonNode getSales(LocalDateTime hour, String productId) throws Exception {
+        String body = mockMvc.perform(get("/api/orders/sales/hourly")
+                        .header("Authorization", "Bearer " + financeToken)
+                        .param("from", hour.toString())
+                        .param("to", hour.plusHours(1).toString())
+                        .param("productId", productId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private void findOrCreateUser(String username, UserRole role) {
+        if (userRepository.findByUsername(username).isEmpty()) {
+            userRepository.save(User.builder()
+                    .username(username)
+                    .email(username + "@dundermifflin.com")
+                    .password("secret")
+                    .firstName("Rollup")
+                    .lastName("User")
+                    .role(role)
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.streamcart.order.seeder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SeedDataInitializerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SeedDataHealthIndicator healthIndicator;
+
+    @Autowired
+    private ProductDataSeeder productDataSeeder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testSeeding_CompletesAsynchronouslyAndMarksReady() throws Exception {
+        awaitSeedData();
+
+        Integer products = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM products WHERE product_id LIKE 'DM-%'", Integer.class);
+        assertThat(products).isEqualTo(22);
+
+        // Readiness also waits for warm-up, which runs concurrently with seeding
+        long deadline = System.currentTimeMillis() + 20_000;
+        while (mockMvc.perform(get("/actuator/health/readiness")).andReturn().getResponse().getStatus() != 200
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+    }
+
+    @Test
+    void testSeeding_IsIdempotent() throws Exception {
+        awaitSeedData();
+
+        assertThat(productDataSeeder.seed()).isZero();
+    }
+
+    @Test
+    void testSeeding_RetriesRequiredDatasetBeforeFailing() {
+        AtomicInteger attempts = new AtomicInteger();
+        DataSeeder flaky = seeder(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new CannotGetJdbcConnectionException("Database starting up");
+            }
+            return 1;
+        });
+        SeedDataHealthIndicator health = new SeedDataHealthIndicator();
+        newInitializer(List.of(flaky), health).seedOnStartup();
+
+        assertThat(attempts).hasValue(3);
+        assertThat(health.health().getStatus()).isEqualTo(Status.UP);
+
+        AtomicInteger failures = new AtomicInteger();
+        DataSeeder broken = seeder(() -> {
+            failures.incrementAndGet();
+            throw new CannotGetJdbcConnectionException("Database down");
+        });
+        SeedDataHealthIndicator failed = new SeedDataHealthIndicator();
+        newInitializer(List.of(broken), failed).seedOnStartup();
+
+        assertThat(failures).hasValue(4);
+        assertThat(failed.health().getStatus()).isEqualTo(Status.DOWN);
+        assertThat(failed.health().getDetails()).containsEntry("status", "failed");
+    }
+
+    private static SeedDataInitializer newInitializer(List<DataSeeder> seeders, SeedDataHealthIndicator health) {
+        SeedDataInitializer initializer = new SeedDataInitializer(seeders, health, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(initializer, "maxAttempts", 4);
+        ReflectionTestUtils.setField(initializer, "backoff", Duration.ofMillis(1));
+        return initializer;
+    }
+
+    private static DataSeeder seeder(IntSupplier seed) {
+        return new DataSeeder() {
+            @Override
+            public String name() {
+                return "flaky";
+            }
+
+            @Override
+            public boolean required() {
+                return true;
+            }
+
+            @Override
+            public int seed() {
+                return seed.getAsInt();
+            }
+        };
+    }
+
+    private void awaitSeedData() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (healthIndicator.health().getStatus() != Status.UP && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.UP);
+    }
+}
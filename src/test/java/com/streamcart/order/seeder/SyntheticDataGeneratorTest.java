@@ -0,0 +1,81 @@
+package com.streamcart.order.seeder;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the generator profile at a tiny scale against its own in-memory database
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:generatordb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "generator.users=200",
+        "generator.products=100",
+        "generator.orders=2000",
+        "generator.batch-size=150",
+        "generator.workers=4"
+})
+@ActiveProfiles({"test", "generator"})
+class SyntheticDataGeneratorTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testGenerator_WritesRequestedVolumes() {
+        assertThat(count("SELECT COUNT(*) FROM users WHERE username LIKE 'synthetic.%'")).isEqualTo(200);
+        assertThat(count("SELECT COUNT(*) FROM products WHERE product_id LIKE 'GEN-%'")).isEqualTo(100);
+        assertThat(count("SELECT COUNT(*) FROM orders")).isEqualTo(2000);
+        assertThat(count("SELECT COUNT(*) FROM order_items")).isGreaterThanOrEqualTo(2000);
+    }
+
+    @Test
+    void testGenerator_OrderTotalsMatchItems() {
+        BigDecimal orderTotals = jdbcTemplate.queryForObject("SELECT SUM(total_amount) FROM orders", BigDecimal.class);
+        BigDecimal itemTotals = jdbcTemplate.queryForObject(
+                "SELECT SUM(price * quantity) FROM order_items", BigDecimal.class);
+
+        assertThat(orderTotals).isEqualByComparingTo(itemTotals);
+    }
+
+    @Test
+    void testGenerator_RecomputesHourlySales() {
+        int units = count("SELECT SUM(quantity) FROM order_items");
+
+        assertThat(count("SELECT SUM(units) FROM product_sales_hourly")).isEqualTo(units);
+    }
+
+    @Test
+    void testGenerator_ProductPopularityIsSkewed() {
+        int topProductItems = count("SELECT COUNT(*) FROM order_items WHERE product_id = 'GEN-000000'");
+        int medianProductItems = count("SELECT COUNT(*) FROM order_items WHERE product_id = 'GEN-000050'");
+
+        assertThat(topProductItems).isGreaterThan(medianProductItems * 10);
+    }
+
+    @Test
+    void testZipfianSampler_IsDeterministicPerSeed() {
+        ZipfianSampler sampler = new ZipfianSampler(10_000, 1.1);
+        Random first = new Random(7);
+        Random second = new Random(7);
+
+        int[] a = IntStream.range(0, 1000).map(i -> sampler.sample(first)).toArray();
+        int[] b = IntStream.range(0, 1000).map(i -> sampler.sample(second)).toArray();
+
+        assertThat(a).containsExactly(b);
+        assertThat(IntStream.of(a).max().orElseThrow()).isLessThan(sampler.size());
+    }
+
+    private int count(String sql) {
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class);
+        return count == null ? 0 : count;
+    }
+}
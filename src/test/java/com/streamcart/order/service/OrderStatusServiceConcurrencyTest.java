@@ -0,0 +1,145 @@
+package com.streamcart.order.service;
+
+import com.streamcart.order.entity.Order;
+import com.streamcart.order.entity.OrderStatus;
+import com.streamcart.order.entity.User;
+import com.streamcart.order.exception.InvalidStatusTransitionException;
+import com.streamcart.order.repository.OrderRepository;
+import com.streamcart.order.repository.OrderStatusVersion;
+import com.streamcart.order.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many threads race to walk the same orders through the happy path. With compare-and-set
+ * writes each transition must succeed exactly once per order: no step is lost or applied twice.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderStatusServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int ORDERS = 20;
+    private static final int HAPPY_PATH_STEPS = 5;
+
+    @Autowired
+    private OrderStatusService statusService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<String> orderIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        User user = userRepository.findByUsername("racer").orElseGet(() -> userRepository.save(User.builder()
+                .username("racer")
+                .email("racer@dundermifflin.com")
+                .password("secret")
+                .firstName("Race")
+                .lastName("Condition")
+                .build()));
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order();
+            order.setOrderId("RACE-" + i);
+            order.setUser(user);
+            order.setStatus(OrderStatus.PENDING);
+            order.setTotalAmount(new BigDecimal("10.00"));
+            orderRepository.save(order);
+            orderIds.add(order.getOrderId());
+        }
+    }
+
+    @Test
+    void testTransition_ConcurrentWritersApplyEachStepExactlyOnce() throws Exception {
+        double appliedBefore = counter("applied");
+        Map<String, AtomicInteger> successes = new ConcurrentHashMap<>();
+        orderIds.forEach(id -> successes.put(id, new AtomicInteger()));
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                for (String orderId : orderIds) {
+                    advanceToDelivered(orderId, successes.get(orderId));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        for (String orderId : orderIds) {
+            OrderStatusVersion current = orderRepository.findStatusVersionByOrderId(orderId).orElseThrow();
+            assertThat(current.status()).as(orderId).isEqualTo(OrderStatus.DELIVERED);
+            assertThat(current.version()).as(orderId).isEqualTo(HAPPY_PATH_STEPS);
+            assertThat(successes.get(orderId)).as(orderId).hasValue(HAPPY_PATH_STEPS);
+        }
+        assertThat(counter("applied") - appliedBefore).isEqualTo(ORDERS * HAPPY_PATH_STEPS);
+    }
+
+    private void advanceToDelivered(String orderId, AtomicInteger successes) {
+        while (true) {
+            OrderStatus status = orderRepository.findStatusVersionByOrderId(orderId).orElseThrow().status();
+            if (status == OrderStatus.DELIVERED) {
+                return;
+            }
+            try {
+                statusService.transition(orderId, next(status));
+                successes.incrementAndGet();
+            } catch (InvalidStatusTransitionException | OptimisticLockingFailureException ex) {
+                // Another thread moved the order first; re-read and try the next step
+            }
+        }
+    }
+
+    private static OrderStatus next(OrderStatus status) {
+        return switch (status) {
+            case PENDING -> OrderStatus.PAYMENT_PROCESSING;
+            case PAYMENT_PROCESSING -> OrderStatus.PAID;
+            case PAID -> OrderStatus.INVENTORY_RESERVED;
+            case INVENTORY_RESERVED -> OrderStatus.SHIPPED;
+            case SHIPPED -> OrderStatus.DELIVERED;
+            default -> throw new IllegalStateException("Not on the happy path: " + status);
+        };
+    }
+
+    private double counter(String result) {
+        Counter counter = meterRegistry.find("order.status.updates")
+                .tags("path", OrderStatusMetrics.CAS, "result", result)
+                .counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
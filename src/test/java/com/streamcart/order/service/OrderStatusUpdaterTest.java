@@ -0,0 +1,136 @@
+package com.streamcart.order.service;
+
+import com.streamcart.order.entity.Order;
+import com.streamcart.order.entity.OrderStatus;
+import com.streamcart.order.entity.User;
+import com.streamcart.order.repository.OrderRepository;
+import com.streamcart.order.repository.UserRepository;
+import com.streamcart.order.service.OrderStatusUpdater.BatchResult;
+import com.streamcart.order.service.OrderStatusUpdater.StatusChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderStatusUpdaterTest {
+
+    @Autowired
+    private OrderStatusUpdater statusUpdater;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM order_parked_transitions");
+        orderRepository.deleteAll();
+        user = userRepository.findByUsername("statususer").orElseGet(() -> userRepository.save(User.builder()
+                .username("statususer")
+                .email("status@dundermifflin.com")
+                .password("secret")
+                .firstName("Status")
+                .lastName("User")
+                .build()));
+        createOrder("ORD-1");
+        createOrder("ORD-2");
+        createOrder("ORD-3");
+    }
+
+    @Test
+    void testApplyAll_ReplaysChangesPerOrderInOrder() {
+        BatchResult result = statusUpdater.applyAll(List.of(
+                new StatusChange("ORD-1", OrderStatus.PAID),
+                new StatusChange("ORD-2", OrderStatus.PAID),
+                new StatusChange("ORD-1", OrderStatus.INVENTORY_RESERVED),
+                new StatusChange("ORD-3", OrderStatus.FAILED)));
+
+        assertThat(result).isEqualTo(new BatchResult(3, 0, 0, 0));
+        assertStatus("ORD-1", OrderStatus.INVENTORY_RESERVED, 1);
+        assertStatus("ORD-2", OrderStatus.PAID, 1);
+        assertStatus("ORD-3", OrderStatus.FAILED, 1);
+    }
+
+    @Test
+    void testApplyAll_SkipsInvalidTransitionsAndUnknownOrders() {
+        BatchResult result = statusUpdater.applyAll(List.of(
+                new StatusChange("ORD-2", OrderStatus.FAILED),
+                new StatusChange("ORD-2", OrderStatus.PAID),                // FAILED is final
+                new StatusChange("ORD-3", OrderStatus.PAID),
+                new StatusChange("ORD-3", OrderStatus.INVENTORY_RESERVED),
+                new StatusChange("ORD-3", OrderStatus.FAILED),              // too late once reserved
+                new StatusChange("ORD-404", OrderStatus.PAID)));
+
+        assertThat(result).isEqualTo(new BatchResult(2, 2, 1, 0));
+        assertStatus("ORD-2", OrderStatus.FAILED, 1);
+        assertStatus("ORD-3", OrderStatus.INVENTORY_RESERVED, 1);
+    }
+
+    @Test
+    void testApplyAll_ParksEarlyReservationUntilPaid() {
+        BatchResult early = statusUpdater.applyAll(List.of(
+                new StatusChange("ORD-1", OrderStatus.PAYMENT_PROCESSING),
+                new StatusChange("ORD-1", OrderStatus.INVENTORY_RESERVED),  // not paid yet
+                new StatusChange("ORD-2", OrderStatus.INVENTORY_RESERVED)));
+
+        assertThat(early).isEqualTo(new BatchResult(1, 0, 0, 2));
+        assertStatus("ORD-1", OrderStatus.PAYMENT_PROCESSING, 1);
+        assertStatus("ORD-2", OrderStatus.PENDING, 0);
+
+        BatchResult paid = statusUpdater.applyAll(List.of(
+                new StatusChange("ORD-1", OrderStatus.PAID),
+                new StatusChange("ORD-2", OrderStatus.FAILED)));
+
+        assertThat(paid).isEqualTo(new BatchResult(2, 0, 0, 0));
+        assertStatus("ORD-1", OrderStatus.INVENTORY_RESERVED, 2);
+        assertStatus("ORD-2", OrderStatus.FAILED, 1);
+        // Applied for ORD-1, overtaken by the payment failure for ORD-2
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_parked_transitions", Integer.class))
+                .isZero();
+    }
+
+    @Test
+    void testApplyAll_RedeliveredBatchChangesNothing() {
+        List<StatusChange> batch = List.of(
+                new StatusChange("ORD-1", OrderStatus.PAID),
+                new StatusChange("ORD-2", OrderStatus.PAID));
+        statusUpdater.applyAll(batch);
+
+        BatchResult replay = statusUpdater.applyAll(batch);
+
+        assertThat(replay.updated()).isZero();
+        assertStatus("ORD-1", OrderStatus.PAID, 1);
+        assertStatus("ORD-2", OrderStatus.PAID, 1);
+    }
+
+    private void createOrder(String orderId) {
+        Order order = new Order();
+        order.setOrderId(orderId);
+        order.setUser(user);
+        order.setStatus(OrderStatus.PENDING);
+        order.setTotalAmount(new BigDecimal("10.00"));
+        orderRepository.save(order);
+    }
+
+    private void assertStatus(String orderId, OrderStatus status, long version) {
+        assertThat(jdbcTemplate.queryForMap("SELECT status, version FROM orders WHERE order_id = ?", orderId))
+                .containsEntry("status", status.name())
+                .containsEntry("version", version);
+    }
+}
@@ -0,0 +1,122 @@
+package com.streamcart.order.singleflight;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>("test", meterRegistry);
+    private final ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final CountDownLatch loadStarted = new CountDownLatch(1);
+    private final CountDownLatch finishLoad = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void testExecute_ConcurrentCallersShareOneLoad() throws Exception {
+        List<Future<String>> results = callConcurrently(() -> "order-1");
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("order-1");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.counter("order.single-flight.calls", "name", "test", "outcome", "executed").count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.counter("order.single-flight.calls", "name", "test", "outcome", "shared").count())
+                .isEqualTo(CALLERS - 1);
+        assertThat(meterRegistry.get("order.single-flight.coalescing-ratio").gauge().value())
+                .isEqualTo((CALLERS - 1) / (double) CALLERS);
+    }
+
+    @Test
+    void testExecute_LoaderExceptionReachesEveryCaller() throws Exception {
+        IllegalStateException failure = new IllegalStateException("database down");
+        List<Future<String>> results = callConcurrently(() -> {
+            throw failure;
+        });
+
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS)).hasCause(failure);
+        }
+        assertThat(loads).hasValue(1);
+
+        // A failed load isn't remembered
+        assertThat(singleFlight.execute("key", () -> "recovered")).isEqualTo("recovered");
+    }
+
+    @Test
+    void testExecute_LoadsAgainOnceTheLoadFinished() {
+        assertThat(singleFlight.execute("key", () -> "first")).isEqualTo("first");
+        assertThat(singleFlight.execute("key", () -> "second")).isEqualTo("second");
+        assertThat(singleFlight.execute("other", () -> "third")).isEqualTo("third");
+    }
+
+    @Test
+    void testForget_LaterCallersStartTheirOwnLoad() throws Exception {
+        Future<String> leader = callers.submit(() -> singleFlight.execute("key", () -> {
+            loadStarted.countDown();
+            await(finishLoad);
+            return "stale";
+        }));
+        assertThat(loadStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        singleFlight.forget("key");
+
+        assertThat(singleFlight.execute("key", () -> "fresh")).isEqualTo("fresh");
+        finishLoad.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("stale");
+    }
+
+    // CALLERS threads ask for the same key; the load finishes once all of them are waiting
+    private List<Future<String>> callConcurrently(Supplier<String> value) throws Exception {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(callers.submit(() -> singleFlight.execute("key", () -> {
+                loads.incrementAndGet();
+                loadStarted.countDown();
+                await(finishLoad);
+                return value.get();
+            })));
+            if (i == 0) {
+                assertThat(loadStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            }
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.counter("order.single-flight.calls", "name", "test", "outcome", "shared").count()
+                < CALLERS - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        finishLoad.countDown();
+        return results;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
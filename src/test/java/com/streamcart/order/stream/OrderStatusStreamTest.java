@@ -0,0 +1,205 @@
+package com.streamcart.order.stream;
+
+import com.streamcart.order.entity.Order;
+import com.streamcart.order.entity.OrderStatus;
+import com.streamcart.order.entity.User;
+import com.streamcart.order.publisher.OrderEventPublisher;
+import com.streamcart.order.repository.OrderRepository;
+import com.streamcart.order.repository.UserRepository;
+import com.streamcart.order.security.JwtUtil;
+import com.streamcart.order.service.OrderStatusService;
+import com.streamcart.order.service.OrderStatusUpdater;
+import com.streamcart.order.service.OrderStatusUpdater.StatusChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Status changes from both writers (compare-and-set and the batch consumer path) reach open
+ * SSE streams after commit, without the stream polling the database. Changes made on other
+ * nodes arrive as broadcast notices.
+ */
+@SpringBootTest(properties = {
+        "order.events.idle-timeout=1s",
+        "order.events.heartbeat-interval=1h",  // Heartbeats are triggered by hand
+        "order.events.broadcast.enabled=true"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OrderStatusStreamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private OrderStatusStreamHub hub;
+
+    @Autowired
+    private OrderStatusService statusService;
+
+    @Autowired
+    private OrderStatusUpdater statusUpdater;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderStatusBroadcaster broadcaster;
+
+    @Autowired
+    private OrderStatusBroadcastListener broadcastListener;
+
+    // Cancellations are published to order.cancelled
+    @MockBean
+    private OrderEventPublisher orderEventPublisher;
+
+    @MockBean
+    private KafkaTemplate<String, OrderStatusNotice> kafkaTemplate;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        User user = userRepository.findByUsername("streamer").orElseGet(() -> userRepository.save(User.builder()
+                .username("streamer")
+                .email("streamer@dundermifflin.com")
+                .password("secret")
+                .firstName("Stream")
+                .lastName("Er")
+                .build()));
+        createOrder("ORD-SSE-1", user);
+        token = jwtUtil.generateToken("streamer");
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(new CompletableFuture<>());
+    }
+
+    @Test
+    void testStream_SendsCurrentStatusThenTransitionsAndEndsOnFinalStatus() throws Exception {
+        MvcResult result = openStream("ORD-SSE-1");
+        MockHttpServletResponse response = result.getResponse();
+        awaitContent(response, "id:0", "\"status\":\"PENDING\"");
+        assertThat(response.getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+
+        statusUpdater.applyAll(List.of(new StatusChange("ORD-SSE-1", OrderStatus.PAID)));
+        awaitContent(response, "id:1", "\"status\":\"PAID\"");
+
+        statusService.transition("ORD-SSE-1", OrderStatus.CANCELLED);
+        awaitContent(response, "id:2", "\"status\":\"CANCELLED\"");
+        assertThat(hub.openStreams()).isZero();
+    }
+
+    @Test
+    void testStatusChange_IsBroadcastAndRemoteNoticesReachLocalStreams() throws Exception {
+        MvcResult result = openStream("ORD-SSE-1");
+
+        statusUpdater.applyAll(List.of(new StatusChange("ORD-SSE-1", OrderStatus.PAID)));
+        verify(kafkaTemplate).send(eq(OrderStatusBroadcaster.TOPIC), eq("ORD-SSE-1"), argThat(notice ->
+                notice.status() == OrderStatus.PAID && notice.origin().equals(broadcaster.getNodeId())));
+
+        // Reserved on another node
+        broadcastListener.onStatusNotice(new OrderStatusNotice(
+                "ORD-SSE-1", OrderStatus.INVENTORY_RESERVED, 2, LocalDateTime.now(), "other-node"));
+        awaitContent(result.getResponse(), "id:2", "\"status\":\"INVENTORY_RESERVED\"");
+
+        // Own notices were delivered on commit
+        broadcastListener.onStatusNotice(new OrderStatusNotice(
+                "ORD-SSE-1", OrderStatus.SHIPPED, 3, LocalDateTime.now(), broadcaster.getNodeId()));
+        Thread.sleep(100);
+        assertThat(result.getResponse().getContentAsString()).doesNotContain("SHIPPED");
+
+        broadcastListener.onStatusNotice(new OrderStatusNotice(
+                "ORD-SSE-1", OrderStatus.CANCELLED, 3, LocalDateTime.now(), "other-node"));
+        awaitContent(result.getResponse(), "id:3", "\"status\":\"CANCELLED\"");
+        assertThat(hub.openStreams()).isZero();
+    }
+
+    @Test
+    void testHeartbeat_ClosesIdleStreams() throws Exception {
+        MvcResult result = openStream("ORD-SSE-1");
+        assertThat(hub.openStreams()).isEqualTo(1);
+        awaitContent(result.getResponse(), "id:0");
+
+        hub.sendHeartbeats();
+        awaitContent(result.getResponse(), ":heartbeat");
+        assertThat(hub.openStreams()).isEqualTo(1);
+
+        Thread.sleep(1_100);
+        hub.sendHeartbeats();
+        assertThat(hub.openStreams()).isZero();
+    }
+
+    @Test
+    void testStream_UnknownOrder_ReturnsNotFound() throws Exception {
+        mockMvc.perform(get("/api/orders/{orderId}/events", "ORD-404")
+                        .header("Authorization", "Bearer " + token)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isNotFound());
+        assertThat(hub.openStreams()).isZero();
+    }
+
+    // Events are written by the hub's writer threads, shortly after the change
+    private void awaitContent(MockHttpServletResponse response, String... values) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!containsAll(response.getContentAsString(), values) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(response.getContentAsString()).contains(values);
+    }
+
+    private static boolean containsAll(String content, String... values) {
+        for (String value : values) {
+            if (!content.contains(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private MvcResult openStream(String orderId) throws Exception {
+        return mockMvc.perform(get("/api/orders/{orderId}/events", orderId)
+                        .header("Authorization", "Bearer " + token)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private void createOrder(String orderId, User user) {
+        Order order = new Order();
+        order.setOrderId(orderId);
+        order.setUser(user);
+        order.setStatus(OrderStatus.PENDING);
+        order.setTotalAmount(new BigDecimal("10.00"));
+        orderRepository.save(order);
+    }
+}
@@ -0,0 +1,90 @@
+package com.streamcart.order.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.streamcart.order.repository.OrderRepository;
+import com.streamcart.order.repository.ProductRepository;
+import com.streamcart.order.repository.UserRepository;
+import com.streamcart.order.security.JwtUtil;
+import com.streamcart.order.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ApplicationWarmupTest {
+
+    @Autowired
+    private WarmupHealthIndicator healthIndicator;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testWarmup_CompletesConfiguredIterationsWithoutSideEffects() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 20_000;
+        while (healthIndicator.health().getStatus() != Status.UP && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        Health health = healthIndicator.health();
+        assertThat(health.getStatus()).isEqualTo(Status.UP);
+        assertThat(health.getDetails()).containsEntry("iterations", 200L);
+        assertThat(orderRepository.count()).isZero();
+        assertThat(userRepository.findByUsername("warmup")).isEmpty();
+        assertThat(health.getDetails()).containsEntry("partial", false);
+    }
+
+    @Test
+    void testWarmup_ReportsUpWithFailedStagesWhenTheDatabaseIsUnavailable() {
+        ProductRepository products = mock(ProductRepository.class);
+        when(products.findAll()).thenThrow(new DataAccessResourceFailureException("Connection refused"));
+        WarmupHealthIndicator indicator = new WarmupHealthIndicator();
+        ApplicationWarmup warmup = new ApplicationWarmup(jwtUtil, objectMapper, orderService, products,
+                dataSource, transactionManager, indicator);
+        ReflectionTestUtils.setField(warmup, "enabled", true);
+        ReflectionTestUtils.setField(warmup, "iterations", 10);
+        ReflectionTestUtils.setField(warmup, "timeBudget", Duration.ofSeconds(5));
+
+        warmup.warmUp();
+
+        Health health = indicator.health();
+        assertThat(health.getStatus()).isEqualTo(Status.UP);
+        assertThat(health.getDetails())
+                .containsEntry("partial", true)
+                .containsEntry("failedStages", List.of("catalog"))
+                .containsEntry("iterations", 10L);
+    }
+}